@@ -1,5 +1,7 @@
 package org.web3j.protocol;
 
+import java.util.function.Supplier;
+
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
@@ -11,7 +13,21 @@ import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.core.methods.response.compact.ByteArrayInterner;
+import org.web3j.protocol.core.methods.response.compact.CompactBlock;
+import org.web3j.protocol.core.methods.response.compact.CompactLog;
+import org.web3j.protocol.core.methods.response.compact.CompactTransaction;
+import org.web3j.protocol.core.methods.response.compact.CompactTransactionReceipt;
+import org.web3j.protocol.deserializer.BlockDeserializer;
+import org.web3j.protocol.deserializer.LogDeserializer;
 import org.web3j.protocol.deserializer.RawResponseDeserializer;
+import org.web3j.protocol.deserializer.TransactionDeserializer;
+import org.web3j.protocol.deserializer.TransactionReceiptDeserializer;
 
 /**
  * Factory for managing our ObjectMapper instances.
@@ -19,9 +35,11 @@ import org.web3j.protocol.deserializer.RawResponseDeserializer;
 public class ObjectMapperFactory {
 
     private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper COMPACT_OBJECT_MAPPER = new ObjectMapper();
 
     static {
-        configureObjectMapper(DEFAULT_OBJECT_MAPPER, false);
+        configureObjectMapper(DEFAULT_OBJECT_MAPPER, false, false);
+        configureObjectMapper(COMPACT_OBJECT_MAPPER, false, true);
     }
 
     public static ObjectMapper getObjectMapper() {
@@ -29,11 +47,26 @@ public class ObjectMapperFactory {
     }
 
     public static ObjectMapper getObjectMapper(boolean shouldIncludeRawResponses) {
+        return getObjectMapper(shouldIncludeRawResponses, false);
+    }
+
+    /**
+     * Get an ObjectMapper, which may read blocks, transactions, receipts and logs into their
+     * compact forms, such as {@link CompactTransaction}. These hold their fields as numbers and
+     * bytes rather than hex strings, and are better suited to holding many of them in memory.
+     *
+     * @param shouldIncludeRawResponses whether replies should keep the message they were read
+     *                                  from
+     * @param compactModel whether to read the compact forms of the response types
+     * @return the ObjectMapper
+     */
+    public static ObjectMapper getObjectMapper(
+            boolean shouldIncludeRawResponses, boolean compactModel) {
         if (!shouldIncludeRawResponses) {
-            return DEFAULT_OBJECT_MAPPER;
+            return compactModel ? COMPACT_OBJECT_MAPPER : DEFAULT_OBJECT_MAPPER;
         }
 
-        return configureObjectMapper(new ObjectMapper(), true);
+        return configureObjectMapper(new ObjectMapper(), true, compactModel);
     }
 
     public static ObjectReader getObjectReader() {
@@ -41,9 +74,9 @@ public class ObjectMapperFactory {
     }
 
     private static ObjectMapper configureObjectMapper(
-            ObjectMapper objectMapper, boolean shouldIncludeRawResponses) {
+            ObjectMapper objectMapper, boolean shouldIncludeRawResponses, boolean compactModel) {
+        SimpleModule module = createResponseModule(compactModel);
         if (shouldIncludeRawResponses) {
-            SimpleModule module = new SimpleModule();
             module.setDeserializerModifier(new BeanDeserializerModifier() {
                 @Override
                 public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
@@ -56,13 +89,54 @@ public class ObjectMapperFactory {
                     return deserializer;
                 }
             });
-
-            objectMapper.registerModule(module);
         }
 
+        objectMapper.registerModule(module);
         objectMapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
         return objectMapper;
     }
+
+    /**
+     * Create the module of streaming deserializers for the response types read in bulk, which
+     * bypass bean introspection. The compact forms of these types share an interner, so that
+     * values repeated across the replies read by an ObjectMapper are held once.
+     */
+    private static SimpleModule createResponseModule(boolean compactModel) {
+        ByteArrayInterner interner = compactModel ? new ByteArrayInterner() : null;
+        Supplier<Log> logFactory = compactModel ? () -> new CompactLog(interner) : Log::new;
+        Supplier<EthLog.LogObject> logObjectFactory = compactModel
+                ? () -> new CompactLog(interner) : EthLog.LogObject::new;
+        Supplier<Transaction> transactionFactory = compactModel
+                ? () -> new CompactTransaction(interner) : Transaction::new;
+        Supplier<EthBlock.TransactionObject> transactionObjectFactory = compactModel
+                ? () -> new CompactTransaction(interner) : EthBlock.TransactionObject::new;
+        Supplier<TransactionReceipt> receiptFactory = compactModel
+                ? () -> new CompactTransactionReceipt(interner) : TransactionReceipt::new;
+        Supplier<EthBlock.Block> blockFactory = compactModel
+                ? () -> new CompactBlock(interner) : EthBlock.Block::new;
+
+        LogDeserializer<Log> logDeserializer = new LogDeserializer<>(Log.class, logFactory);
+        TransactionDeserializer<EthBlock.TransactionObject> transactionObjectDeserializer =
+                new TransactionDeserializer<>(
+                        EthBlock.TransactionObject.class, transactionObjectFactory);
+
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(Log.class, logDeserializer);
+        module.addDeserializer(
+                EthLog.LogObject.class,
+                new LogDeserializer<>(EthLog.LogObject.class, logObjectFactory));
+        module.addDeserializer(
+                Transaction.class,
+                new TransactionDeserializer<>(Transaction.class, transactionFactory));
+        module.addDeserializer(EthBlock.TransactionObject.class, transactionObjectDeserializer);
+        module.addDeserializer(
+                TransactionReceipt.class,
+                new TransactionReceiptDeserializer(receiptFactory, logDeserializer));
+        module.addDeserializer(
+                EthBlock.Block.class,
+                new BlockDeserializer(blockFactory, transactionObjectDeserializer));
+        return module;
+    }
 }
@@ -1,15 +1,31 @@
 package org.web3j.protocol;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import io.reactivex.Flowable;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.FieldProjection;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
+import org.web3j.protocol.deserializer.BatchResponseDeserializer;
+import org.web3j.protocol.deserializer.RawResponseInputStream;
+import org.web3j.protocol.deserializer.ResultIterator;
+import org.web3j.protocol.metrics.RequestListener;
+import org.web3j.protocol.metrics.RequestListeners;
+import org.web3j.protocol.metrics.RequestTrace;
 import org.web3j.protocol.websocket.events.Notification;
 import org.web3j.utils.Async;
 
@@ -20,30 +36,292 @@ public abstract class Service implements Web3jService {
 
     protected final ObjectMapper objectMapper;
 
+    private final BatchResponseDeserializer batchResponseDeserializer;
+
+    protected final RequestListeners requestListeners = new RequestListeners();
+
+    // Executor blocking requests are sent on asynchronously, or null for Async's
+    private volatile Executor asyncExecutor;
+
     public Service(boolean includeRawResponses) {
-        objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this(includeRawResponses, false);
+    }
+
+    /**
+     * Create a service.
+     *
+     * @param includeRawResponses whether replies should keep the message they were read from
+     * @param compactModel whether blocks, transactions, receipts and logs should be read into
+     *                     their compact forms
+     * @see ObjectMapperFactory#getObjectMapper(boolean, boolean)
+     */
+    public Service(boolean includeRawResponses, boolean compactModel) {
+        objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses, compactModel);
+        batchResponseDeserializer = new BatchResponseDeserializer(objectMapper);
+    }
+
+    /**
+     * Get the object mapper replies are read with, as configured for raw responses and compact
+     * models.
+     *
+     * @return the object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
     }
 
     protected abstract InputStream performIO(String payload) throws IOException;
 
+    /**
+     * Send a request, or a list of requests, and return the reply stream.
+     *
+     * <p>By default the request is serialized to a String for {@link #performIO(String)}.
+     * Transports which are able to serialize a request straight into their output should
+     * override this method to avoid the intermediate copy.
+     *
+     * @param request the request, or list of requests to send
+     * @return the reply stream, or null if there is no reply
+     * @throws IOException if the request could not be sent
+     */
+    protected InputStream performRequestIO(Object request) throws IOException {
+        return performIO(objectMapper.writeValueAsString(request));
+    }
+
+    /**
+     * Get the reader of the reply to a request, reading only the fields of its projection.
+     *
+     * @param request the request
+     * @param responseType the type of the reply
+     * @return the reader
+     */
+    protected ObjectReader reader(Request<?, ?> request, Class<?> responseType) {
+        return FieldProjection.readerFor(objectMapper, responseType, request.getProjection());
+    }
+
+    /**
+     * Send a request, or a list of requests, and return the reply stream, marking on the trace
+     * when the request has been serialized.
+     *
+     * <p>By default serialization is not marked, and so counts as network time. Transports which
+     * serialize a request before sending it should override this method to mark it.
+     *
+     * @param request the request, or list of requests to send
+     * @param trace the trace of the request
+     * @return the reply stream, or null if there is no reply
+     * @throws IOException if the request could not be sent
+     */
+    protected InputStream performRequestIO(Object request, RequestTrace trace)
+            throws IOException {
+        return performRequestIO(request);
+    }
+
+    /**
+     * Add a listener told of every request sent by this service.
+     *
+     * @param listener the listener
+     */
+    public void addRequestListener(RequestListener listener) {
+        requestListeners.add(listener);
+    }
+
+    public void removeRequestListener(RequestListener listener) {
+        requestListeners.remove(listener);
+    }
+
     @Override
     public <T extends Response> T send(
             Request request, Class<T> responseType) throws IOException {
-        String payload = objectMapper.writeValueAsString(request);
+        RequestTrace trace = requestListeners.start(request);
+        if (trace == RequestTrace.NONE) {
+            try (InputStream result = performRequestIO(request)) {
+                if (result != null) {
+                    return reader(request, responseType).readValue(result);
+                } else {
+                    return null;
+                }
+            }
+        }
 
-        try (InputStream result = performIO(payload)) {
+        T response = null;
+        Throwable failure = null;
+        try (CountingInputStream result = CountingInputStream.wrap(
+                performRequestIO(request, trace))) {
+            trace.onReceived();
             if (result != null) {
-                return objectMapper.readValue(result, responseType);
-            } else {
-                return null;
+                response = reader(request, responseType).readValue(result);
+                trace.setResponseSize(result.getCount());
             }
+            return response;
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            trace.onCompleted(response, failure);
         }
     }
 
     @Override
     public <T extends Response> CompletableFuture<T> sendAsync(
             Request jsonRpc20Request, Class<T> responseType) {
-        return Async.run(() -> send(jsonRpc20Request, responseType));
+        return runAsync(() -> send(jsonRpc20Request, responseType));
+    }
+
+    /**
+     * Send a request whose result is an array, such as {@code eth_getLogs}, and emit the
+     * elements of the result as they are read off the reply, rather than once the whole reply
+     * has been read. Elements are only read as they are requested downstream, so that a slow
+     * subscriber holds back the reading of the reply rather than having it buffered.
+     *
+     * <p>The request is sent on subscription, on the subscribing thread, and the reply is closed
+     * once the result has been read, or on cancellation. Raw responses are not recorded.
+     *
+     * @param request the request
+     * @param elementType the type of the elements of the result
+     * @param maxResponseSize the size in bytes past which the reply is aborted with a
+     *                        {@link org.web3j.protocol.exceptions.ResponseTooLargeException},
+     *                        or a negative value to read it whatever its size
+     * @param <T> the type of the elements of the result
+     * @return a {@link Flowable} instance emitting the elements of the result
+     * @see ResultIterator
+     */
+    public <T> Flowable<T> streamResult(
+            Request<?, ?> request, Class<T> elementType, long maxResponseSize) {
+        return Flowable.defer(() -> {
+            RequestTrace trace = requestListeners.start(request);
+            return Flowable.<T, ResultIterator<T>>generate(
+                    () -> openResult(request, elementType, maxResponseSize, trace),
+                    (result, emitter) -> {
+                        T element = result.readNext();
+                        if (element != null) {
+                            emitter.onNext(element);
+                        }
+                        // completes along with the last element, without waiting for more
+                        // to be requested
+                        if (result.isFinished()) {
+                            trace.setResponseSize(result.getBytesRead());
+                            emitter.onComplete();
+                        }
+                    },
+                    ResultIterator::close)
+                    .doOnComplete(() -> trace.onCompleted(null, null))
+                    .doOnError(e -> trace.onCompleted(null, e))
+                    .doOnCancel(() -> trace.onCompleted(null, new CancellationException()));
+        });
+    }
+
+    private <T> ResultIterator<T> openResult(
+            Request<?, ?> request, Class<T> elementType, long maxResponseSize,
+            RequestTrace trace) throws IOException {
+        InputStream result = performRequestIO(request, trace);
+        trace.onReceived();
+        if (result == null) {
+            result = new ByteArrayInputStream(new byte[0]);
+        } else if (result instanceof RawResponseInputStream) {
+            // recording the reply would hold all of it in memory
+            result = ((RawResponseInputStream) result).getSource();
+        }
+        return new ResultIterator<>(reader(request, elementType), result, maxResponseSize);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        if (batchRequest.getRequests().isEmpty()) {
+            // an empty array is not a valid JSON-RPC batch
+            return new BatchResponse(batchRequest.getRequests(), Collections.emptyList());
+        }
+
+        RequestTrace trace = requestListeners.start(batchRequest.getRequests());
+        BatchResponse response = null;
+        Throwable failure = null;
+        try (CountingInputStream result = CountingInputStream.wrap(
+                performRequestIO(batchRequest.getRequests(), trace))) {
+            trace.onReceived();
+            if (result != null) {
+                response = readBatchResponse(batchRequest, result);
+                trace.setResponseSize(result.getCount());
+            }
+            return response;
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            trace.onCompleted(response, failure);
+        }
+    }
+
+    protected BatchResponse readBatchResponse(
+            BatchRequest batchRequest, InputStream result) throws IOException {
+        return batchResponseDeserializer.deserialize(batchRequest, objectMapper.readTree(result));
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return runAsync(() -> sendBatch(batchRequest));
+    }
+
+    private <T> CompletableFuture<T> runAsync(Callable<T> callable) {
+        Executor asyncExecutor = this.asyncExecutor;
+        return asyncExecutor != null ? Async.run(callable, asyncExecutor) : Async.run(callable);
+    }
+
+    /**
+     * Set the executor on which this service sends requests asynchronously, rather than the
+     * one shared by all services, see {@link Async#setExecutor(Executor)}.
+     *
+     * <p><strong>You are responsible for terminating this executor</strong>.
+     *
+     * @param asyncExecutor the executor, or null to use the shared one
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor != null ? asyncExecutor : Async.getExecutor();
+    }
+
+    /**
+     * Counts the bytes read from a reply stream, to report its size.
+     */
+    protected static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        public static CountingInputStream wrap(InputStream in) {
+            return in != null ? new CountingInputStream(in) : null;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
 
     @Override
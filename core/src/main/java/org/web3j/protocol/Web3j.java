@@ -2,6 +2,7 @@ package org.web3j.protocol;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.web3j.protocol.core.Batcher;
 import org.web3j.protocol.core.Ethereum;
 import org.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.web3j.protocol.rx.Web3jRx;
@@ -9,10 +10,11 @@ import org.web3j.protocol.rx.Web3jRx;
 /**
  * JSON-RPC Request object building factory.
  */
-public interface Web3j extends Ethereum, Web3jRx {
+public interface Web3j extends Ethereum, Web3jRx, Batcher {
 
     /**
-     * Construct a new Web3j instance.
+     * Construct a new Web3j instance, scheduling its tasks on the
+     * {@link org.web3j.utils.SharedScheduler#getDefault() shared scheduler}.
      *
      * @param web3jService web3j service instance - i.e. HTTP or IPC
      * @return new Web3j instance
@@ -26,7 +28,9 @@ public interface Web3j extends Ethereum, Web3jRx {
      *
      * @param web3jService web3j service instance - i.e. HTTP or IPC
      * @param pollingInterval polling interval for responses from network nodes
-     * @param scheduledExecutorService executor service to use for scheduled tasks.
+     * @param scheduledExecutorService executor service to use for scheduled tasks, which may
+     *                                 be {@link org.web3j.utils.SharedScheduler#acquire()
+     *                                 acquired} from a shared scheduler.
      *                                 <strong>You are responsible for terminating this thread
      *                                 pool</strong>
      * @return new Web3j instance
@@ -1,16 +1,25 @@
 package org.web3j.protocol;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import io.reactivex.Flowable;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.websocket.events.Notification;
 
 /**
  * Services API.
+ *
+ * <p>Only a {@link Service} reads replies as a stream. Services decorating another read them
+ * whole, so a maximum response size, as given to
+ * {@link org.web3j.protocol.rx.Web3jRx#ethGetLogsFlowable Web3jRx.ethGetLogsFlowable},
+ * cannot be applied through them, and fails with an {@link UnsupportedOperationException}.
  */
 public interface Web3jService {
 
@@ -38,6 +47,50 @@ public interface Web3jService {
     <T extends Response> CompletableFuture<T> sendAsync(
             Request request, Class<T> responseType);
 
+    /**
+     * Perform a synchronous JSON-RPC batch request.
+     *
+     * <p>By default, the requests of the batch are sent one at a time, with
+     * {@link #send(Request, Class)}, for services unable to send them as a single payload.
+     *
+     * @param batchRequest batch of requests to perform
+     * @return responses to the requests of the batch, in request order
+     * @throws IOException thrown if failed to perform the batch as a whole
+     */
+    default BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Response<?>> responses = new ArrayList<>(batchRequest.getRequests().size());
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            responses.add(send(request, request.getResponseType()));
+        }
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+
+    /**
+     * Performs an asynchronous JSON-RPC batch request.
+     *
+     * <p>By default, the requests of the batch are sent concurrently, with
+     * {@link #sendAsync(Request, Class)}, for services unable to send them as a single payload.
+     *
+     * @param batchRequest batch of requests to perform
+     * @return CompletableFuture that will be completed when the responses are returned or if
+     *         the batch as a whole has failed
+     */
+    default CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        List<CompletableFuture<? extends Response<?>>> replies = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            replies.add(sendAsync(request, request.getResponseType()));
+        }
+        return CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<Response<?>> responses = new ArrayList<>(replies.size());
+                    for (CompletableFuture<? extends Response<?>> reply : replies) {
+                        responses.add(reply.join());
+                    }
+                    return new BatchResponse(requests, responses);
+                });
+    }
+
     /**
      * Subscribe to a stream of notifications. A stream of notifications is opened by
      * by performing a specified JSON-RPC request and is closed by calling
@@ -0,0 +1,151 @@
+package org.web3j.protocol.balancing;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.web3j.protocol.Web3jService;
+
+/**
+ * One of the services a {@link LoadBalancingService} spreads requests across, along with the
+ * load, latency and health it has observed for it.
+ */
+public class Endpoint {
+
+    // Weight of the latest sample in the moving average of latencies
+    static final double LATENCY_DECAY = 0.2;
+
+    private final Web3jService web3jService;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    // Guarded by this
+    private double averageLatencyNanos;
+    // Set once the endpoint has failed too many times in a row, until it passes a health probe
+    private volatile boolean ejected;
+    // Set while the endpoint's head is too far behind the highest head of all endpoints
+    private volatile boolean lagging;
+    private volatile BigInteger blockNumber;
+
+    Endpoint(Web3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+
+    public Web3jService getWeb3jService() {
+        return web3jService;
+    }
+
+    /**
+     * Returns whether requests are routed to this endpoint.
+     *
+     * @return false if the endpoint has been ejected, or lags behind the other endpoints
+     */
+    public boolean isHealthy() {
+        return !ejected && !lagging;
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    public boolean isLagging() {
+        return lagging;
+    }
+
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * Returns the moving average of the latency of requests sent to this endpoint.
+     *
+     * @param unit unit of the returned value
+     * @return average latency
+     */
+    public synchronized long getAverageLatency(TimeUnit unit) {
+        return unit.convert((long) averageLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the block number of this endpoint's head, as of its last health probe.
+     *
+     * @return the block number, or null if the endpoint has not been probed yet
+     */
+    public BigInteger getBlockNumber() {
+        return blockNumber;
+    }
+
+    // Lower is better: the expected wait for a request, given the requests already in flight
+    synchronized double getScore() {
+        return (averageLatencyNanos + 1) * (outstandingRequests.get() + 1);
+    }
+
+    long onRequestStarted() {
+        outstandingRequests.incrementAndGet();
+        requestCount.increment();
+        return System.nanoTime();
+    }
+
+    // Called on any reply, including a JSON-RPC error, as the endpoint could be reached
+    void onRequestSucceeded(long startedAt) {
+        outstandingRequests.decrementAndGet();
+        consecutiveFailures.set(0);
+        recordLatency(System.nanoTime() - startedAt);
+    }
+
+    void onRequestCancelled() {
+        outstandingRequests.decrementAndGet();
+    }
+
+    /**
+     * Record a failure to connect to the endpoint.
+     *
+     * @return true if the endpoint has been ejected by this failure
+     */
+    boolean onRequestFailed(int failureThreshold) {
+        outstandingRequests.decrementAndGet();
+        return onFailure(failureThreshold);
+    }
+
+    boolean onProbeFailed(int failureThreshold) {
+        return onFailure(failureThreshold);
+    }
+
+    void onProbeSucceeded(BigInteger blockNumber, long latencyNanos) {
+        this.blockNumber = blockNumber;
+        consecutiveFailures.set(0);
+        ejected = false;
+        recordLatency(latencyNanos);
+    }
+
+    void setLagging(boolean lagging) {
+        this.lagging = lagging;
+    }
+
+    private boolean onFailure(int failureThreshold) {
+        failureCount.increment();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && !ejected) {
+            ejected = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        if (averageLatencyNanos == 0) {
+            averageLatencyNanos = latencyNanos;
+        } else {
+            averageLatencyNanos += LATENCY_DECAY * (latencyNanos - averageLatencyNanos);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package org.web3j.protocol.balancing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.SharedScheduler;
+
+/**
+ * Service that hedges read requests across the endpoints of a {@link LoadBalancingService}, to
+ * cut the tail latency caused by a single slow endpoint.
+ *
+ * <p>If a request for one of the hedged methods has not completed once its method's
+ * {@code percentile} latency has passed, a duplicate is sent to another healthy endpoint. The
+ * first successful reply is returned and the other request is cancelled. Until enough latencies
+ * of a method have been recorded, requests are hedged after
+ * {@link #setInitialHedgeDelay(long, TimeUnit) the initial hedge delay}.
+ *
+ * <p>A request which fails before it has been hedged fails without being hedged. Once hedged,
+ * it only fails if both its requests fail.
+ *
+ * <p>Only methods which do not change state may be hedged, as the duplicate is processed too.
+ * Requests for any other method, batches and subscriptions are passed straight through to the
+ * load balancing service.
+ *
+ * <p>Hedges are sent from the {@link SharedScheduler#getDefault() default shared scheduler},
+ * whose view is released when the service is closed.
+ */
+public class HedgingService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingService.class);
+
+    public static final Set<String> DEFAULT_HEDGED_METHODS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(
+                    "eth_blockNumber",
+                    "eth_call",
+                    "eth_chainId",
+                    "eth_estimateGas",
+                    "eth_gasPrice",
+                    "eth_getBalance",
+                    "eth_getBlockByHash",
+                    "eth_getBlockByNumber",
+                    "eth_getBlockTransactionCountByHash",
+                    "eth_getBlockTransactionCountByNumber",
+                    "eth_getCode",
+                    "eth_getLogs",
+                    "eth_getStorageAt",
+                    "eth_getTransactionByBlockHashAndIndex",
+                    "eth_getTransactionByBlockNumberAndIndex",
+                    "eth_getTransactionByHash",
+                    "eth_getTransactionCount",
+                    "eth_getTransactionReceipt",
+                    "eth_getUncleByBlockHashAndIndex",
+                    "eth_getUncleByBlockNumberAndIndex",
+                    "net_version",
+                    "web3_clientVersion")));
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    public static final long DEFAULT_INITIAL_HEDGE_DELAY_MILLIS = 100;
+
+    // Number of recent latencies of a method the percentile is derived from
+    static final int LATENCY_WINDOW_SIZE = 1024;
+    static final int MIN_LATENCY_SAMPLES = 32;
+
+    private final LoadBalancingService loadBalancingService;
+    private final Set<String> hedgedMethods;
+    private final double percentile;
+    private final ScheduledExecutorService executor;
+    private final Map<String, LatencyWindow> latencyForMethod = new ConcurrentHashMap<>();
+    private volatile long initialHedgeDelayNanos =
+            TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_HEDGE_DELAY_MILLIS);
+    private volatile long minHedgeDelayNanos;
+    private final LongAdder hedgedRequestCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    public HedgingService(LoadBalancingService loadBalancingService) {
+        this(loadBalancingService, DEFAULT_HEDGED_METHODS, DEFAULT_PERCENTILE);
+    }
+
+    public HedgingService(
+            LoadBalancingService loadBalancingService,
+            Set<String> hedgedMethods,
+            double percentile) {
+        this(loadBalancingService, hedgedMethods, percentile,
+                SharedScheduler.getDefault().acquire());
+    }
+
+    HedgingService(
+            LoadBalancingService loadBalancingService,
+            Set<String> hedgedMethods,
+            double percentile,
+            ScheduledExecutorService executor) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be in (0, 1]: " + percentile);
+        }
+        this.loadBalancingService = loadBalancingService;
+        this.hedgedMethods = new HashSet<>(hedgedMethods);
+        this.percentile = percentile;
+        this.executor = executor;
+    }
+
+    /**
+     * Set the delay after which requests are hedged, until enough latencies of their method
+     * have been recorded. Defaults to {@value #DEFAULT_INITIAL_HEDGE_DELAY_MILLIS} milliseconds.
+     *
+     * @param delay the delay
+     * @param unit the unit of the delay
+     */
+    public void setInitialHedgeDelay(long delay, TimeUnit unit) {
+        this.initialHedgeDelayNanos = unit.toNanos(delay);
+    }
+
+    /**
+     * Set the minimum delay after which requests are hedged, however fast their method has
+     * been recently.
+     *
+     * @param delay the delay
+     * @param unit the unit of the delay
+     */
+    public void setMinHedgeDelay(long delay, TimeUnit unit) {
+        this.minHedgeDelayNanos = unit.toNanos(delay);
+    }
+
+    /**
+     * Get the number of duplicate requests sent.
+     *
+     * @return number of hedged requests
+     */
+    public long getHedgedRequestCount() {
+        return hedgedRequestCount.sum();
+    }
+
+    /**
+     * Get the number of requests which were answered first by their duplicate.
+     *
+     * @return number of requests won by a hedge
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        if (!hedgedMethods.contains(request.getMethod())) {
+            return loadBalancingService.send(request, responseType);
+        }
+
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for hedged request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        if (!hedgedMethods.contains(request.getMethod())) {
+            return loadBalancingService.sendAsync(request, responseType);
+        }
+
+        LatencyWindow latencies = latencyForMethod.computeIfAbsent(
+                request.getMethod(),
+                method -> new LatencyWindow(
+                        LATENCY_WINDOW_SIZE, percentile, MIN_LATENCY_SAMPLES));
+        HedgedRequest<T> hedgedRequest =
+                new HedgedRequest<>(request, responseType, latencies);
+
+        Endpoint primary = loadBalancingService.selectEndpoint();
+        hedgedRequest.sendTo(primary, false);
+        if (!hedgedRequest.result.isDone()) {
+            hedgedRequest.scheduleHedge(primary, hedgeDelayNanos(latencies));
+        }
+        return hedgedRequest.result;
+    }
+
+    private long hedgeDelayNanos(LatencyWindow latencies) {
+        long percentileNanos = latencies.getPercentileNanos();
+        if (percentileNanos < 0) {
+            return initialHedgeDelayNanos;
+        }
+        return Math.max(percentileNanos, minHedgeDelayNanos);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return loadBalancingService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return loadBalancingService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return loadBalancingService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        loadBalancingService.close();
+    }
+
+    /**
+     * A request, and its duplicate once it has been hedged.
+     */
+    private class HedgedRequest<T extends Response> {
+        private final Request request;
+        private final Class<T> responseType;
+        private final LatencyWindow latencies;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long startedAt = System.nanoTime();
+        // Guarded by this
+        private final List<CompletableFuture<T>> attempts = new ArrayList<>(2);
+        private int pendingAttempts;
+        private ScheduledFuture<?> hedge;
+
+        HedgedRequest(Request request, Class<T> responseType, LatencyWindow latencies) {
+            this.request = request;
+            this.responseType = responseType;
+            this.latencies = latencies;
+
+            // once there is a result, or the caller has cancelled, the rest is of no use
+            result.whenComplete((response, throwable) -> cancelAttempts());
+        }
+
+        void sendTo(Endpoint endpoint, boolean isHedge) {
+            CompletableFuture<T> attempt;
+            synchronized (this) {
+                pendingAttempts++;
+            }
+            try {
+                attempt = loadBalancingService.sendAsync(endpoint, request, responseType);
+            } catch (RuntimeException e) {
+                onFailure(e);
+                return;
+            }
+            synchronized (this) {
+                attempts.add(attempt);
+            }
+
+            attempt.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    onFailure(throwable);
+                } else if (result.complete(response)) {
+                    // measured from the original send, as the primary took at least as long
+                    // when a hedge wins, so that hedging does not lower the percentile
+                    latencies.record(System.nanoTime() - startedAt);
+                    if (isHedge) {
+                        hedgeWinCount.increment();
+                    }
+                }
+            });
+            if (result.isDone()) {
+                // completed before the attempt could be recorded
+                attempt.cancel(false);
+            }
+        }
+
+        synchronized void scheduleHedge(Endpoint primary, long delayNanos) {
+            hedge = executor.schedule(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                Endpoint other = loadBalancingService.selectOtherEndpoint(primary);
+                if (other == null) {
+                    log.debug("No other healthy endpoint to hedge request with id {}",
+                            request.getId());
+                    return;
+                }
+                hedgedRequestCount.increment();
+                log.debug("Hedging request with id {} after {} ms",
+                        request.getId(), TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                sendTo(other, true);
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void onFailure(Throwable throwable) {
+            boolean failed;
+            synchronized (this) {
+                // the request fails once no attempt which has been sent can still succeed, so
+                // it is not hedged if it fails before its hedge is due
+                failed = --pendingAttempts == 0;
+            }
+            if (failed) {
+                result.completeExceptionally(throwable);
+            }
+        }
+
+        private void cancelAttempts() {
+            List<CompletableFuture<T>> sent;
+            synchronized (this) {
+                if (hedge != null) {
+                    hedge.cancel(false);
+                }
+                sent = new ArrayList<>(attempts);
+            }
+            sent.forEach(attempt -> attempt.cancel(false));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.web3j.protocol.balancing;
+
+import java.util.Arrays;
+
+/**
+ * The most recent latencies of a kind of request, from which a percentile is derived.
+ *
+ * <p>The percentile is only recomputed every {@link #RECOMPUTE_INTERVAL} samples, so that
+ * reading it is cheap enough to do on every request.
+ */
+class LatencyWindow {
+
+    static final int RECOMPUTE_INTERVAL = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    // Guarded by this
+    private int count;
+    private int next;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile, int minSamples) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+
+        if (count >= minSamples && (next % RECOMPUTE_INTERVAL == 0 || percentileNanos < 0)) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+
+    /**
+     * Returns the latency at the percentile of the window.
+     *
+     * @return the latency, or -1 if too few latencies have been recorded yet
+     */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
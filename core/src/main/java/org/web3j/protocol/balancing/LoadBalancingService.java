@@ -0,0 +1,360 @@
+package org.web3j.protocol.balancing;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+/**
+ * Service that spreads requests across several services, each connected to a different node.
+ *
+ * <p>Each request is routed to the better of two healthy endpoints picked at random, the better
+ * one being the one with the lower moving average latency, weighted by the number of requests it
+ * already has in flight. This avoids both slow endpoints and herding onto the single fastest.
+ *
+ * <p>An endpoint is ejected once {@link #setFailureThreshold(int) failureThreshold} requests in a
+ * row fail to reach it, with a refused or reset connection, a timeout, or a
+ * {@link ClientConnectionException} for a 5xx reply. Other failures, such as replies which cannot
+ * be parsed or requests rejected before they were sent, say nothing about its health. Every
+ * endpoint is probed periodically with {@code eth_blockNumber}, from a daemon thread stopped when
+ * the service is closed: a successful probe restores an ejected endpoint, and an endpoint whose
+ * head is more than {@link #setMaxBlockLag(long) maxBlockLag} blocks behind the highest head of
+ * all endpoints is not routed to until it catches up. If no endpoint is healthy, requests are
+ * spread across all of them.
+ *
+ * <p>Failed requests are not retried on another endpoint. Each subscription is pinned to one
+ * healthy endpoint for its lifetime.
+ *
+ * <p>Replies are read whole, even from endpoints able to stream them.
+ */
+public class LoadBalancingService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadBalancingService.class);
+
+    public static final long DEFAULT_PROBE_INTERVAL_MILLIS = 10_000;
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+    public static final long DEFAULT_MAX_BLOCK_LAG = 5;
+
+    private final List<Endpoint> endpoints;
+    private final ScheduledExecutorService executor;
+    private volatile int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    private volatile long maxBlockLag = DEFAULT_MAX_BLOCK_LAG;
+
+    public LoadBalancingService(List<? extends Web3jService> web3jServices) {
+        this(web3jServices, DEFAULT_PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public LoadBalancingService(
+            List<? extends Web3jService> web3jServices, long probeInterval, TimeUnit unit) {
+        this(web3jServices, probeInterval, unit,
+                Async.daemonExecutorService("web3j-load-balancing-probe"));
+    }
+
+    LoadBalancingService(
+            List<? extends Web3jService> web3jServices, long probeInterval, TimeUnit unit,
+            ScheduledExecutorService executor) {
+        if (web3jServices.isEmpty()) {
+            throw new IllegalArgumentException("At least one service is required");
+        }
+        List<Endpoint> endpoints = new ArrayList<>();
+        web3jServices.forEach(web3jService -> endpoints.add(new Endpoint(web3jService)));
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.executor = executor;
+
+        executor.scheduleWithFixedDelay(this::probe, 0, probeInterval, unit);
+    }
+
+    /**
+     * Set the number of consecutive failures to reach an endpoint after which it is ejected.
+     * Defaults to {@value #DEFAULT_FAILURE_THRESHOLD}.
+     *
+     * @param failureThreshold the number of consecutive failures
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Set how many blocks an endpoint's head may lag behind the highest head of all endpoints,
+     * before requests are no longer routed to it. Defaults to {@value #DEFAULT_MAX_BLOCK_LAG}.
+     *
+     * @param maxBlockLag the maximum number of blocks
+     */
+    public void setMaxBlockLag(long maxBlockLag) {
+        this.maxBlockLag = maxBlockLag;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        Endpoint endpoint = selectEndpoint();
+        long startedAt = endpoint.onRequestStarted();
+        try {
+            T response = endpoint.getWeb3jService().send(request, responseType);
+            endpoint.onRequestSucceeded(startedAt);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            onRequestFailed(endpoint, startedAt, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return sendAsync(selectEndpoint(), request, responseType);
+    }
+
+    <T extends Response> CompletableFuture<T> sendAsync(
+            Endpoint endpoint, Request request, Class<T> responseType) {
+        long startedAt = endpoint.onRequestStarted();
+        CompletableFuture<T> result;
+        try {
+            result = endpoint.getWeb3jService().sendAsync(request, responseType);
+        } catch (RuntimeException e) {
+            onRequestFailed(endpoint, startedAt, e);
+            throw e;
+        }
+        return track(endpoint, startedAt, result);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        Endpoint endpoint = selectEndpoint();
+        long startedAt = endpoint.onRequestStarted();
+        try {
+            BatchResponse response = endpoint.getWeb3jService().sendBatch(batchRequest);
+            endpoint.onRequestSucceeded(startedAt);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            onRequestFailed(endpoint, startedAt, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        Endpoint endpoint = selectEndpoint();
+        long startedAt = endpoint.onRequestStarted();
+        CompletableFuture<BatchResponse> result;
+        try {
+            result = endpoint.getWeb3jService().sendBatchAsync(batchRequest);
+        } catch (RuntimeException e) {
+            onRequestFailed(endpoint, startedAt, e);
+            throw e;
+        }
+        return track(endpoint, startedAt, result);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        Endpoint endpoint = selectEndpoint();
+        log.debug("Pinning subscription with request id {} to {}",
+                request.getId(), endpoint.getWeb3jService());
+        return endpoint.getWeb3jService().subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        IOException failure = null;
+        for (Endpoint endpoint : endpoints) {
+            try {
+                endpoint.getWeb3jService().close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    Endpoint selectEndpoint() {
+        List<Endpoint> candidates = healthyEndpoints(null);
+        if (candidates.isEmpty()) {
+            // better to try an unhealthy endpoint than to fail without trying
+            candidates = endpoints;
+        }
+        return select(candidates);
+    }
+
+    /**
+     * Select a healthy endpoint other than the given one.
+     *
+     * @return the endpoint, or null if there is no other healthy endpoint
+     */
+    Endpoint selectOtherEndpoint(Endpoint excluded) {
+        List<Endpoint> candidates = healthyEndpoints(excluded);
+        return candidates.isEmpty() ? null : select(candidates);
+    }
+
+    private List<Endpoint> healthyEndpoints(Endpoint excluded) {
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isHealthy() && endpoint != excluded) {
+                candidates.add(endpoint);
+            }
+        }
+        return candidates;
+    }
+
+    private static Endpoint select(List<Endpoint> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return a.getScore() <= b.getScore() ? a : b;
+    }
+
+    private <T> CompletableFuture<T> track(
+            Endpoint endpoint, long startedAt, CompletableFuture<T> result) {
+        // the caller's future is returned as is, so that cancelling it cancels the request
+        result.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                endpoint.onRequestSucceeded(startedAt);
+            } else if (result.isCancelled()) {
+                // the time until it was cancelled is not the latency of the endpoint
+                endpoint.onRequestCancelled();
+            } else {
+                onRequestFailed(endpoint, startedAt, throwable);
+            }
+        });
+        return result;
+    }
+
+    private void onRequestFailed(Endpoint endpoint, long startedAt, Throwable throwable) {
+        if (isConnectionFailure(throwable)) {
+            if (endpoint.onRequestFailed(failureThreshold)) {
+                log.warn("Ejected {} after {} consecutive failures",
+                        endpoint.getWeb3jService(), failureThreshold, throwable);
+            }
+        } else {
+            // the endpoint was reached, so the failure says nothing about its health
+            endpoint.onRequestSucceeded(startedAt);
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ClientConnectionException) {
+            int statusCode = ((ClientConnectionException) cause).getStatusCode();
+            return statusCode == 0 || statusCode >= 500;
+        }
+        return cause instanceof SocketException
+                || cause instanceof SocketTimeoutException
+                || cause instanceof UnknownHostException;
+    }
+
+    void probe() {
+        endpoints.forEach(this::probe);
+    }
+
+    private void probe(Endpoint endpoint) {
+        Web3jService web3jService = endpoint.getWeb3jService();
+        Request<?, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber",
+                Collections.<String>emptyList(),
+                web3jService,
+                EthBlockNumber.class);
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<EthBlockNumber> reply;
+        try {
+            reply = web3jService.sendAsync(request, EthBlockNumber.class);
+        } catch (RuntimeException e) {
+            onProbeFailed(endpoint, e);
+            return;
+        }
+
+        reply.whenComplete((ethBlockNumber, throwable) -> {
+            if (throwable != null) {
+                onProbeFailed(endpoint, throwable);
+            } else if (ethBlockNumber == null || ethBlockNumber.hasError()) {
+                onProbeFailed(endpoint, new IOException("Health probe returned an error"));
+            } else {
+                boolean wasEjected = endpoint.isEjected();
+                endpoint.onProbeSucceeded(
+                        ethBlockNumber.getBlockNumber(), System.nanoTime() - startedAt);
+                if (wasEjected) {
+                    log.info("Restored {} after a successful health probe", web3jService);
+                }
+                updateLagging();
+            }
+        });
+    }
+
+    private void onProbeFailed(Endpoint endpoint, Throwable throwable) {
+        log.debug("Health probe of {} failed", endpoint.getWeb3jService(), throwable);
+        if (endpoint.onProbeFailed(failureThreshold)) {
+            log.warn("Ejected {} after {} consecutive failures",
+                    endpoint.getWeb3jService(), failureThreshold);
+        }
+    }
+
+    private void updateLagging() {
+        BigInteger highest = null;
+        for (Endpoint endpoint : endpoints) {
+            BigInteger blockNumber = endpoint.getBlockNumber();
+            if (blockNumber != null && (highest == null || blockNumber.compareTo(highest) > 0)) {
+                highest = blockNumber;
+            }
+        }
+
+        BigInteger minBlockNumber = highest.subtract(BigInteger.valueOf(maxBlockLag));
+        for (Endpoint endpoint : endpoints) {
+            BigInteger blockNumber = endpoint.getBlockNumber();
+            boolean lagging = blockNumber != null && blockNumber.compareTo(minBlockNumber) < 0;
+            if (lagging != endpoint.isLagging()) {
+                log.info("{} is {}lagging behind block {}",
+                        endpoint.getWeb3jService(), lagging ? "" : "no longer ", highest);
+                endpoint.setLagging(lagging);
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.web3j.protocol.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.SharedScheduler;
+
+/**
+ * Service that transparently coalesces individual requests into JSON-RPC batches.
+ *
+ * <p>Requests sent through this service are queued until either {@code maxBatchSize} requests
+ * are waiting, or the oldest of them has waited for {@code maxDelay}. The queued requests are
+ * then sent to the underlying service as a single batch, and each reply is handed back to the
+ * caller that sent the matching request.
+ *
+ * <p>Explicit batches and subscriptions are passed straight through to the underlying service.
+ * Delayed batches are sent from the {@link SharedScheduler#getDefault() default shared
+ * scheduler}, whose view is released when the service is closed.
+ */
+public class BatchingService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingService.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 5;
+
+    private final Web3jService web3jService;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService executor;
+    private final BatchingStatistics statistics = new BatchingStatistics();
+
+    private final Object lock = new Object();
+    private List<PendingRequest<?>> pending = new ArrayList<>();
+    private Set<Long> pendingIds = new HashSet<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingService(Web3jService web3jService) {
+        this(web3jService, DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_MAX_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public BatchingService(
+            Web3jService web3jService, int maxBatchSize, long maxDelay, TimeUnit unit) {
+        this(web3jService, maxBatchSize, maxDelay, unit, SharedScheduler.getDefault().acquire());
+    }
+
+    BatchingService(
+            Web3jService web3jService, int maxBatchSize, long maxDelay, TimeUnit unit,
+            ScheduledExecutorService executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive");
+        }
+        this.web3jService = web3jService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.executor = executor;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for batched request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        PendingRequest<T> pendingRequest = new PendingRequest<>(request, responseType);
+
+        List<PendingRequest<?>> overflow = null;
+        List<PendingRequest<?>> full = null;
+        synchronized (lock) {
+            if (pendingIds.contains(request.getId())) {
+                // ids must be unique within a batch, so close the current one early
+                overflow = drain();
+            }
+
+            pending.add(pendingRequest);
+            pendingIds.add(request.getId());
+
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = executor.schedule(
+                        this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        dispatch(overflow);
+        dispatch(full);
+        return pendingRequest.result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    /**
+     * Send all queued requests immediately, without waiting for the batching window to end.
+     */
+    public void flush() {
+        List<PendingRequest<?>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    public BatchingStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        executor.shutdown();
+        web3jService.close();
+    }
+
+    // must be called while holding lock
+    private List<PendingRequest<?>> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        List<PendingRequest<?>> batch = pending;
+        pending = new ArrayList<>();
+        pendingIds = new HashSet<>();
+        return batch;
+    }
+
+    private void dispatch(List<PendingRequest<?>> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        batch.forEach(pendingRequest -> statistics.recordQueueLatency(
+                now - pendingRequest.enqueuedAt));
+        statistics.recordBatch(batch.size());
+
+        if (batch.size() == 1) {
+            // a batch of one gains nothing over a plain request
+            batch.get(0).sendTo(web3jService);
+            return;
+        }
+
+        BatchRequest batchRequest = new BatchRequest(web3jService);
+        batch.forEach(pendingRequest -> batchRequest.add(pendingRequest.request));
+
+        log.debug("Sending {} coalesced requests as a batch", batch.size());
+        web3jService.sendBatchAsync(batchRequest).whenComplete((batchResponse, throwable) -> {
+            if (throwable != null) {
+                batch.forEach(pendingRequest -> pendingRequest.result
+                        .completeExceptionally(throwable));
+            } else if (batchResponse == null) {
+                batch.forEach(pendingRequest -> pendingRequest.result.complete(null));
+            } else {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).complete(batchResponse.getResponses().get(i));
+                }
+            }
+        });
+    }
+
+    private static class PendingRequest<T extends Response> {
+        private final Request<?, ? extends Response<?>> request;
+        private final Class<T> responseType;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+
+        @SuppressWarnings("unchecked")
+        PendingRequest(Request request, Class<T> responseType) {
+            // batch replies are parsed according to the type carried by the request, which
+            // is not required to match the type the caller asked for
+            Request<Object, ? extends Response<?>> typedRequest = new Request<>(
+                    request.getMethod(),
+                    request.getParams(),
+                    null,
+                    (Class<? extends Response<?>>) (Class<?>) responseType);
+            typedRequest.setJsonrpc(request.getJsonrpc());
+            typedRequest.setId(request.getId());
+            typedRequest.withProjection(request.getProjection());
+
+            this.request = typedRequest;
+            this.responseType = responseType;
+        }
+
+        void sendTo(Web3jService web3jService) {
+            web3jService.sendAsync(request, responseType).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(response);
+                }
+            });
+        }
+
+        void complete(Response<?> response) {
+            result.complete(responseType.cast(response));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.web3j.protocol.batch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how a {@link BatchingService} is coalescing requests, for use when tuning
+ * its batch size and delay.
+ */
+public class BatchingStatistics {
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final LongAdder totalQueueLatencyNanos = new LongAdder();
+    private final AtomicLong maxQueueLatencyNanos = new AtomicLong();
+
+    void recordBatch(int size) {
+        batchCount.increment();
+        requestCount.add(size);
+        maxBatchSize.accumulateAndGet(size, Math::max);
+    }
+
+    void recordQueueLatency(long nanos) {
+        totalQueueLatencyNanos.add(nanos);
+        maxQueueLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Get the number of batches sent, including batches of a single request.
+     *
+     * @return number of batches sent
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public double getAverageBatchSize() {
+        long batches = batchCount.sum();
+        return batches == 0 ? 0 : (double) requestCount.sum() / batches;
+    }
+
+    /**
+     * Get the average time requests spent queued before being sent.
+     *
+     * @param unit unit of the returned value
+     * @return average queueing latency
+     */
+    public long getAverageQueueLatency(TimeUnit unit) {
+        long requests = requestCount.sum();
+        return requests == 0 ? 0 : unit.convert(
+                totalQueueLatencyNanos.sum() / requests, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxQueueLatency(TimeUnit unit) {
+        return unit.convert(maxQueueLatencyNanos.get(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,548 @@
+package org.web3j.protocol.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+/**
+ * Service that caches the replies which will never change, as decided by a
+ * {@link ResponseCachePolicy}, so that they are only fetched once.
+ *
+ * <p>Replies are cached by method and parameters, as their serialized result, in a least
+ * recently used cache bounded by the total size of the results. The result of a reply is copied
+ * as it is read, and the response is deserialized from the copy, so that the reply is only
+ * parsed once. Each hit is deserialized again, so callers never share a response. Responses are
+ * read with the object mapper of the underlying service, so that its compact model and raw
+ * response settings apply, and raw responses are rebuilt from the cached result.
+ *
+ * <p>Whether the block a reply depends on is confirmed is decided against the highest block
+ * number seen by the service, which is refreshed with {@code eth_blockNumber} at most once per
+ * {@code headRefreshInterval}, and only while replies are seen which depend on blocks above it.
+ *
+ * <p>Replies naming the {@code latest} block, such as contract calls, balances and nonces, may
+ * also be cached until the next block once the service is told of new heads, by
+ * {@link #subscribeToNewHeads() subscribing} to them, {@link #pollHead(long, TimeUnit) polling}
+ * for them, or {@link #onNewHead(long) directly}. Those replies are kept apart from the others,
+ * and are all dropped at once when a new head is seen. A reply fetched before then, but received
+ * after, is dropped too.
+ *
+ * <p>Batches and subscriptions are passed straight through to the underlying service.
+ */
+public class CachingService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingService.class);
+
+    public static final long DEFAULT_MAX_WEIGHT_BYTES = 64 * 1024 * 1024;
+
+    public static final long DEFAULT_HEAD_REFRESH_INTERVAL_MILLIS = 1000;
+
+    public static final long DEFAULT_MAX_LATEST_WEIGHT_BYTES = 16 * 1024 * 1024;
+
+    // Estimated size of an entry beyond its key and result
+    static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private static final byte[] NULL_RESULT = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final Web3jService web3jService;
+    private final ResponseCachePolicy policy;
+    private final long headRefreshIntervalNanos;
+    private final ObjectMapper objectMapper;
+    private final WeightedLruCache<String, byte[]> cache;
+
+    private final AtomicLong headBlockNumber = new AtomicLong(-1);
+    private final AtomicBoolean refreshingHead = new AtomicBoolean();
+    private volatile long headRefreshedAt;
+
+    // Replies naming the latest block, while new heads are being tracked
+    private volatile HeadScope headScope;
+    private Disposable newHeadsSubscription;
+    private ScheduledExecutorService headPollingExecutor;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CachingService(Web3jService web3jService) {
+        this(web3jService, ResponseCachePolicy.defaultPolicy(), DEFAULT_MAX_WEIGHT_BYTES);
+    }
+
+    public CachingService(
+            Web3jService web3jService, ResponseCachePolicy policy, long maxWeightBytes) {
+        this(web3jService, policy, maxWeightBytes,
+                DEFAULT_HEAD_REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public CachingService(
+            Web3jService web3jService, ResponseCachePolicy policy, long maxWeightBytes,
+            long headRefreshInterval, TimeUnit unit) {
+        this(web3jService, policy, maxWeightBytes, headRefreshInterval, unit,
+                web3jService instanceof Service
+                        ? ((Service) web3jService).getObjectMapper()
+                        : ObjectMapperFactory.getObjectMapper());
+    }
+
+    /**
+     * Create a caching service reading responses with the given object mapper, which should be
+     * that of the underlying service when it is not a {@link Service}, such as a WebSocket or
+     * IPC service created with compact models or raw responses.
+     *
+     * @param web3jService the service to cache the replies of
+     * @param policy the policy deciding which replies are cached
+     * @param maxWeightBytes the maximum size of the cached replies
+     * @param headRefreshInterval the minimum interval between refreshes of the head block
+     * @param unit the unit of the interval
+     * @param objectMapper the object mapper to read responses with
+     * @see ObjectMapperFactory#getObjectMapper(boolean, boolean)
+     */
+    public CachingService(
+            Web3jService web3jService, ResponseCachePolicy policy, long maxWeightBytes,
+            long headRefreshInterval, TimeUnit unit, ObjectMapper objectMapper) {
+        this.web3jService = web3jService;
+        this.policy = policy;
+        this.objectMapper = objectMapper;
+        this.headRefreshIntervalNanos = unit.toNanos(headRefreshInterval);
+        this.headRefreshedAt = System.nanoTime() - headRefreshIntervalNanos;
+        this.cache = new WeightedLruCache<>(maxWeightBytes, CachingService::weigh);
+    }
+
+    private static long weigh(String key, byte[] result) {
+        return 2L * key.length() + result.length + ENTRY_OVERHEAD_BYTES;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = keyOf(request);
+        if (key == null) {
+            return web3jService.send(request, responseType);
+        }
+
+        HeadScope scope = scopeOf(request);
+        byte[] cached = lookup(key, scope);
+        if (cached != null) {
+            return toResponse(request, cached, responseType);
+        }
+        return onReply(
+                request, key, scope, web3jService.send(request, RawResponse.class), responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        String key = keyOf(request);
+        if (key == null) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        HeadScope scope = scopeOf(request);
+        byte[] cached = lookup(key, scope);
+        if (cached != null) {
+            try {
+                return CompletableFuture.completedFuture(
+                        toResponse(request, cached, responseType));
+            } catch (IOException e) {
+                CompletableFuture<T> result = new CompletableFuture<>();
+                result.completeExceptionally(e);
+                return result;
+            }
+        }
+
+        return web3jService.sendAsync(request, RawResponse.class).thenApply(reply -> {
+            try {
+                return onReply(request, key, scope, reply, responseType);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private String keyOf(Request<?, ?> request) {
+        if (!policy.isCacheable(request.getMethod())) {
+            return null;
+        }
+        try {
+            return request.getMethod() + objectMapper.writeValueAsString(request.getParams());
+        } catch (JsonProcessingException e) {
+            log.debug("Not caching request with unserializable parameters", e);
+            return null;
+        }
+    }
+
+    private HeadScope scopeOf(Request<?, ?> request) {
+        HeadScope scope = headScope;
+        return scope != null && policy.dependsOnLatestBlock(
+                request.getMethod(), request.getParams()) ? scope : null;
+    }
+
+    private byte[] lookup(String key, HeadScope scope) {
+        byte[] result = scope != null ? scope.cache.get(key) : cache.get(key);
+        if (result == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return result;
+    }
+
+    private <T extends Response> T toResponse(
+            Request<?, ?> request, byte[] result, Class<T> responseType) throws IOException {
+        byte[] prefix = ("{\"jsonrpc\":\"2.0\",\"id\":" + request.getId() + ",\"result\":")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] reply = new byte[prefix.length + result.length + 1];
+        System.arraycopy(prefix, 0, reply, 0, prefix.length);
+        System.arraycopy(result, 0, reply, prefix.length, result.length);
+        reply[reply.length - 1] = '}';
+        return readResponse(request, reply, responseType);
+    }
+
+    private <T extends Response> T toErrorResponse(
+            Request<?, ?> request, Response.Error error, Class<T> responseType)
+            throws IOException {
+        ByteArrayBuilder reply = new ByteArrayBuilder();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(reply)) {
+            generator.writeStartObject();
+            generator.writeStringField("jsonrpc", "2.0");
+            generator.writeNumberField("id", request.getId());
+            generator.writeObjectFieldStart("error");
+            generator.writeNumberField("code", error.getCode());
+            generator.writeStringField("message", error.getMessage());
+            if (error.getData() != null) {
+                // kept as the JSON it was read from
+                generator.writeFieldName("data");
+                generator.writeRawValue(error.getData());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        return readResponse(request, reply.toByteArray(), responseType);
+    }
+
+    private <T extends Response> T readResponse(
+            Request<?, ?> request, byte[] reply, Class<T> responseType) throws IOException {
+        // read from a stream which can be reset, so that a raw response can be recorded
+        return FieldProjection.readerFor(objectMapper, responseType, request.getProjection())
+                .readValue(new ByteArrayInputStream(reply));
+    }
+
+    private <T extends Response> T onReply(
+            Request<?, ?> request, String key, HeadScope scope, RawResponse reply,
+            Class<T> responseType) throws IOException {
+        if (reply == null) {
+            return null;
+        } else if (reply.hasError()) {
+            return toErrorResponse(request, reply.getError(), responseType);
+        }
+
+        RawResult result = reply.getResult();
+        if (result == null) {
+            return toResponse(request, NULL_RESULT, responseType);
+        }
+
+        if (scope != null) {
+            // dropped with its scope if a new head has been seen since
+            scope.cache.put(key, result.bytes);
+        } else {
+            long blockNumber = policy.blockNumberOf(
+                    request.getMethod(), request.getParams(), result.blockNumber);
+            if (blockNumber >= 0 && isConfirmed(blockNumber)) {
+                cache.put(key, result.bytes);
+            }
+        }
+        return toResponse(request, result.bytes, responseType);
+    }
+
+    private boolean isConfirmed(long blockNumber) {
+        if (policy.isConfirmed(blockNumber, headBlockNumber.get())) {
+            return true;
+        }
+        // the head may have moved on since it was last seen, which the next reply benefits from
+        refreshHead();
+        return false;
+    }
+
+    private void refreshHead() {
+        if (System.nanoTime() - headRefreshedAt < headRefreshIntervalNanos
+                || !refreshingHead.compareAndSet(false, true)) {
+            return;
+        }
+
+        Request<?, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber",
+                Collections.<String>emptyList(),
+                web3jService,
+                EthBlockNumber.class);
+        web3jService.sendAsync(request, EthBlockNumber.class)
+                .whenComplete((reply, throwable) -> {
+                    if (reply != null && !reply.hasError()) {
+                        long blockNumber = reply.getBlockNumber().longValue();
+                        headBlockNumber.accumulateAndGet(blockNumber, Math::max);
+                    } else {
+                        log.debug("Failed to refresh the head block number", throwable);
+                    }
+                    headRefreshedAt = System.nanoTime();
+                    refreshingHead.set(false);
+                });
+    }
+
+    /**
+     * Cache replies naming the latest block until a new head is seen by a newHeads
+     * subscription, which the underlying service must support.
+     */
+    public synchronized void subscribeToNewHeads() {
+        stopTrackingHead();
+        headScope = new HeadScope(headBlockNumber.get());
+
+        Request<?, EthSubscribe> request = new Request<>(
+                "eth_subscribe",
+                Collections.singletonList("newHeads"),
+                web3jService,
+                EthSubscribe.class);
+        newHeadsSubscription = web3jService
+                .subscribe(request, "eth_unsubscribe", NewHeadsNotification.class)
+                .subscribe(
+                        notification -> onNewHead(Numeric.decodeQuantity(
+                                notification.getParams().getResult().getNumber()).longValue()),
+                        this::onHeadTrackingFailed,
+                        () -> onHeadTrackingFailed(null));
+    }
+
+    /**
+     * Cache replies naming the latest block until a new head is seen by polling
+     * {@code eth_blockNumber}, from a daemon thread stopped when the service is closed.
+     *
+     * @param interval the polling interval
+     * @param unit the unit of the polling interval
+     */
+    public void pollHead(long interval, TimeUnit unit) {
+        pollHead(interval, unit, Async.daemonExecutorService("web3j-head-poller"));
+    }
+
+    synchronized void pollHead(long interval, TimeUnit unit, ScheduledExecutorService executor) {
+        stopTrackingHead();
+        headScope = new HeadScope(headBlockNumber.get());
+
+        headPollingExecutor = executor;
+        Request<?, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber",
+                Collections.<String>emptyList(),
+                web3jService,
+                EthBlockNumber.class);
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                EthBlockNumber reply = web3jService.send(request, EthBlockNumber.class);
+                if (reply != null && !reply.hasError()) {
+                    onNewHead(reply.getBlockNumber().longValue());
+                }
+            } catch (Exception e) {
+                log.debug("Failed to poll the head block number", e);
+            }
+        }, 0, interval, unit);
+    }
+
+    /**
+     * Tell the service of a new head, dropping the cached replies which named the latest block
+     * if it is higher than the last head seen.
+     *
+     * @param blockNumber the number of the new head
+     */
+    public void onNewHead(long blockNumber) {
+        headBlockNumber.accumulateAndGet(blockNumber, Math::max);
+
+        HeadScope scope = headScope;
+        if (scope != null && blockNumber > scope.blockNumber) {
+            synchronized (this) {
+                // tracking may have stopped, or another caller moved on, in the meantime
+                if (headScope == scope) {
+                    headScope = new HeadScope(blockNumber);
+                }
+            }
+        }
+    }
+
+    private void onHeadTrackingFailed(Throwable throwable) {
+        // without new heads, replies naming the latest block would be served forever
+        log.warn("Stopped caching replies naming the latest block, as new heads are no longer "
+                + "tracked", throwable);
+        synchronized (this) {
+            headScope = null;
+        }
+    }
+
+    private synchronized void stopTrackingHead() {
+        headScope = null;
+        if (newHeadsSubscription != null) {
+            newHeadsSubscription.dispose();
+            newHeadsSubscription = null;
+        }
+        if (headPollingExecutor != null) {
+            headPollingExecutor.shutdownNow();
+            headPollingExecutor = null;
+        }
+    }
+
+    /**
+     * Get the highest block number seen, against which blocks are confirmed.
+     *
+     * @return the block number, or -1 if none has been seen yet
+     */
+    public long getHeadBlockNumber() {
+        return headBlockNumber.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    /**
+     * Get the estimated size of the cached replies.
+     *
+     * @return size in bytes
+     */
+    public long getWeight() {
+        return cache.weight();
+    }
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Drop all cached replies.
+     */
+    public void invalidateAll() {
+        cache.clear();
+        HeadScope scope = headScope;
+        if (scope != null) {
+            scope.cache.clear();
+        }
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopTrackingHead();
+        web3jService.close();
+    }
+
+    /**
+     * Replies naming the latest block, while it is a given block.
+     */
+    private class HeadScope {
+        private final long blockNumber;
+        private final WeightedLruCache<String, byte[]> cache = new WeightedLruCache<>(
+                DEFAULT_MAX_LATEST_WEIGHT_BYTES, CachingService::weigh);
+
+        HeadScope(long blockNumber) {
+            this.blockNumber = blockNumber;
+        }
+    }
+
+    /**
+     * A reply whose result is kept as it was received.
+     */
+    static class RawResponse extends Response<RawResult> {
+    }
+
+    /**
+     * The serialized result of a reply, and its {@code blockNumber} field if it is an object.
+     */
+    @JsonDeserialize(using = RawResultDeserializer.class)
+    static class RawResult {
+        private final byte[] bytes;
+        private final String blockNumber;
+
+        RawResult(byte[] bytes, String blockNumber) {
+            this.bytes = bytes;
+            this.blockNumber = blockNumber;
+        }
+    }
+
+    /**
+     * Copies a result as it is read, without binding it to a tree.
+     */
+    static class RawResultDeserializer extends JsonDeserializer<RawResult> {
+        @Override
+        public RawResult deserialize(JsonParser parser, DeserializationContext context)
+                throws IOException {
+            ByteArrayBuilder bytes = new ByteArrayBuilder();
+            String blockNumber = null;
+            try (JsonGenerator generator =
+                         parser.getCodec().getFactory().createGenerator(bytes)) {
+                if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                    generator.writeStartObject();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        generator.writeFieldName(name);
+                        if (parser.nextToken() == JsonToken.VALUE_STRING
+                                && name.equals("blockNumber")) {
+                            blockNumber = parser.getText();
+                        }
+                        generator.copyCurrentStructure(parser);
+                    }
+                    generator.writeEndObject();
+                } else {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            return new RawResult(bytes.toByteArray(), blockNumber);
+        }
+    }
+}
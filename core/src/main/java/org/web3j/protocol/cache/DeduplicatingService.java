@@ -0,0 +1,303 @@
+package org.web3j.protocol.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * Service that sends identical requests in flight at the same time only once.
+ *
+ * <p>A request with the same method, parameters and response type as one which has been sent,
+ * but not yet answered, waits for the reply to that request instead of being sent itself. All
+ * the callers waiting for a reply are given the same response, which must not be modified, and
+ * whose id is that of the request which was sent. Once a reply has been received, the next
+ * identical request is sent again.
+ *
+ * <p>A caller cancelling its future does not fail the other callers waiting for the same reply.
+ * Once every caller waiting for a reply has cancelled, the request sent is cancelled too.
+ *
+ * <p>Only requests for the {@code deduplicatedMethods}, which read state without changing it, are
+ * deduplicated. Requests for any other method, batches and subscriptions are passed straight
+ * through to the underlying service.
+ */
+public class DeduplicatingService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeduplicatingService.class);
+
+    public static final Set<String> DEFAULT_DEDUPLICATED_METHODS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(
+                    "eth_blockNumber",
+                    "eth_call",
+                    "eth_chainId",
+                    "eth_estimateGas",
+                    "eth_feeHistory",
+                    "eth_gasPrice",
+                    "eth_getBalance",
+                    "eth_getBlockByHash",
+                    "eth_getBlockByNumber",
+                    "eth_getBlockTransactionCountByHash",
+                    "eth_getBlockTransactionCountByNumber",
+                    "eth_getCode",
+                    "eth_getLogs",
+                    "eth_getProof",
+                    "eth_getStorageAt",
+                    "eth_getTransactionByBlockHashAndIndex",
+                    "eth_getTransactionByBlockNumberAndIndex",
+                    "eth_getTransactionByHash",
+                    "eth_getTransactionCount",
+                    "eth_getTransactionReceipt",
+                    "eth_getUncleByBlockHashAndIndex",
+                    "eth_getUncleByBlockNumberAndIndex",
+                    "eth_getUncleCountByBlockHash",
+                    "eth_getUncleCountByBlockNumber",
+                    "eth_maxPriorityFeePerGas",
+                    "eth_protocolVersion",
+                    "eth_syncing",
+                    "net_listening",
+                    "net_peerCount",
+                    "net_version",
+                    "web3_clientVersion",
+                    "web3_sha3")));
+
+    private final Web3jService web3jService;
+    private final Set<String> deduplicatedMethods;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder deduplicatedCount = new LongAdder();
+
+    public DeduplicatingService(Web3jService web3jService) {
+        this(web3jService, DEFAULT_DEDUPLICATED_METHODS);
+    }
+
+    public DeduplicatingService(Web3jService web3jService, Set<String> deduplicatedMethods) {
+        this.web3jService = web3jService;
+        this.deduplicatedMethods = new HashSet<>(deduplicatedMethods);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = keyOf(request, responseType);
+        if (key == null) {
+            return web3jService.send(request, responseType);
+        }
+
+        // a caller waiting synchronously never cancels, so the request is never cancelled
+        InFlight flight = new InFlight(key);
+        InFlight joined = join(flight);
+        if (joined != flight) {
+            return responseType.cast(await(joined.reply));
+        }
+
+        try {
+            T response = web3jService.send(request, responseType);
+            complete(flight, response, null);
+            return response;
+        } catch (IOException | RuntimeException | Error e) {
+            complete(flight, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        String key = keyOf(request, responseType);
+        if (key == null) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        InFlight flight = new InFlight(key);
+        InFlight joined = join(flight);
+        if (joined == flight) {
+            try {
+                CompletableFuture<T> sent = web3jService.sendAsync(request, responseType);
+                flight.setSent(sent);
+                sent.whenComplete((response, throwable) -> complete(flight, response, throwable));
+            } catch (RuntimeException e) {
+                complete(flight, null, e);
+            }
+        }
+
+        // each caller is given its own future, so that one cancelling does not fail the others
+        CompletableFuture<T> result = joined.reply.thenApply(responseType::cast);
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                joined.leave();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Join the identical request in flight, or else put the given one in flight.
+     *
+     * @return the request joined, or the given request if it must be sent
+     */
+    private InFlight join(InFlight flight) {
+        while (true) {
+            InFlight sent = inFlight.putIfAbsent(flight.key, flight);
+            if (sent == null) {
+                return flight;
+            } else if (sent.join()) {
+                deduplicatedCount.increment();
+                return sent;
+            }
+            // every caller of that request has cancelled, and it is being removed
+            inFlight.remove(flight.key, sent);
+        }
+    }
+
+    private String keyOf(Request<?, ?> request, Class<?> responseType) {
+        if (!deduplicatedMethods.contains(request.getMethod())) {
+            return null;
+        }
+        try {
+            // replies read with different projections are not interchangeable
+            return responseType.getName() + ':' + request.getMethod()
+                    + objectMapper.writeValueAsString(request.getParams())
+                    + (request.getProjection() != null ? request.getProjection() : "");
+        } catch (JsonProcessingException e) {
+            log.debug("Not deduplicating request with unserializable parameters", e);
+            return null;
+        }
+    }
+
+    private void complete(InFlight flight, Response response, Throwable throwable) {
+        // removed first, so that no caller joins a request which has already been answered
+        inFlight.remove(flight.key, flight);
+        if (throwable != null) {
+            flight.reply.completeExceptionally(throwable);
+        } else {
+            flight.reply.complete(response);
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> reply) throws IOException {
+        try {
+            return reply.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for identical request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    /**
+     * Get the number of requests which were not sent, as an identical request was in flight.
+     *
+     * @return number of deduplicated requests
+     */
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.sum();
+    }
+
+    /**
+     * Get the number of distinct requests currently in flight.
+     *
+     * @return number of requests in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    /**
+     * A request in flight, and the number of callers waiting for its reply.
+     */
+    private class InFlight {
+        private final String key;
+        private final CompletableFuture<Response> reply = new CompletableFuture<>();
+        // Guarded by this
+        private int waiters = 1;
+        private CompletableFuture<?> sent;
+
+        InFlight(String key) {
+            this.key = key;
+        }
+
+        synchronized boolean join() {
+            if (waiters == 0) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        void setSent(CompletableFuture<?> sent) {
+            synchronized (this) {
+                if (waiters > 0) {
+                    this.sent = sent;
+                    return;
+                }
+            }
+            sent.cancel(false);
+        }
+
+        /**
+         * Called when a waiting caller cancels, cancelling the request once no caller is left.
+         */
+        void leave() {
+            CompletableFuture<?> cancelled;
+            synchronized (this) {
+                if (--waiters > 0) {
+                    return;
+                }
+                cancelled = sent;
+            }
+            inFlight.remove(key, this);
+            reply.completeExceptionally(new CancellationException());
+            if (cancelled != null) {
+                cancelled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.web3j.protocol.cache;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.web3j.exceptions.MessageDecodingException;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.utils.Numeric;
+
+/**
+ * Rules deciding which replies will never change, and so may be cached by a
+ * {@link CachingService}.
+ *
+ * <p>A method may be cached:
+ * <ul>
+ *     <li>{@link #cacheAlways(String) always}, for replies which depend only on a hash, or on
+ *     the chain;</li>
+ *     <li>{@link #cacheAtBlock(String, int) at a block}, when its block parameter names a block
+ *     at least {@code confirmationDepth} blocks below the head of the chain, or the genesis
+ *     block;</li>
+ *     <li>{@link #cacheWhenIncluded(String) once included}, when the {@code blockNumber} of its
+ *     result is at least {@code confirmationDepth} blocks below the head of the chain, for
+ *     transactions and receipts looked up by hash.</li>
+ * </ul>
+ *
+ * <p>Empty results are never cached, as the block or transaction looked up may yet appear.
+ *
+ * <p>Replies of methods cached at a block which name the {@code latest} block may also be
+ * cached until the next block, if the {@link CachingService} is told of new heads.
+ */
+public class ResponseCachePolicy {
+
+    public static final int DEFAULT_CONFIRMATION_DEPTH = 12;
+
+    private final int confirmationDepth;
+    private final Map<String, Rule> ruleForMethod = new HashMap<>();
+
+    public ResponseCachePolicy() {
+        this(DEFAULT_CONFIRMATION_DEPTH);
+    }
+
+    public ResponseCachePolicy(int confirmationDepth) {
+        if (confirmationDepth < 0) {
+            throw new IllegalArgumentException(
+                    "Confirmation depth must not be negative: " + confirmationDepth);
+        }
+        this.confirmationDepth = confirmationDepth;
+    }
+
+    /**
+     * Create a policy caching the replies of the standard methods which never change.
+     *
+     * @param confirmationDepth number of blocks below the head of the chain a block must be
+     *     before replies depending on it are cached
+     * @return the policy
+     */
+    public static ResponseCachePolicy defaultPolicy(int confirmationDepth) {
+        return new ResponseCachePolicy(confirmationDepth)
+                .cacheAlways("eth_chainId")
+                .cacheAlways("net_version")
+                .cacheAlways("eth_getBlockByHash")
+                .cacheAlways("eth_getBlockTransactionCountByHash")
+                .cacheAlways("eth_getTransactionByBlockHashAndIndex")
+                .cacheAlways("eth_getUncleByBlockHashAndIndex")
+                .cacheAlways("eth_getUncleCountByBlockHash")
+                .cacheAtBlock("eth_getBlockByNumber", 0)
+                .cacheAtBlock("eth_getBlockTransactionCountByNumber", 0)
+                .cacheAtBlock("eth_getTransactionByBlockNumberAndIndex", 0)
+                .cacheAtBlock("eth_getUncleByBlockNumberAndIndex", 0)
+                .cacheAtBlock("eth_getUncleCountByBlockNumber", 0)
+                .cacheAtBlock("eth_getBalance", 1)
+                .cacheAtBlock("eth_getCode", 1)
+                .cacheAtBlock("eth_getTransactionCount", 1)
+                .cacheAtBlock("eth_call", 1)
+                .cacheAtBlock("eth_getStorageAt", 2)
+                .cacheWhenIncluded("eth_getTransactionByHash")
+                .cacheWhenIncluded("eth_getTransactionReceipt");
+    }
+
+    public static ResponseCachePolicy defaultPolicy() {
+        return defaultPolicy(DEFAULT_CONFIRMATION_DEPTH);
+    }
+
+    public ResponseCachePolicy cacheAlways(String method) {
+        ruleForMethod.put(method, new Rule(Kind.ALWAYS, -1));
+        return this;
+    }
+
+    public ResponseCachePolicy cacheAtBlock(String method, int blockParameterIndex) {
+        ruleForMethod.put(method, new Rule(Kind.AT_BLOCK, blockParameterIndex));
+        return this;
+    }
+
+    public ResponseCachePolicy cacheWhenIncluded(String method) {
+        ruleForMethod.put(method, new Rule(Kind.WHEN_INCLUDED, -1));
+        return this;
+    }
+
+    public int getConfirmationDepth() {
+        return confirmationDepth;
+    }
+
+    boolean isCacheable(String method) {
+        return ruleForMethod.containsKey(method);
+    }
+
+    /**
+     * Get the block a reply depends on, which must be confirmed before the reply is cached.
+     *
+     * @param method the method of the request
+     * @param params the parameters of the request
+     * @param resultBlockNumber the {@code blockNumber} field of the result, which is not null
+     * @return the block number, 0 if the reply may be cached straight away, or -1 if it may
+     *     never be cached
+     */
+    long blockNumberOf(String method, List<?> params, String resultBlockNumber) {
+        Rule rule = ruleForMethod.get(method);
+        if (rule == null) {
+            return -1;
+        }
+
+        switch (rule.kind) {
+            case ALWAYS:
+                return 0;
+            case AT_BLOCK:
+                return params != null && rule.blockParameterIndex < params.size()
+                        ? parseBlockNumber(params.get(rule.blockParameterIndex)) : -1;
+            default:
+                // pending transactions have no block number yet
+                return parseBlockNumber(resultBlockNumber);
+        }
+    }
+
+    /**
+     * Check whether a reply depends on the latest block, and so stays the same until the next
+     * block.
+     *
+     * @param method the method of the request
+     * @param params the parameters of the request
+     * @return true if the request names the latest block
+     */
+    boolean dependsOnLatestBlock(String method, List<?> params) {
+        Rule rule = ruleForMethod.get(method);
+        if (rule == null || rule.kind != Kind.AT_BLOCK
+                || params == null || rule.blockParameterIndex >= params.size()) {
+            return false;
+        }
+
+        Object blockParameter = params.get(rule.blockParameterIndex);
+        if (blockParameter instanceof DefaultBlockParameter) {
+            blockParameter = ((DefaultBlockParameter) blockParameter).getValue();
+        }
+        return "latest".equals(blockParameter);
+    }
+
+    private static long parseBlockNumber(Object blockParameter) {
+        if (blockParameter instanceof DefaultBlockParameter) {
+            blockParameter = ((DefaultBlockParameter) blockParameter).getValue();
+        }
+
+        if (blockParameter instanceof Number) {
+            return ((Number) blockParameter).longValue();
+        } else if (blockParameter instanceof String) {
+            String value = (String) blockParameter;
+            if (value.equals("earliest")) {
+                return 0;
+            } else if (Numeric.containsHexPrefix(value)) {
+                try {
+                    BigInteger blockNumber = Numeric.decodeQuantity(value);
+                    return blockNumber.bitLength() < Long.SIZE ? blockNumber.longValue() : -1;
+                } catch (MessageDecodingException e) {
+                    return -1;
+                }
+            }
+        }
+        // latest, pending, or not a block at all
+        return -1;
+    }
+
+    boolean isConfirmed(long blockNumber, long headBlockNumber) {
+        return blockNumber == 0 || blockNumber <= headBlockNumber - confirmationDepth;
+    }
+
+    private enum Kind {
+        ALWAYS,
+        AT_BLOCK,
+        WHEN_INCLUDED
+    }
+
+    private static class Rule {
+        final Kind kind;
+        final int blockParameterIndex;
+
+        Rule(Kind kind, int blockParameterIndex) {
+            this.kind = kind;
+            this.blockParameterIndex = blockParameterIndex;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.web3j.protocol.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache bounded by the total weight of its entries, rather than by their
+ * number, so that a few large blocks do not crowd out the memory budget while many small
+ * replies would fit.
+ */
+class WeightedLruCache<K, V> {
+
+    /**
+     * Weighs the entries of a {@link WeightedLruCache}.
+     */
+    interface Weigher<K, V> {
+        long weigh(K key, V value);
+    }
+
+    private final long maxWeight;
+    private final Weigher<K, V> weigher;
+    // Guarded by this, in access order
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long evictionCount;
+
+    WeightedLruCache(long maxWeight, Weigher<K, V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Add an entry, evicting the least recently used entries until the cache is within its
+     * maximum weight again.
+     *
+     * @param key the key
+     * @param value the value
+     * @return false if the entry on its own is heavier than the cache may be
+     */
+    synchronized boolean put(K key, V value) {
+        long entryWeight = weigher.weigh(key, value);
+        if (entryWeight > maxWeight) {
+            return false;
+        }
+
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.weigh(key, previous);
+        }
+        weight += entryWeight;
+
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Map.Entry<K, V> eldest = iterator.next();
+            weight -= weigher.weigh(eldest.getKey(), eldest.getValue());
+            iterator.remove();
+            evictionCount++;
+        }
+        return true;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    synchronized long evictionCount() {
+        return evictionCount;
+    }
+}
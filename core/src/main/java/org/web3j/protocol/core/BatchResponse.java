@@ -0,0 +1,49 @@
+package org.web3j.protocol.core;
+
+import java.util.List;
+
+/**
+ * Responses to a {@link BatchRequest}.
+ *
+ * <p>Responses are held in the same order as the requests of the batch, regardless of the
+ * order in which the node returned them. A request that failed on its own carries the error in
+ * its response, as with a single request.
+ */
+public class BatchResponse {
+
+    private final List<Request<?, ? extends Response<?>>> requests;
+    private final List<? extends Response<?>> responses;
+
+    public BatchResponse(
+            List<Request<?, ? extends Response<?>>> requests,
+            List<? extends Response<?>> responses) {
+        this.requests = requests;
+        this.responses = responses;
+    }
+
+    public List<Request<?, ? extends Response<?>>> getRequests() {
+        return requests;
+    }
+
+    public List<? extends Response<?>> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Get the typed response to a request of this batch.
+     *
+     * @param request a request that was sent as part of this batch
+     * @param <T> type of the response
+     * @return the response to the request
+     * @throws IllegalArgumentException if the request was not part of this batch
+     */
+    public <T extends Response<?>> T getResponse(Request<?, T> request) {
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == request) {
+                return request.getResponseType().cast(responses.get(i));
+            }
+        }
+        throw new IllegalArgumentException(
+                "Request with id " + request.getId() + " is not part of this batch");
+    }
+}
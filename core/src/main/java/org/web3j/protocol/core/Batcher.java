@@ -0,0 +1,14 @@
+package org.web3j.protocol.core;
+
+/**
+ * JSON-RPC 2.0 batch request factory.
+ */
+public interface Batcher {
+
+    /**
+     * Create a new, empty batch of requests, to be sent in a single round trip.
+     *
+     * @return new batch request
+     */
+    BatchRequest newBatch();
+}
@@ -0,0 +1,143 @@
+package org.web3j.protocol.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Fields of the blocks, transactions and logs to read from a reply, such as that of
+ * {@code eth_getBlockByNumber}, {@code eth_getBlockByHash} or {@code eth_getLogs}. The other
+ * fields are skipped by the parser, without being decoded or held in memory, and their getters
+ * return null, or zero.
+ *
+ * <p>Fields are named as in the replies of the node, for instance:
+ * <pre>
+ * FieldProjection projection = FieldProjection.all()
+ *         .withBlockFields("number", "hash", "transactions")
+ *         .withTransactionFields("hash", "from", "value");
+ * EthBlock block = web3j.ethGetBlockByNumber(blockNumber, true)
+ *         .withProjection(projection)
+ *         .send();
+ * </pre>
+ *
+ * <p>The transactions of a block are only read if {@code transactions} is among the fields of
+ * the block.
+ */
+public class FieldProjection {
+
+    private static final FieldProjection ALL = new FieldProjection(null, null, null);
+
+    // Fields read of each type, or null to read them all
+    private final Set<String> blockFields;
+    private final Set<String> transactionFields;
+    private final Set<String> logFields;
+
+    private FieldProjection(
+            Set<String> blockFields, Set<String> transactionFields, Set<String> logFields) {
+        this.blockFields = blockFields;
+        this.transactionFields = transactionFields;
+        this.logFields = logFields;
+    }
+
+    /**
+     * Get the projection reading all the fields, to be narrowed down.
+     *
+     * @return the projection reading all the fields
+     */
+    public static FieldProjection all() {
+        return ALL;
+    }
+
+    public FieldProjection withBlockFields(String... fields) {
+        return new FieldProjection(toSet(fields), transactionFields, logFields);
+    }
+
+    public FieldProjection withTransactionFields(String... fields) {
+        return new FieldProjection(blockFields, toSet(fields), logFields);
+    }
+
+    public FieldProjection withLogFields(String... fields) {
+        return new FieldProjection(blockFields, transactionFields, toSet(fields));
+    }
+
+    /**
+     * Get the fields read of blocks.
+     *
+     * @return the names of the fields, or null if they are all read
+     */
+    public Set<String> getBlockFields() {
+        return blockFields;
+    }
+
+    /**
+     * Get the fields read of transactions.
+     *
+     * @return the names of the fields, or null if they are all read
+     */
+    public Set<String> getTransactionFields() {
+        return transactionFields;
+    }
+
+    /**
+     * Get the fields read of logs.
+     *
+     * @return the names of the fields, or null if they are all read
+     */
+    public Set<String> getLogFields() {
+        return logFields;
+    }
+
+    /**
+     * Get a reader of a reply, which only reads the fields of a projection.
+     *
+     * @param objectMapper the mapper to read the reply with
+     * @param valueType the type of the reply
+     * @param projection the projection, or null to read all the fields
+     * @return the reader
+     */
+    public static ObjectReader readerFor(
+            ObjectMapper objectMapper, Class<?> valueType, FieldProjection projection) {
+        ObjectReader reader = objectMapper.readerFor(valueType);
+        return projection != null
+                ? reader.withAttribute(FieldProjection.class, projection) : reader;
+    }
+
+    private static Set<String> toSet(String... fields) {
+        // sorted, for a stable string form
+        return Collections.unmodifiableSet(new TreeSet<>(Arrays.asList(fields)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FieldProjection)) {
+            return false;
+        }
+
+        FieldProjection that = (FieldProjection) o;
+        return Objects.equals(blockFields, that.blockFields)
+                && Objects.equals(transactionFields, that.transactionFields)
+                && Objects.equals(logFields, that.logFields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(blockFields, transactionFields, logFields);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldProjection{"
+                + "blockFields=" + blockFields
+                + ", transactionFields=" + transactionFields
+                + ", logFields=" + logFields
+                + '}';
+    }
+}
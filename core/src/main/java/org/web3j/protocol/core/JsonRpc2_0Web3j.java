@@ -2,6 +2,7 @@ package org.web3j.protocol.core;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,6 +12,7 @@ import java.util.concurrent.ScheduledExecutorService;
 
 import io.reactivex.Flowable;
 
+import org.web3j.protocol.Service;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.methods.request.ShhFilter;
@@ -66,11 +68,12 @@ import org.web3j.protocol.core.methods.response.ShhUninstallFilter;
 import org.web3j.protocol.core.methods.response.ShhVersion;
 import org.web3j.protocol.core.methods.response.Web3ClientVersion;
 import org.web3j.protocol.core.methods.response.Web3Sha3;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
 import org.web3j.protocol.rx.JsonRpc2_0Rx;
 import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
-import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
+import org.web3j.utils.SharedScheduler;
 
 /**
  * JSON-RPC 2.0 factory implementation.
@@ -85,7 +88,7 @@ public class JsonRpc2_0Web3j implements Web3j {
     private final ScheduledExecutorService scheduledExecutorService;
 
     public JsonRpc2_0Web3j(Web3jService web3jService) {
-        this(web3jService, DEFAULT_BLOCK_TIME, Async.defaultExecutorService());
+        this(web3jService, DEFAULT_BLOCK_TIME, SharedScheduler.getDefault().acquire());
     }
 
     public JsonRpc2_0Web3j(
@@ -750,6 +753,38 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.ethLogFlowable(ethFilter, blockTime);
     }
 
+    @Override
+    public Flowable<Log> ethGetLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter, long maxResponseSize) {
+        Request<?, EthLog> request = ethGetLogs(ethFilter);
+        if (web3jService instanceof Service) {
+            return ((Service) web3jService).streamResult(request, Log.class, maxResponseSize);
+        }
+        if (maxResponseSize >= 0) {
+            // rather than reading a reply of any size when asked to bound it
+            return Flowable.error(new UnsupportedOperationException(
+                    "Maximum response size not supported by "
+                            + web3jService.getClass().getName()));
+        }
+        // other services read replies whole, so the logs can only be emitted once all are read
+        return request.flowable().flatMapIterable(JsonRpc2_0Web3j::toLogs);
+    }
+
+    private static List<Log> toLogs(EthLog ethLog) throws JsonRpcErrorException {
+        if (ethLog.hasError()) {
+            throw new JsonRpcErrorException(ethLog.getError());
+        }
+        List<EthLog.LogResult> results = ethLog.getLogs();
+        if (results == null) {
+            return Collections.emptyList();
+        }
+        List<Log> logs = new ArrayList<>(results.size());
+        for (EthLog.LogResult result : results) {
+            logs.add((Log) result.get());
+        }
+        return logs;
+    }
+
     @Override
     public Flowable<org.web3j.protocol.core.methods.response.Transaction>
             transactionFlowable() {
@@ -824,6 +859,11 @@ public class JsonRpc2_0Web3j implements Web3j {
                 startBlock, blockTime);
     }
 
+    @Override
+    public BatchRequest newBatch() {
+        return new BatchRequest(web3jService);
+    }
+
     @Override
     public void shutdown() {
         scheduledExecutorService.shutdown();
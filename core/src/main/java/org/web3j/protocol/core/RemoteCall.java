@@ -2,6 +2,7 @@ package org.web3j.protocol.core;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import io.reactivex.Flowable;
 
@@ -39,6 +40,17 @@ public class RemoteCall<T> {
         return Async.run(this::send);
     }
 
+    /**
+     * Perform request asynchronously on a given executor, rather than the shared one of
+     * {@link Async}.
+     *
+     * @param executor the executor to perform the request on
+     * @return a future containing our function
+     */
+    public CompletableFuture<T> sendAsync(Executor executor) {
+        return Async.run(this::send, executor);
+    }
+
     /**
      * Provide an flowable to emit result from our function.
      *
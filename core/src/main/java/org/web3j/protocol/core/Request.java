@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.reactivex.Flowable;
 
 import org.web3j.protocol.Web3jService;
@@ -24,6 +25,9 @@ public class Request<S, T extends Response> {
     // http://stackoverflow.com/a/3437930/3211687
     private Class<T> responseType;
 
+    // Fields of the reply to read, or null to read them all
+    private FieldProjection projection;
+
     public Request() {
     }
 
@@ -68,6 +72,27 @@ public class Request<S, T extends Response> {
         this.id = id;
     }
 
+    @JsonIgnore
+    public Class<T> getResponseType() {
+        return responseType;
+    }
+
+    /**
+     * Only read some fields of the blocks, transactions or logs of the reply.
+     *
+     * @param projection the fields to read, or null to read them all
+     * @return this request
+     */
+    public Request<S, T> withProjection(FieldProjection projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    @JsonIgnore
+    public FieldProjection getProjection() {
+        return projection;
+    }
+
     public T send() throws IOException {
         return web3jService.send(this, responseType);
     }
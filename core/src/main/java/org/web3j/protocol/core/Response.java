@@ -1,5 +1,8 @@
 package org.web3j.protocol.core;
 
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
@@ -17,6 +20,7 @@ public class Response<T> {
     private T result;
     private Error error;
     private String rawResponse;
+    private byte[] rawResponseBytes;
 
     public Response() {
     }
@@ -57,12 +61,42 @@ public class Response<T> {
         return error != null;
     }
 
+    /**
+     * Returns the raw JSON payload of this response, if raw responses are enabled on the
+     * service. When the payload was captured as bytes, it is only decoded on first access.
+     *
+     * @return the raw payload, or null if it was not captured
+     */
     public String getRawResponse() {
+        if (rawResponse == null && rawResponseBytes != null) {
+            rawResponse = new String(rawResponseBytes, StandardCharsets.UTF_8);
+        }
         return rawResponse;
     }
 
     public void setRawResponse(String rawResponse) {
         this.rawResponse = rawResponse;
+        this.rawResponseBytes = null;
+    }
+
+    /**
+     * Returns the raw UTF-8 encoded JSON payload of this response, if raw responses are enabled
+     * on the service. The array is shared, and must not be modified.
+     *
+     * @return the raw payload, or null if it was not captured
+     */
+    @JsonIgnore
+    public byte[] getRawResponseBytes() {
+        if (rawResponseBytes == null && rawResponse != null) {
+            rawResponseBytes = rawResponse.getBytes(StandardCharsets.UTF_8);
+        }
+        return rawResponseBytes;
+    }
+
+    @JsonIgnore
+    public void setRawResponseBytes(byte[] rawResponseBytes) {
+        this.rawResponseBytes = rawResponseBytes;
+        this.rawResponse = null;
     }
 
     public static class Error {
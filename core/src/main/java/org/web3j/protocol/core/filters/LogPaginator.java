@@ -0,0 +1,352 @@
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.reactivex.Emitter;
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
+
+/**
+ * Reads the logs of a block range of any length with {@code eth_getLogs}, which nodes only
+ * answer for ranges of a limited number of blocks or logs.
+ *
+ * <p>The range is split into block ranges, which are requested concurrently, up to a maximum
+ * number at a time, and whose logs are emitted in block order. A range is halved when a node
+ * rejects it as too large or does not reply in time, and ranges are doubled while they hold few
+ * logs, so that the size of the ranges adapts to the density of the logs read.
+ *
+ * <p>The logs are read on the subscribing thread, as they are requested downstream, and no more
+ * than the maximum number of ranges are held in memory at a time.
+ */
+public class LogPaginator {
+
+    public static final int DEFAULT_INITIAL_BLOCK_RANGE = 1000;
+    public static final int DEFAULT_MAX_BLOCK_RANGE = 100_000;
+    public static final int DEFAULT_TARGET_LOGS_PER_REQUEST = 5000;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    // Error code of replies exceeding the limits of a node, as used by most providers
+    private static final int LIMIT_EXCEEDED = -32005;
+
+    // Messages of the errors by which nodes reject a range as too large
+    private static final String[] RANGE_TOO_LARGE_MESSAGES = {
+        "more than", "too many", "too large", "block range", "limited to", "size exceeded",
+        "exceed maximum", "timeout", "timed out"
+    };
+
+    private final Web3j web3j;
+    private final int initialBlockRange;
+    private final int maxBlockRange;
+    private final int targetLogsPerRequest;
+    private final int maxConcurrency;
+    // Time after which a request is treated as too large, or 0 to wait for every reply
+    private final long timeoutNanos;
+
+    public LogPaginator(Web3j web3j) {
+        this(web3j, DEFAULT_INITIAL_BLOCK_RANGE, DEFAULT_MAX_BLOCK_RANGE,
+                DEFAULT_TARGET_LOGS_PER_REQUEST, DEFAULT_MAX_CONCURRENCY, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Create a paginator.
+     *
+     * @param web3j the client to request logs with
+     * @param initialBlockRange the number of blocks of the first ranges requested
+     * @param maxBlockRange the number of blocks past which ranges are not grown
+     * @param targetLogsPerRequest the number of logs per request ranges are sized for: ranges
+     *                             are grown while they hold less than half as many logs, and
+     *                             shrunk once they hold more
+     * @param maxConcurrency the maximum number of ranges requested at a time
+     * @param timeout the time after which a request is treated as too large, and split, or 0
+     *                to wait for every reply
+     * @param unit the unit of the timeout
+     */
+    public LogPaginator(
+            Web3j web3j, int initialBlockRange, int maxBlockRange, int targetLogsPerRequest,
+            int maxConcurrency, long timeout, TimeUnit unit) {
+        if (initialBlockRange < 1 || maxBlockRange < initialBlockRange) {
+            throw new IllegalArgumentException(
+                    "Block ranges must hold at least one block, and up to the maximum range");
+        } else if (targetLogsPerRequest < 1 || maxConcurrency < 1) {
+            throw new IllegalArgumentException(
+                    "Target logs per request and maximum concurrency must be positive");
+        }
+        this.web3j = web3j;
+        this.initialBlockRange = initialBlockRange;
+        this.maxBlockRange = maxBlockRange;
+        this.targetLogsPerRequest = targetLogsPerRequest;
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Create a {@link Flowable} instance that emits the logs matching a filter, in block order.
+     *
+     * <p>The range of blocks to read is that of the filter, whose bounds default to the latest
+     * block. Named bounds are resolved to block numbers on subscription, so that a range ending
+     * at the latest block does not grow as it is read.
+     *
+     * @param ethFilter filter criteria
+     * @return a {@link Flowable} instance that emits the logs matching the filter
+     */
+    public Flowable<Log> logsFlowable(EthFilter ethFilter) {
+        return Flowable.generate(
+                () -> new Pages(
+                        ethFilter,
+                        getBlockNumber(ethFilter.getFromBlock()),
+                        getBlockNumber(ethFilter.getToBlock())),
+                this::emitNext,
+                Pages::cancel);
+    }
+
+    private long getBlockNumber(DefaultBlockParameter defaultBlockParameter)
+            throws IOException {
+        if (defaultBlockParameter == null) {
+            defaultBlockParameter = DefaultBlockParameterName.LATEST;
+        }
+        if (defaultBlockParameter instanceof DefaultBlockParameterNumber) {
+            return ((DefaultBlockParameterNumber) defaultBlockParameter)
+                    .getBlockNumber().longValueExact();
+        }
+        EthBlock.Block block = web3j.ethGetBlockByNumber(defaultBlockParameter, false)
+                .send()
+                .getBlock();
+        BigInteger blockNumber = block != null ? block.getNumber() : null;
+        if (blockNumber == null) {
+            // no such block yet, or the pending block, which has no number
+            throw new IOException(
+                    "Block " + defaultBlockParameter.getValue() + " has no block number");
+        }
+        return blockNumber.longValueExact();
+    }
+
+    private void emitNext(Pages pages, Emitter<Log> emitter) throws Exception {
+        while (!pages.logs.hasNext()) {
+            pages.send();
+            Page page = pages.pending.peekFirst();
+            if (page == null) {
+                emitter.onComplete();
+                return;
+            }
+
+            List<Log> logs;
+            try {
+                logs = await(page);
+            } catch (Exception e) {
+                if (page.fromBlock == page.toBlock || !isRangeTooLarge(e)) {
+                    throw e;
+                }
+                pages.split(page);
+                continue;
+            }
+            pages.pending.removeFirst();
+            pages.onRead(page, logs.size());
+            pages.logs = logs.iterator();
+        }
+        emitter.onNext(pages.logs.next());
+    }
+
+    private List<Log> await(Page page) throws Exception {
+        EthLog ethLog;
+        try {
+            if (timeoutNanos > 0) {
+                // from when the request was sent, rather than from when it is awaited
+                long remaining = timeoutNanos - (System.nanoTime() - page.sentAt);
+                ethLog = page.reply.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            } else {
+                ethLog = page.reply.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } catch (TimeoutException e) {
+            page.reply.cancel(true);
+            throw e;
+        }
+
+        if (ethLog.hasError()) {
+            throw new JsonRpcErrorException(ethLog.getError());
+        }
+        List<EthLog.LogResult> results = ethLog.getLogs();
+        if (results == null) {
+            return Collections.emptyList();
+        }
+        List<Log> logs = new ArrayList<>(results.size());
+        for (EthLog.LogResult result : results) {
+            logs.add((Log) result.get());
+        }
+        return logs;
+    }
+
+    /**
+     * Whether a request failed because its block range is too large, and should be split.
+     *
+     * <p>By default, timeouts, and errors which nodes and hosted providers commonly reply with
+     * for ranges holding too many blocks or logs, such as "query returned more than 10000
+     * results", are taken to mean so.
+     *
+     * @param error the error the request failed with
+     * @return true if the range should be split
+     */
+    protected boolean isRangeTooLarge(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        if (error instanceof TimeoutException || error instanceof SocketTimeoutException) {
+            return true;
+        } else if (error instanceof InterruptedIOException) {
+            // OkHttp reports call timeouts as an InterruptedIOException named "timeout"
+            return "timeout".equals(error.getMessage());
+        } else if (error instanceof JsonRpcErrorException) {
+            return isRangeTooLarge(((JsonRpcErrorException) error).getError());
+        }
+        return false;
+    }
+
+    private static boolean isRangeTooLarge(Response.Error error) {
+        String message = error.getMessage() != null
+                ? error.getMessage().toLowerCase(Locale.ROOT) : "";
+        if (message.contains("rate limit") || message.contains("request rate")) {
+            // reported with the same code, but not lifted by splitting the range
+            return false;
+        } else if (error.getCode() == LIMIT_EXCEEDED) {
+            return true;
+        }
+        for (String rangeTooLargeMessage : RANGE_TOO_LARGE_MESSAGES) {
+            if (message.contains(rangeTooLargeMessage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Block range requested, or to be requested.
+     */
+    private static class Page {
+        private final long fromBlock;
+        private final long toBlock;
+        private CompletableFuture<EthLog> reply;
+        private long sentAt;
+
+        Page(long fromBlock, long toBlock) {
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        long size() {
+            return toBlock - fromBlock + 1;
+        }
+    }
+
+    /**
+     * The ranges of a subscription, whose logs are emitted in block order.
+     */
+    private class Pages {
+        private final EthFilter ethFilter;
+        private final long toBlock;
+        // First block not yet in a range
+        private long nextBlock;
+        private long blockRange = initialBlockRange;
+        // Ranges whose logs are still to be emitted, in block order
+        private final Deque<Page> pending = new ArrayDeque<>();
+        // Logs of the last range read still to be emitted
+        private Iterator<Log> logs = Collections.emptyIterator();
+
+        Pages(EthFilter ethFilter, long fromBlock, long toBlock) {
+            this.ethFilter = ethFilter;
+            this.nextBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        /**
+         * Send the pending ranges not yet sent, and then new ones, up to the maximum
+         * concurrency. Ranges that have been read but whose logs are yet to be emitted count
+         * towards it, to bound the logs held in memory.
+         */
+        void send() {
+            int sent = 0;
+            for (Page page : pending) {
+                if (page.reply == null && sent < maxConcurrency) {
+                    send(page);
+                }
+                if (page.reply != null) {
+                    sent++;
+                }
+            }
+            for (; sent < maxConcurrency && nextBlock <= toBlock; sent++) {
+                Page page = new Page(nextBlock, Math.min(toBlock, nextBlock + blockRange - 1));
+                nextBlock = page.toBlock + 1;
+                pending.addLast(page);
+                send(page);
+            }
+        }
+
+        private void send(Page page) {
+            EthFilter pageFilter = new EthFilter(
+                    new DefaultBlockParameterNumber(page.fromBlock),
+                    new DefaultBlockParameterNumber(page.toBlock),
+                    ethFilter.getAddress());
+            pageFilter.getTopics().addAll(ethFilter.getTopics());
+
+            page.sentAt = System.nanoTime();
+            page.reply = web3j.ethGetLogs(pageFilter).sendAsync();
+        }
+
+        /**
+         * Replace the first range with its halves, to be sent in its place, and shrink the
+         * ranges still to be sent.
+         */
+        void split(Page page) {
+            pending.removeFirst();
+            long middle = page.fromBlock + (page.toBlock - page.fromBlock) / 2;
+            pending.addFirst(new Page(middle + 1, page.toBlock));
+            pending.addFirst(new Page(page.fromBlock, middle));
+            blockRange = Math.max(1, Math.min(blockRange, page.size() / 2));
+        }
+
+        /**
+         * Resize the ranges still to be sent after the logs of a range have been read.
+         */
+        void onRead(Page page, int logCount) {
+            if (logCount > targetLogsPerRequest) {
+                blockRange = Math.max(1, Math.min(blockRange, page.size() / 2));
+            } else if (logCount < targetLogsPerRequest / 2) {
+                blockRange = Math.min(maxBlockRange, Math.max(blockRange, page.size() * 2));
+            }
+        }
+
+        void cancel() {
+            for (Page page : pending) {
+                if (page.reply != null) {
+                    page.reply.cancel(true);
+                }
+            }
+        }
+    }
+}
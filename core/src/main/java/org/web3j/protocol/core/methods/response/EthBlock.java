@@ -3,17 +3,14 @@ package org.web3j.protocol.core.methods.response;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
-import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.core.Response;
 import org.web3j.utils.Numeric;
 
@@ -516,11 +513,13 @@ public class EthBlock extends Response<EthBlock.Block> {
         }
     }
 
+    /**
+     * Reads the transactions of a block, which are either all hashes or all transaction objects.
+     * Each element is read with the deserializer of the calling mapper, in the same pass.
+     */
     public static class ResultTransactionDeserialiser
             extends JsonDeserializer<List<TransactionResult>> {
 
-        private ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public List<TransactionResult> deserialize(
                 JsonParser jsonParser,
@@ -528,20 +527,13 @@ public class EthBlock extends Response<EthBlock.Block> {
 
             List<TransactionResult> transactionResults = new ArrayList<>();
             JsonToken nextToken = jsonParser.nextToken();
-
-            if (nextToken == JsonToken.START_OBJECT) {
-                Iterator<TransactionObject> transactionObjectIterator =
-                        objectReader.readValues(jsonParser, TransactionObject.class);
-                while (transactionObjectIterator.hasNext()) {
-                    transactionResults.add(transactionObjectIterator.next());
-                }
-            } else if (nextToken == JsonToken.VALUE_STRING) {
-                jsonParser.getValueAsString();
-
-                Iterator<TransactionHash> transactionHashIterator =
-                        objectReader.readValues(jsonParser, TransactionHash.class);
-                while (transactionHashIterator.hasNext()) {
-                    transactionResults.add(transactionHashIterator.next());
+            for (; nextToken != null && nextToken != JsonToken.END_ARRAY;
+                    nextToken = jsonParser.nextToken()) {
+                if (nextToken == JsonToken.START_OBJECT) {
+                    transactionResults.add(deserializationContext.readValue(
+                            jsonParser, TransactionObject.class));
+                } else if (nextToken == JsonToken.VALUE_STRING) {
+                    transactionResults.add(new TransactionHash(jsonParser.getText()));
                 }
             }
 
@@ -551,14 +543,12 @@ public class EthBlock extends Response<EthBlock.Block> {
 
     public static class ResponseDeserialiser extends JsonDeserializer<Block> {
 
-        private ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public Block deserialize(
                 JsonParser jsonParser,
                 DeserializationContext deserializationContext) throws IOException {
             if (jsonParser.getCurrentToken() != JsonToken.VALUE_NULL) {
-                return objectReader.readValue(jsonParser, Block.class);
+                return deserializationContext.readValue(jsonParser, Block.class);
             } else {
                 return null;  // null is wrapped by Optional in above getter
             }
@@ -2,17 +2,14 @@ package org.web3j.protocol.core.methods.response;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
-import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.core.Response;
 
 /**
@@ -101,10 +98,12 @@ public class EthLog extends Response<List<EthLog.LogResult>> {
     }
 
 
+    /**
+     * Reads the results of a filter, which are either all hashes or all log objects. Each
+     * element is read with the deserializer of the calling mapper, in the same pass.
+     */
     public static class LogResultDeserialiser extends JsonDeserializer<List<LogResult>> {
 
-        private ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public List<LogResult> deserialize(
                 JsonParser jsonParser,
@@ -112,20 +111,12 @@ public class EthLog extends Response<List<EthLog.LogResult>> {
 
             List<LogResult> logResults = new ArrayList<>();
             JsonToken nextToken = jsonParser.nextToken();
-
-            if (nextToken == JsonToken.START_OBJECT) {
-                Iterator<LogObject> logObjectIterator =
-                        objectReader.readValues(jsonParser, LogObject.class);
-                while (logObjectIterator.hasNext()) {
-                    logResults.add(logObjectIterator.next());
-                }
-            } else if (nextToken == JsonToken.VALUE_STRING) {
-                jsonParser.getValueAsString();
-
-                Iterator<Hash> transactionHashIterator =
-                        objectReader.readValues(jsonParser, Hash.class);
-                while (transactionHashIterator.hasNext()) {
-                    logResults.add(transactionHashIterator.next());
+            for (; nextToken != null && nextToken != JsonToken.END_ARRAY;
+                    nextToken = jsonParser.nextToken()) {
+                if (nextToken == JsonToken.START_OBJECT) {
+                    logResults.add(deserializationContext.readValue(jsonParser, LogObject.class));
+                } else if (nextToken == JsonToken.VALUE_STRING) {
+                    logResults.add(new Hash(jsonParser.getText()));
                 }
             }
             return logResults;
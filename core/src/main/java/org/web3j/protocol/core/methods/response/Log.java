@@ -211,16 +211,16 @@ public class Log {
     @Override
     public String toString() {
         return "Log{"
-                + "removed=" + removed
-                + ", logIndex='" + logIndex + '\''
-                + ", transactionIndex='" + transactionIndex + '\''
-                + ", transactionHash='" + transactionHash + '\''
-                + ", blockHash='" + blockHash + '\''
-                + ", blockNumber='" + blockNumber + '\''
-                + ", address='" + address + '\''
-                + ", data='" + data + '\''
-                + ", type='" + type + '\''
-                + ", topics=" + topics
+                + "removed=" + isRemoved()
+                + ", logIndex='" + getLogIndexRaw() + '\''
+                + ", transactionIndex='" + getTransactionIndexRaw() + '\''
+                + ", transactionHash='" + getTransactionHash() + '\''
+                + ", blockHash='" + getBlockHash() + '\''
+                + ", blockNumber='" + getBlockNumberRaw() + '\''
+                + ", address='" + getAddress() + '\''
+                + ", data='" + getData() + '\''
+                + ", type='" + getType() + '\''
+                + ", topics=" + getTopics()
                 + '}';
     }
 }
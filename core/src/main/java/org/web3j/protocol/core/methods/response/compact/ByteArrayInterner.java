@@ -0,0 +1,74 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interner of byte arrays, so that values repeated across many objects, such as addresses,
+ * topics and block hashes, are held in memory once.
+ *
+ * <p>The interner holds at most a given number of distinct values, and starts over once it is
+ * full, so that values which are no longer repeated are eventually released.
+ */
+public class ByteArrayInterner {
+
+    private static final int DEFAULT_MAX_SIZE = 65_536;
+
+    private final int maxSize;
+    private final Map<Key, byte[]> values = new ConcurrentHashMap<>();
+
+    public ByteArrayInterner() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ByteArrayInterner(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the array interned with the same content as the given one, which is interned if there
+     * is none. Arrays must not be modified once interned.
+     *
+     * @param value the array, or null
+     * @return the interned array, or null if the array is null
+     */
+    public byte[] intern(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (values.size() >= maxSize) {
+            values.clear();
+        }
+        byte[] interned = values.putIfAbsent(new Key(value), value);
+        return interned != null ? interned : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private static class Key {
+        private final byte[] value;
+        private final int hashCode;
+
+        Key(byte[] value) {
+            this.value = value;
+            this.hashCode = Arrays.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(value, ((Key) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
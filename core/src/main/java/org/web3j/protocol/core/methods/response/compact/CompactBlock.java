@@ -0,0 +1,306 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.math.BigInteger;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactHex.ABSENT;
+
+/**
+ * Block holding its fields in compact form, with its miner and uncles hash interned.
+ *
+ * @see CompactTransaction
+ */
+public class CompactBlock extends EthBlock.Block {
+
+    private final ByteArrayInterner interner;
+
+    private long number = ABSENT;
+    private byte[] hash;
+    private byte[] parentHash;
+    private byte[] nonce;
+    private byte[] sha3Uncles;
+    private byte[] logsBloom;
+    private byte[] transactionsRoot;
+    private byte[] stateRoot;
+    private byte[] receiptsRoot;
+    private byte[] author;
+    private byte[] miner;
+    private byte[] mixHash;
+    private byte[] difficulty;
+    private byte[] totalDifficulty;
+    private byte[] extraData;
+    private long size = ABSENT;
+    private long gasLimit = ABSENT;
+    private long gasUsed = ABSENT;
+    private long timestamp = ABSENT;
+
+    public CompactBlock() {
+        this(null);
+    }
+
+    /**
+     * Create a block interning its repeated values.
+     *
+     * @param interner the interner, or null not to intern values
+     */
+    public CompactBlock(ByteArrayInterner interner) {
+        this.interner = interner;
+    }
+
+    @Override
+    public BigInteger getNumber() {
+        return number != ABSENT ? BigInteger.valueOf(number) : super.getNumber();
+    }
+
+    @Override
+    public String getNumberRaw() {
+        return number != ABSENT ? CompactHex.fromLong(number) : super.getNumberRaw();
+    }
+
+    @Override
+    public void setNumber(String number) {
+        this.number = CompactHex.toLong(number);
+        super.setNumber(this.number == ABSENT ? number : null);
+    }
+
+    @Override
+    public String getHash() {
+        return hash != null ? CompactHex.toHex(hash) : super.getHash();
+    }
+
+    @Override
+    public void setHash(String hash) {
+        this.hash = CompactHex.toBytes(hash);
+        super.setHash(this.hash == null ? hash : null);
+    }
+
+    @Override
+    public String getParentHash() {
+        return parentHash != null ? CompactHex.toHex(parentHash) : super.getParentHash();
+    }
+
+    @Override
+    public void setParentHash(String parentHash) {
+        this.parentHash = CompactHex.toBytes(parentHash);
+        super.setParentHash(this.parentHash == null ? parentHash : null);
+    }
+
+    // the nonce is returned as 8 bytes of data, yet read as a quantity
+
+    @Override
+    public BigInteger getNonce() {
+        return nonce != null ? Numeric.decodeQuantity(CompactHex.toHex(nonce)) : super.getNonce();
+    }
+
+    @Override
+    public String getNonceRaw() {
+        return nonce != null ? CompactHex.toHex(nonce) : super.getNonceRaw();
+    }
+
+    @Override
+    public void setNonce(String nonce) {
+        this.nonce = CompactHex.toBytes(nonce);
+        super.setNonce(this.nonce == null ? nonce : null);
+    }
+
+    @Override
+    public String getSha3Uncles() {
+        return sha3Uncles != null ? CompactHex.toHex(sha3Uncles) : super.getSha3Uncles();
+    }
+
+    @Override
+    public void setSha3Uncles(String sha3Uncles) {
+        this.sha3Uncles = CompactHex.intern(CompactHex.toBytes(sha3Uncles), interner);
+        super.setSha3Uncles(this.sha3Uncles == null ? sha3Uncles : null);
+    }
+
+    @Override
+    public String getLogsBloom() {
+        return logsBloom != null ? CompactHex.toHex(logsBloom) : super.getLogsBloom();
+    }
+
+    @Override
+    public void setLogsBloom(String logsBloom) {
+        this.logsBloom = CompactHex.toBytes(logsBloom);
+        super.setLogsBloom(this.logsBloom == null ? logsBloom : null);
+    }
+
+    @Override
+    public String getTransactionsRoot() {
+        return transactionsRoot != null
+                ? CompactHex.toHex(transactionsRoot) : super.getTransactionsRoot();
+    }
+
+    @Override
+    public void setTransactionsRoot(String transactionsRoot) {
+        this.transactionsRoot = CompactHex.toBytes(transactionsRoot);
+        super.setTransactionsRoot(this.transactionsRoot == null ? transactionsRoot : null);
+    }
+
+    @Override
+    public String getStateRoot() {
+        return stateRoot != null ? CompactHex.toHex(stateRoot) : super.getStateRoot();
+    }
+
+    @Override
+    public void setStateRoot(String stateRoot) {
+        this.stateRoot = CompactHex.toBytes(stateRoot);
+        super.setStateRoot(this.stateRoot == null ? stateRoot : null);
+    }
+
+    @Override
+    public String getReceiptsRoot() {
+        return receiptsRoot != null ? CompactHex.toHex(receiptsRoot) : super.getReceiptsRoot();
+    }
+
+    @Override
+    public void setReceiptsRoot(String receiptsRoot) {
+        this.receiptsRoot = CompactHex.toBytes(receiptsRoot);
+        super.setReceiptsRoot(this.receiptsRoot == null ? receiptsRoot : null);
+    }
+
+    @Override
+    public String getAuthor() {
+        return author != null ? CompactHex.toHex(author) : super.getAuthor();
+    }
+
+    @Override
+    public void setAuthor(String author) {
+        this.author = CompactHex.intern(CompactHex.toBytes(author), interner);
+        super.setAuthor(this.author == null ? author : null);
+    }
+
+    @Override
+    public String getMiner() {
+        return miner != null ? CompactHex.toHex(miner) : super.getMiner();
+    }
+
+    @Override
+    public void setMiner(String miner) {
+        this.miner = CompactHex.intern(CompactHex.toBytes(miner), interner);
+        super.setMiner(this.miner == null ? miner : null);
+    }
+
+    @Override
+    public String getMixHash() {
+        return mixHash != null ? CompactHex.toHex(mixHash) : super.getMixHash();
+    }
+
+    @Override
+    public void setMixHash(String mixHash) {
+        this.mixHash = CompactHex.toBytes(mixHash);
+        super.setMixHash(this.mixHash == null ? mixHash : null);
+    }
+
+    @Override
+    public BigInteger getDifficulty() {
+        return difficulty != null ? CompactHex.toBigInteger(difficulty) : super.getDifficulty();
+    }
+
+    @Override
+    public String getDifficultyRaw() {
+        return difficulty != null
+                ? CompactHex.fromMagnitude(difficulty) : super.getDifficultyRaw();
+    }
+
+    @Override
+    public void setDifficulty(String difficulty) {
+        this.difficulty = CompactHex.toMagnitude(difficulty);
+        super.setDifficulty(this.difficulty == null ? difficulty : null);
+    }
+
+    @Override
+    public BigInteger getTotalDifficulty() {
+        return totalDifficulty != null
+                ? CompactHex.toBigInteger(totalDifficulty) : super.getTotalDifficulty();
+    }
+
+    @Override
+    public String getTotalDifficultyRaw() {
+        return totalDifficulty != null
+                ? CompactHex.fromMagnitude(totalDifficulty) : super.getTotalDifficultyRaw();
+    }
+
+    @Override
+    public void setTotalDifficulty(String totalDifficulty) {
+        this.totalDifficulty = CompactHex.toMagnitude(totalDifficulty);
+        super.setTotalDifficulty(this.totalDifficulty == null ? totalDifficulty : null);
+    }
+
+    @Override
+    public String getExtraData() {
+        return extraData != null ? CompactHex.toHex(extraData) : super.getExtraData();
+    }
+
+    @Override
+    public void setExtraData(String extraData) {
+        this.extraData = CompactHex.toBytes(extraData);
+        super.setExtraData(this.extraData == null ? extraData : null);
+    }
+
+    @Override
+    public BigInteger getSize() {
+        return size != ABSENT ? BigInteger.valueOf(size) : super.getSize();
+    }
+
+    @Override
+    public String getSizeRaw() {
+        return size != ABSENT ? CompactHex.fromLong(size) : super.getSizeRaw();
+    }
+
+    @Override
+    public void setSize(String size) {
+        this.size = CompactHex.toLong(size);
+        super.setSize(this.size == ABSENT ? size : null);
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return gasLimit != ABSENT ? BigInteger.valueOf(gasLimit) : super.getGasLimit();
+    }
+
+    @Override
+    public String getGasLimitRaw() {
+        return gasLimit != ABSENT ? CompactHex.fromLong(gasLimit) : super.getGasLimitRaw();
+    }
+
+    @Override
+    public void setGasLimit(String gasLimit) {
+        this.gasLimit = CompactHex.toLong(gasLimit);
+        super.setGasLimit(this.gasLimit == ABSENT ? gasLimit : null);
+    }
+
+    @Override
+    public BigInteger getGasUsed() {
+        return gasUsed != ABSENT ? BigInteger.valueOf(gasUsed) : super.getGasUsed();
+    }
+
+    @Override
+    public String getGasUsedRaw() {
+        return gasUsed != ABSENT ? CompactHex.fromLong(gasUsed) : super.getGasUsedRaw();
+    }
+
+    @Override
+    public void setGasUsed(String gasUsed) {
+        this.gasUsed = CompactHex.toLong(gasUsed);
+        super.setGasUsed(this.gasUsed == ABSENT ? gasUsed : null);
+    }
+
+    @Override
+    public BigInteger getTimestamp() {
+        return timestamp != ABSENT ? BigInteger.valueOf(timestamp) : super.getTimestamp();
+    }
+
+    @Override
+    public String getTimestampRaw() {
+        return timestamp != ABSENT ? CompactHex.fromLong(timestamp) : super.getTimestampRaw();
+    }
+
+    @Override
+    public void setTimestamp(String timestamp) {
+        this.timestamp = CompactHex.toLong(timestamp);
+        super.setTimestamp(this.timestamp == ABSENT ? timestamp : null);
+    }
+}
@@ -0,0 +1,160 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversions between hex strings and their compact forms.
+ *
+ * <p>Only strings in the canonical form returned by nodes, with a {@code 0x} prefix and lower
+ * case digits, are converted, so that converting them back gives the same strings. Any other
+ * string, or null, has no compact form, and is kept as it is.
+ */
+final class CompactHex {
+
+    // Value of a quantity which has no compact form
+    static final long ABSENT = -1;
+
+    // Quantities of at most 15 digits are positive longs
+    private static final int MAX_LONG_DIGITS = 15;
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private CompactHex() {
+    }
+
+    /**
+     * Convert a quantity to a long.
+     *
+     * @param quantity the quantity
+     * @return the value of the quantity, or {@link #ABSENT} if it has no compact form
+     */
+    static long toLong(String quantity) {
+        if (!isQuantity(quantity) || quantity.length() - 2 > MAX_LONG_DIGITS) {
+            return ABSENT;
+        }
+
+        long value = 0;
+        for (int i = 2; i < quantity.length(); i++) {
+            value = (value << 4) | Character.digit(quantity.charAt(i), 16);
+        }
+        return value;
+    }
+
+    static String fromLong(long value) {
+        return "0x" + Long.toHexString(value);
+    }
+
+    /**
+     * Convert a quantity of any size to its unsigned, big-endian magnitude.
+     *
+     * @param quantity the quantity
+     * @return the magnitude, or null if the quantity has no compact form
+     */
+    static byte[] toMagnitude(String quantity) {
+        if (!isQuantity(quantity)) {
+            return null;
+        }
+        return toBytes(quantity, quantity.length() % 2 != 0);
+    }
+
+    static String fromMagnitude(byte[] magnitude) {
+        String hex = toHex(magnitude);
+        // strip the leading zero of an odd number of digits, keeping at least one digit
+        return hex.length() > 3 && hex.charAt(2) == '0' ? "0x" + hex.substring(3) : hex;
+    }
+
+    static BigInteger toBigInteger(byte[] magnitude) {
+        return new BigInteger(1, magnitude);
+    }
+
+    /**
+     * Convert unformatted data to bytes.
+     *
+     * @param data the data
+     * @return the bytes, or null if the data has no compact form
+     */
+    static byte[] toBytes(String data) {
+        if (data == null || data.length() % 2 != 0 || !isHex(data)) {
+            return null;
+        }
+        return toBytes(data, false);
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[2 + bytes.length * 2];
+        chars[0] = '0';
+        chars[1] = 'x';
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 + i * 2] = DIGITS[(bytes[i] >> 4) & 0xf];
+            chars[3 + i * 2] = DIGITS[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Convert a list of unformatted data, such as the topics of a log, to interned bytes.
+     *
+     * @param data the list
+     * @param interner the interner of the bytes, or null
+     * @return the bytes, or null if any data in the list has no compact form
+     */
+    static byte[][] toBytes(List<String> data, ByteArrayInterner interner) {
+        if (data == null) {
+            return null;
+        }
+
+        byte[][] bytes = new byte[data.size()][];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = intern(toBytes(data.get(i)), interner);
+            if (bytes[i] == null) {
+                return null;
+            }
+        }
+        return bytes;
+    }
+
+    static List<String> toHex(byte[][] bytes) {
+        List<String> data = new ArrayList<>(bytes.length);
+        for (byte[] value : bytes) {
+            data.add(toHex(value));
+        }
+        return data;
+    }
+
+    static byte[] intern(byte[] value, ByteArrayInterner interner) {
+        return interner != null ? interner.intern(value) : value;
+    }
+
+    private static boolean isQuantity(String value) {
+        return value != null
+                && value.length() > 2
+                && (value.length() == 3 || value.charAt(2) != '0')
+                && isHex(value);
+    }
+
+    private static boolean isHex(String value) {
+        if (!value.startsWith("0x")) {
+            return false;
+        }
+        for (int i = 2; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toBytes(String hex, boolean oddDigits) {
+        int offset = oddDigits ? 1 : 2;
+        byte[] bytes = new byte[(hex.length() - offset) / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int index = offset + i * 2;
+            int high = index > 1 ? Character.digit(hex.charAt(index), 16) : 0;
+            bytes[i] = (byte) ((high << 4) | Character.digit(hex.charAt(index + 1), 16));
+        }
+        return bytes;
+    }
+}
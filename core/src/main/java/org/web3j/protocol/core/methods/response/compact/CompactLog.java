@@ -0,0 +1,153 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.web3j.protocol.core.methods.response.EthLog;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactHex.ABSENT;
+
+/**
+ * Log holding its fields in compact form, with its address, topics and block hash interned.
+ *
+ * @see CompactTransaction
+ */
+public class CompactLog extends EthLog.LogObject {
+
+    private final ByteArrayInterner interner;
+
+    private long logIndex = ABSENT;
+    private long transactionIndex = ABSENT;
+    private byte[] transactionHash;
+    private byte[] blockHash;
+    private long blockNumber = ABSENT;
+    private byte[] address;
+    private byte[] data;
+    private byte[][] topics;
+
+    public CompactLog() {
+        this(null);
+    }
+
+    /**
+     * Create a log interning its repeated values.
+     *
+     * @param interner the interner, or null not to intern values
+     */
+    public CompactLog(ByteArrayInterner interner) {
+        this.interner = interner;
+    }
+
+    @Override
+    public BigInteger getLogIndex() {
+        return logIndex != ABSENT ? BigInteger.valueOf(logIndex) : super.getLogIndex();
+    }
+
+    @Override
+    public String getLogIndexRaw() {
+        return logIndex != ABSENT ? CompactHex.fromLong(logIndex) : super.getLogIndexRaw();
+    }
+
+    @Override
+    public void setLogIndex(String logIndex) {
+        this.logIndex = CompactHex.toLong(logIndex);
+        super.setLogIndex(this.logIndex == ABSENT ? logIndex : null);
+    }
+
+    @Override
+    public BigInteger getTransactionIndex() {
+        return transactionIndex != ABSENT
+                ? BigInteger.valueOf(transactionIndex) : super.getTransactionIndex();
+    }
+
+    @Override
+    public String getTransactionIndexRaw() {
+        return transactionIndex != ABSENT
+                ? CompactHex.fromLong(transactionIndex) : super.getTransactionIndexRaw();
+    }
+
+    @Override
+    public void setTransactionIndex(String transactionIndex) {
+        this.transactionIndex = CompactHex.toLong(transactionIndex);
+        super.setTransactionIndex(this.transactionIndex == ABSENT ? transactionIndex : null);
+    }
+
+    @Override
+    public String getTransactionHash() {
+        return transactionHash != null
+                ? CompactHex.toHex(transactionHash) : super.getTransactionHash();
+    }
+
+    @Override
+    public void setTransactionHash(String transactionHash) {
+        // logs of a transaction share its hash
+        this.transactionHash = CompactHex.intern(CompactHex.toBytes(transactionHash), interner);
+        super.setTransactionHash(this.transactionHash == null ? transactionHash : null);
+    }
+
+    @Override
+    public String getBlockHash() {
+        return blockHash != null ? CompactHex.toHex(blockHash) : super.getBlockHash();
+    }
+
+    @Override
+    public void setBlockHash(String blockHash) {
+        this.blockHash = CompactHex.intern(CompactHex.toBytes(blockHash), interner);
+        super.setBlockHash(this.blockHash == null ? blockHash : null);
+    }
+
+    @Override
+    public BigInteger getBlockNumber() {
+        return blockNumber != ABSENT ? BigInteger.valueOf(blockNumber) : super.getBlockNumber();
+    }
+
+    @Override
+    public String getBlockNumberRaw() {
+        return blockNumber != ABSENT
+                ? CompactHex.fromLong(blockNumber) : super.getBlockNumberRaw();
+    }
+
+    @Override
+    public void setBlockNumber(String blockNumber) {
+        this.blockNumber = CompactHex.toLong(blockNumber);
+        super.setBlockNumber(this.blockNumber == ABSENT ? blockNumber : null);
+    }
+
+    @Override
+    public String getAddress() {
+        return address != null ? CompactHex.toHex(address) : super.getAddress();
+    }
+
+    @Override
+    public void setAddress(String address) {
+        this.address = CompactHex.intern(CompactHex.toBytes(address), interner);
+        super.setAddress(this.address == null ? address : null);
+    }
+
+    @Override
+    public String getData() {
+        return data != null ? CompactHex.toHex(data) : super.getData();
+    }
+
+    @Override
+    public void setData(String data) {
+        this.data = CompactHex.toBytes(data);
+        super.setData(this.data == null ? data : null);
+    }
+
+    /**
+     * Get the topics of the log, as a new list each time it is called.
+     *
+     * @return the topics
+     */
+    @Override
+    public List<String> getTopics() {
+        return topics != null ? CompactHex.toHex(topics) : super.getTopics();
+    }
+
+    @Override
+    public void setTopics(List<String> topics) {
+        this.topics = CompactHex.toBytes(topics, interner);
+        super.setTopics(this.topics == null ? topics : null);
+    }
+}
@@ -0,0 +1,261 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.math.BigInteger;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactHex.ABSENT;
+
+/**
+ * Transaction holding its fields in compact form: quantities as longs or magnitudes, and hashes,
+ * addresses and data as bytes, with repeated addresses and block hashes interned. Hex strings
+ * are only created when a getter is called.
+ *
+ * <p>Values which have no compact form are held as they are, so that every getter returns what
+ * it would for a {@link org.web3j.protocol.core.methods.response.Transaction}.
+ */
+public class CompactTransaction extends EthBlock.TransactionObject {
+
+    private final ByteArrayInterner interner;
+
+    private byte[] hash;
+    private long nonce = ABSENT;
+    private byte[] blockHash;
+    private long blockNumber = ABSENT;
+    private long transactionIndex = ABSENT;
+    private byte[] from;
+    private byte[] to;
+    private byte[] value;
+    private long gasPrice = ABSENT;
+    private long gas = ABSENT;
+    private byte[] input;
+    private byte[] creates;
+    private byte[] publicKey;
+    private byte[] raw;
+    private byte[] r;
+    private byte[] s;
+
+    public CompactTransaction() {
+        this(null);
+    }
+
+    /**
+     * Create a transaction interning its repeated values.
+     *
+     * @param interner the interner, or null not to intern values
+     */
+    public CompactTransaction(ByteArrayInterner interner) {
+        this.interner = interner;
+    }
+
+    @Override
+    public String getHash() {
+        return hash != null ? CompactHex.toHex(hash) : super.getHash();
+    }
+
+    @Override
+    public void setHash(String hash) {
+        this.hash = CompactHex.toBytes(hash);
+        super.setHash(this.hash == null ? hash : null);
+    }
+
+    @Override
+    public BigInteger getNonce() {
+        return nonce != ABSENT ? BigInteger.valueOf(nonce) : super.getNonce();
+    }
+
+    @Override
+    public String getNonceRaw() {
+        return nonce != ABSENT ? CompactHex.fromLong(nonce) : super.getNonceRaw();
+    }
+
+    @Override
+    public void setNonce(String nonce) {
+        this.nonce = CompactHex.toLong(nonce);
+        super.setNonce(this.nonce == ABSENT ? nonce : null);
+    }
+
+    @Override
+    public String getBlockHash() {
+        return blockHash != null ? CompactHex.toHex(blockHash) : super.getBlockHash();
+    }
+
+    @Override
+    public void setBlockHash(String blockHash) {
+        this.blockHash = CompactHex.intern(CompactHex.toBytes(blockHash), interner);
+        super.setBlockHash(this.blockHash == null ? blockHash : null);
+    }
+
+    @Override
+    public BigInteger getBlockNumber() {
+        return blockNumber != ABSENT ? BigInteger.valueOf(blockNumber) : super.getBlockNumber();
+    }
+
+    @Override
+    public String getBlockNumberRaw() {
+        return blockNumber != ABSENT
+                ? CompactHex.fromLong(blockNumber) : super.getBlockNumberRaw();
+    }
+
+    @Override
+    public void setBlockNumber(String blockNumber) {
+        this.blockNumber = CompactHex.toLong(blockNumber);
+        super.setBlockNumber(this.blockNumber == ABSENT ? blockNumber : null);
+    }
+
+    @Override
+    public BigInteger getTransactionIndex() {
+        return transactionIndex != ABSENT
+                ? BigInteger.valueOf(transactionIndex) : super.getTransactionIndex();
+    }
+
+    @Override
+    public String getTransactionIndexRaw() {
+        return transactionIndex != ABSENT
+                ? CompactHex.fromLong(transactionIndex) : super.getTransactionIndexRaw();
+    }
+
+    @Override
+    public void setTransactionIndex(String transactionIndex) {
+        this.transactionIndex = CompactHex.toLong(transactionIndex);
+        super.setTransactionIndex(this.transactionIndex == ABSENT ? transactionIndex : null);
+    }
+
+    @Override
+    public String getFrom() {
+        return from != null ? CompactHex.toHex(from) : super.getFrom();
+    }
+
+    @Override
+    public void setFrom(String from) {
+        this.from = CompactHex.intern(CompactHex.toBytes(from), interner);
+        super.setFrom(this.from == null ? from : null);
+    }
+
+    @Override
+    public String getTo() {
+        return to != null ? CompactHex.toHex(to) : super.getTo();
+    }
+
+    @Override
+    public void setTo(String to) {
+        this.to = CompactHex.intern(CompactHex.toBytes(to), interner);
+        super.setTo(this.to == null ? to : null);
+    }
+
+    @Override
+    public BigInteger getValue() {
+        return value != null ? CompactHex.toBigInteger(value) : super.getValue();
+    }
+
+    @Override
+    public String getValueRaw() {
+        return value != null ? CompactHex.fromMagnitude(value) : super.getValueRaw();
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.value = CompactHex.toMagnitude(value);
+        super.setValue(this.value == null ? value : null);
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return gasPrice != ABSENT ? BigInteger.valueOf(gasPrice) : super.getGasPrice();
+    }
+
+    @Override
+    public String getGasPriceRaw() {
+        return gasPrice != ABSENT ? CompactHex.fromLong(gasPrice) : super.getGasPriceRaw();
+    }
+
+    @Override
+    public void setGasPrice(String gasPrice) {
+        this.gasPrice = CompactHex.toLong(gasPrice);
+        super.setGasPrice(this.gasPrice == ABSENT ? gasPrice : null);
+    }
+
+    @Override
+    public BigInteger getGas() {
+        return gas != ABSENT ? BigInteger.valueOf(gas) : super.getGas();
+    }
+
+    @Override
+    public String getGasRaw() {
+        return gas != ABSENT ? CompactHex.fromLong(gas) : super.getGasRaw();
+    }
+
+    @Override
+    public void setGas(String gas) {
+        this.gas = CompactHex.toLong(gas);
+        super.setGas(this.gas == ABSENT ? gas : null);
+    }
+
+    @Override
+    public String getInput() {
+        return input != null ? CompactHex.toHex(input) : super.getInput();
+    }
+
+    @Override
+    public void setInput(String input) {
+        this.input = CompactHex.toBytes(input);
+        super.setInput(this.input == null ? input : null);
+    }
+
+    @Override
+    public String getCreates() {
+        return creates != null ? CompactHex.toHex(creates) : super.getCreates();
+    }
+
+    @Override
+    public void setCreates(String creates) {
+        this.creates = CompactHex.toBytes(creates);
+        super.setCreates(this.creates == null ? creates : null);
+    }
+
+    @Override
+    public String getPublicKey() {
+        return publicKey != null ? CompactHex.toHex(publicKey) : super.getPublicKey();
+    }
+
+    @Override
+    public void setPublicKey(String publicKey) {
+        this.publicKey = CompactHex.toBytes(publicKey);
+        super.setPublicKey(this.publicKey == null ? publicKey : null);
+    }
+
+    @Override
+    public String getRaw() {
+        return raw != null ? CompactHex.toHex(raw) : super.getRaw();
+    }
+
+    @Override
+    public void setRaw(String raw) {
+        this.raw = CompactHex.toBytes(raw);
+        super.setRaw(this.raw == null ? raw : null);
+    }
+
+    // r and s are returned as quantities, without leading zeros
+
+    @Override
+    public String getR() {
+        return r != null ? CompactHex.fromMagnitude(r) : super.getR();
+    }
+
+    @Override
+    public void setR(String r) {
+        this.r = CompactHex.toMagnitude(r);
+        super.setR(this.r == null ? r : null);
+    }
+
+    @Override
+    public String getS() {
+        return s != null ? CompactHex.fromMagnitude(s) : super.getS();
+    }
+
+    @Override
+    public void setS(String s) {
+        this.s = CompactHex.toMagnitude(s);
+        super.setS(this.s == null ? s : null);
+    }
+}
@@ -0,0 +1,208 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.math.BigInteger;
+
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactHex.ABSENT;
+
+/**
+ * Transaction receipt holding its fields in compact form, with its addresses and block hash
+ * interned.
+ *
+ * @see CompactTransaction
+ */
+public class CompactTransactionReceipt extends TransactionReceipt {
+
+    private final ByteArrayInterner interner;
+
+    private byte[] transactionHash;
+    private long transactionIndex = ABSENT;
+    private byte[] blockHash;
+    private long blockNumber = ABSENT;
+    private long cumulativeGasUsed = ABSENT;
+    private long gasUsed = ABSENT;
+    private byte[] contractAddress;
+    private byte[] root;
+    private long status = ABSENT;
+    private byte[] from;
+    private byte[] to;
+    private byte[] logsBloom;
+
+    public CompactTransactionReceipt() {
+        this(null);
+    }
+
+    /**
+     * Create a receipt interning its repeated values.
+     *
+     * @param interner the interner, or null not to intern values
+     */
+    public CompactTransactionReceipt(ByteArrayInterner interner) {
+        this.interner = interner;
+    }
+
+    @Override
+    public String getTransactionHash() {
+        return transactionHash != null
+                ? CompactHex.toHex(transactionHash) : super.getTransactionHash();
+    }
+
+    @Override
+    public void setTransactionHash(String transactionHash) {
+        this.transactionHash = CompactHex.toBytes(transactionHash);
+        super.setTransactionHash(this.transactionHash == null ? transactionHash : null);
+    }
+
+    @Override
+    public BigInteger getTransactionIndex() {
+        return transactionIndex != ABSENT
+                ? BigInteger.valueOf(transactionIndex) : super.getTransactionIndex();
+    }
+
+    @Override
+    public String getTransactionIndexRaw() {
+        return transactionIndex != ABSENT
+                ? CompactHex.fromLong(transactionIndex) : super.getTransactionIndexRaw();
+    }
+
+    @Override
+    public void setTransactionIndex(String transactionIndex) {
+        this.transactionIndex = CompactHex.toLong(transactionIndex);
+        super.setTransactionIndex(this.transactionIndex == ABSENT ? transactionIndex : null);
+    }
+
+    @Override
+    public String getBlockHash() {
+        return blockHash != null ? CompactHex.toHex(blockHash) : super.getBlockHash();
+    }
+
+    @Override
+    public void setBlockHash(String blockHash) {
+        this.blockHash = CompactHex.intern(CompactHex.toBytes(blockHash), interner);
+        super.setBlockHash(this.blockHash == null ? blockHash : null);
+    }
+
+    @Override
+    public BigInteger getBlockNumber() {
+        return blockNumber != ABSENT ? BigInteger.valueOf(blockNumber) : super.getBlockNumber();
+    }
+
+    @Override
+    public String getBlockNumberRaw() {
+        return blockNumber != ABSENT
+                ? CompactHex.fromLong(blockNumber) : super.getBlockNumberRaw();
+    }
+
+    @Override
+    public void setBlockNumber(String blockNumber) {
+        this.blockNumber = CompactHex.toLong(blockNumber);
+        super.setBlockNumber(this.blockNumber == ABSENT ? blockNumber : null);
+    }
+
+    @Override
+    public BigInteger getCumulativeGasUsed() {
+        return cumulativeGasUsed != ABSENT
+                ? BigInteger.valueOf(cumulativeGasUsed) : super.getCumulativeGasUsed();
+    }
+
+    @Override
+    public String getCumulativeGasUsedRaw() {
+        return cumulativeGasUsed != ABSENT
+                ? CompactHex.fromLong(cumulativeGasUsed) : super.getCumulativeGasUsedRaw();
+    }
+
+    @Override
+    public void setCumulativeGasUsed(String cumulativeGasUsed) {
+        this.cumulativeGasUsed = CompactHex.toLong(cumulativeGasUsed);
+        super.setCumulativeGasUsed(this.cumulativeGasUsed == ABSENT ? cumulativeGasUsed : null);
+    }
+
+    @Override
+    public BigInteger getGasUsed() {
+        return gasUsed != ABSENT ? BigInteger.valueOf(gasUsed) : super.getGasUsed();
+    }
+
+    @Override
+    public String getGasUsedRaw() {
+        return gasUsed != ABSENT ? CompactHex.fromLong(gasUsed) : super.getGasUsedRaw();
+    }
+
+    @Override
+    public void setGasUsed(String gasUsed) {
+        this.gasUsed = CompactHex.toLong(gasUsed);
+        super.setGasUsed(this.gasUsed == ABSENT ? gasUsed : null);
+    }
+
+    @Override
+    public String getContractAddress() {
+        return contractAddress != null
+                ? CompactHex.toHex(contractAddress) : super.getContractAddress();
+    }
+
+    @Override
+    public void setContractAddress(String contractAddress) {
+        this.contractAddress = CompactHex.toBytes(contractAddress);
+        super.setContractAddress(this.contractAddress == null ? contractAddress : null);
+    }
+
+    @Override
+    public String getRoot() {
+        return root != null ? CompactHex.toHex(root) : super.getRoot();
+    }
+
+    @Override
+    public void setRoot(String root) {
+        this.root = CompactHex.toBytes(root);
+        super.setRoot(this.root == null ? root : null);
+    }
+
+    @Override
+    public String getStatus() {
+        return status != ABSENT ? CompactHex.fromLong(status) : super.getStatus();
+    }
+
+    @Override
+    public void setStatus(String status) {
+        this.status = CompactHex.toLong(status);
+        super.setStatus(this.status == ABSENT ? status : null);
+    }
+
+    @Override
+    public boolean isStatusOK() {
+        return status != ABSENT ? status == 1 : super.isStatusOK();
+    }
+
+    @Override
+    public String getFrom() {
+        return from != null ? CompactHex.toHex(from) : super.getFrom();
+    }
+
+    @Override
+    public void setFrom(String from) {
+        this.from = CompactHex.intern(CompactHex.toBytes(from), interner);
+        super.setFrom(this.from == null ? from : null);
+    }
+
+    @Override
+    public String getTo() {
+        return to != null ? CompactHex.toHex(to) : super.getTo();
+    }
+
+    @Override
+    public void setTo(String to) {
+        this.to = CompactHex.intern(CompactHex.toBytes(to), interner);
+        super.setTo(this.to == null ? to : null);
+    }
+
+    @Override
+    public String getLogsBloom() {
+        return logsBloom != null ? CompactHex.toHex(logsBloom) : super.getLogsBloom();
+    }
+
+    @Override
+    public void setLogsBloom(String logsBloom) {
+        this.logsBloom = CompactHex.toBytes(logsBloom);
+        super.setLogsBloom(this.logsBloom == null ? logsBloom : null);
+    }
+}
@@ -0,0 +1,127 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.RpcErrors;
+
+/**
+ * Matches the elements of a JSON-RPC 2.0 batch reply to the requests they answer.
+ *
+ * <p>Nodes may return batch elements in any order, so they are matched by id. A request that
+ * is left without a reply, or whose reply cannot be parsed, is given an error response of its
+ * own type rather than failing the whole batch.
+ */
+public class BatchResponseDeserializer {
+
+    private final ObjectMapper objectMapper;
+
+    public BatchResponseDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public BatchResponse deserialize(
+            BatchRequest batchRequest, JsonNode reply) throws IOException {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+
+        if (reply.isObject() && reply.has("error")) {
+            // the node rejected the batch as a whole, e.g. because it is too large
+            return new BatchResponse(requests, failAll(requests, reply.get("error")));
+        } else if (!reply.isArray()) {
+            throw new IOException(
+                    String.format("Batch reply expected to be an array, but it is: '%s'",
+                            reply.getNodeType()));
+        }
+
+        Map<Long, JsonNode> replyForId = new HashMap<>();
+        for (JsonNode element : reply) {
+            JsonNode id = element.get("id");
+            if (id != null && id.isIntegralNumber()) {
+                replyForId.put(id.longValue(), element);
+            }
+        }
+
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            JsonNode element = replyForId.get(request.getId());
+            if (element != null) {
+                responses.add(parseResponse(request, element));
+            } else {
+                responses.add(errorResponse(
+                        request,
+                        RpcErrors.INTERNAL_ERROR,
+                        "No reply received for request with id " + request.getId()));
+            }
+        }
+        return new BatchResponse(requests, responses);
+    }
+
+    private List<Response<?>> failAll(
+            List<Request<?, ? extends Response<?>>> requests,
+            JsonNode error) throws IOException {
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            ObjectNode element = responseNode(request);
+            element.set("error", error.deepCopy());
+            responses.add(reader(request).readValue(element));
+        }
+        return responses;
+    }
+
+    private Response<?> parseResponse(
+            Request<?, ? extends Response<?>> request, JsonNode element) throws IOException {
+        Response<?> response;
+        try {
+            response = reader(request).readValue(element);
+        } catch (JsonProcessingException e) {
+            return errorResponse(
+                    request,
+                    RpcErrors.PARSE_ERROR,
+                    String.format("Failed to parse reply as type %s: %s",
+                            request.getResponseType().getSimpleName(), e.getOriginalMessage()));
+        }
+
+        // A raw response is only populated by mappers configured to include them, but a tree
+        // has no input source to re-read it from
+        if (response.getRawResponse() != null) {
+            response.setRawResponse(element.toString());
+        }
+        return response;
+    }
+
+    private Response<?> errorResponse(
+            Request<?, ? extends Response<?>> request,
+            int code, String message) throws IOException {
+        ObjectNode element = responseNode(request);
+        element.putObject("error")
+                .put("code", code)
+                .put("message", message);
+        return reader(request).readValue(element);
+    }
+
+    private ObjectReader reader(Request<?, ? extends Response<?>> request) {
+        return FieldProjection.readerFor(
+                objectMapper, request.getResponseType(), request.getProjection());
+    }
+
+    private ObjectNode responseNode(Request<?, ? extends Response<?>> request) {
+        ObjectNode element = objectMapper.createObjectNode();
+        element.put("jsonrpc", "2.0");
+        element.put("id", request.getId());
+        return element;
+    }
+}
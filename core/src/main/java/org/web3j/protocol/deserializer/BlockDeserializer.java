@@ -0,0 +1,139 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/**
+ * Streaming deserializer of {@link EthBlock.Block} objects, whose transactions are read in the
+ * same pass, whether they are hashes or full transaction objects.
+ */
+public class BlockDeserializer extends ObjectFieldDeserializer<EthBlock.Block> {
+
+    private final TransactionDeserializer<EthBlock.TransactionObject> transactionDeserializer;
+
+    public BlockDeserializer() {
+        this(new TransactionDeserializer<>(
+                EthBlock.TransactionObject.class, EthBlock.TransactionObject::new));
+    }
+
+    public BlockDeserializer(
+            TransactionDeserializer<EthBlock.TransactionObject> transactionDeserializer) {
+        this(EthBlock.Block::new, transactionDeserializer);
+    }
+
+    /**
+     * Create a deserializer of blocks of a subtype of {@link EthBlock.Block}.
+     *
+     * @param factory creates the blocks to deserialize
+     * @param transactionDeserializer the deserializer of the full transactions of the blocks
+     */
+    public BlockDeserializer(
+            Supplier<? extends EthBlock.Block> factory,
+            TransactionDeserializer<EthBlock.TransactionObject> transactionDeserializer) {
+        super(EthBlock.Block.class, factory::get);
+        this.transactionDeserializer = transactionDeserializer;
+    }
+
+    @Override
+    protected Set<String> getProjectedFields(FieldProjection projection) {
+        return projection.getBlockFields();
+    }
+
+    @Override
+    protected boolean readField(
+            JsonParser parser, DeserializationContext context, String name,
+            EthBlock.Block block) throws IOException {
+        switch (name) {
+            case "number":
+                block.setNumber(readString(parser, context));
+                return true;
+            case "hash":
+                block.setHash(readString(parser, context));
+                return true;
+            case "parentHash":
+                block.setParentHash(readString(parser, context));
+                return true;
+            case "nonce":
+                block.setNonce(readString(parser, context));
+                return true;
+            case "sha3Uncles":
+                block.setSha3Uncles(readString(parser, context));
+                return true;
+            case "logsBloom":
+                block.setLogsBloom(readString(parser, context));
+                return true;
+            case "transactionsRoot":
+                block.setTransactionsRoot(readString(parser, context));
+                return true;
+            case "stateRoot":
+                block.setStateRoot(readString(parser, context));
+                return true;
+            case "receiptsRoot":
+                block.setReceiptsRoot(readString(parser, context));
+                return true;
+            case "author":
+                block.setAuthor(readString(parser, context));
+                return true;
+            case "miner":
+                block.setMiner(readString(parser, context));
+                return true;
+            case "mixHash":
+                block.setMixHash(readString(parser, context));
+                return true;
+            case "difficulty":
+                block.setDifficulty(readString(parser, context));
+                return true;
+            case "totalDifficulty":
+                block.setTotalDifficulty(readString(parser, context));
+                return true;
+            case "extraData":
+                block.setExtraData(readString(parser, context));
+                return true;
+            case "size":
+                block.setSize(readString(parser, context));
+                return true;
+            case "gasLimit":
+                block.setGasLimit(readString(parser, context));
+                return true;
+            case "gasUsed":
+                block.setGasUsed(readString(parser, context));
+                return true;
+            case "timestamp":
+                block.setTimestamp(readString(parser, context));
+                return true;
+            case "transactions":
+                block.setTransactions(readTransactions(parser, context));
+                return true;
+            case "uncles":
+                block.setUncles(readStrings(parser, context));
+                return true;
+            case "sealFields":
+                block.setSealFields(readStrings(parser, context));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private List<EthBlock.TransactionResult> readTransactions(
+            JsonParser parser, DeserializationContext context) throws IOException {
+        return readList(parser, context, (elementParser, elementContext) -> {
+            JsonToken token = elementParser.getCurrentToken();
+            if (token == JsonToken.START_OBJECT) {
+                return transactionDeserializer.deserialize(elementParser, elementContext);
+            } else if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return new EthBlock.TransactionHash(readString(elementParser, elementContext));
+        });
+    }
+}
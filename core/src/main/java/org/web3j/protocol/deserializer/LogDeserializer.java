@@ -0,0 +1,68 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Streaming deserializer of {@link Log} objects, and of its subclasses adding no fields.
+ *
+ * @param <T> the type deserialized
+ */
+public class LogDeserializer<T extends Log> extends ObjectFieldDeserializer<T> {
+
+    public LogDeserializer(Class<T> type, Supplier<T> factory) {
+        super(type, factory);
+    }
+
+    @Override
+    protected Set<String> getProjectedFields(FieldProjection projection) {
+        return projection.getLogFields();
+    }
+
+    @Override
+    protected boolean readField(
+            JsonParser parser, DeserializationContext context, String name, T log)
+            throws IOException {
+        switch (name) {
+            case "removed":
+                log.setRemoved(readBoolean(parser, context));
+                return true;
+            case "logIndex":
+                log.setLogIndex(readString(parser, context));
+                return true;
+            case "transactionIndex":
+                log.setTransactionIndex(readString(parser, context));
+                return true;
+            case "transactionHash":
+                log.setTransactionHash(readString(parser, context));
+                return true;
+            case "blockHash":
+                log.setBlockHash(readString(parser, context));
+                return true;
+            case "blockNumber":
+                log.setBlockNumber(readString(parser, context));
+                return true;
+            case "address":
+                log.setAddress(readString(parser, context));
+                return true;
+            case "data":
+                log.setData(readString(parser, context));
+                return true;
+            case "type":
+                log.setType(readString(parser, context));
+                return true;
+            case "topics":
+                log.setTopics(readStrings(parser, context));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
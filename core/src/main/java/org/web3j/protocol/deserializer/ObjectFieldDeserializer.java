@@ -0,0 +1,167 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import org.web3j.protocol.core.FieldProjection;
+
+/**
+ * Deserializer of a JSON object, which reads its fields straight off the parser rather than
+ * through bean introspection, for response types read in bulk.
+ *
+ * <p>Fields are bound as Jackson binds the setters of the type: unknown fields are skipped, and
+ * values of unexpected types are left to Jackson to coerce, or reject. Fields left out of the
+ * {@link FieldProjection} of the reply being read are skipped too.
+ *
+ * @param <T> the type deserialized
+ */
+public abstract class ObjectFieldDeserializer<T> extends StdDeserializer<T> {
+
+    private final Supplier<T> factory;
+
+    protected ObjectFieldDeserializer(Class<T> type, Supplier<T> factory) {
+        super(type);
+        this.factory = factory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (T) context.handleUnexpectedToken(handledType(), parser);
+        }
+
+        Object projection = context.getAttribute(FieldProjection.class);
+        Set<String> fields = projection != null
+                ? getProjectedFields((FieldProjection) projection) : null;
+
+        T value = factory.get();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String name = parser.getCurrentName();
+            // a skipped value is not decoded
+            parser.nextToken();
+            if ((fields != null && !fields.contains(name))
+                    || !readField(parser, context, name, value)) {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get the fields of the type to read under a projection.
+     *
+     * @param projection the projection
+     * @return the names of the fields, or null to read them all
+     */
+    protected Set<String> getProjectedFields(FieldProjection projection) {
+        return null;
+    }
+
+    /**
+     * Read the value of a field, on which the parser is positioned.
+     *
+     * @param parser the parser
+     * @param context the deserialization context
+     * @param name the name of the field
+     * @param value the object being deserialized
+     * @return false if the field is unknown, and its value should be skipped
+     * @throws IOException if the value could not be read
+     */
+    protected abstract boolean readField(
+            JsonParser parser, DeserializationContext context, String name, T value)
+            throws IOException;
+
+    protected static String readString(JsonParser parser, DeserializationContext context)
+            throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        } else if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(parser, String.class);
+    }
+
+    protected static boolean readBoolean(JsonParser parser, DeserializationContext context)
+            throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return true;
+        } else if (token == JsonToken.VALUE_FALSE || token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        Boolean value = context.readValue(parser, Boolean.TYPE);
+        return value != null && value;
+    }
+
+    protected static List<String> readStrings(JsonParser parser, DeserializationContext context)
+            throws IOException {
+        return readList(parser, context, ObjectFieldDeserializer::readString);
+    }
+
+    /**
+     * Read a JSON array of objects.
+     *
+     * @param parser the parser
+     * @param context the deserialization context
+     * @param deserializer the deserializer of the objects
+     * @param <E> the type of the objects
+     * @return the objects, or null if the value is null
+     * @throws IOException if the value could not be read
+     */
+    protected static <E> List<E> readObjects(
+            JsonParser parser, DeserializationContext context,
+            ObjectFieldDeserializer<E> deserializer) throws IOException {
+        return readList(parser, context, (elementParser, elementContext) ->
+                elementParser.getCurrentToken() != JsonToken.VALUE_NULL
+                        ? deserializer.deserialize(elementParser, elementContext) : null);
+    }
+
+    /**
+     * Read a JSON array.
+     *
+     * @param parser the parser
+     * @param context the deserialization context
+     * @param elementReader reads an element, on which the parser is positioned
+     * @param <E> the type of the elements
+     * @return the elements, or null if the value is null
+     * @throws IOException if the value could not be read
+     */
+    protected static <E> List<E> readList(
+            JsonParser parser, DeserializationContext context, ElementReader<E> elementReader)
+            throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token != JsonToken.START_ARRAY) {
+            context.handleUnexpectedToken(List.class, parser);
+            return null;
+        }
+
+        List<E> elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(elementReader.read(parser, context));
+        }
+        return elements;
+    }
+
+    /**
+     * Reads an element of a JSON array.
+     */
+    @FunctionalInterface
+    protected interface ElementReader<E> {
+        E read(JsonParser parser, DeserializationContext context) throws IOException;
+    }
+}
@@ -31,7 +31,7 @@ public class RawResponseDeserializer
     public Response deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
         Response deserializedResponse = (Response) defaultDeserializer.deserialize(jp, ctxt);
 
-        deserializedResponse.setRawResponse(getRawResponse(jp));
+        setRawResponse(deserializedResponse, jp.getInputSource());
         return deserializedResponse;
     }
 
@@ -42,19 +42,23 @@ public class RawResponseDeserializer
         ((ResolvableDeserializer) defaultDeserializer).resolve(ctxt);
     }
 
-    private String getRawResponse(JsonParser jp) throws IOException {
-        final InputStream inputSource = (InputStream) jp.getInputSource();
-
-        if (inputSource == null) {
-            return "";
+    private static void setRawResponse(Response response, Object inputSource)
+            throws IOException {
+        if (inputSource instanceof RawResponseInputStream) {
+            response.setRawResponseBytes(
+                    ((RawResponseInputStream) inputSource).getRecordedBytes());
+        } else if (inputSource instanceof InputStream
+                && ((InputStream) inputSource).markSupported()) {
+            // a stream that has buffered the entire payload, which can be re-read
+            InputStream input = (InputStream) inputSource;
+            input.reset();
+            response.setRawResponse(streamToString(input));
+        } else {
+            response.setRawResponse("");
         }
-
-        inputSource.reset();
-
-        return streamToString(inputSource);
     }
 
-    private String streamToString(InputStream input) throws IOException {
+    private static String streamToString(InputStream input) {
         return new Scanner(input, StandardCharsets.UTF_8.name()).useDelimiter("\\Z").next();
     }
 }
@@ -0,0 +1,101 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * An input stream which records the bytes read through it, so that the raw payload of a
+ * response can be captured as Jackson parses it, rather than buffering and re-reading it.
+ *
+ * <p>Only the bytes actually read are recorded, Jackson reads a response up to at least the end
+ * of its root value.
+ */
+public class RawResponseInputStream extends FilterInputStream {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private byte[] recorded;
+    private int length;
+
+    public RawResponseInputStream(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a recording stream.
+     *
+     * @param in the stream to read from
+     * @param expectedSize a hint for the size of the payload, such as its content length
+     */
+    public RawResponseInputStream(InputStream in, int expectedSize) {
+        super(in);
+        this.recorded = new byte[Math.max(expectedSize, 16)];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            ensureCapacity(1);
+            recorded[length++] = (byte) b;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int count) throws IOException {
+        int read = super.read(bytes, offset, count);
+        if (read > 0) {
+            ensureCapacity(read);
+            System.arraycopy(bytes, offset, recorded, length, read);
+            length += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // skipped bytes must still be recorded
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Returns the bytes read so far, without any trailing whitespace.
+     *
+     * @return the raw payload
+     */
+    public byte[] getRecordedBytes() {
+        int end = length;
+        while (end > 0 && Character.isWhitespace(recorded[end - 1])) {
+            end--;
+        }
+        return end == recorded.length ? recorded : Arrays.copyOf(recorded, end);
+    }
+
+    /**
+     * Returns the stream read from, to read the rest of a payload without recording it.
+     *
+     * @return the underlying stream
+     */
+    public InputStream getSource() {
+        return in;
+    }
+
+    private void ensureCapacity(int count) {
+        if (length + count > recorded.length) {
+            recorded = Arrays.copyOf(
+                    recorded, Math.max(recorded.length * 2, length + count));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
+import org.web3j.protocol.exceptions.ResponseTooLargeException;
+
+/**
+ * Iterator over the elements of the array result of a JSON-RPC reply, which reads them off the
+ * reply stream one at a time, rather than reading the whole reply first. Suits replies too large
+ * to be held in memory, such as those of {@code eth_getLogs}.
+ *
+ * <p>An error reply fails with a {@link JsonRpcErrorException}, and a reply larger than its
+ * maximum size with a {@link ResponseTooLargeException}, as soon as that many bytes have been
+ * read. {@link #readNext()} throws these as they are, while the methods of {@link Iterator}
+ * throw them wrapped in an {@link UncheckedIOException}.
+ *
+ * @param <T> the type of the elements
+ */
+public class ResultIterator<T> implements Iterator<T>, Closeable {
+
+    private final ObjectReader elementReader;
+    private final BoundedInputStream inputStream;
+    private final JsonParser parser;
+
+    private boolean started;
+    private boolean finished;
+    // Element read ahead by hasNext
+    private T next;
+
+    public ResultIterator(ObjectReader elementReader, InputStream inputStream)
+            throws IOException {
+        this(elementReader, inputStream, -1);
+    }
+
+    /**
+     * Create an iterator over the result of a reply.
+     *
+     * @param elementReader the reader of the elements of the result
+     * @param inputStream the reply stream, closed with this iterator
+     * @param maxResponseSize the size in bytes past which the reply is aborted, or a negative
+     *                        value to read it whatever its size
+     * @throws IOException if the parser could not be created
+     */
+    public ResultIterator(
+            ObjectReader elementReader, InputStream inputStream, long maxResponseSize)
+            throws IOException {
+        this.elementReader = elementReader;
+        this.inputStream = new BoundedInputStream(
+                inputStream, maxResponseSize >= 0 ? maxResponseSize : Long.MAX_VALUE);
+        this.parser = elementReader.getFactory().createParser(this.inputStream);
+    }
+
+    /**
+     * Read the next element of the result.
+     *
+     * @return the element, or null once all the elements have been read
+     * @throws IOException if the reply could not be read, or is an error
+     */
+    public T readNext() throws IOException {
+        if (next != null) {
+            T element = next;
+            next = null;
+            return element;
+        }
+        if (finished) {
+            return null;
+        }
+
+        if (!started) {
+            started = true;
+            if (isEnd(skipNulls(startResult()))) {
+                finished = true;
+                return null;
+            }
+        }
+        T element = elementReader.readValue(parser);
+        // the parser is moved onto the next element, so that the end of the result is known as
+        // soon as its last element has been read
+        finished = isEnd(skipNulls(parser.nextToken()));
+        return element;
+    }
+
+    /**
+     * Check whether all the elements of the result have been read, which is known as soon as the
+     * last one has been read, rather than once another one is asked for.
+     *
+     * @return true if there is no element left to read
+     */
+    public boolean isFinished() {
+        return finished && next == null;
+    }
+
+    private JsonToken skipNulls(JsonToken token) throws IOException {
+        // null elements are left out, as null marks the end of the result
+        while (token == JsonToken.VALUE_NULL) {
+            token = parser.nextToken();
+        }
+        return token;
+    }
+
+    private static boolean isEnd(JsonToken token) {
+        return token == null || token == JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Move the parser onto the first element of the result.
+     *
+     * @return the token of the first element, or null if there is no result
+     */
+    private JsonToken startResult() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            // an empty reply, such as to a notification
+            return null;
+        } else if (token != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(
+                    parser, "Expected a JSON-RPC reply object, got " + token);
+        }
+
+        for (token = parser.nextToken(); token == JsonToken.FIELD_NAME;
+                token = parser.nextToken()) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("result".equals(name) && value == JsonToken.START_ARRAY) {
+                return parser.nextToken();
+            } else if ("result".equals(name) && value != JsonToken.VALUE_NULL) {
+                throw JsonMappingException.from(
+                        parser, "Expected an array result, got " + value);
+            } else if ("error".equals(name) && value == JsonToken.START_OBJECT) {
+                Response.Error error =
+                        elementReader.forType(Response.Error.class).readValue(parser);
+                throw new JsonRpcErrorException(error);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of bytes of the reply read so far, which is its size once all the elements
+     * have been read.
+     *
+     * @return the number of bytes read
+     */
+    public long getBytesRead() {
+        return inputStream.count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T element = next;
+        next = null;
+        return element;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        parser.close();
+        inputStream.close();
+    }
+
+    /**
+     * Stream failing once more than its maximum number of bytes have been read from it.
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private final long maxSize;
+        private long count;
+
+        BoundedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                onRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                onRead(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            onRead(skipped);
+            return skipped;
+        }
+
+        private void onRead(long read) throws ResponseTooLargeException {
+            count += read;
+            if (count > maxSize) {
+                throw new ResponseTooLargeException(String.format(
+                        "Reply exceeded its maximum size of %d bytes", maxSize));
+            }
+        }
+    }
+}
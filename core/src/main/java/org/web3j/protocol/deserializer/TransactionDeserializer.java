@@ -0,0 +1,112 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+/**
+ * Streaming deserializer of {@link Transaction} objects, and of its subclasses adding no fields.
+ *
+ * @param <T> the type deserialized
+ */
+public class TransactionDeserializer<T extends Transaction> extends ObjectFieldDeserializer<T> {
+
+    public TransactionDeserializer(Class<T> type, Supplier<T> factory) {
+        super(type, factory);
+    }
+
+    @Override
+    protected Set<String> getProjectedFields(FieldProjection projection) {
+        return projection.getTransactionFields();
+    }
+
+    @Override
+    protected boolean readField(
+            JsonParser parser, DeserializationContext context, String name, T transaction)
+            throws IOException {
+        switch (name) {
+            case "hash":
+                transaction.setHash(readString(parser, context));
+                return true;
+            case "nonce":
+                transaction.setNonce(readString(parser, context));
+                return true;
+            case "blockHash":
+                transaction.setBlockHash(readString(parser, context));
+                return true;
+            case "blockNumber":
+                transaction.setBlockNumber(readString(parser, context));
+                return true;
+            case "transactionIndex":
+                transaction.setTransactionIndex(readString(parser, context));
+                return true;
+            case "from":
+                transaction.setFrom(readString(parser, context));
+                return true;
+            case "to":
+                transaction.setTo(readString(parser, context));
+                return true;
+            case "value":
+                transaction.setValue(readString(parser, context));
+                return true;
+            case "gasPrice":
+                transaction.setGasPrice(readString(parser, context));
+                return true;
+            case "gas":
+                transaction.setGas(readString(parser, context));
+                return true;
+            case "input":
+                transaction.setInput(readString(parser, context));
+                return true;
+            case "creates":
+                transaction.setCreates(readString(parser, context));
+                return true;
+            case "publicKey":
+                transaction.setPublicKey(readString(parser, context));
+                return true;
+            case "raw":
+                transaction.setRaw(readString(parser, context));
+                return true;
+            case "r":
+                transaction.setR(readString(parser, context));
+                return true;
+            case "s":
+                transaction.setS(readString(parser, context));
+                return true;
+            case "v":
+                setV(parser, context, transaction);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static void setV(
+            JsonParser parser, DeserializationContext context, Transaction transaction)
+            throws IOException {
+        // v is hex-encoded by Geth, but a number for Parity, see Transaction.setV
+        JsonToken token = parser.getCurrentToken();
+        Object v;
+        if (token == JsonToken.VALUE_STRING) {
+            v = parser.getText();
+        } else if (token == JsonToken.VALUE_NUMBER_INT) {
+            v = parser.getNumberValue();
+        } else {
+            v = context.readValue(parser, Object.class);
+        }
+
+        try {
+            transaction.setV(v);
+        } catch (RuntimeException e) {
+            throw JsonMappingException.from(parser, "Invalid transaction v: " + v, e);
+        }
+    }
+}
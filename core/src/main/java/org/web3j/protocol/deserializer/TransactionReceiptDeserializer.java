@@ -0,0 +1,88 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Streaming deserializer of {@link TransactionReceipt} objects.
+ */
+public class TransactionReceiptDeserializer extends ObjectFieldDeserializer<TransactionReceipt> {
+
+    private final LogDeserializer<Log> logDeserializer;
+
+    public TransactionReceiptDeserializer() {
+        this(new LogDeserializer<>(Log.class, Log::new));
+    }
+
+    public TransactionReceiptDeserializer(LogDeserializer<Log> logDeserializer) {
+        this(TransactionReceipt::new, logDeserializer);
+    }
+
+    /**
+     * Create a deserializer of receipts of a subtype of {@link TransactionReceipt}.
+     *
+     * @param factory creates the receipts to deserialize
+     * @param logDeserializer the deserializer of the logs of the receipts
+     */
+    public TransactionReceiptDeserializer(
+            Supplier<? extends TransactionReceipt> factory,
+            LogDeserializer<Log> logDeserializer) {
+        super(TransactionReceipt.class, factory::get);
+        this.logDeserializer = logDeserializer;
+    }
+
+    @Override
+    protected boolean readField(
+            JsonParser parser, DeserializationContext context, String name,
+            TransactionReceipt receipt) throws IOException {
+        switch (name) {
+            case "transactionHash":
+                receipt.setTransactionHash(readString(parser, context));
+                return true;
+            case "transactionIndex":
+                receipt.setTransactionIndex(readString(parser, context));
+                return true;
+            case "blockHash":
+                receipt.setBlockHash(readString(parser, context));
+                return true;
+            case "blockNumber":
+                receipt.setBlockNumber(readString(parser, context));
+                return true;
+            case "cumulativeGasUsed":
+                receipt.setCumulativeGasUsed(readString(parser, context));
+                return true;
+            case "gasUsed":
+                receipt.setGasUsed(readString(parser, context));
+                return true;
+            case "contractAddress":
+                receipt.setContractAddress(readString(parser, context));
+                return true;
+            case "root":
+                receipt.setRoot(readString(parser, context));
+                return true;
+            case "status":
+                receipt.setStatus(readString(parser, context));
+                return true;
+            case "from":
+                receipt.setFrom(readString(parser, context));
+                return true;
+            case "to":
+                receipt.setTo(readString(parser, context));
+                return true;
+            case "logs":
+                receipt.setLogs(readObjects(parser, context, logDeserializer));
+                return true;
+            case "logsBloom":
+                receipt.setLogsBloom(readString(parser, context));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -4,8 +4,25 @@ package org.web3j.protocol.exceptions;
  * Client connection exception.
  */
 public class ClientConnectionException extends RuntimeException {
+
+    // HTTP status code of the reply, or 0 if there was none
+    private final int statusCode;
+
     public ClientConnectionException(String message) {
+        this(message, 0);
+    }
+
+    public ClientConnectionException(String message, int statusCode) {
         super(message);
+        this.statusCode = statusCode;
     }
 
+    /**
+     * Get the HTTP status code of the reply which failed the request.
+     *
+     * @return the status code, or 0 if the request did not fail with a reply
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
 }
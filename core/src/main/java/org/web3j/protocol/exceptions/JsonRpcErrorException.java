@@ -0,0 +1,24 @@
+package org.web3j.protocol.exceptions;
+
+import java.io.IOException;
+
+import org.web3j.protocol.core.Response;
+
+/**
+ * Error reply to a request whose result is not returned as a {@link Response}, such as a result
+ * read as a stream.
+ */
+public class JsonRpcErrorException extends IOException {
+
+    private final Response.Error error;
+
+    public JsonRpcErrorException(Response.Error error) {
+        super(String.format(
+                "Request failed with error %d: %s", error.getCode(), error.getMessage()));
+        this.error = error;
+    }
+
+    public Response.Error getError() {
+        return error;
+    }
+}
@@ -0,0 +1,13 @@
+package org.web3j.protocol.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Request rejected by a service before it was sent, to shed load from an endpoint which is
+ * already at its concurrency limit, or whose circuit breaker is open.
+ */
+public class RequestRejectedException extends IOException {
+    public RequestRejectedException(String message) {
+        super(message);
+    }
+}
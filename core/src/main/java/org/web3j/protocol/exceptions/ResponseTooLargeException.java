@@ -0,0 +1,13 @@
+package org.web3j.protocol.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Reply aborted as soon as it exceeded the maximum size it was allowed, rather than being read
+ * to its end.
+ */
+public class ResponseTooLargeException extends IOException {
+    public ResponseTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,146 @@
+package org.web3j.protocol.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops requests from being sent to an endpoint which keeps failing, so that callers fail fast
+ * rather than each waiting for a timeout.
+ *
+ * <p>The breaker opens once {@code failureThreshold} requests in a row have failed. While open,
+ * every request is rejected. Once {@code openDuration} has passed, it lets a single trial request
+ * through: if the trial succeeds the breaker closes again, otherwise it stays open for another
+ * {@code openDuration}.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    enum Permit {
+        // the request may not be sent
+        REJECTED,
+        // the request may be sent
+        GRANTED,
+        // the request may be sent as the single trial of a half open breaker
+        TRIAL
+    }
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_DURATION_MILLIS = 10_000;
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoTime;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder openCount = new LongAdder();
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this(failureThreshold, openDuration, unit, System::nanoTime);
+    }
+
+    CircuitBreaker(
+            int failureThreshold, long openDuration, TimeUnit unit, LongSupplier nanoTime) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = unit.toNanos(openDuration);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Check whether a request may be sent, which must then be reported as succeeded or failed,
+     * or {@link #release(Permit) released} if it is not sent after all.
+     *
+     * @return the permit to send the request, which is {@link Permit#REJECTED} if it may not be
+     */
+    synchronized Permit tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return Permit.GRANTED;
+            case OPEN:
+                if (nanoTime.getAsLong() - openedAt >= openDurationNanos) {
+                    state = State.HALF_OPEN;
+                    trialInFlight = true;
+                    return Permit.TRIAL;
+                }
+                break;
+            default:
+                if (!trialInFlight) {
+                    trialInFlight = true;
+                    return Permit.TRIAL;
+                }
+                break;
+        }
+        rejectedCount.increment();
+        return Permit.REJECTED;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            trialInFlight = false;
+        }
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN
+                || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = nanoTime.getAsLong();
+            trialInFlight = false;
+            openCount.increment();
+        }
+    }
+
+    /**
+     * Give back the permit of a request which was not sent after all, which lets another trial
+     * through if it was the trial.
+     *
+     * @param permit the permit of the request
+     */
+    synchronized void release(Permit permit) {
+        if (permit == Permit.TRIAL && state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Get the number of requests rejected while the breaker was open.
+     *
+     * @return number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Get the number of times the breaker has opened.
+     *
+     * @return number of times opened
+     */
+    public long getOpenCount() {
+        return openCount.sum();
+    }
+}
@@ -0,0 +1,181 @@
+package org.web3j.protocol.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the number of requests in flight to an endpoint, adapting the limit to the latency the
+ * endpoint is observed to have.
+ *
+ * <p>Completed requests are gathered into windows of as many requests as the limit, which is
+ * about one round trip's worth, and at least {@link #MIN_WINDOW_SIZE}. At the end of each window
+ * its average latency is compared with a baseline, a slowly moving average of the latency of
+ * past windows. The limit is cut once by {@code backoffRatio} if the window took more than
+ * {@code tolerance} times the baseline, or if any request of the window failed, and otherwise
+ * grows by its square root, while the endpoint is busy. Queueing in the endpoint shows up as
+ * latency well before it shows up as failures, so the limit backs off as soon as the endpoint
+ * starts to slow down.
+ *
+ * <p>Averages are compared rather than the latency of each request, so that a mix of fast and
+ * slow methods, such as {@code eth_blockNumber} alongside {@code eth_getLogs}, is taken into
+ * the baseline instead of being mistaken for congestion. The baseline follows the endpoint if
+ * its latency, or the mix of methods sent to it, changes for good.
+ */
+public class ConcurrencyLimiter {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 500;
+    public static final double DEFAULT_TOLERANCE = 2.0;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    static final int MIN_WINDOW_SIZE = 10;
+    // Weight of the latest window in the baseline latency
+    private static final double BASELINE_SMOOTHING = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile int limit;
+    // Guarded by this
+    private double estimatedLimit;
+    private double baselineLatencyNanos;
+    private int windowSize;
+    private long windowLatencyNanos;
+    private int windowSuccesses;
+    private boolean windowFailed;
+    private int windowPeakInFlight;
+
+    public ConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT,
+                DEFAULT_TOLERANCE, DEFAULT_BACKOFF_RATIO);
+    }
+
+    public ConcurrencyLimiter(
+            int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1: " + tolerance);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException(
+                    "Backoff ratio must be in (0, 1): " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Take a slot for a request, unless the limit has been reached.
+     *
+     * @return true if the request may be sent
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back the slot of a request which was not sent after all.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    void onSuccess(long latencyNanos) {
+        int busy = inFlight.getAndDecrement();
+        update(latencyNanos, busy, false);
+    }
+
+    void onFailure(long latencyNanos) {
+        int busy = inFlight.getAndDecrement();
+        update(latencyNanos, busy, true);
+    }
+
+    private synchronized void update(long latencyNanos, int busy, boolean failed) {
+        windowSize++;
+        windowPeakInFlight = Math.max(windowPeakInFlight, busy);
+        if (failed) {
+            windowFailed = true;
+        } else {
+            windowLatencyNanos += latencyNanos;
+            windowSuccesses++;
+        }
+        if (windowSize < Math.max(MIN_WINDOW_SIZE, limit)) {
+            return;
+        }
+
+        double averageLatencyNanos =
+                windowSuccesses > 0 ? (double) windowLatencyNanos / windowSuccesses : 0;
+        if (windowFailed || (baselineLatencyNanos > 0
+                && averageLatencyNanos > tolerance * baselineLatencyNanos)) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+        } else if (windowPeakInFlight * 2 >= limit) {
+            // only grow while the limit is being used, or it could grow without bound
+            estimatedLimit = Math.min(
+                    maxLimit, estimatedLimit + Math.max(1, Math.sqrt(estimatedLimit)));
+        }
+        if (windowSuccesses > 0) {
+            baselineLatencyNanos = baselineLatencyNanos == 0
+                    ? averageLatencyNanos
+                    : baselineLatencyNanos
+                            + BASELINE_SMOOTHING * (averageLatencyNanos - baselineLatencyNanos);
+        }
+        limit = (int) estimatedLimit;
+
+        windowSize = 0;
+        windowLatencyNanos = 0;
+        windowSuccesses = 0;
+        windowFailed = false;
+        windowPeakInFlight = 0;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of requests rejected because the limit had been reached.
+     *
+     * @return number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Get the baseline latency, against which the average latency of each window of requests is
+     * compared.
+     *
+     * @param unit unit of the returned value
+     * @return the baseline latency, or -1 if no window of requests has completed yet
+     */
+    public synchronized long getBaselineLatency(TimeUnit unit) {
+        return baselineLatencyNanos == 0
+                ? -1 : unit.convert((long) baselineLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+}
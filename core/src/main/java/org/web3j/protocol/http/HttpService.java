@@ -1,13 +1,19 @@
 package org.web3j.protocol.http;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.CipherSuite;
 import okhttp3.ConnectionSpec;
 import okhttp3.Headers;
@@ -17,17 +23,33 @@ import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
 import okio.Buffer;
-import okio.BufferedSource;
+import okio.BufferedSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.Service;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.deserializer.RawResponseInputStream;
 import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.exceptions.RequestRejectedException;
+import org.web3j.protocol.metrics.RequestTrace;
 
 import static okhttp3.ConnectionSpec.CLEARTEXT;
 
 /**
  * HTTP implementation of our services API.
+ *
+ * <p>Asynchronous requests are queued on the {@link OkHttpClient}'s dispatcher rather than
+ * blocking a thread each, so the number of requests in flight is bounded by the dispatcher's
+ * {@link okhttp3.Dispatcher#setMaxRequestsPerHost(int) per host limit}.
+ *
+ * <p>Load can be shed from a slow or failing endpoint with a {@link ConcurrencyLimiter} and a
+ * {@link CircuitBreaker}, and kept within a hosted endpoint's quota with a {@link RateLimiter}.
+ * Requests they reject fail straight away with a {@link RequestRejectedException}, without being
+ * sent.
  */
 public class HttpService extends Service {
 
@@ -86,8 +108,29 @@ public class HttpService extends Service {
 
     private HashMap<String, String> headers = new HashMap<>();
 
+    private volatile ConcurrencyLimiter concurrencyLimiter;
+
+    private volatile CircuitBreaker circuitBreaker;
+
+    private volatile RateLimiter rateLimiter;
+
     public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
-        super(includeRawResponses);
+        this(url, httpClient, includeRawResponses, false);
+    }
+
+    /**
+     * Create a service, which may read blocks, transactions, receipts and logs into their
+     * compact forms.
+     *
+     * @param url the URL of the node
+     * @param httpClient the HTTP client
+     * @param includeRawResponses whether replies should keep the message they were read from
+     * @param compactModel whether to read the compact forms of the response types
+     * @see org.web3j.protocol.ObjectMapperFactory#getObjectMapper(boolean, boolean)
+     */
+    public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses,
+                       boolean compactModel) {
+        super(includeRawResponses, compactModel);
         this.url = url;
         this.httpClient = httpClient;
         this.includeRawResponse = includeRawResponses;
@@ -138,17 +181,227 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        throttle(request);
+        return execute(RequestBody.create(JSON_MEDIA_TYPE, request));
+    }
+
+    @Override
+    protected InputStream performRequestIO(Object request) throws IOException {
+        return performRequestIO(request, RequestTrace.NONE);
+    }
+
+    @Override
+    protected InputStream performRequestIO(Object request, RequestTrace trace)
+            throws IOException {
+        RequestBody requestBody = buildRequestBody(request);
+        trace.onSerialized(requestBody.contentLength());
+        throttle(request);
+        return execute(requestBody);
+    }
+
+    private void throttle(Object request) throws IOException {
+        RateLimiter rateLimiter = this.rateLimiter;
+        if (rateLimiter == null) {
+            return;
+        }
+
+        long delayNanos = reserve(rateLimiter, request);
+        if (delayNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for rate limit");
+            }
+        }
+    }
+
+    private long reserve(RateLimiter rateLimiter, Object request)
+            throws RequestRejectedException {
+        long delayNanos = rateLimiter.reserve(rateLimiter.cost(request));
+        if (delayNanos < 0) {
+            throw new RequestRejectedException("Rate limit exceeded for " + url);
+        }
+        return delayNanos;
+    }
+
+    private InputStream execute(RequestBody requestBody) throws IOException {
+        Admission admission = admit();
+        try {
+            okhttp3.Response response = httpClient.newCall(buildRequest(requestBody)).execute();
+            InputStream inputStream = processResponse(response);
+            admission.onSuccess();
+            return inputStream;
+        } catch (IOException | RuntimeException e) {
+            admission.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return performAsyncIO(
+                request,
+                result -> reader(request, responseType).readValue(result));
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        if (batchRequest.getRequests().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    new BatchResponse(batchRequest.getRequests(), Collections.emptyList()));
+        }
+
+        return performAsyncIO(
+                batchRequest.getRequests(),
+                result -> readBatchResponse(batchRequest, result));
+    }
+
+    private <T> CompletableFuture<T> performAsyncIO(Object request, ResponseReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        RequestTrace trace = requestListeners.start(request);
+        if (trace != RequestTrace.NONE) {
+            result.whenComplete(trace::onCompleted);
+        }
+
+        RateLimiter rateLimiter = this.rateLimiter;
+        long delayNanos = 0;
+        if (rateLimiter != null) {
+            try {
+                delayNanos = reserve(rateLimiter, request);
+            } catch (RequestRejectedException e) {
+                result.completeExceptionally(e);
+                return result;
+            }
+        }
+
+        if (delayNanos > 0) {
+            // queued without holding a thread, or a dispatcher slot, while it waits
+            try {
+                rateLimiter.schedule(() -> enqueue(request, reader, result, trace), delayNanos);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        } else {
+            enqueue(request, reader, result, trace);
+        }
+        return result;
+    }
+
+    private <T> void enqueue(
+            Object request, ResponseReader<T> reader, CompletableFuture<T> result,
+            RequestTrace trace) {
+        if (result.isDone()) {
+            // cancelled while waiting for the rate limit
+            return;
+        }
+
+        Admission admission;
+        Call call;
+        try {
+            admission = admit();
+        } catch (RequestRejectedException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        try {
+            RequestBody requestBody = buildRequestBody(request);
+            trace.onSerialized(requestBody.contentLength());
+            call = httpClient.newCall(buildRequest(requestBody));
+        } catch (IOException | RuntimeException e) {
+            // not sent, so it says nothing about the endpoint
+            admission.onCancelled();
+            result.completeExceptionally(e);
+            return;
+        }
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    // says nothing about the endpoint
+                    admission.onCancelled();
+                } else {
+                    admission.onFailure(e);
+                }
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                trace.onReceived();
+                CountingInputStream replyStream;
+                try {
+                    replyStream = CountingInputStream.wrap(processResponse(response));
+                } catch (IOException | RuntimeException e) {
+                    admission.onFailure(e);
+                    response.close();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                admission.onSuccess();
+
+                // the reply is parsed on the dispatcher thread, straight off the response stream
+                try (CountingInputStream inputStream = replyStream) {
+                    T reply = null;
+                    if (inputStream != null) {
+                        reply = reader.read(inputStream);
+                        trace.setResponseSize(inputStream.getCount());
+                    }
+                    result.complete(reply);
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    response.close();
+                }
+            }
+        });
+
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+    }
+
+    private RequestBody buildRequestBody(Object request) throws IOException {
+        // The request is serialized straight into okio's pooled segments, which are then
+        // handed over to the connection without copying, rather than being encoded into a
+        // String and then again into a byte array
+        Buffer buffer = new Buffer();
+        objectMapper.writeValue(buffer.outputStream(), request);
+
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON_MEDIA_TYPE;
+            }
+
+            @Override
+            public long contentLength() {
+                return buffer.size();
+            }
 
-        RequestBody requestBody = RequestBody.create(JSON_MEDIA_TYPE, request);
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                // the body may be written more than once, e.g. on a retry or when logged
+                sink.write(buffer.clone(), buffer.size());
+            }
+        };
+    }
+
+    private okhttp3.Request buildRequest(RequestBody requestBody) {
         Headers headers = buildHeaders();
 
-        okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+        return new okhttp3.Request.Builder()
                 .url(url)
                 .headers(headers)
                 .post(requestBody)
                 .build();
+    }
 
-        okhttp3.Response response = httpClient.newCall(httpRequest).execute();
+    private InputStream processResponse(okhttp3.Response response) throws IOException {
         ResponseBody responseBody = response.body();
         if (response.isSuccessful()) {
             if (responseBody != null) {
@@ -160,34 +413,21 @@ public class HttpService extends Service {
             int code = response.code();
             String text = responseBody == null ? "N/A" : responseBody.string();
 
-            throw new ClientConnectionException("Invalid response received: " + code + "; " + text);
+            throw new ClientConnectionException(
+                    "Invalid response received: " + code + "; " + text, code);
         }
     }
 
-    private InputStream buildInputStream(ResponseBody responseBody) throws IOException {
+    private InputStream buildInputStream(ResponseBody responseBody) {
         InputStream inputStream = responseBody.byteStream();
 
         if (includeRawResponse) {
-            // we have to buffer the entire input payload, so that after processing
-            // it can be re-read and used to populate the rawResponse field.
-
-            BufferedSource source = responseBody.source();
-            source.request(Long.MAX_VALUE); // Buffer the entire body
-            Buffer buffer = source.buffer();
-
-            long size = buffer.size();
-            if (size > Integer.MAX_VALUE) {
-                throw new UnsupportedOperationException(
-                        "Non-integer input buffer size specified: " + size);
-            }
-
-            int bufferSize = (int) size;
-            BufferedInputStream bufferedinputStream =
-                    new BufferedInputStream(inputStream, bufferSize);
-
-            bufferedinputStream.mark(inputStream.available());
-            return bufferedinputStream;
-
+            // the raw payload is recorded as it is parsed, rather than being buffered up front
+            // and then re-read
+            long contentLength = responseBody.contentLength();
+            return contentLength > 0 && contentLength <= Integer.MAX_VALUE
+                    ? new RawResponseInputStream(inputStream, (int) contentLength)
+                    : new RawResponseInputStream(inputStream);
         } else {
             return inputStream;
         }
@@ -209,8 +449,149 @@ public class HttpService extends Service {
         return headers;
     }
 
+    /**
+     * Limit the number of requests in flight to this service's endpoint.
+     *
+     * @param concurrencyLimiter the limiter, or null to send requests without limit
+     */
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Stop sending requests to this service's endpoint while it keeps failing, with I/O errors
+     * or replies with a 5xx or 429 status.
+     *
+     * @param circuitBreaker the circuit breaker, or null to always send requests
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Keep the requests sent to this service's endpoint within its quota. The rate limiter is
+     * closed along with this service, or once it has been replaced.
+     *
+     * @param rateLimiter the rate limiter, or null to send requests at any rate
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        RateLimiter replaced = this.rateLimiter;
+        this.rateLimiter = rateLimiter;
+        if (replaced != null && replaced != rateLimiter) {
+            replaced.close();
+        }
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    private Admission admit() throws RequestRejectedException {
+        CircuitBreaker circuitBreaker = this.circuitBreaker;
+        ConcurrencyLimiter concurrencyLimiter = this.concurrencyLimiter;
+
+        CircuitBreaker.Permit permit =
+                circuitBreaker != null ? circuitBreaker.tryAcquire() : null;
+        if (permit == CircuitBreaker.Permit.REJECTED) {
+            throw new RequestRejectedException("Circuit breaker is open for " + url);
+        }
+        if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+            if (circuitBreaker != null) {
+                circuitBreaker.release(permit);
+            }
+            throw new RequestRejectedException(
+                    "Concurrency limit of " + concurrencyLimiter.getLimit()
+                            + " reached for " + url);
+        }
+        return new Admission(circuitBreaker, permit, concurrencyLimiter);
+    }
+
     @Override
     public void close() throws IOException {
+        RateLimiter rateLimiter = this.rateLimiter;
+        if (rateLimiter != null) {
+            rateLimiter.close();
+        }
+    }
+
+    /**
+     * A request let through by the circuit breaker and concurrency limiter, if any, which reports
+     * how it went back to them.
+     */
+    private static class Admission {
+        private final CircuitBreaker circuitBreaker;
+        private final CircuitBreaker.Permit permit;
+        private final ConcurrencyLimiter concurrencyLimiter;
+        private final long startedAt = System.nanoTime();
+
+        Admission(
+                CircuitBreaker circuitBreaker, CircuitBreaker.Permit permit,
+                ConcurrencyLimiter concurrencyLimiter) {
+            this.circuitBreaker = circuitBreaker;
+            this.permit = permit;
+            this.concurrencyLimiter = concurrencyLimiter;
+        }
+
+        void onSuccess() {
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.onSuccess(System.nanoTime() - startedAt);
+            }
+        }
 
+        /**
+         * Report a failed request, which only counts against the endpoint if it failed to
+         * reach it, or was failed by it: requests rejected as invalid, with a 4xx status other
+         * than 429, such as a batch which is too large, are down to the caller.
+         */
+        void onFailure(Throwable e) {
+            if (!isEndpointFailure(e)) {
+                // the endpoint replied, so the request says nothing about its health
+                onSuccess();
+                return;
+            }
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure();
+            }
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.onFailure(System.nanoTime() - startedAt);
+            }
+        }
+
+        void onCancelled() {
+            if (circuitBreaker != null) {
+                circuitBreaker.release(permit);
+            }
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    private static boolean isEndpointFailure(Throwable e) {
+        if (e instanceof ClientConnectionException) {
+            int statusCode = ((ClientConnectionException) e).getStatusCode();
+            return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+        }
+        return e instanceof IOException;
+    }
+
+    /**
+     * Reads a deserialized reply from a response stream.
+     *
+     * @param <T> type of the reply
+     */
+    private interface ResponseReader<T> {
+        T read(InputStream inputStream) throws IOException;
     }
 }
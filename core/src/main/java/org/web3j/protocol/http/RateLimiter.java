@@ -0,0 +1,195 @@
+package org.web3j.protocol.http;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.utils.SharedScheduler;
+
+/**
+ * Token bucket which keeps the requests sent to a hosted endpoint within its quota, rather than
+ * having them rejected by the endpoint once it has been exceeded.
+ *
+ * <p>The bucket holds up to {@code burst} permits and is refilled at {@code permitsPerSecond}.
+ * Each request takes the {@link #setMethodCost(String, int) cost} of its method, or of all its
+ * methods for a batch. A request for which there are not enough permits is queued until there
+ * are, unless it would have to wait longer than {@code maxQueueDelay}, in which case it is
+ * rejected. With a {@code maxQueueDelay} of zero, requests are never queued.
+ *
+ * <p>Queued requests are sent from the {@link SharedScheduler#getDefault() default shared
+ * scheduler}, whose view is released when the rate limiter is closed.
+ */
+public class RateLimiter implements Closeable {
+
+    public static final long DEFAULT_MAX_QUEUE_DELAY_MILLIS = 1000;
+
+    private static final int DEFAULT_METHOD_COST = 1;
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final long maxQueueDelayNanos;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier nanoTime;
+    private final Map<String, Integer> costForMethod = new ConcurrentHashMap<>();
+
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder queueDelayNanos = new LongAdder();
+
+    // Guarded by this, negative once permits have been promised to queued requests
+    private double storedPermits;
+    private long refilledAt;
+
+    public RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, Math.max(1, (int) permitsPerSecond));
+    }
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, DEFAULT_MAX_QUEUE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public RateLimiter(
+            double permitsPerSecond, int burst, long maxQueueDelay, TimeUnit unit) {
+        this(permitsPerSecond, burst, maxQueueDelay, unit,
+                SharedScheduler.getDefault().acquire(), System::nanoTime);
+    }
+
+    RateLimiter(
+            double permitsPerSecond, int burst, long maxQueueDelay, TimeUnit unit,
+            ScheduledExecutorService executor, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Permits per second must be positive: " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxQueueDelayNanos = unit.toNanos(maxQueueDelay);
+        this.executor = executor;
+        this.nanoTime = nanoTime;
+        this.storedPermits = burst;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Set the number of permits taken by requests for a method, for endpoints which charge
+     * more for expensive methods.
+     *
+     * @param method the JSON-RPC method
+     * @param cost the number of permits, 1 by default
+     */
+    public void setMethodCost(String method, int cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("Cost must not be negative: " + cost);
+        }
+        costForMethod.put(method, cost);
+    }
+
+    public int getMethodCost(String method) {
+        return costForMethod.getOrDefault(method, DEFAULT_METHOD_COST);
+    }
+
+    /**
+     * Get the number of permits taken by a request, or list of requests.
+     *
+     * @param request the request, or list of requests
+     * @return the number of permits
+     */
+    int cost(Object request) {
+        if (request instanceof Request) {
+            return getMethodCost(((Request<?, ?>) request).getMethod());
+        } else if (request instanceof List) {
+            int cost = 0;
+            for (Object element : (List<?>) request) {
+                cost += cost(element);
+            }
+            return cost;
+        }
+        return DEFAULT_METHOD_COST;
+    }
+
+    /**
+     * Take permits for a request, queueing it behind any requests already waiting for theirs.
+     *
+     * @param permits the number of permits
+     * @return the time in nanoseconds the request has to wait before it may be sent, or -1 if
+     *     it would have to wait longer than the maximum queue delay, and has been rejected
+     */
+    long reserve(int permits) {
+        long delayNanos;
+        synchronized (this) {
+            long now = nanoTime.getAsLong();
+            storedPermits = Math.min(burst, storedPermits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+
+            delayNanos = storedPermits >= permits
+                    ? 0 : (long) Math.ceil((permits - storedPermits) / permitsPerNano);
+            if (delayNanos <= maxQueueDelayNanos) {
+                storedPermits -= permits;
+            }
+        }
+
+        if (delayNanos > maxQueueDelayNanos) {
+            rejectedCount.increment();
+            return -1;
+        } else if (delayNanos > 0) {
+            queuedCount.increment();
+            queueDelayNanos.add(delayNanos);
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Run a queued request once its wait is over.
+     *
+     * @param task the task sending the request
+     * @param delayNanos the wait returned by {@link #reserve(int)}
+     */
+    void schedule(Runnable task, long delayNanos) {
+        executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Release the scheduler of queued requests, leaving those already queued to be sent.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Get the number of requests which had to wait for permits.
+     *
+     * @return number of queued requests
+     */
+    public long getQueuedCount() {
+        return queuedCount.sum();
+    }
+
+    /**
+     * Get the number of requests rejected because they would have waited too long.
+     *
+     * @return number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Get the total time requests have waited for permits.
+     *
+     * @param unit unit of the returned value
+     * @return total queueing delay
+     */
+    public long getTotalQueueDelay(TimeUnit unit) {
+        return unit.convert(queueDelayNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
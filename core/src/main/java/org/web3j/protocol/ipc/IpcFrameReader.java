@@ -0,0 +1,121 @@
+package org.web3j.protocol.ipc;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Splits a stream of JSON-RPC messages read from an IPC channel into complete JSON values.
+ *
+ * <p>Nodes are not consistent about delimiting IPC messages with newlines, so frames are found
+ * by tracking the nesting depth of objects and arrays outside of strings. This is done on the
+ * raw UTF-8 bytes, as the bytes of multi-byte characters never match the ASCII structural
+ * characters.
+ */
+class IpcFrameReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    private byte[] frame = new byte[DEFAULT_BUFFER_SIZE];
+    private int frameLength;
+
+    IpcFrameReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    IpcFrameReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * Read the next complete JSON object or array from the channel.
+     *
+     * @return the bytes of the next frame, or null if the channel reached end of stream
+     *         between frames
+     * @throws IOException if the channel fails, or reaches end of stream within a frame
+     */
+    byte[] readFrame() throws IOException {
+        frameLength = 0;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                if (frameLength > 0) {
+                    throw new EOFException("IPC channel closed within a message");
+                }
+                return null;
+            }
+
+            byte[] bytes = buffer.array();
+            int start = buffer.position();
+            int end = buffer.limit();
+
+            for (int i = start; i < end; i++) {
+                byte b = bytes[i];
+                if (depth == 0 && (b == ' ' || b == '\n' || b == '\r' || b == '\t')) {
+                    // whitespace between frames
+                    start = i + 1;
+                    continue;
+                }
+
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        append(bytes, start, i + 1);
+                        buffer.position(i + 1);
+                        return Arrays.copyOf(frame, frameLength);
+                    }
+                } else if (depth == 0) {
+                    throw new IOException(
+                            "Unexpected character '" + (char) b + "' between IPC messages");
+                }
+            }
+
+            append(bytes, start, end);
+            buffer.position(end);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private void append(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (length <= 0) {
+            return;
+        }
+        if (frameLength + length > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, frameLength + length));
+        }
+        System.arraycopy(bytes, from, frame, frameLength, length);
+        frameLength += length;
+    }
+}
@@ -20,6 +20,10 @@ public class IpcService extends Service {
         super(includeRawResponses);
     }
 
+    public IpcService(boolean includeRawResponses, boolean compactModel) {
+        super(includeRawResponses, compactModel);
+    }
+
     public IpcService() {
         this(false);
     }
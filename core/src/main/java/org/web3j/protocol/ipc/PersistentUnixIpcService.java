@@ -0,0 +1,697 @@
+package org.web3j.protocol.ipc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.subjects.BehaviorSubject;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.EthUnsubscribe;
+import org.web3j.protocol.deserializer.BatchResponseDeserializer;
+import org.web3j.protocol.metrics.RequestListener;
+import org.web3j.protocol.metrics.RequestListeners;
+import org.web3j.protocol.metrics.RequestTrace;
+import org.web3j.protocol.websocket.WebSocketSubscription;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.HashedWheelTimer;
+
+/**
+ * Unix domain socket implementation of our services API, which keeps a single connection open
+ * for the lifetime of the service.
+ *
+ * <p>Unlike {@link UnixIpcService}, which opens a new socket for every request, requests are
+ * written to the shared socket as soon as they are sent, and replies are matched to them by id
+ * as they are read back by a dedicated reader thread. As the connection is long-lived, it also
+ * supports subscriptions to notifications, in the same way as
+ * {@link org.web3j.protocol.websocket.WebSocketService}.
+ *
+ * <p>Requests fail if no reply is read within the {@link #setRequestTimeout(long, TimeUnit)
+ * request timeout}, and once the connection is lost, every pending and later request fails.
+ */
+public class PersistentUnixIpcService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentUnixIpcService.class);
+
+    // Default timeout for JSON-RPC requests, in seconds
+    static final long REQUEST_TIMEOUT = 60;
+    // Time to wait on close for the reader thread to stop, in seconds
+    private static final long READER_STOP_TIMEOUT = 5;
+
+    private final ReadableByteChannel readChannel;
+    // Ends the input of the connection, which stops the reader thread
+    private final Closeable inputShutdown;
+    private final Closeable connection;
+    private final boolean includeRawResponses;
+    private final ObjectMapper objectMapper;
+    private final BatchResponseDeserializer batchResponseDeserializer;
+    private final Object writeLock = new Object();
+    private final OutputStream channelOutputStream;
+    private final RequestListeners requestListeners = new RequestListeners();
+    // Executor ticking the timer of request timeouts
+    private final ScheduledExecutorService timerExecutor;
+    // Timer for request timeouts, which are cancelled when a reply arrives
+    private final HashedWheelTimer timer;
+    // Timeout for requests sent without a timeout of their own
+    private volatile long requestTimeoutNanos = TimeUnit.SECONDS.toNanos(REQUEST_TIMEOUT);
+
+    // Map of a sent request id to the reply future and response type
+    private final Map<Long, PendingReply<?>> requestForId = new ConcurrentHashMap<>();
+    // Map of the id of every request in a sent batch to the batch awaiting a reply
+    private final Map<Long, PendingBatch> batchRequestForId = new ConcurrentHashMap<>();
+    // Map of a sent subscription request id to objects necessary to process
+    // subscription events
+    private final Map<Long, WebSocketSubscription<?>> subscriptionRequestForId =
+            new ConcurrentHashMap<>();
+    // Map of a subscription id to objects necessary to process incoming events
+    private final Map<String, WebSocketSubscription<?>> subscriptionForId =
+            new ConcurrentHashMap<>();
+
+    // Thread reading messages, until the connection is closed
+    private final Thread reader;
+
+    private volatile boolean closed;
+    // Set once the reader thread has stopped, after which no reply can be read
+    private volatile boolean disconnected;
+
+    public PersistentUnixIpcService(String ipcSocketPath) {
+        this(ipcSocketPath, false);
+    }
+
+    public PersistentUnixIpcService(String ipcSocketPath, boolean includeRawResponses) {
+        this(ipcSocketPath, includeRawResponses, false);
+    }
+
+    /**
+     * Connect to a node, reading blocks, transactions, receipts and logs into their compact
+     * forms if requested.
+     *
+     * @param ipcSocketPath the path of the socket of the node
+     * @param includeRawResponses whether replies should keep the message they were read from
+     * @param compactModel whether to read the compact forms of the response types
+     * @see ObjectMapperFactory#getObjectMapper(boolean, boolean)
+     */
+    public PersistentUnixIpcService(
+            String ipcSocketPath, boolean includeRawResponses, boolean compactModel) {
+        this(openChannel(ipcSocketPath), includeRawResponses, compactModel);
+    }
+
+    PersistentUnixIpcService(UnixSocketChannel channel, boolean includeRawResponses) {
+        this(channel, includeRawResponses, false);
+    }
+
+    PersistentUnixIpcService(
+            UnixSocketChannel channel, boolean includeRawResponses, boolean compactModel) {
+        // closing the socket alone does not wake up a thread blocked reading from it
+        this(channel, channel, channel::shutdownInput, channel, includeRawResponses,
+                compactModel);
+    }
+
+    PersistentUnixIpcService(
+            ReadableByteChannel readChannel,
+            WritableByteChannel writeChannel,
+            Closeable connection,
+            boolean includeRawResponses) {
+        this(readChannel, writeChannel, readChannel, connection, includeRawResponses, false);
+    }
+
+    private PersistentUnixIpcService(
+            ReadableByteChannel readChannel,
+            WritableByteChannel writeChannel,
+            Closeable inputShutdown,
+            Closeable connection,
+            boolean includeRawResponses,
+            boolean compactModel) {
+        this.readChannel = readChannel;
+        this.inputShutdown = inputShutdown;
+        this.channelOutputStream = new ChannelOutputStream(writeChannel);
+        this.connection = connection;
+        this.includeRawResponses = includeRawResponses;
+        this.objectMapper =
+                ObjectMapperFactory.getObjectMapper(includeRawResponses, compactModel);
+        this.batchResponseDeserializer = new BatchResponseDeserializer(objectMapper);
+        this.timerExecutor = Async.daemonExecutorService("web3j-ipc-timer");
+        this.timer = new HashedWheelTimer(timerExecutor);
+
+        this.reader = new Thread(this::readMessages, "web3j-ipc-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private static UnixSocketChannel openChannel(String ipcSocketPath) {
+        try {
+            return UnixSocketChannel.open(new UnixSocketAddress(ipcSocketPath));
+        } catch (IOException e) {
+            throw new RuntimeException(
+                    "Provided file socket cannot be opened: " + ipcSocketPath, e);
+        }
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return await(sendAsync(request, responseType));
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return sendAsync(request, responseType, requestTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Send a request, which fails if no reply is read within the given timeout, rather than
+     * within the {@link #setRequestTimeout(long, TimeUnit) service's request timeout}.
+     *
+     * @param request the request to send
+     * @param responseType the type of the reply
+     * @param timeout the time to wait for a reply
+     * @param unit the unit of the timeout
+     * @param <T> the type of the reply
+     * @return a future completed with the reply
+     */
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType, long timeout, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (disconnected || closed) {
+            result.completeExceptionally(new IOException("Connection was closed"));
+            return result;
+        }
+
+        RequestTrace trace = startTrace(request, result);
+        long requestId = request.getId();
+        PendingReply<T> pendingReply =
+                new PendingReply<>(result, responseType, request.getProjection(), trace);
+        requestForId.put(requestId, pendingReply);
+        // the timeout is set before the request is sent, so that it can not miss a reply
+        HashedWheelTimer.Timeout requestTimeout = timer.newTimeout(
+                () -> onRequestTimeout(requestId, pendingReply), timeout, unit);
+        result.whenComplete((reply, throwable) -> requestTimeout.cancel());
+        if (disconnected) {
+            // the reader stopped while the request was registered, so it may have been missed
+            failRequest(requestId, pendingReply, new IOException("Connection was closed"));
+            return result;
+        }
+
+        try {
+            write(request);
+            // streamed straight to the socket, so its size is not known
+            trace.onSerialized(-1);
+        } catch (IOException e) {
+            failRequest(requestId, pendingReply, e);
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return await(sendBatchAsync(batchRequest));
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        if (disconnected || closed) {
+            result.completeExceptionally(new IOException("Connection was closed"));
+            return result;
+        }
+        if (batchRequest.getRequests().isEmpty()) {
+            // an empty array is not a valid JSON-RPC batch
+            result.complete(
+                    new BatchResponse(batchRequest.getRequests(), Collections.emptyList()));
+            return result;
+        }
+
+        RequestTrace trace = startTrace(batchRequest.getRequests(), result);
+        PendingBatch batch = new PendingBatch(result, batchRequest, trace);
+        batchRequest.getRequests().forEach(
+                request -> batchRequestForId.put(request.getId(), batch));
+        HashedWheelTimer.Timeout batchTimeout = timer.newTimeout(
+                () -> onBatchTimeout(batch), requestTimeoutNanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((reply, throwable) -> batchTimeout.cancel());
+        if (disconnected) {
+            failBatch(batch, new IOException("Connection was closed"));
+            return result;
+        }
+
+        try {
+            write(batchRequest.getRequests());
+            trace.onSerialized(-1);
+        } catch (IOException e) {
+            failBatch(batch, e);
+        }
+        return result;
+    }
+
+    private void onRequestTimeout(long requestId, PendingReply<?> pendingReply) {
+        log.warn("Request with id {} timed out", requestId);
+        failRequest(requestId, pendingReply, new SocketTimeoutException(
+                String.format("Request with id %d timed out", requestId)));
+    }
+
+    private void onBatchTimeout(PendingBatch batch) {
+        long batchId = batch.batchRequest.getRequests().get(0).getId();
+        log.warn("Batch request with id {} timed out", batchId);
+        failBatch(batch, new SocketTimeoutException(
+                String.format("Batch request with id %d timed out", batchId)));
+    }
+
+    private void failRequest(long requestId, PendingReply<?> pendingReply, IOException e) {
+        // the request is only removed if it is still waiting for this reply
+        if (requestForId.remove(requestId, pendingReply)) {
+            pendingReply.result.completeExceptionally(e);
+        }
+    }
+
+    private void failBatch(PendingBatch batch, IOException e) {
+        removeBatch(batch);
+        batch.result.completeExceptionally(e);
+    }
+
+    /**
+     * Set the time to wait for the reply to a request, or a batch of requests, after which it
+     * fails with a {@link SocketTimeoutException}. Defaults to {@value #REQUEST_TIMEOUT} seconds.
+     *
+     * @param timeout the time to wait for a reply
+     * @param unit the unit of the timeout
+     */
+    public void setRequestTimeout(long timeout, TimeUnit unit) {
+        this.requestTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    private RequestTrace startTrace(Object request, CompletableFuture<?> result) {
+        RequestTrace trace = requestListeners.start(request);
+        if (trace != RequestTrace.NONE) {
+            result.whenComplete(trace::onCompleted);
+        }
+        return trace;
+    }
+
+    /**
+     * Add a listener told of every request sent by this service.
+     *
+     * @param listener the listener
+     */
+    public void addRequestListener(RequestListener listener) {
+        requestListeners.add(listener);
+    }
+
+    public void removeRequestListener(RequestListener listener) {
+        requestListeners.remove(listener);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request,
+            String unsubscribeMethod,
+            Class<T> responseType) {
+        // As with WebSocketService, the subject preserves an error raised before a client
+        // subscribes, and the subscription is established synchronously so that a client can
+        // not unsubscribe before its subscription id is known
+        BehaviorSubject<T> subject = BehaviorSubject.create();
+
+        subscriptionRequestForId.put(
+                request.getId(),
+                new WebSocketSubscription<>(subject, responseType));
+        try {
+            EthSubscribe reply = send(request, EthSubscribe.class);
+            if (reply.hasError()) {
+                subject.onError(new IOException(String.format(
+                        "Subscription request failed with error: %s",
+                        reply.getError().getMessage())));
+            }
+        } catch (IOException e) {
+            log.error("Failed to subscribe to RPC events with request id {}", request.getId());
+            subject.onError(e);
+        } finally {
+            subscriptionRequestForId.remove(request.getId());
+        }
+
+        return subject
+                .doOnDispose(() -> closeSubscription(subject, unsubscribeMethod))
+                .toFlowable(BackpressureStrategy.BUFFER);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            // the reader is stopped before the connection is closed, as a descriptor closed
+            // while it is still read from may be reused by another connection, and read from
+            try {
+                inputShutdown.close();
+                awaitReader();
+            } finally {
+                connection.close();
+            }
+        } finally {
+            timer.stop();
+            timerExecutor.shutdown();
+        }
+    }
+
+    private void awaitReader() {
+        if (Thread.currentThread() == reader) {
+            // closed by a subscriber on the reader thread, which stops once it returns
+            return;
+        }
+        try {
+            reader.join(TimeUnit.SECONDS.toMillis(READER_STOP_TIMEOUT));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Object request) throws IOException {
+        if (log.isDebugEnabled()) {
+            log.debug(">> {}", objectMapper.writeValueAsString(request));
+        }
+
+        // Jackson writes to the socket straight from its own recycled buffer, so the
+        // payload is never materialised as a String or byte array
+        synchronized (writeLock) {
+            objectMapper.writeValue(channelOutputStream, request);
+        }
+    }
+
+    private void readMessages() {
+        IpcFrameReader frameReader = new IpcFrameReader(readChannel);
+        Exception failure = null;
+        try {
+            byte[] frame;
+            while (!closed && (frame = frameReader.readFrame()) != null) {
+                try {
+                    onMessage(frame);
+                } catch (IOException | RuntimeException e) {
+                    // such as a subscriber failing on a notification, which should not
+                    // bring down the connection
+                    log.error("Failed to process IPC message '{}'",
+                            new String(frame, StandardCharsets.UTF_8), e);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                log.error("IPC connection failed", e);
+            }
+            failure = e;
+        }
+        onConnectionClosed(failure);
+    }
+
+    void onMessage(byte[] frame) throws IOException {
+        if (log.isDebugEnabled()) {
+            log.debug("<< {}", new String(frame, StandardCharsets.UTF_8));
+        }
+
+        JsonNode replyJson = objectMapper.readTree(frame);
+        if (replyJson.isArray()) {
+            processBatchReply(frame, replyJson);
+        } else if (replyJson.hasNonNull("id")) {
+            processReply(frame, replyJson);
+        } else if (replyJson.has("id")) {
+            processUnmatchedError(frame, replyJson);
+        } else if (replyJson.has("method")) {
+            processSubscriptionEvent(replyJson);
+        } else {
+            throw new IOException("Unknown message type");
+        }
+    }
+
+    private void processReply(byte[] frame, JsonNode replyJson) throws IOException {
+        JsonNode idField = replyJson.get("id");
+        if (!idField.isIntegralNumber()) {
+            throw new IOException(
+                    String.format("'id' expected to be long, but it is: '%s'",
+                            idField.asText()));
+        }
+
+        long replyId = idField.longValue();
+        PendingReply<?> pendingReply = requestForId.remove(replyId);
+        if (pendingReply == null) {
+            throw new IOException(
+                    String.format("Received reply for unexpected request id: %d", replyId));
+        }
+        completeReply(frame, replyJson, replyId, pendingReply);
+    }
+
+    private void completeReply(
+            byte[] frame, JsonNode replyJson, long replyId, PendingReply<?> pendingReply) {
+        pendingReply.trace.onReceived(frame.length);
+        Response<?> reply;
+        try {
+            // bound from the tree the frame was read into, rather than parsing it again
+            reply = FieldProjection.readerFor(
+                    objectMapper, pendingReply.responseType, pendingReply.projection)
+                    .readValue(replyJson);
+        } catch (IOException e) {
+            pendingReply.result.completeExceptionally(e);
+            return;
+        }
+        if (includeRawResponses) {
+            // the frame is exactly the raw reply, so it is shared rather than copied
+            reply.setRawResponseBytes(frame);
+        }
+
+        // Subscriptions must be established here, on the reader thread, so that no
+        // notification can be read before its subscriber is known
+        WebSocketSubscription<?> subscription = subscriptionRequestForId.get(replyId);
+        if (subscription != null && reply instanceof EthSubscribe
+                && !((EthSubscribe) reply).hasError()) {
+            String subscriptionId = ((EthSubscribe) reply).getSubscriptionId();
+            log.debug("Subscribed to RPC events with id {}", subscriptionId);
+            subscriptionForId.put(subscriptionId, subscription);
+        }
+
+        pendingReply.complete(reply);
+    }
+
+    private void processBatchReply(byte[] frame, JsonNode replyJson) throws IOException {
+        PendingBatch batch = null;
+        for (JsonNode element : replyJson) {
+            JsonNode idField = element.get("id");
+            if (idField != null && idField.isIntegralNumber()) {
+                batch = batchRequestForId.get(idField.longValue());
+                if (batch != null) {
+                    break;
+                }
+            }
+        }
+
+        if (batch == null) {
+            throw new IOException("Received batch reply for unexpected request ids");
+        }
+        completeBatch(frame, batch, replyJson);
+    }
+
+    private void processUnmatchedError(byte[] frame, JsonNode replyJson) throws IOException {
+        if (!replyJson.has("error")) {
+            throw new IOException("Unknown message type");
+        }
+
+        // Nodes reply with a null id to requests they cannot read at all. Replies follow the
+        // order of requests, so it answers the oldest request or batch still pending.
+        long oldestRequestId = oldestId(requestForId.keySet());
+        long oldestBatchId = oldestId(batchRequestForId.keySet());
+        if (oldestBatchId < oldestRequestId) {
+            PendingBatch batch = batchRequestForId.get(oldestBatchId);
+            if (batch != null) {
+                completeBatch(frame, batch, replyJson);
+                return;
+            }
+        } else if (oldestRequestId != Long.MAX_VALUE) {
+            PendingReply<?> pendingReply = requestForId.remove(oldestRequestId);
+            if (pendingReply != null) {
+                completeReply(frame, replyJson, oldestRequestId, pendingReply);
+                return;
+            }
+        }
+        log.warn("Received error reply with no pending request: {}", replyJson);
+    }
+
+    private static long oldestId(Set<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+    }
+
+    private void completeBatch(byte[] frame, PendingBatch batch, JsonNode replyJson) {
+        removeBatch(batch);
+        batch.trace.onReceived(frame.length);
+        try {
+            batch.result.complete(
+                    batchResponseDeserializer.deserialize(batch.batchRequest, replyJson));
+        } catch (IOException e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private void removeBatch(PendingBatch batch) {
+        batch.batchRequest.getRequests().forEach(
+                request -> batchRequestForId.remove(request.getId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void processSubscriptionEvent(JsonNode replyJson) throws IOException {
+        String subscriptionId = replyJson.path("params").path("subscription").asText();
+        WebSocketSubscription subscription = subscriptionForId.get(subscriptionId);
+
+        if (subscription != null) {
+            Object event = objectMapper.treeToValue(replyJson, subscription.getResponseType());
+            subscription.getSubject().onNext(event);
+        } else {
+            log.warn("No subscriber for IPC event with subscription id {}", subscriptionId);
+        }
+    }
+
+    private <T extends Notification<?>> void closeSubscription(
+            BehaviorSubject<T> subject, String unsubscribeMethod) {
+        String subscriptionId = subscriptionForId.entrySet().stream()
+                .filter(entry -> entry.getValue().getSubject() == subject)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+        if (subscriptionId == null) {
+            log.warn("Trying to unsubscribe from a non-existing subscription. Race condition?");
+            return;
+        }
+
+        subscriptionForId.remove(subscriptionId);
+        if (closed || disconnected) {
+            return;
+        }
+
+        Request<String, EthUnsubscribe> unsubscribeRequest = new Request<>(
+                unsubscribeMethod,
+                Collections.singletonList(subscriptionId),
+                this,
+                EthUnsubscribe.class);
+        sendAsync(unsubscribeRequest, EthUnsubscribe.class)
+                .thenAccept(ethUnsubscribe -> log.debug(
+                        "Successfully unsubscribed from subscription with id {}",
+                        subscriptionId))
+                .exceptionally(throwable -> {
+                    log.error("Failed to unsubscribe from subscription with id {}",
+                            subscriptionId);
+                    return null;
+                });
+    }
+
+    private void onConnectionClosed(Exception cause) {
+        // set first, so that a request sent from now on fails rather than waits for a reply
+        disconnected = true;
+        IOException e = new IOException("Connection was closed", cause);
+
+        requestForId.values().forEach(pendingReply -> pendingReply.result.completeExceptionally(e));
+        requestForId.clear();
+        batchRequestForId.values().forEach(batch -> batch.result.completeExceptionally(e));
+        batchRequestForId.clear();
+        subscriptionForId.values().forEach(subscription -> subscription.getSubject().onError(e));
+        subscriptionForId.clear();
+    }
+
+    private static <T> T await(CompletableFuture<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted IPC request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    // Method visible for unit-tests
+    boolean isWaitingForReply(long requestId) {
+        return requestForId.containsKey(requestId) || batchRequestForId.containsKey(requestId);
+    }
+
+    private static class PendingReply<T extends Response> {
+        private final CompletableFuture<T> result;
+        private final Class<T> responseType;
+        private final FieldProjection projection;
+        private final RequestTrace trace;
+
+        PendingReply(
+                CompletableFuture<T> result, Class<T> responseType, FieldProjection projection,
+                RequestTrace trace) {
+            this.result = result;
+            this.responseType = responseType;
+            this.projection = projection;
+            this.trace = trace;
+        }
+
+        void complete(Object reply) {
+            result.complete(responseType.cast(reply));
+        }
+    }
+
+    private static class PendingBatch {
+        private final CompletableFuture<BatchResponse> result;
+        private final BatchRequest batchRequest;
+        private final RequestTrace trace;
+
+        PendingBatch(
+                CompletableFuture<BatchResponse> result, BatchRequest batchRequest,
+                RequestTrace trace) {
+            this.result = result;
+            this.batchRequest = batchRequest;
+            this.trace = trace;
+        }
+    }
+
+    /**
+     * Writes to a channel without the locking of {@link java.nio.channels.Channels}' streams,
+     * which would block behind the reader thread on a blocking channel. Closing the stream
+     * leaves the channel open.
+     */
+    private static class ChannelOutputStream extends OutputStream {
+        private final WritableByteChannel channel;
+
+        ChannelOutputStream(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -16,6 +16,12 @@ public class UnixIpcService extends IpcService {
         this.ipcSocketPath = ipcSocketPath;
     }
 
+    public UnixIpcService(
+            String ipcSocketPath, boolean includeRawResponse, boolean compactModel) {
+        super(includeRawResponse, compactModel);
+        this.ipcSocketPath = ipcSocketPath;
+    }
+
     @Override
     protected IOFacade getIO() {
         return new UnixDomainSocket(ipcSocketPath);
@@ -18,6 +18,12 @@ public class WindowsIpcService extends IpcService {
         this.ipcSocketPath = ipcSocketPath;
     }
 
+    public WindowsIpcService(
+            String ipcSocketPath, boolean includeRawResponse, boolean compactModel) {
+        super(includeRawResponse, compactModel);
+        this.ipcSocketPath = ipcSocketPath;
+    }
+
     @Override
     protected IOFacade getIO() {
         return new WindowsNamedPipe(ipcSocketPath);
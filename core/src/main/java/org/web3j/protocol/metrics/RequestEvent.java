@@ -0,0 +1,127 @@
+package org.web3j.protocol.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A completed request, as seen by its transport.
+ *
+ * <p>The latency of a request is broken down into the time taken to serialize it, the time from
+ * then until its reply started to arrive, and the time from then until the reply had been
+ * deserialized. Transports which serialize a request as they write it report serialization as
+ * part of the network time, and transports which read a reply as they deserialize it report
+ * reading as part of the deserialization time. Sizes are in bytes, or -1 where the transport
+ * does not know them.
+ */
+public class RequestEvent {
+
+    /**
+     * How a request completed.
+     */
+    public enum Outcome {
+        // a reply with a result was received
+        SUCCESS,
+        // a reply with a JSON-RPC error was received
+        RPC_ERROR,
+        // the request was rejected by the client before it was sent
+        REJECTED,
+        // no reply was received in time
+        TIMEOUT,
+        // the request could not be sent, or the reply could not be received
+        TRANSPORT_ERROR,
+        // the reply could not be deserialized
+        DECODING_ERROR,
+        // the caller cancelled the request
+        CANCELLED,
+        // anything else
+        OTHER_ERROR
+    }
+
+    private final String method;
+    private final long requestId;
+    private final long requestSize;
+    private final long responseSize;
+    private final long serializationNanos;
+    private final long networkNanos;
+    private final long deserializationNanos;
+    private final Outcome outcome;
+    private final Throwable error;
+
+    public RequestEvent(
+            String method, long requestId, long requestSize, long responseSize,
+            long serializationNanos, long networkNanos, long deserializationNanos,
+            Outcome outcome, Throwable error) {
+        this.method = method;
+        this.requestId = requestId;
+        this.requestSize = requestSize;
+        this.responseSize = responseSize;
+        this.serializationNanos = serializationNanos;
+        this.networkNanos = networkNanos;
+        this.deserializationNanos = deserializationNanos;
+        this.outcome = outcome;
+        this.error = error;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getRequestId() {
+        return requestId;
+    }
+
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    public long getResponseSize() {
+        return responseSize;
+    }
+
+    public long getSerializationTime(TimeUnit unit) {
+        return unit.convert(serializationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getNetworkTime(TimeUnit unit) {
+        return unit.convert(networkNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getDeserializationTime(TimeUnit unit) {
+        return unit.convert(deserializationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(
+                serializationNanos + networkNanos + deserializationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isSuccess() {
+        return outcome == Outcome.SUCCESS;
+    }
+
+    /**
+     * Get the exception the request failed with.
+     *
+     * @return the exception, or null if a reply was received
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestEvent{"
+                + "method='" + method + '\''
+                + ", requestId=" + requestId
+                + ", requestSize=" + requestSize
+                + ", responseSize=" + responseSize
+                + ", serializationNanos=" + serializationNanos
+                + ", networkNanos=" + networkNanos
+                + ", deserializationNanos=" + deserializationNanos
+                + ", outcome=" + outcome
+                + '}';
+    }
+}
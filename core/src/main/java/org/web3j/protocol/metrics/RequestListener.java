@@ -0,0 +1,27 @@
+package org.web3j.protocol.metrics;
+
+/**
+ * Listener told of every request sent by a transport it has been added to, for instance to
+ * record metrics or trace requests.
+ *
+ * <p>Listeners are called on the thread sending or completing the request, which may be a
+ * transport's I/O thread, so they must return quickly and must not block.
+ */
+public interface RequestListener {
+
+    /**
+     * Called before a request is serialized.
+     *
+     * @param method the JSON-RPC method, or {@value RequestTrace#BATCH_METHOD} for a batch
+     * @param requestId the id of the request, or of the first request of a batch
+     */
+    default void onRequestStarted(String method, long requestId) {
+    }
+
+    /**
+     * Called once a request has completed, whether it succeeded or not.
+     *
+     * @param event the request, its sizes and timings, and how it completed
+     */
+    void onRequestCompleted(RequestEvent event);
+}
@@ -0,0 +1,30 @@
+package org.web3j.protocol.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@link RequestListener}s added to a transport.
+ */
+public class RequestListeners {
+
+    private final List<RequestListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void add(RequestListener listener) {
+        listeners.add(listener);
+    }
+
+    public void remove(RequestListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start tracing a request.
+     *
+     * @param request the request, or list of requests of a batch
+     * @return the trace, or {@link RequestTrace#NONE} if there are no listeners
+     */
+    public RequestTrace start(Object request) {
+        return RequestTrace.start(listeners, request);
+    }
+}
@@ -0,0 +1,140 @@
+package org.web3j.protocol.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RequestListener} recording the latencies, sizes and outcomes of requests per method.
+ *
+ * <p>For instance, to record the requests sent by an {@link org.web3j.protocol.http.HttpService}
+ * and get the 99th percentile latency of {@code eth_call}:
+ *
+ * <pre>
+ * RequestMetrics metrics = new RequestMetrics();
+ * httpService.addRequestListener(metrics);
+ * ...
+ * metrics.getMethodMetrics("eth_call").getLatency().getPercentile(0.99, TimeUnit.MILLISECONDS);
+ * </pre>
+ */
+public class RequestMetrics implements RequestListener {
+
+    private final Map<String, MethodMetrics> metricsForMethod = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequestCompleted(RequestEvent event) {
+        metricsForMethod
+                .computeIfAbsent(event.getMethod(), method -> new MethodMetrics())
+                .record(event);
+    }
+
+    /**
+     * Get the metrics recorded for a method.
+     *
+     * @param method the JSON-RPC method, or {@value RequestTrace#BATCH_METHOD} for batches
+     * @return the metrics, or null if no request for the method has completed
+     */
+    public MethodMetrics getMethodMetrics(String method) {
+        return metricsForMethod.get(method);
+    }
+
+    public Set<String> getMethods() {
+        return Collections.unmodifiableSet(metricsForMethod.keySet());
+    }
+
+    /**
+     * Metrics of the requests for a single method.
+     */
+    public static class MethodMetrics {
+        // Latencies of requests which were replied to, as successes or JSON-RPC errors
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram networkLatency = new LatencyHistogram();
+        // Latencies of requests which failed otherwise, kept apart as rejected, cancelled or
+        // timed out requests would skew the latencies of replies
+        private final LatencyHistogram failureLatency = new LatencyHistogram();
+        private final LongAdder count = new LongAdder();
+        private final Map<RequestEvent.Outcome, LongAdder> countForOutcome =
+                new EnumMap<>(RequestEvent.Outcome.class);
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+
+        MethodMetrics() {
+            for (RequestEvent.Outcome outcome : RequestEvent.Outcome.values()) {
+                countForOutcome.put(outcome, new LongAdder());
+            }
+        }
+
+        void record(RequestEvent event) {
+            RequestEvent.Outcome outcome = event.getOutcome();
+            if (outcome == RequestEvent.Outcome.SUCCESS
+                    || outcome == RequestEvent.Outcome.RPC_ERROR) {
+                latency.recordNanos(event.getTotalTime(TimeUnit.NANOSECONDS));
+                networkLatency.recordNanos(event.getNetworkTime(TimeUnit.NANOSECONDS));
+            } else {
+                failureLatency.recordNanos(event.getTotalTime(TimeUnit.NANOSECONDS));
+            }
+            count.increment();
+            countForOutcome.get(event.getOutcome()).increment();
+            if (event.getRequestSize() > 0) {
+                requestBytes.add(event.getRequestSize());
+            }
+            if (event.getResponseSize() > 0) {
+                responseBytes.add(event.getResponseSize());
+            }
+        }
+
+        /**
+         * Get the latencies of requests replied to with a result or a JSON-RPC error, from being
+         * sent until their reply was deserialized.
+         *
+         * @return the latencies
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Get the latencies of requests replied to with a result or a JSON-RPC error, from being
+         * serialized until their reply started to arrive.
+         *
+         * @return the network latencies
+         */
+        public LatencyHistogram getNetworkLatency() {
+            return networkLatency;
+        }
+
+        /**
+         * Get the latencies of requests which failed without a result or JSON-RPC error, such as
+         * those rejected, cancelled or timed out, until they failed.
+         *
+         * @return the latencies of failed requests
+         */
+        public LatencyHistogram getFailureLatency() {
+            return failureLatency;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getCount(RequestEvent.Outcome outcome) {
+            return countForOutcome.get(outcome).sum();
+        }
+
+        public long getErrorCount() {
+            return getCount() - getCount(RequestEvent.Outcome.SUCCESS);
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.web3j.protocol.metrics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
+import org.web3j.protocol.exceptions.RequestRejectedException;
+
+/**
+ * Records the progress of a request through its transport, and reports it to the
+ * {@link RequestListener}s once the request has completed.
+ *
+ * <p>Transports mark when a request has been serialized and when its reply has started to
+ * arrive, and complete the trace once the request has completed. A trace is only reported once,
+ * however many times it is completed. {@link #NONE} is used while there are no listeners, and
+ * records nothing.
+ */
+public final class RequestTrace {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTrace.class);
+
+    public static final String BATCH_METHOD = "batch";
+
+    public static final RequestTrace NONE = new RequestTrace(null, null, -1);
+
+    private final List<RequestListener> listeners;
+    private final String method;
+    private final long requestId;
+    private final long startedAt;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile long serializedAt;
+    private volatile long receivedAt;
+    private volatile long requestSize = -1;
+    private volatile long responseSize = -1;
+
+    private RequestTrace(List<RequestListener> listeners, String method, long requestId) {
+        this.listeners = listeners;
+        this.method = method;
+        this.requestId = requestId;
+        this.startedAt = listeners != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Start tracing a request, telling the listeners it has started.
+     *
+     * @param listeners the listeners to report the request to
+     * @param request the request, or list of requests of a batch
+     * @return the trace, or {@link #NONE} if there are no listeners
+     */
+    static RequestTrace start(List<RequestListener> listeners, Object request) {
+        if (listeners.isEmpty()) {
+            return NONE;
+        }
+
+        String method;
+        long requestId;
+        if (request instanceof Request) {
+            method = ((Request<?, ?>) request).getMethod();
+            requestId = ((Request<?, ?>) request).getId();
+        } else {
+            method = BATCH_METHOD;
+            List<?> requests = request instanceof List ? (List<?>) request : null;
+            requestId = requests != null && !requests.isEmpty()
+                    && requests.get(0) instanceof Request
+                    ? ((Request<?, ?>) requests.get(0)).getId() : -1;
+        }
+
+        for (RequestListener listener : listeners) {
+            try {
+                listener.onRequestStarted(method, requestId);
+            } catch (RuntimeException e) {
+                log.warn("Request listener {} failed", listener, e);
+            }
+        }
+        return new RequestTrace(listeners, method, requestId);
+    }
+
+    /**
+     * Mark the request as serialized.
+     *
+     * @param requestSize the size of the serialized request in bytes, or -1 if not known
+     */
+    public void onSerialized(long requestSize) {
+        if (listeners != null) {
+            this.requestSize = requestSize;
+            this.serializedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the reply as having started to arrive.
+     */
+    public void onReceived() {
+        if (listeners != null) {
+            this.receivedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the reply as having arrived.
+     *
+     * @param responseSize the size of the reply in bytes
+     */
+    public void onReceived(long responseSize) {
+        if (listeners != null) {
+            this.responseSize = responseSize;
+            this.receivedAt = System.nanoTime();
+        }
+    }
+
+    public void setResponseSize(long responseSize) {
+        this.responseSize = responseSize;
+    }
+
+    /**
+     * Complete the trace, and report the request to the listeners. Suits
+     * {@link java.util.concurrent.CompletableFuture#whenComplete}.
+     *
+     * @param response the response, or null if the request failed
+     * @param throwable the exception the request failed with, or null if it did not
+     */
+    public void onCompleted(Object response, Throwable throwable) {
+        if (listeners == null || !completed.compareAndSet(false, true)) {
+            return;
+        }
+
+        long completedAt = System.nanoTime();
+        long sentAt = serializedAt != 0 ? serializedAt : startedAt;
+        long repliedAt = receivedAt != 0 ? receivedAt : completedAt;
+        Throwable error = unwrap(throwable);
+        RequestEvent event = new RequestEvent(
+                method, requestId, requestSize, responseSize,
+                sentAt - startedAt,
+                Math.max(0, repliedAt - sentAt),
+                completedAt - repliedAt,
+                classify(response, error),
+                error);
+
+        for (RequestListener listener : listeners) {
+            try {
+                listener.onRequestCompleted(event);
+            } catch (RuntimeException e) {
+                log.warn("Request listener {} failed", listener, e);
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException
+                || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    static RequestEvent.Outcome classify(Object response, Throwable error) {
+        if (error == null) {
+            return response instanceof Response && ((Response<?>) response).hasError()
+                    ? RequestEvent.Outcome.RPC_ERROR : RequestEvent.Outcome.SUCCESS;
+        } else if (error instanceof JsonRpcErrorException) {
+            return RequestEvent.Outcome.RPC_ERROR;
+        } else if (error instanceof CancellationException) {
+            return RequestEvent.Outcome.CANCELLED;
+        } else if (error instanceof RequestRejectedException) {
+            return RequestEvent.Outcome.REJECTED;
+        } else if (error instanceof SocketTimeoutException
+                || error instanceof TimeoutException
+                || (error instanceof InterruptedIOException
+                        && "timeout".equals(error.getMessage()))) {
+            // OkHttp reports call timeouts as an InterruptedIOException named "timeout"
+            return RequestEvent.Outcome.TIMEOUT;
+        } else if (error instanceof JsonProcessingException) {
+            return RequestEvent.Outcome.DECODING_ERROR;
+        } else if (error instanceof IOException) {
+            return RequestEvent.Outcome.TRANSPORT_ERROR;
+        }
+        return RequestEvent.Outcome.OTHER_ERROR;
+    }
+}
@@ -25,6 +25,39 @@ public interface Web3jRx {
      */
     Flowable<Log> ethLogFlowable(EthFilter ethFilter);
 
+    /**
+     * Create a {@link Flowable} instance that emits the logs matching a filter, as returned by
+     * {@code eth_getLogs}. Unlike {@link #ethLogFlowable(EthFilter)}, logs are requested once
+     * rather than polled for, and are emitted as they are read off the reply where the service
+     * supports it, so that a reply of many logs is not held in memory as a whole.
+     *
+     * @param ethFilter filter criteria
+     * @return a {@link Flowable} instance that emits the logs matching the filter
+     * @see org.web3j.protocol.Service#streamResult
+     */
+    default Flowable<Log> ethGetLogsFlowable(EthFilter ethFilter) {
+        return ethGetLogsFlowable(ethFilter, -1);
+    }
+
+    /**
+     * Create a {@link Flowable} instance that emits the logs matching a filter, as returned by
+     * {@code eth_getLogs}, and fails with a
+     * {@link org.web3j.protocol.exceptions.ResponseTooLargeException} as soon as the reply read
+     * exceeds a maximum size.
+     *
+     * <p>The maximum size can only be applied by services which read replies as a stream, that
+     * is a {@link org.web3j.protocol.Service}; the {@link Flowable} fails with an
+     * {@link UnsupportedOperationException} when a maximum size is given for any other service.
+     *
+     * @param ethFilter filter criteria
+     * @param maxResponseSize the size in bytes past which the reply is aborted, or a negative
+     *                        value to read it whatever its size
+     * @return a {@link Flowable} instance that emits the logs matching the filter
+     */
+    default Flowable<Log> ethGetLogsFlowable(EthFilter ethFilter, long maxResponseSize) {
+        return Flowable.error(new UnsupportedOperationException("eth_getLogs is not supported"));
+    }
+
     /**
      * Create an Flowable to emit block hashes.
      *
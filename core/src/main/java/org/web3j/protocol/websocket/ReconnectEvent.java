@@ -0,0 +1,35 @@
+package org.web3j.protocol.websocket;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emitted by {@link WebSocketService} once it has reconnected after losing its connection.
+ */
+public class ReconnectEvent {
+    private final int attempts;
+    private final long downtimeNanos;
+
+    public ReconnectEvent(int attempts, long downtimeNanos) {
+        this.attempts = attempts;
+        this.downtimeNanos = downtimeNanos;
+    }
+
+    /**
+     * Returns the number of attempts it took to reconnect.
+     *
+     * @return the number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns how long the service was disconnected for.
+     *
+     * @param unit the unit to return the downtime in
+     * @return the downtime
+     */
+    public long getDowntime(TimeUnit unit) {
+        return unit.convert(downtimeNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,84 @@
+package org.web3j.protocol.websocket;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.functions.Action;
+
+/**
+ * How notifications of a subscription are buffered while its subscriber is slower than the
+ * rate at which they arrive.
+ */
+public class SubscriptionBackpressure {
+
+    private static final SubscriptionBackpressure UNBOUNDED =
+            new SubscriptionBackpressure(-1, null);
+    private static final SubscriptionBackpressure LATEST =
+            new SubscriptionBackpressure(1, BackpressureOverflowStrategy.DROP_OLDEST);
+
+    private final int capacity;
+    private final BackpressureOverflowStrategy overflowStrategy;
+
+    private SubscriptionBackpressure(
+            int capacity, BackpressureOverflowStrategy overflowStrategy) {
+        this.capacity = capacity;
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    /**
+     * Buffer every notification until it is consumed, however many there are.
+     *
+     * @return an unbounded policy
+     */
+    public static SubscriptionBackpressure unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Keep only the most recent notification which has not been consumed yet, such as the
+     * latest head of a newHeads subscription.
+     *
+     * @return a latest-only policy
+     */
+    public static SubscriptionBackpressure latest() {
+        return LATEST;
+    }
+
+    /**
+     * Buffer up to the given number of notifications. Once the buffer is full, either the
+     * oldest or the newest notification is dropped, or the subscription fails with a
+     * {@link MissingBackpressureException}.
+     *
+     * @param capacity the maximum number of buffered notifications
+     * @param overflowStrategy what to do with a notification which does not fit the buffer
+     * @return a bounded policy
+     */
+    public static SubscriptionBackpressure bounded(
+            int capacity, BackpressureOverflowStrategy overflowStrategy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        return new SubscriptionBackpressure(capacity, overflowStrategy);
+    }
+
+    <T> Flowable<T> apply(Observable<T> notifications, Action onOverflow) {
+        if (overflowStrategy == null) {
+            return notifications.toFlowable(BackpressureStrategy.BUFFER);
+        }
+        Flowable<T> buffered = notifications
+                .toFlowable(BackpressureStrategy.MISSING)
+                .onBackpressureBuffer(capacity, onOverflow, overflowStrategy);
+        if (overflowStrategy == BackpressureOverflowStrategy.ERROR) {
+            // the overflow action is only run for dropped notifications, so the one failing the
+            // subscription is counted as it fails
+            return buffered.doOnError(e -> {
+                if (e instanceof MissingBackpressureException) {
+                    onOverflow.run();
+                }
+            });
+        }
+        return buffered;
+    }
+}
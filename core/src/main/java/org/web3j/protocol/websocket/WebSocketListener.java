@@ -15,6 +15,12 @@ public interface WebSocketListener {
      */
     void onMessage(String message) throws IOException;
 
+    /**
+     * Called when the WebSocket connection has been opened.
+     */
+    default void onOpen() {
+    }
+
     void onError(Exception e);
 
     void onClose();
@@ -0,0 +1,178 @@
+package org.web3j.protocol.websocket;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * An incoming WebSocket message, classified in a single streaming pass.
+ *
+ * <p>Only as much of a message is read as is needed to find the id of a reply, or the
+ * subscription id of a notification. The tokens read so far are buffered, so that the message
+ * can then be bound to its target type by continuing from where classification stopped,
+ * rather than by parsing it into a tree first.
+ */
+class WebSocketMessage implements AutoCloseable {
+
+    enum Type {
+        REPLY,
+        BATCH_REPLY,
+        // An error reply with a null id, as to a batch the node rejected as a whole
+        UNMATCHED_ERROR,
+        SUBSCRIPTION_EVENT
+    }
+
+    private final JsonParser parser;
+    private final TokenBuffer buffer;
+    private final Type type;
+    private final long replyId;
+    private final String subscriptionId;
+
+    private WebSocketMessage(
+            JsonParser parser,
+            TokenBuffer buffer,
+            Type type,
+            long replyId,
+            String subscriptionId) {
+        this.parser = parser;
+        this.buffer = buffer;
+        this.type = type;
+        this.replyId = replyId;
+        this.subscriptionId = subscriptionId;
+    }
+
+    static WebSocketMessage parse(ObjectMapper objectMapper, String message) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(message);
+        try {
+            return classify(parser);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    private static WebSocketMessage classify(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return new WebSocketMessage(parser, null, Type.BATCH_REPLY, 0, null);
+        } else if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Unknown message type");
+        }
+
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentEvent(parser);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            buffer.copyCurrentEvent(parser);
+            token = parser.nextToken();
+
+            if ("id".equals(fieldName) && token == JsonToken.VALUE_NULL) {
+                buffer.copyCurrentEvent(parser);
+                return new WebSocketMessage(parser, buffer, Type.UNMATCHED_ERROR, 0, null);
+            } else if ("id".equals(fieldName)) {
+                if (token != JsonToken.VALUE_NUMBER_INT) {
+                    throw new IOException(
+                            String.format("'id' expected to be long, but it is: '%s'",
+                                    parser.getText()));
+                }
+                buffer.copyCurrentEvent(parser);
+                return new WebSocketMessage(
+                        parser, buffer, Type.REPLY, parser.getLongValue(), null);
+            } else if ("params".equals(fieldName) && token == JsonToken.START_OBJECT) {
+                String subscriptionId = findSubscriptionId(parser, buffer);
+                if (subscriptionId != null) {
+                    return new WebSocketMessage(
+                            parser, buffer, Type.SUBSCRIPTION_EVENT, 0, subscriptionId);
+                }
+            } else {
+                buffer.copyCurrentStructure(parser);
+            }
+        }
+
+        throw new IOException("Unknown message type");
+    }
+
+    private static String findSubscriptionId(
+            JsonParser parser, TokenBuffer buffer) throws IOException {
+        buffer.copyCurrentEvent(parser);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            buffer.copyCurrentEvent(parser);
+            JsonToken token = parser.nextToken();
+
+            if ("subscription".equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                buffer.copyCurrentEvent(parser);
+                return parser.getText();
+            } else {
+                buffer.copyCurrentStructure(parser);
+            }
+        }
+
+        // the end of the params object
+        buffer.copyCurrentEvent(parser);
+        return null;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    long getReplyId() {
+        return replyId;
+    }
+
+    String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    /**
+     * Bind the whole message with a reader, continuing from where classification stopped.
+     */
+    <T> T readValue(ObjectReader reader) throws IOException {
+        return reader.readValue(payloadParser());
+    }
+
+    /**
+     * Read the whole message as a tree, as needed to match the elements of a batch reply, or
+     * to find the error of a reply with no id.
+     */
+    JsonNode readTree(ObjectMapper objectMapper) throws IOException {
+        return objectMapper.readTree(payloadParser());
+    }
+
+    /**
+     * Buffer the rest of the message, so that the whole message can be bound once it has been
+     * closed, such as on another thread, without being parsed again.
+     */
+    TokenBuffer bufferRemaining() throws IOException {
+        TokenBuffer tokens = buffer;
+        if (tokens == null) {
+            tokens = new TokenBuffer(parser);
+            tokens.copyCurrentEvent(parser);
+        }
+        while (parser.nextToken() != null) {
+            tokens.copyCurrentEvent(parser);
+        }
+        return tokens;
+    }
+
+    private JsonParser payloadParser() {
+        if (buffer == null) {
+            return parser;
+        }
+        return JsonParserSequence.createFlattened(false, buffer.asParser(parser), parser);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -2,6 +2,10 @@ package org.web3j.protocol.websocket;
 
 import java.util.concurrent.CompletableFuture;
 
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.metrics.RequestTrace;
+import org.web3j.utils.HashedWheelTimer;
+
 /**
  * Objects necessary to process a reply for a request sent via WebSocket protocol.
  *
@@ -10,6 +14,12 @@ import java.util.concurrent.CompletableFuture;
 class WebSocketRequest<T> {
     private CompletableFuture<T> onReply;
     private Class<T> responseType;
+    private volatile HashedWheelTimer.Timeout timeout;
+    // Serialized request, kept so that it can be sent again after reconnecting
+    private String payload;
+    private RequestTrace trace = RequestTrace.NONE;
+    // Fields of the reply to read, or null to read them all
+    private FieldProjection projection;
 
     public WebSocketRequest(CompletableFuture<T> onReply, Class<T> responseType) {
         this.onReply = onReply;
@@ -23,4 +33,38 @@ class WebSocketRequest<T> {
     public Class<T> getResponseType() {
         return responseType;
     }
+
+    String getPayload() {
+        return payload;
+    }
+
+    void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    RequestTrace getTrace() {
+        return trace;
+    }
+
+    void setTrace(RequestTrace trace) {
+        this.trace = trace;
+    }
+
+    FieldProjection getProjection() {
+        return projection;
+    }
+
+    void setProjection(FieldProjection projection) {
+        this.projection = projection;
+    }
+
+    void setTimeout(HashedWheelTimer.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
 }
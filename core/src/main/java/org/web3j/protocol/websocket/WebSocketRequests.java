@@ -0,0 +1,53 @@
+package org.web3j.protocol.websocket;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.utils.HashedWheelTimer;
+
+/**
+ * Objects necessary to process a reply for a batch of requests sent via WebSocket protocol.
+ */
+class WebSocketRequests {
+    private CompletableFuture<BatchResponse> onReply;
+    private BatchRequest batchRequest;
+    private volatile HashedWheelTimer.Timeout timeout;
+    // Serialized request, kept so that it can be sent again after reconnecting
+    private String payload;
+
+    public WebSocketRequests(CompletableFuture<BatchResponse> onReply, BatchRequest batchRequest) {
+        this.onReply = onReply;
+        this.batchRequest = batchRequest;
+    }
+
+    public CompletableFuture<BatchResponse> getOnReply() {
+        return onReply;
+    }
+
+    public BatchRequest getBatchRequest() {
+        return batchRequest;
+    }
+
+    long getBatchId() {
+        return batchRequest.getRequests().get(0).getId();
+    }
+
+    String getPayload() {
+        return payload;
+    }
+
+    void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    void setTimeout(HashedWheelTimer.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
@@ -3,35 +3,57 @@ package org.web3j.protocol.websocket;
 import java.io.IOException;
 
 import java.net.ConnectException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
-import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
 import io.reactivex.subjects.BehaviorSubject;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.FieldProjection;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.core.methods.response.EthUnsubscribe;
+import org.web3j.protocol.deserializer.BatchResponseDeserializer;
+import org.web3j.protocol.metrics.RequestListener;
+import org.web3j.protocol.metrics.RequestListeners;
+import org.web3j.protocol.metrics.RequestTrace;
 import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.HashedWheelTimer;
+import org.web3j.utils.SerialExecutor;
+import org.web3j.utils.SharedScheduler;
 
 /**
  * Web socket service that allows to interact with JSON-RPC via WebSocket protocol.
@@ -43,23 +65,76 @@ import org.web3j.protocol.websocket.events.Notification;
  *
  * <p>To unsubscribe from a stream of notifications it should send another JSON-RPC
  * request.
+ *
+ * <p>If {@link #enableAutoReconnect(long, long, TimeUnit) auto-reconnect} is enabled, a dropped
+ * connection is re-established with exponential backoff, instead of failing all outstanding
+ * requests and subscriptions. Requests are buffered while the service is disconnected, and those
+ * which were waiting for a reply are sent again once it reconnects. Subscriptions are renewed and
+ * continue under their new subscription ids.
+ *
+ * <p>Notifications are decoded on a worker pool rather than on the WebSocket client thread,
+ * in order for each subscription. How notifications are buffered for a slow subscriber is set by
+ * a {@link SubscriptionBackpressure} policy, per subscription type, such as "newHeads" or "logs".
+ * By default, notifications are buffered without bound.
  */
 public class WebSocketService implements Web3jService {
 
     private static final Logger log = LoggerFactory.getLogger(WebSocketService.class);
 
-    // Timeout for JSON-RPC requests
+    // Default timeout for JSON-RPC requests, in seconds
     static final long REQUEST_TIMEOUT = 60;
 
     // WebSocket client
     private final WebSocketClient webSocketClient;
     // Executor to schedule request timeouts
     private final ScheduledExecutorService executor;
+    // Timer for request timeouts, which are cancelled when a reply arrives
+    private final HashedWheelTimer timer;
+    // Timeout for requests sent without a timeout of their own
+    private volatile long requestTimeoutNanos = TimeUnit.SECONDS.toNanos(REQUEST_TIMEOUT);
+    // Number of requests and batches which did not receive a reply in time
+    private final LongAdder timedOutRequestCount = new LongAdder();
+
+    private final RequestListeners requestListeners = new RequestListeners();
+
+    // Whether to reconnect when the connection drops, and the backoff between attempts
+    private volatile boolean autoReconnect;
+    private volatile long initialReconnectDelayNanos;
+    private volatile long maxReconnectDelayNanos;
+    // Set once connected, as a failure to connect in the first place is reported to the caller
+    private volatile boolean opened;
+    // Set once the service is closed, after which it must not reconnect
+    private volatile boolean closed;
+    // Set while the connection is down and requests are buffered, which is guarded by the lock
+    // so that no request is missed, or sent twice, when buffered requests are resent
+    private boolean disconnected;
+    private final ReadWriteLock connectionLock = new ReentrantReadWriteLock();
+    private final AtomicInteger reconnectAttempts = new AtomicInteger();
+    private volatile long disconnectedAt;
+    private final PublishProcessor<ReconnectEvent> reconnectEvents = PublishProcessor.create();
+    // Executor to decode notifications, shared by the serial executors of all subscriptions
+    private final Executor notificationExecutor;
+    private final boolean shutdownNotificationExecutor;
+    // Backpressure policies by subscription type, and for subscriptions of any other type
+    private final Map<String, SubscriptionBackpressure> backpressureForType =
+            new ConcurrentHashMap<>();
+    private volatile SubscriptionBackpressure defaultBackpressure =
+            SubscriptionBackpressure.unbounded();
+    // Number of notifications dropped by backpressure policies, by subscription type
+    private final Map<String, LongAdder> droppedNotificationCountForType =
+            new ConcurrentHashMap<>();
     // Object mapper to map incoming JSON objects
     private final ObjectMapper objectMapper;
+    // Whether replies should keep the message they were read from
+    private final boolean includeRawResponses;
+    // Matches batch reply elements to the requests of a batch
+    private final BatchResponseDeserializer batchResponseDeserializer;
 
     // Map of a sent request id to objects necessary to process this request
     private Map<Long, WebSocketRequest<?>> requestForId = new ConcurrentHashMap<>();
+    // Map of the id of every request in a sent batch to objects necessary to process
+    // the batch reply
+    private Map<Long, WebSocketRequests> batchRequestForId = new ConcurrentHashMap<>();
     // Map of a sent subscription request id to objects necessary to process
     // subscription events
     private Map<Long, WebSocketSubscription<?>> subscriptionRequestForId
@@ -73,15 +148,70 @@ public class WebSocketService implements Web3jService {
 
     public WebSocketService(WebSocketClient webSocketClient,
                      boolean includeRawResponses) {
-        this(webSocketClient, Executors.newScheduledThreadPool(1), includeRawResponses);
+        this(webSocketClient, includeRawResponses, false);
+    }
+
+    /**
+     * Creates a service, which may read blocks, transactions, receipts and logs into their
+     * compact forms. Request timeouts are scheduled, and notifications decoded, on views of the
+     * {@link SharedScheduler#getDefault() shared scheduler}, which are released on close.
+     *
+     * @param webSocketClient the WebSocket client
+     * @param includeRawResponses whether replies should keep the message they were read from
+     * @param compactModel whether to read the compact forms of the response types
+     * @see ObjectMapperFactory#getObjectMapper(boolean, boolean)
+     */
+    public WebSocketService(WebSocketClient webSocketClient,
+                     boolean includeRawResponses,
+                     boolean compactModel) {
+        this(webSocketClient,
+                SharedScheduler.getDefault().acquire(),
+                SharedScheduler.getDefault().acquire(),
+                true,
+                includeRawResponses,
+                compactModel);
+    }
+
+    /**
+     * Creates a service which decodes notifications on the given executor, which is not shut
+     * down when the service is closed.
+     *
+     * @param webSocketClient the WebSocket client
+     * @param includeRawResponses whether replies should keep the message they were read from
+     * @param notificationExecutor the executor to decode notifications on
+     */
+    public WebSocketService(WebSocketClient webSocketClient,
+                     boolean includeRawResponses,
+                     Executor notificationExecutor) {
+        this(webSocketClient,
+                SharedScheduler.getDefault().acquire(),
+                notificationExecutor,
+                false,
+                includeRawResponses,
+                false);
     }
 
     WebSocketService(WebSocketClient webSocketClient,
                      ScheduledExecutorService executor,
                      boolean includeRawResponses) {
+        this(webSocketClient, executor, Runnable::run, false, includeRawResponses, false);
+    }
+
+    private WebSocketService(WebSocketClient webSocketClient,
+                     ScheduledExecutorService executor,
+                     Executor notificationExecutor,
+                     boolean shutdownNotificationExecutor,
+                     boolean includeRawResponses,
+                     boolean compactModel) {
         this.webSocketClient = webSocketClient;
         this.executor = executor;
-        this.objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this.notificationExecutor = notificationExecutor;
+        this.shutdownNotificationExecutor = shutdownNotificationExecutor;
+        this.timer = new HashedWheelTimer(executor);
+        this.objectMapper =
+                ObjectMapperFactory.getObjectMapper(includeRawResponses, compactModel);
+        this.includeRawResponses = includeRawResponses;
+        this.batchResponseDeserializer = new BatchResponseDeserializer(objectMapper);
     }
 
     /**
@@ -92,6 +222,7 @@ public class WebSocketService implements Web3jService {
     public void connect() throws ConnectException {
         try {
             connectToWebSocket();
+            opened = true;
             setWebSocketListener();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -118,6 +249,11 @@ public class WebSocketService implements Web3jService {
                 log.error("Received error from a WebSocket connection", e);
             }
 
+            @Override
+            public void onOpen() {
+                onWebSocketOpen();
+            }
+
             @Override
             public void onClose() {
                 onWebSocketClose();
@@ -125,6 +261,30 @@ public class WebSocketService implements Web3jService {
         });
     }
 
+    /**
+     * Re-establish the connection whenever it drops, waiting between attempts for the given
+     * initial delay, doubling on each failed attempt up to the given maximum delay.
+     *
+     * @param initialDelay the delay before the first attempt to reconnect
+     * @param maxDelay the maximum delay between attempts
+     * @param unit the unit of the delays
+     */
+    public void enableAutoReconnect(long initialDelay, long maxDelay, TimeUnit unit) {
+        this.initialReconnectDelayNanos = unit.toNanos(initialDelay);
+        this.maxReconnectDelayNanos = unit.toNanos(maxDelay);
+        this.autoReconnect = true;
+    }
+
+    /**
+     * Returns a stream of events emitted each time the service has reconnected, after its
+     * requests have been resent and its subscriptions renewed.
+     *
+     * @return a stream of reconnect events
+     */
+    public Flowable<ReconnectEvent> reconnectEvents() {
+        return reconnectEvents.onBackpressureLatest();
+    }
+
 
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
@@ -146,12 +306,50 @@ public class WebSocketService implements Web3jService {
     public <T extends Response> CompletableFuture<T> sendAsync(
             Request request,
             Class<T> responseType) {
+        return sendAsync(request, responseType, requestTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Send a request, which fails if no reply is received within the given timeout, rather
+     * than within the {@link #setRequestTimeout(long, TimeUnit) service's request timeout}.
+     *
+     * @param request the request to send
+     * @param responseType the type of the reply
+     * @param timeout the time to wait for a reply
+     * @param unit the unit of the timeout
+     * @param <T> the type of the reply
+     * @return a future completed with the reply
+     */
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request,
+            Class<T> responseType,
+            long timeout,
+            TimeUnit unit) {
 
         CompletableFuture<T> result = new CompletableFuture<>();
         long requestId = request.getId();
-        requestForId.put(requestId, new WebSocketRequest<>(result, responseType));
+        WebSocketRequest<T> webSocketRequest = new WebSocketRequest<>(result, responseType);
+        webSocketRequest.setProjection(request.getProjection());
+        RequestTrace trace = requestListeners.start(request);
+        if (trace != RequestTrace.NONE) {
+            webSocketRequest.setTrace(trace);
+            result.whenComplete(trace::onCompleted);
+        }
         try {
-            sendRequest(request, requestId);
+            webSocketRequest.setPayload(objectMapper.writeValueAsString(request));
+            // sizes are counted in characters, which are mostly single bytes in JSON
+            trace.onSerialized(webSocketRequest.getPayload().length());
+        } catch (JsonProcessingException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        requestForId.put(requestId, webSocketRequest);
+        // the timeout is set before the request is sent, so that it can not miss a reply
+        webSocketRequest.setTimeout(timer.newTimeout(
+                () -> onRequestTimeout(requestId, webSocketRequest), timeout, unit));
+        try {
+            sendPayload(webSocketRequest.getPayload());
         } catch (IOException e) {
             closeRequest(requestId, e);
         }
@@ -159,46 +357,229 @@ public class WebSocketService implements Web3jService {
         return result;
     }
 
-    private void sendRequest(Request request, long requestId) throws JsonProcessingException {
-        String payload = objectMapper.writeValueAsString(request);
-        log.debug("Sending request: {}", payload);
-        webSocketClient.send(payload);
-        setRequestTimeout(requestId);
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        try {
+            return sendBatchAsync(batchRequest).get();
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new IOException("Interrupted WebSocket batch request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
     }
 
-    private void setRequestTimeout(long requestId) {
-        executor.schedule(
-                () -> closeRequest(
-                    requestId,
-                    new IOException(
-                        String.format("Request with id %d timed out", requestId))),
-                REQUEST_TIMEOUT,
-                TimeUnit.SECONDS);
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        if (batchRequest.getRequests().isEmpty()) {
+            // an empty array is not a valid JSON-RPC batch
+            result.complete(
+                    new BatchResponse(batchRequest.getRequests(), Collections.emptyList()));
+            return result;
+        }
+
+        long batchId = batchRequest.getRequests().get(0).getId();
+        WebSocketRequests requests = new WebSocketRequests(result, batchRequest);
+        RequestTrace trace = requestListeners.start(batchRequest.getRequests());
+        if (trace != RequestTrace.NONE) {
+            result.whenComplete(trace::onCompleted);
+        }
+        batchRequest.getRequests().forEach(
+                request -> batchRequestForId.put(request.getId(), requests));
+        requests.setTimeout(timer.newTimeout(
+                () -> onBatchRequestTimeout(batchId, requests),
+                requestTimeoutNanos,
+                TimeUnit.NANOSECONDS));
+        try {
+            requests.setPayload(objectMapper.writeValueAsString(batchRequest.getRequests()));
+            trace.onSerialized(requests.getPayload().length());
+            sendPayload(requests.getPayload());
+        } catch (IOException e) {
+            closeBatchRequest(batchId, e);
+        }
+
+        return result;
+    }
+
+    private void sendPayload(String payload) throws IOException {
+        connectionLock.readLock().lock();
+        try {
+            if (disconnected) {
+                // sent once the connection is re-established
+                log.debug("Buffering request while reconnecting: {}", payload);
+                return;
+            }
+
+            log.debug("Sending request: {}", payload);
+            webSocketClient.send(payload);
+        } catch (WebsocketNotConnectedException e) {
+            if (!autoReconnect || closed) {
+                throw new IOException("WebSocket is not connected", e);
+            }
+            // the connection has just dropped, so it is resent when the service reconnects
+        } finally {
+            connectionLock.readLock().unlock();
+        }
+    }
+
+    private void onRequestTimeout(long requestId, WebSocketRequest<?> request) {
+        // the request is only removed if it is still waiting for this reply
+        if (requestForId.remove(requestId, request)) {
+            timedOutRequestCount.increment();
+            log.warn("Request with id {} timed out", requestId);
+            request.getOnReply().completeExceptionally(new SocketTimeoutException(
+                    String.format("Request with id %d timed out", requestId)));
+        }
+    }
+
+    private void onBatchRequestTimeout(long batchId, WebSocketRequests requests) {
+        if (batchRequestForId.get(batchId) == requests) {
+            timedOutRequestCount.increment();
+            log.warn("Batch request with id {} timed out", batchId);
+            closeBatchRequest(batchId, new SocketTimeoutException(
+                    String.format("Batch request with id %d timed out", batchId)));
+        }
     }
 
     void closeRequest(long requestId, Exception e) {
-        CompletableFuture result = requestForId.get(requestId).getOnReply();
-        requestForId.remove(requestId);
-        result.completeExceptionally(e);
+        WebSocketRequest<?> request = requestForId.remove(requestId);
+        if (request != null) {
+            request.cancelTimeout();
+            request.getOnReply().completeExceptionally(e);
+        }
     }
 
-    void onWebSocketMessage(String messageStr) throws IOException {
-        JsonNode replyJson = parseToTree(messageStr);
+    void closeBatchRequest(long requestId, Exception e) {
+        WebSocketRequests requests = getAndRemoveBatchRequest(requestId);
+        if (requests != null) {
+            requests.getOnReply().completeExceptionally(e);
+        }
+    }
 
-        if (isReply(replyJson)) {
-            processRequestReply(messageStr, replyJson);
-        } else if (isSubscriptionEvent(replyJson)) {
-            processSubscriptionEvent(messageStr, replyJson);
-        } else {
-            throw new IOException("Unknown message type");
+    /**
+     * Add a listener told of every request sent by this service.
+     *
+     * @param listener the listener
+     */
+    public void addRequestListener(RequestListener listener) {
+        requestListeners.add(listener);
+    }
+
+    public void removeRequestListener(RequestListener listener) {
+        requestListeners.remove(listener);
+    }
+
+    /**
+     * Set the time to wait for the reply to a request, or a batch of requests, after which it
+     * fails with a {@link SocketTimeoutException}. Defaults to {@value #REQUEST_TIMEOUT} seconds.
+     *
+     * @param timeout the time to wait for a reply
+     * @param unit the unit of the timeout
+     */
+    public void setRequestTimeout(long timeout, TimeUnit unit) {
+        this.requestTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Returns the number of requests and batches of requests which failed because no reply was
+     * received in time.
+     *
+     * @return the number of timed out requests
+     */
+    public long getTimedOutRequestCount() {
+        return timedOutRequestCount.sum();
+    }
+
+    /**
+     * Returns the number of requests and batches of requests which are waiting for a reply.
+     *
+     * @return the number of pending request timeouts
+     */
+    public int getPendingTimeoutCount() {
+        return timer.getPendingTimeoutCount();
+    }
+
+    /**
+     * Set the backpressure policy of subscriptions of the given type, which is the first
+     * parameter of their subscription request, such as "newHeads" or "logs".
+     *
+     * @param subscriptionType the subscription type
+     * @param backpressure the backpressure policy
+     */
+    public void setSubscriptionBackpressure(
+            String subscriptionType, SubscriptionBackpressure backpressure) {
+        backpressureForType.put(subscriptionType, backpressure);
+    }
+
+    /**
+     * Set the backpressure policy of subscriptions which do not have a policy for their type.
+     *
+     * @param backpressure the backpressure policy
+     */
+    public void setDefaultSubscriptionBackpressure(SubscriptionBackpressure backpressure) {
+        this.defaultBackpressure = backpressure;
+    }
+
+    /**
+     * Returns the number of notifications which were dropped, or which failed their
+     * subscription, because they did not fit the buffer of their subscription.
+     *
+     * @return the number of dropped notifications
+     */
+    public long getDroppedNotificationCount() {
+        return droppedNotificationCountForType.values().stream()
+                .mapToLong(LongAdder::sum)
+                .sum();
+    }
+
+    /**
+     * Returns the number of notifications of the given subscription type which were dropped,
+     * or which failed their subscription, because they did not fit the buffer of their
+     * subscription.
+     *
+     * @param subscriptionType the subscription type
+     * @return the number of dropped notifications
+     */
+    public long getDroppedNotificationCount(String subscriptionType) {
+        LongAdder count = droppedNotificationCountForType.get(subscriptionType);
+        return count != null ? count.sum() : 0;
+    }
+
+    void onWebSocketMessage(String messageStr) throws IOException {
+        try (WebSocketMessage message = parseMessage(messageStr)) {
+            switch (message.getType()) {
+                case BATCH_REPLY:
+                    processBatchReply(message.readTree(objectMapper));
+                    break;
+                case REPLY:
+                    processRequestReply(messageStr, message);
+                    break;
+                case UNMATCHED_ERROR:
+                    processUnmatchedError(message.readTree(objectMapper));
+                    break;
+                default:
+                    processSubscriptionEvent(messageStr, message);
+                    break;
+            }
         }
     }
 
-    private void processRequestReply(String replyStr, JsonNode replyJson) throws IOException {
-        long replyId = getReplyId(replyJson);
+    private void processRequestReply(
+            String replyStr, WebSocketMessage message) throws IOException {
+        long replyId = message.getReplyId();
         WebSocketRequest request = getAndRemoveRequest(replyId);
+        request.getTrace().onReceived(replyStr.length());
         try {
-            Object reply = objectMapper.convertValue(replyJson, request.getResponseType());
+            Object reply = message.readValue(FieldProjection.readerFor(
+                    objectMapper, request.getResponseType(), request.getProjection()));
+            if (includeRawResponses) {
+                ((Response<?>) reply).setRawResponse(replyStr);
+            }
             // Instead of sending a reply to a caller asynchronously we need to process it here
             // to avoid race conditions we need to modify state of this class.
             if (reply instanceof EthSubscribe) {
@@ -206,38 +587,96 @@ public class WebSocketService implements Web3jService {
             }
 
             sendReplyToListener(request, reply);
-        } catch (IllegalArgumentException e) {
+        } catch (IOException e) {
             sendExceptionToListener(replyStr, request, e);
         }
     }
 
-    private void processSubscriptionResponse(long replyId, EthSubscribe reply) throws IOException {
-        WebSocketSubscription subscription = subscriptionRequestForId.get(replyId);
-        processSubscriptionResponse(
-                reply,
-                subscription.getSubject(),
-                subscription.getResponseType()
-        );
+    private void processBatchReply(JsonNode replyJson) throws IOException {
+        WebSocketRequests requests = null;
+        for (JsonNode element : replyJson) {
+            JsonNode idField = element.get("id");
+            if (idField != null && idField.isIntegralNumber()) {
+                requests = getAndRemoveBatchRequest(idField.longValue());
+                if (requests != null) {
+                    break;
+                }
+            }
+        }
+
+        if (requests == null) {
+            throw new IOException("Received batch reply for unexpected request ids");
+        }
+
+        try {
+            requests.getOnReply().complete(
+                    batchResponseDeserializer.deserialize(requests.getBatchRequest(), replyJson));
+        } catch (IOException e) {
+            requests.getOnReply().completeExceptionally(e);
+        }
     }
 
-    private <T extends Notification<?>> void processSubscriptionResponse(
-            EthSubscribe subscriptionReply,
-            BehaviorSubject<T> subject,
-            Class<T> responseType) throws IOException {
-        if (!subscriptionReply.hasError()) {
-            establishSubscription(subject, responseType, subscriptionReply);
+    private void processUnmatchedError(JsonNode replyJson) throws IOException {
+        if (!replyJson.has("error")) {
+            throw new IOException("Unknown message type");
+        }
+
+        // Nodes reply with a null id to requests they cannot read at all, which for requests
+        // sent by this service are batches rejected as a whole, e.g. for being too large.
+        // Replies follow the order of requests, so it answers the oldest batch still pending.
+        WebSocketRequests requests = batchRequestForId.values().stream()
+                .min(Comparator.comparingLong(WebSocketRequests::getBatchId))
+                .map(oldest -> getAndRemoveBatchRequest(oldest.getBatchId()))
+                .orElse(null);
+        if (requests == null) {
+            log.warn("Received error reply with no pending batch: {}", replyJson);
+            return;
+        }
+
+        try {
+            requests.getOnReply().complete(
+                    batchResponseDeserializer.deserialize(requests.getBatchRequest(), replyJson));
+        } catch (IOException e) {
+            requests.getOnReply().completeExceptionally(e);
+        }
+    }
+
+    private WebSocketRequests getAndRemoveBatchRequest(long id) {
+        WebSocketRequests requests = batchRequestForId.get(id);
+        if (requests != null) {
+            requests.cancelTimeout();
+            requests.getBatchRequest().getRequests().forEach(
+                    request -> batchRequestForId.remove(request.getId()));
+        }
+        return requests;
+    }
+
+    private void processSubscriptionResponse(long replyId, EthSubscribe reply) {
+        WebSocketSubscription<?> subscription = subscriptionRequestForId.remove(replyId);
+        if (subscription == null) {
+            // a subscription request sent directly, rather than with subscribe
+            return;
+        }
+
+        if (!reply.hasError()) {
+            establishSubscription(subscription, reply);
         } else {
-            reportSubscriptionError(subject, subscriptionReply);
+            reportSubscriptionError(subscription.getSubject(), reply);
         }
     }
 
-    private <T extends Notification<?>> void establishSubscription(
-            BehaviorSubject<T> subject, Class<T> responseType, EthSubscribe subscriptionReply) {
-        log.debug("Subscribed to RPC events with id {}",
-                subscriptionReply.getSubscriptionId());
-        subscriptionForId.put(
-                subscriptionReply.getSubscriptionId(),
-                new WebSocketSubscription<>(subject, responseType));
+    private void establishSubscription(
+            WebSocketSubscription<?> subscription, EthSubscribe subscriptionReply) {
+        String subscriptionId = subscriptionReply.getSubscriptionId();
+        log.debug("Subscribed to RPC events with id {}", subscriptionId);
+        subscriptionForId.put(subscriptionId, subscription);
+
+        // disposed of while it was being renewed, unless closeSubscription has just found it
+        if (subscription.isDisposed() && subscriptionForId.remove(subscriptionId, subscription)) {
+            log.debug("Ending subscription with id {}, disposed of while it was renewed",
+                    subscriptionId);
+            unsubscribeFromEventsStream(subscriptionId, subscription.getUnsubscribeMethod());
+        }
     }
 
     private <T extends Notification<?>> String getSubscriptionId(BehaviorSubject<T> subject) {
@@ -248,8 +687,8 @@ public class WebSocketService implements Web3jService {
                 .orElse(null);
     }
 
-    private <T extends Notification<?>> void reportSubscriptionError(
-            BehaviorSubject<T> subject, EthSubscribe subscriptionReply) {
+    private void reportSubscriptionError(
+            BehaviorSubject<?> subject, EthSubscribe subscriptionReply) {
         Response.Error error = subscriptionReply.getError();
         log.error("Subscription request returned error: {}", error.getMessage());
         subject.onError(
@@ -267,7 +706,7 @@ public class WebSocketService implements Web3jService {
     private void sendExceptionToListener(
             String replyStr,
             WebSocketRequest request,
-            IllegalArgumentException e) {
+            IOException e) {
         request.getOnReply().completeExceptionally(
                 new IOException(
                         String.format(
@@ -277,69 +716,60 @@ public class WebSocketService implements Web3jService {
                         e));
     }
 
-    private void processSubscriptionEvent(String replyStr, JsonNode replyJson) {
+    private void processSubscriptionEvent(String replyStr, WebSocketMessage message)
+            throws IOException {
         log.debug("Processing event: {}", replyStr);
-        String subscriptionId = extractSubscriptionId(replyJson);
+        String subscriptionId = message.getSubscriptionId();
         WebSocketSubscription subscription = subscriptionForId.get(subscriptionId);
 
         if (subscription != null) {
-            sendEventToSubscriber(replyJson, subscription);
+            // the message is closed once classified, so the event is bound from its tokens
+            TokenBuffer event = message.bufferRemaining();
+            subscription.getEventExecutor().execute(
+                    () -> sendEventToSubscriber(subscriptionId, event, subscription));
         } else {
             log.warn("No subscriber for WebSocket event with subscription id {}", subscriptionId);
         }
     }
 
-    private String extractSubscriptionId(JsonNode replyJson) {
-        return replyJson.get("params").get("subscription").asText();
-    }
-
-    private void sendEventToSubscriber(JsonNode replyJson, WebSocketSubscription subscription) {
-        Object event = objectMapper.convertValue(replyJson, subscription.getResponseType());
-        subscription.getSubject().onNext(event);
-    }
-
-    private boolean isReply(JsonNode replyJson) {
-        return replyJson.has("id");
+    private void sendEventToSubscriber(
+            String subscriptionId, TokenBuffer event, WebSocketSubscription subscription) {
+        Object notification;
+        try {
+            notification = objectMapper.readerFor(subscription.getResponseType())
+                    .readValue(event.asParser(objectMapper));
+        } catch (IOException e) {
+            log.error("Failed to parse WebSocket event with subscription id {}",
+                    subscriptionId, e);
+            return;
+        }
+        subscription.getSubject().onNext(notification);
     }
 
-    private boolean isSubscriptionEvent(JsonNode replyJson) {
-        return replyJson.has("method");
+    private void sendErrorToSubscriber(WebSocketSubscription<?> subscription, Throwable e) {
+        // after any events which are still being decoded
+        subscription.getEventExecutor().execute(() -> subscription.getSubject().onError(e));
     }
 
-    private JsonNode parseToTree(String replyStr) throws IOException {
+    private WebSocketMessage parseMessage(String messageStr) throws IOException {
         try {
-            return objectMapper.readTree(replyStr);
-        } catch (IOException e) {
+            return WebSocketMessage.parse(objectMapper, messageStr);
+        } catch (JsonProcessingException e) {
             throw new IOException("Failed to parse incoming WebSocket message", e);
         }
     }
 
     private WebSocketRequest getAndRemoveRequest(long id) throws IOException {
-        if (!requestForId.containsKey(id)) {
+        WebSocketRequest request = requestForId.remove(id);
+        if (request == null) {
             throw new IOException(
                     String.format("Received reply for unexpected request id: %d",
                             id));
         }
-        WebSocketRequest request = requestForId.get(id);
-        requestForId.remove(id);
+        request.cancelTimeout();
         return request;
     }
 
-    private long getReplyId(JsonNode replyJson) throws IOException {
-        JsonNode idField = replyJson.get("id");
-        if (idField == null) {
-            throw new IOException("'id' field is missing in the reply");
-        }
-
-        if (!idField.isIntegralNumber()) {
-            throw new IOException(
-                    String.format("'id' expected to be long, but it is: '%s'",
-                            idField.asText()));
-        }
-
-        return idField.longValue();
-    }
-
     private static URI parseURI(String serverUrl) {
         try {
             return new URI(serverUrl);
@@ -353,6 +783,29 @@ public class WebSocketService implements Web3jService {
             Request request,
             String unsubscribeMethod,
             Class<T> responseType) {
+        SubscriptionBackpressure backpressure =
+                backpressureForType.getOrDefault(getSubscriptionType(request), defaultBackpressure);
+        return subscribe(request, unsubscribeMethod, responseType, backpressure);
+    }
+
+    /**
+     * Subscribe to a stream of notifications, which are buffered for a slow subscriber according
+     * to the given backpressure policy, rather than the policy for their subscription type.
+     *
+     * @param request JSON-RPC request that will be send to subscribe to a stream of events
+     * @param unsubscribeMethod method that will be called to unsubscribe from a stream of
+     *                          notifications
+     * @param responseType class of incoming events objects in a stream
+     * @param backpressure the backpressure policy of the subscription
+     * @param <T> type of incoming event objects
+     * @return a {@link Flowable} instance that emits incoming events
+     */
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request,
+            String unsubscribeMethod,
+            Class<T> responseType,
+            SubscriptionBackpressure backpressure) {
+        String subscriptionType = getSubscriptionType(request);
         // We can't use usual Observer since we can call "onError"
         // before first client is subscribed and we need to
         // preserve it
@@ -365,22 +818,39 @@ public class WebSocketService implements Web3jService {
         subscribeToEventsStream(request, subject, responseType);
 
 
-        return subject
-                .doOnDispose(() -> closeSubscription(subject, unsubscribeMethod))
-                .toFlowable(BackpressureStrategy.BUFFER);
+        return backpressure.apply(
+                subject.doOnDispose(() -> closeSubscription(subject, unsubscribeMethod)),
+                () -> onNotificationDropped(subscriptionType));
+    }
 
+    private static String getSubscriptionType(Request<?, ?> request) {
+        List<?> params = request.getParams();
+        if (params != null && !params.isEmpty() && params.get(0) instanceof String) {
+            return (String) params.get(0);
+        }
+        return request.getMethod();
+    }
+
+    private void onNotificationDropped(String subscriptionType) {
+        log.debug("Dropped notification of {} subscription", subscriptionType);
+        droppedNotificationCountForType
+                .computeIfAbsent(subscriptionType, type -> new LongAdder())
+                .increment();
     }
 
     private <T extends Notification<?>> void subscribeToEventsStream(
             Request request,
             BehaviorSubject<T> subject, Class<T> responseType) {
 
-        subscriptionRequestForId.put(
-                request.getId(),
-                new WebSocketSubscription<>(subject, responseType));
+        WebSocketSubscription<T> subscription =
+                new WebSocketSubscription<>(subject, responseType);
+        subscription.setSubscribeRequest(request.getMethod(), request.getParams());
+        subscription.setEventExecutor(new SerialExecutor(notificationExecutor));
+        subscriptionRequestForId.put(request.getId(), subscription);
         try {
             send(request, EthSubscribe.class);
         } catch (IOException e) {
+            subscriptionRequestForId.remove(request.getId());
             log.error("Failed to subscribe to RPC events with request id {}",
                     request.getId());
             subject.onError(e);
@@ -389,11 +859,23 @@ public class WebSocketService implements Web3jService {
 
     private <T extends Notification<?>> void closeSubscription(
             BehaviorSubject<T> subject, String unsubscribeMethod) {
+        // a subscription being renewed has no id until its renewal is answered, so it is
+        // marked to be ended then, before its id is looked up in case the answer comes first
+        boolean renewing = false;
+        for (WebSocketSubscription<?> subscription : subscriptionRequestForId.values()) {
+            if (subscription.getSubject() == subject) {
+                subscription.dispose(unsubscribeMethod);
+                renewing = true;
+            }
+        }
+
         String subscriptionId = getSubscriptionId(subject);
         if (subscriptionId != null) {
-            subscriptionForId.remove(subscriptionId);
-            unsubscribeFromEventsStream(subscriptionId, unsubscribeMethod);
-        } else {
+            WebSocketSubscription<?> subscription = subscriptionForId.get(subscriptionId);
+            if (subscription != null && subscriptionForId.remove(subscriptionId, subscription)) {
+                unsubscribeFromEventsStream(subscriptionId, unsubscribeMethod);
+            }
+        } else if (!renewing) {
             log.warn("Trying to unsubscribe from a non-existing subscription. Race condition?");
         }
     }
@@ -421,32 +903,151 @@ public class WebSocketService implements Web3jService {
 
     @Override
     public void close() {
+        closed = true;
         webSocketClient.close();
+        timer.stop();
         executor.shutdown();
+        if (shutdownNotificationExecutor) {
+            ((ExecutorService) notificationExecutor).shutdown();
+        }
+    }
+
+    void onWebSocketOpen() {
+        if (reconnectAttempts.get() == 0) {
+            return;
+        }
+
+        int attempts = reconnectAttempts.getAndSet(0);
+        long downtime = System.nanoTime() - disconnectedAt;
+        log.info("Reconnected WebSocket after {} attempt(s)", attempts);
+
+        resendOutstandingRequests();
+        renewSubscriptions();
+        reconnectEvents.onNext(new ReconnectEvent(attempts, downtime));
     }
 
     void onWebSocketClose() {
+        if (autoReconnect && opened && !closed) {
+            onConnectionLost();
+            return;
+        }
+
         closeOutstandingRequests();
         closeOutstandingSubscriptions();
     }
 
+    private void onConnectionLost() {
+        connectionLock.writeLock().lock();
+        try {
+            if (!disconnected) {
+                disconnected = true;
+                disconnectedAt = System.nanoTime();
+                log.warn("WebSocket connection lost, reconnecting");
+            }
+        } finally {
+            connectionLock.writeLock().unlock();
+        }
+
+        // this is also called when an attempt to reconnect fails
+        int attempt = reconnectAttempts.incrementAndGet();
+        long delay = initialReconnectDelayNanos;
+        for (int i = 1; i < attempt && delay < maxReconnectDelayNanos; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, maxReconnectDelayNanos);
+        try {
+            executor.schedule(this::reconnect, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Not reconnecting, as the service has been closed");
+        }
+    }
+
+    private void reconnect() {
+        if (closed) {
+            return;
+        }
+
+        log.info("Reconnecting WebSocket, attempt {}", reconnectAttempts.get());
+        try {
+            // does not block; onOpen or onClose is called once the attempt completes
+            webSocketClient.reconnect();
+        } catch (RuntimeException e) {
+            log.warn("Failed to start reconnecting WebSocket", e);
+            onConnectionLost();
+        }
+    }
+
+    private void resendOutstandingRequests() {
+        connectionLock.writeLock().lock();
+        try {
+            disconnected = false;
+            requestForId.values().forEach(request -> resend(request.getPayload()));
+            // every request of a batch maps to the same batch, which is only sent once
+            batchRequestForId.values().stream()
+                    .distinct()
+                    .forEach(requests -> resend(requests.getPayload()));
+        } finally {
+            connectionLock.writeLock().unlock();
+        }
+    }
+
+    private void resend(String payload) {
+        if (payload == null) {
+            return;
+        }
+        try {
+            log.debug("Resending request: {}", payload);
+            webSocketClient.send(payload);
+        } catch (WebsocketNotConnectedException e) {
+            // the connection dropped again, so the request is resent on the next reconnect
+            log.debug("Failed to resend request, as the connection was lost again");
+        }
+    }
+
+    private void renewSubscriptions() {
+        List<WebSocketSubscription<?>> subscriptions = new ArrayList<>(subscriptionForId.values());
+        subscriptionForId.clear();
+
+        for (WebSocketSubscription<?> subscription : subscriptions) {
+            Request<?, EthSubscribe> request = new Request<>(
+                    subscription.getSubscribeMethod(),
+                    subscription.getSubscribeParams(),
+                    this,
+                    EthSubscribe.class);
+            // the subscription continues under the id in the reply to this request
+            subscriptionRequestForId.put(request.getId(), subscription);
+            sendAsync(request, EthSubscribe.class).whenComplete((reply, throwable) -> {
+                if (throwable != null) {
+                    subscriptionRequestForId.remove(request.getId());
+                    log.error("Failed to renew subscription after reconnecting", throwable);
+                    sendErrorToSubscriber(subscription, throwable);
+                }
+            });
+        }
+    }
+
     private void closeOutstandingRequests() {
         requestForId.values().forEach(request -> {
+            request.cancelTimeout();
             request.getOnReply()
                     .completeExceptionally(new IOException("Connection was closed"));
         });
+        batchRequestForId.values().forEach(requests -> {
+            requests.cancelTimeout();
+            requests.getOnReply()
+                    .completeExceptionally(new IOException("Connection was closed"));
+        });
     }
 
     private void closeOutstandingSubscriptions() {
         subscriptionForId.values().forEach(subscription -> {
-            subscription.getSubject()
-                    .onError(new IOException("Connection was closed"));
+            sendErrorToSubscriber(subscription, new IOException("Connection was closed"));
         });
     }
 
     // Method visible for unit-tests
     boolean isWaitingForReply(long requestId) {
-        return requestForId.containsKey(requestId);
+        return requestForId.containsKey(requestId) || batchRequestForId.containsKey(requestId);
     }
 }
 
@@ -1,5 +1,8 @@
 package org.web3j.protocol.websocket;
 
+import java.util.List;
+import java.util.concurrent.Executor;
+
 import io.reactivex.subjects.BehaviorSubject;
 
 /**
@@ -10,6 +13,15 @@ import io.reactivex.subjects.BehaviorSubject;
 public class WebSocketSubscription<T> {
     private BehaviorSubject<T> subject;
     private Class<T> responseType;
+    // Method and parameters used to subscribe, to renew the subscription after reconnecting
+    private String subscribeMethod;
+    private List<?> subscribeParams;
+    // Executor on which notifications are decoded and sent to the subject, in order
+    private Executor eventExecutor = Runnable::run;
+    // Method to end the subscription with once it has been disposed of, which is set before
+    // the subscription is marked as disposed
+    private volatile String unsubscribeMethod;
+    private volatile boolean disposed;
 
     /**
      * Creates WebSocketSubscription.
@@ -29,4 +41,42 @@ public class WebSocketSubscription<T> {
     public Class<T> getResponseType() {
         return responseType;
     }
+
+    String getSubscribeMethod() {
+        return subscribeMethod;
+    }
+
+    List<?> getSubscribeParams() {
+        return subscribeParams;
+    }
+
+    void setSubscribeRequest(String method, List<?> params) {
+        this.subscribeMethod = method;
+        this.subscribeParams = params;
+    }
+
+    Executor getEventExecutor() {
+        return eventExecutor;
+    }
+
+    void setEventExecutor(Executor eventExecutor) {
+        this.eventExecutor = eventExecutor;
+    }
+
+    String getUnsubscribeMethod() {
+        return unsubscribeMethod;
+    }
+
+    boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Mark the subscription as disposed of while it was being renewed, so that it is ended as
+     * soon as its new id is known.
+     */
+    void dispose(String unsubscribeMethod) {
+        this.unsubscribeMethod = unsubscribeMethod;
+        this.disposed = true;
+    }
 }
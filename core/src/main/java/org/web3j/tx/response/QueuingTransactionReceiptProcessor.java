@@ -5,12 +5,13 @@ import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
-import org.web3j.utils.Async;
+import org.web3j.utils.SharedScheduler;
 
 /**
  * Transaction receipt processor that uses a single thread to query for transaction receipts.
@@ -24,23 +25,65 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
     private final int pollingAttemptsPerTxHash;
 
     private final ScheduledExecutorService scheduledExecutorService;
+    // Whether the executor was acquired from the shared scheduler, and so is ours to shut down
+    private final boolean ownsExecutor;
     private final Callback callback;
     private final BlockingQueue<RequestWrapper> pendingTransactions;
+    private final ScheduledFuture<?> polling;
 
     public QueuingTransactionReceiptProcessor(
             Web3j web3j, Callback callback,
             int pollingAttemptsPerTxHash, long pollingFrequency) {
+        this(web3j, callback, pollingAttemptsPerTxHash, pollingFrequency,
+                SharedScheduler.getDefault().acquire(), true);
+    }
+
+    /**
+     * Create a processor polling for receipts on a given executor.
+     *
+     * @param web3j the Web3j instance to poll with
+     * @param callback the callback told of receipts
+     * @param pollingAttemptsPerTxHash number of times to poll for each receipt
+     * @param pollingFrequency interval between polls in milliseconds
+     * @param scheduledExecutorService executor service to poll on.
+     *                                 <strong>You are responsible for terminating this thread
+     *                                 pool</strong>
+     */
+    public QueuingTransactionReceiptProcessor(
+            Web3j web3j, Callback callback,
+            int pollingAttemptsPerTxHash, long pollingFrequency,
+            ScheduledExecutorService scheduledExecutorService) {
+        this(web3j, callback, pollingAttemptsPerTxHash, pollingFrequency,
+                scheduledExecutorService, false);
+    }
+
+    private QueuingTransactionReceiptProcessor(
+            Web3j web3j, Callback callback,
+            int pollingAttemptsPerTxHash, long pollingFrequency,
+            ScheduledExecutorService scheduledExecutorService, boolean ownsExecutor) {
         super(web3j);
-        this.scheduledExecutorService = Async.defaultExecutorService();
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsExecutor = ownsExecutor;
         this.callback = callback;
         this.pendingTransactions = new LinkedBlockingQueue<>();
         this.pollingAttemptsPerTxHash = pollingAttemptsPerTxHash;
 
-        scheduledExecutorService.scheduleAtFixedRate(
+        polling = scheduledExecutorService.scheduleAtFixedRate(
                 this::sendTransactionReceiptRequests,
                 pollingFrequency, pollingFrequency, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Stop polling for receipts, releasing the shared scheduler unless an executor of its own
+     * was given.
+     */
+    public void shutdown() {
+        polling.cancel(false);
+        if (ownsExecutor) {
+            scheduledExecutorService.shutdown();
+        }
+    }
+
     @Override
     public TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException {
@@ -1,24 +1,49 @@
 package org.web3j.utils;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Async task facilitation.
+ *
+ * <p>Tasks are run on a shared executor, an unbounded cached thread pool by default. It may be
+ * replaced with {@link #setExecutor(Executor)}, for instance with a bounded or instrumented
+ * pool, or with {@link #newVirtualThreadExecutor() virtual threads} on JDK 21 or later, which
+ * make blocking requests cheap. Virtual threads may also be chosen by setting the system
+ * property {@value #VIRTUAL_THREADS_PROPERTY} to {@code true}.
  */
 public class Async {
 
-    private static final ExecutorService executor = Executors.newCachedThreadPool();
+    public static final String VIRTUAL_THREADS_PROPERTY = "org.web3j.async.virtualThreads";
+
+    private static final ExecutorService defaultExecutor = createDefaultExecutor();
+
+    private static volatile Executor executor = defaultExecutor;
 
     static {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(executor)));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(defaultExecutor)));
     }
 
     public static <T> CompletableFuture<T> run(Callable<T> callable) {
+        return run(callable, executor);
+    }
+
+    /**
+     * Run a task on a given executor.
+     *
+     * @param callable the task
+     * @param executor the executor to run it on
+     * @param <T> the result type of the task
+     * @return a future completed with the result of the task
+     */
+    public static <T> CompletableFuture<T> run(Callable<T> callable, Executor executor) {
         CompletableFuture<T> result = new CompletableFuture<>();
         CompletableFuture.runAsync(() -> {
             // we need to explicitly catch any exceptions,
@@ -32,6 +57,61 @@ public class Async {
         return result;
     }
 
+    /**
+     * Set the executor on which tasks are run, unless they are given their own.
+     *
+     * <p><strong>You are responsible for terminating this executor</strong>, which is not
+     * shut down when it is replaced.
+     *
+     * @param executor the executor, or null to restore the default
+     */
+    public static void setExecutor(Executor executor) {
+        Async.executor = executor != null ? executor : defaultExecutor;
+    }
+
+    public static Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Check whether the JVM supports virtual threads, which were added in JDK 21.
+     *
+     * @return true if {@link #newVirtualThreadExecutor()} is supported
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.FACTORY != null;
+    }
+
+    /**
+     * Create an executor which runs each task on a new virtual thread.
+     *
+     * @return new ExecutorService
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (VirtualThreads.FACTORY == null) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads require JDK 21 or later, running on "
+                            + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) VirtualThreads.FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) && isVirtualThreadSupported()) {
+            try {
+                return newVirtualThreadExecutor();
+            } catch (UnsupportedOperationException e) {
+                // a preview of virtual threads, which has not been enabled
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
     private static int getCpuCount() {
         return Runtime.getRuntime().availableProcessors();
     }
@@ -40,6 +120,8 @@ public class Async {
      * Provide a new ScheduledExecutorService instance.
      *
      * <p>A shutdown hook is created to terminate the thread pool on application termination.
+     * Many instances should rather share a pool {@link SharedScheduler#acquire() acquired} from
+     * a {@link SharedScheduler}.
      *
      * @return new ScheduledExecutorService
      */
@@ -52,6 +134,24 @@ public class Async {
         return scheduledExecutorService;
     }
 
+    /**
+     * Provide a new single-threaded ScheduledExecutorService for background tasks, such as
+     * health checks, whose daemon thread does not keep the JVM alive if it is never shut down.
+     *
+     * @param threadName the name of the thread of the executor
+     * @return new ScheduledExecutorService
+     */
+    public static ScheduledExecutorService daemonExecutorService(String threadName) {
+        ScheduledThreadPoolExecutor scheduledExecutorService =
+                new ScheduledThreadPoolExecutor(1, runnable -> {
+                    Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        scheduledExecutorService.setRemoveOnCancelPolicy(true);
+        return scheduledExecutorService;
+    }
+
     /**
      * Shutdown as per {@link ExecutorService} Javadoc recommendation.
      *
@@ -71,4 +171,19 @@ public class Async {
             Thread.currentThread().interrupt();
         }
     }
+
+    /**
+     * Looks up the factory of virtual thread executors, as web3j is built for Java 8.
+     */
+    private static class VirtualThreads {
+        static final Method FACTORY = findFactory();
+
+        private static Method findFactory() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
 }
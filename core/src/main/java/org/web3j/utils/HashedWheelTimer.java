@@ -0,0 +1,293 @@
+package org.web3j.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed wheel timer for large numbers of short-lived timeouts, such as request timeouts.
+ *
+ * <p>Timeouts are hashed into a fixed number of buckets, one of which is expired on each tick of
+ * a single periodic task, rather than each being scheduled as a task of its own. Adding and
+ * cancelling a timeout are constant time, and a cancelled timeout is released on the next tick.
+ * Timeouts fire on the tick after their deadline, so their precision is the tick duration.
+ *
+ * <p>Timeout tasks are run on the ticking thread, so they should be short.
+ */
+public class HashedWheelTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    public static final long DEFAULT_TICK_DURATION_MILLIS = 100;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final ScheduledExecutorService executor;
+    private final LongSupplier nanoTime;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    // Timeouts are handed over to the ticking thread, which alone modifies the buckets
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger timeoutCount = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final long startTime;
+    private long tick;
+    private volatile ScheduledFuture<?> ticker;
+
+    public HashedWheelTimer(ScheduledExecutorService executor) {
+        this(executor, DEFAULT_TICK_DURATION_MILLIS, TimeUnit.MILLISECONDS,
+                DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    public HashedWheelTimer(
+            ScheduledExecutorService executor,
+            long tickDuration,
+            TimeUnit unit,
+            int ticksPerWheel) {
+        this(executor, tickDuration, unit, ticksPerWheel, System::nanoTime);
+    }
+
+    HashedWheelTimer(
+            ScheduledExecutorService executor,
+            long tickDuration,
+            TimeUnit unit,
+            int ticksPerWheel,
+            LongSupplier nanoTime) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "Ticks per wheel must be between 1 and 2^30: " + ticksPerWheel);
+        }
+
+        this.executor = executor;
+        this.nanoTime = nanoTime;
+        this.tickDuration = unit.toNanos(tickDuration);
+        // a power of two, so that a tick can be mapped to its bucket with a mask
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = nanoTime.getAsLong();
+    }
+
+    /**
+     * Schedule a task to run once the given delay has elapsed, unless it is cancelled first.
+     *
+     * @param task the task to run on expiry
+     * @param delay the delay after which the task is run
+     * @param unit the unit of the delay
+     * @return a handle by which the timeout can be cancelled
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        start();
+
+        long deadline = nanoTime.getAsLong() + unit.toNanos(delay) - startTime;
+        Timeout timeout = new Timeout(this, task, Math.max(deadline, 0));
+        timeoutCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts which have neither expired nor been cancelled.
+     *
+     * @return the number of pending timeouts
+     */
+    public int getPendingTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Stop the timer. Pending timeouts will not expire.
+     */
+    public void stop() {
+        ScheduledFuture<?> ticker = this.ticker;
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            ticker = executor.scheduleAtFixedRate(
+                    this::tick, tickDuration, tickDuration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Method visible for unit-tests
+    synchronized void tick() {
+        long now = nanoTime.getAsLong() - startTime;
+        // catch up on any ticks that were missed, e.g. if the executor was busy
+        while (tickDuration * (tick + 1) <= now) {
+            long deadline = tickDuration * (tick + 1);
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            long expiryTick = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // a timeout whose deadline has already passed expires on this tick
+            long bucketTick = Math.max(expiryTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A handle to a scheduled task.
+     */
+    public static class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // Only accessed by the ticking thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout, so that its task will not run.
+         *
+         * @return true if the timeout was cancelled, false if it had already expired or been
+         *         cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            timer.timeoutCount.decrementAndGet();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            timer.timeoutCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.warn("Timeout task threw an exception", e);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timeouts hashed to one tick of the wheel.
+     */
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        // cannot happen, as timeouts are only placed in the bucket of their tick
+                        throw new IllegalStateException(String.format(
+                                "Timeout deadline %d is after tick deadline %d",
+                                timeout.deadline, deadline));
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.web3j.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An executor which runs its tasks one at a time, in the order they were submitted, on an
+ * underlying executor which may be shared by many serial executors.
+ *
+ * <p>At most one task of a serial executor is queued on, or running on, the underlying executor
+ * at any time, so tasks of different serial executors can run in parallel while each keeps its
+ * own ordering. Tasks are run in batches, after which the serial executor yields its thread to
+ * the tasks of other serial executors.
+ *
+ * <p>If the underlying executor rejects a task, for example because it has been shut down, the
+ * queued tasks are run on the submitting thread instead.
+ */
+public class SerialExecutor implements Executor {
+
+    private static final Logger log = LoggerFactory.getLogger(SerialExecutor.class);
+
+    static final int MAX_BATCH_SIZE = 64;
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runTasks);
+            } catch (RejectedExecutionException e) {
+                runTasks();
+            }
+        }
+    }
+
+    private void runTasks() {
+        try {
+            Runnable task;
+            for (int i = 0; i < MAX_BATCH_SIZE && (task = tasks.poll()) != null; i++) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Serial task failed", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // a task may have been queued after the last poll, but before the flag was cleared
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
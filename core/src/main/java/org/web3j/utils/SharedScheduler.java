@@ -0,0 +1,240 @@
+package org.web3j.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Scheduled thread pool shared by many {@link org.web3j.protocol.Web3j} instances, filters and
+ * transaction receipt processors, rather than each creating a pool of its own.
+ *
+ * <p>Each user {@link #acquire() acquires} its own view of the pool, which it shuts down as it
+ * would a pool of its own. Shutting down a view cancels the periodic tasks scheduled through
+ * it, and rejects new ones, leaving the tasks of the other views untouched. The pool itself is
+ * created when the first view is acquired, and shut down once the last view has been shut
+ * down. Idle threads of the pool are stopped after a minute.
+ */
+public class SharedScheduler {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final SharedScheduler defaultScheduler =
+            new SharedScheduler("web3j-scheduler", Runtime.getRuntime().availableProcessors());
+
+    private final Supplier<ScheduledExecutorService> executorFactory;
+
+    // Guarded by this
+    private ScheduledExecutorService executor;
+    private int referenceCount;
+
+    public SharedScheduler(String threadNamePrefix, int poolSize) {
+        this(() -> createExecutor(threadNamePrefix, poolSize));
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+        }
+    }
+
+    SharedScheduler(Supplier<ScheduledExecutorService> executorFactory) {
+        this.executorFactory = executorFactory;
+    }
+
+    /**
+     * Get the scheduler shared by default within the JVM, whose pool has as many threads as
+     * there are processors.
+     *
+     * @return the default scheduler
+     */
+    public static SharedScheduler getDefault() {
+        return defaultScheduler;
+    }
+
+    private static ScheduledExecutorService createExecutor(
+            String threadNamePrefix, int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> new Thread(
+                runnable, threadNamePrefix + "-" + threadCount.incrementAndGet());
+        ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(poolSize, threadFactory);
+        // tasks of views which have been shut down should not linger in the queue
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Acquire a view of the shared pool, which must be shut down once no longer used.
+     *
+     * @return new view of the pool
+     */
+    public synchronized ScheduledExecutorService acquire() {
+        if (executor == null) {
+            executor = executorFactory.get();
+        }
+        referenceCount++;
+        return new View(executor);
+    }
+
+    private synchronized void release(ScheduledExecutorService released) {
+        if (executor != released) {
+            return;
+        }
+        if (--referenceCount == 0) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Get the number of views of the pool which have not been shut down.
+     *
+     * @return the number of views
+     */
+    public synchronized int getReferenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * A view of the shared pool, keeping track of the tasks scheduled through it.
+     */
+    private class View extends AbstractExecutorService implements ScheduledExecutorService {
+
+        // Number of tasks scheduled between purges of those which have completed
+        private static final int PURGE_INTERVAL = 64;
+        // Interval at which to check whether the view has been shut down, while awaiting it
+        private static final long POLL_INTERVAL_NANOS = 10_000_000;
+
+        private final ScheduledExecutorService pool;
+        private final Set<Future<?>> tasks = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger scheduledCount = new AtomicInteger();
+        private final AtomicBoolean shutdown = new AtomicBoolean();
+
+        View(ScheduledExecutorService pool) {
+            this.pool = pool;
+        }
+
+        private <F extends Future<?>> F track(Supplier<F> schedule) {
+            if (shutdown.get()) {
+                throw new RejectedExecutionException("Scheduler has been shut down");
+            }
+
+            F task = schedule.get();
+            if (scheduledCount.incrementAndGet() % PURGE_INTERVAL == 0) {
+                tasks.removeIf(Future::isDone);
+            }
+            tasks.add(task);
+            if (shutdown.get()) {
+                // shut down while the task was being scheduled
+                task.cancel(false);
+            }
+            return task;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            track(() -> pool.schedule(command, 0, TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return track(() -> pool.schedule(command, delay, unit));
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(
+                Callable<V> callable, long delay, TimeUnit unit) {
+            return track(() -> pool.schedule(callable, delay, unit));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(
+                Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return track(() -> pool.scheduleAtFixedRate(command, initialDelay, period, unit));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(
+                Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return track(() -> pool.scheduleWithFixedDelay(command, initialDelay, delay, unit));
+        }
+
+        /**
+         * Cancel the periodic tasks scheduled through this view, leaving delayed tasks to run,
+         * as a {@link ScheduledThreadPoolExecutor} does by default.
+         */
+        @Override
+        public void shutdown() {
+            if (shutdown.compareAndSet(false, true)) {
+                for (Future<?> task : tasks) {
+                    if (task instanceof RunnableScheduledFuture
+                            && ((RunnableScheduledFuture<?>) task).isPeriodic()) {
+                        task.cancel(false);
+                    }
+                }
+                release(pool);
+            }
+        }
+
+        /**
+         * Cancel all the tasks scheduled through this view. Unlike that of an
+         * {@link java.util.concurrent.ExecutorService}, no task awaiting execution is returned.
+         */
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            tasks.forEach(task -> task.cancel(true));
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown.get();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown.get() && tasks.stream().allMatch(Future::isDone);
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit)
+                throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!shutdown.get()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, POLL_INTERVAL_NANOS));
+            }
+
+            for (Future<?> task : tasks) {
+                try {
+                    task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | CancellationException e) {
+                    // completed all the same
+                } catch (TimeoutException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.web3j.protocol;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import io.reactivex.Flowable;
+import org.junit.Test;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.NetVersion;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.websocket.events.Notification;
+
+import static org.junit.Assert.assertEquals;
+
+public class Web3jServiceTest {
+
+    // Replies to every request with its method name
+    private final Web3jService web3jService = new Web3jService() {
+        @Override
+        public <T extends Response> T send(Request request, Class<T> responseType) {
+            return reply(request, responseType);
+        }
+
+        @Override
+        public <T extends Response> CompletableFuture<T> sendAsync(
+                Request request, Class<T> responseType) {
+            return CompletableFuture.completedFuture(reply(request, responseType));
+        }
+
+        @Override
+        public <T extends Notification<?>> Flowable<T> subscribe(
+                Request request, String unsubscribeMethod, Class<T> responseType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final Request<?, Web3ClientVersion> clientVersion = new Request<>(
+            "web3_clientVersion", Collections.emptyList(), web3jService, Web3ClientVersion.class);
+    private final Request<?, NetVersion> netVersion = new Request<>(
+            "net_version", Collections.emptyList(), web3jService, NetVersion.class);
+
+    @Test
+    public void testSendBatchOneRequestAtATime() throws Exception {
+        BatchResponse response = new BatchRequest(web3jService)
+                .add(clientVersion)
+                .add(netVersion)
+                .send();
+
+        assertEquals("web3_clientVersion",
+                response.getResponse(clientVersion).getWeb3ClientVersion());
+        assertEquals("net_version", response.getResponse(netVersion).getNetVersion());
+    }
+
+    @Test
+    public void testSendBatchAsyncOneRequestAtATime() throws Exception {
+        BatchResponse response = new BatchRequest(web3jService)
+                .add(clientVersion)
+                .add(netVersion)
+                .sendAsync()
+                .get();
+
+        assertEquals("web3_clientVersion",
+                response.getResponse(clientVersion).getWeb3ClientVersion());
+        assertEquals("net_version", response.getResponse(netVersion).getNetVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Response> T reply(Request request, Class<T> responseType) {
+        try {
+            T response = responseType.newInstance();
+            ((Response<String>) response).setResult(request.getMethod());
+            return response;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.web3j.protocol.balancing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HedgingServiceTest {
+
+    private Web3jService first;
+    private Web3jService second;
+    private CompletableFuture<EthGetBalance> firstReply;
+    private CompletableFuture<EthGetBalance> secondReply;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> scheduledHedge;
+    private LoadBalancingService loadBalancingService;
+    private HedgingService service;
+
+    @Before
+    public void setUp() {
+        first = mock(Web3jService.class);
+        second = mock(Web3jService.class);
+        firstReply = new CompletableFuture<>();
+        secondReply = new CompletableFuture<>();
+        when(first.sendAsync(any(Request.class), eq(EthGetBalance.class)))
+                .thenReturn(firstReply);
+        when(second.sendAsync(any(Request.class), eq(EthGetBalance.class)))
+                .thenReturn(secondReply);
+
+        executor = mock(ScheduledExecutorService.class);
+        scheduledHedge = mock(ScheduledFuture.class);
+        doReturn(scheduledHedge).when(executor)
+                .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        loadBalancingService = new LoadBalancingService(
+                Arrays.asList(first, second), 1, TimeUnit.SECONDS,
+                mock(ScheduledExecutorService.class));
+        service = new HedgingService(
+                loadBalancingService, HedgingService.DEFAULT_HEDGED_METHODS, 0.9, executor);
+    }
+
+    @Test
+    public void testReturnPrimaryReplyAndCancelHedge() throws Exception {
+        CompletableFuture<EthGetBalance> result = service.sendAsync(
+                getBalance(), EthGetBalance.class);
+        verify(executor).schedule(
+                any(Runnable.class),
+                eq(TimeUnit.MILLISECONDS.toNanos(
+                        HedgingService.DEFAULT_INITIAL_HEDGE_DELAY_MILLIS)),
+                eq(TimeUnit.NANOSECONDS));
+
+        EthGetBalance reply = new EthGetBalance();
+        primaryReply().complete(reply);
+
+        assertSame(reply, result.get());
+        verify(scheduledHedge).cancel(false);
+        assertEquals(0, service.getHedgedRequestCount());
+    }
+
+    @Test
+    public void testReturnHedgeReplyAndCancelPrimary() throws Exception {
+        CompletableFuture<EthGetBalance> result = service.sendAsync(
+                getBalance(), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> primaryReply = primaryReply();
+        CompletableFuture<EthGetBalance> hedgeReply =
+                primaryReply == firstReply ? secondReply : firstReply;
+
+        runHedge();
+        EthGetBalance reply = new EthGetBalance();
+        hedgeReply.complete(reply);
+
+        assertSame(reply, result.get());
+        assertTrue(primaryReply.isCancelled());
+        assertEquals(1, service.getHedgedRequestCount());
+        assertEquals(1, service.getHedgeWinCount());
+    }
+
+    @Test
+    public void testWaitForHedgeIfPrimaryFails() throws Exception {
+        CompletableFuture<EthGetBalance> result = service.sendAsync(
+                getBalance(), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> primaryReply = primaryReply();
+        CompletableFuture<EthGetBalance> hedgeReply =
+                primaryReply == firstReply ? secondReply : firstReply;
+
+        runHedge();
+        primaryReply.completeExceptionally(new IOException("Connection reset"));
+        assertFalse(result.isDone());
+
+        EthGetBalance reply = new EthGetBalance();
+        hedgeReply.complete(reply);
+        assertSame(reply, result.get());
+    }
+
+    @Test
+    public void testFailIfPrimaryFailsBeforeHedge() {
+        CompletableFuture<EthGetBalance> result = service.sendAsync(
+                getBalance(), EthGetBalance.class);
+
+        primaryReply().completeExceptionally(new IOException("Connection reset"));
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(scheduledHedge).cancel(false);
+    }
+
+    @Test
+    public void testNeverHedgeStateChangingMethods() {
+        when(first.sendAsync(any(Request.class), eq(EthSendTransaction.class)))
+                .thenReturn(new CompletableFuture<>());
+        when(second.sendAsync(any(Request.class), eq(EthSendTransaction.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        service.sendAsync(
+                new Request<>(
+                        "eth_sendRawTransaction",
+                        Collections.singletonList("0xf8"),
+                        service,
+                        EthSendTransaction.class),
+                EthSendTransaction.class);
+
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testRecordLatencyOfHedgedRequestFromOriginalSend() throws Exception {
+        List<CompletableFuture<EthGetBalance>> replies = new ArrayList<>();
+        when(first.sendAsync(any(Request.class), eq(EthGetBalance.class)))
+                .thenAnswer(invocation -> addReply(replies));
+        when(second.sendAsync(any(Request.class), eq(EthGetBalance.class)))
+                .thenAnswer(invocation -> addReply(replies));
+        ArgumentCaptor<Runnable> hedges = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delays = ArgumentCaptor.forClass(Long.class);
+
+        for (int i = 0; i < HedgingService.MIN_LATENCY_SAMPLES; i++) {
+            replies.clear();
+            CompletableFuture<EthGetBalance> result = service.sendAsync(
+                    getBalance(), EthGetBalance.class);
+            Thread.sleep(5);
+            verify(executor, times(i + 1)).schedule(
+                    hedges.capture(), anyLong(), any(TimeUnit.class));
+            hedges.getValue().run();
+
+            // the hedge wins as soon as it is sent
+            replies.get(1).complete(new EthGetBalance());
+            result.get();
+        }
+
+        service.sendAsync(getBalance(), EthGetBalance.class);
+        verify(executor, times(HedgingService.MIN_LATENCY_SAMPLES + 1)).schedule(
+                any(Runnable.class), delays.capture(), any(TimeUnit.class));
+        assertTrue(delays.getValue() >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    private static CompletableFuture<EthGetBalance> addReply(
+            List<CompletableFuture<EthGetBalance>> replies) {
+        CompletableFuture<EthGetBalance> reply = new CompletableFuture<>();
+        replies.add(reply);
+        return reply;
+    }
+
+    private CompletableFuture<EthGetBalance> primaryReply() {
+        // the primary is the only endpoint with a request in flight
+        return loadBalancingService.getEndpoints().get(0).getOutstandingRequests() > 0
+                ? firstReply : secondReply;
+    }
+
+    private void runHedge() {
+        ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(hedge.capture(), anyLong(), any(TimeUnit.class));
+        hedge.getValue().run();
+    }
+
+    private Request<?, EthGetBalance> getBalance() {
+        return new Request<>(
+                "eth_getBalance",
+                Arrays.asList("0x407d73d8a49eeb85d32cf465507dd71d507100c1", "latest"),
+                service,
+                EthGetBalance.class);
+    }
+}
@@ -0,0 +1,247 @@
+package org.web3j.protocol.balancing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.NetVersion;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.http.HttpService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LoadBalancingServiceTest {
+
+    private Web3jService first;
+    private Web3jService second;
+    private LoadBalancingService service;
+
+    @Before
+    public void setUp() {
+        first = mock(Web3jService.class);
+        second = mock(Web3jService.class);
+        service = new LoadBalancingService(
+                Arrays.asList(first, second), 1, TimeUnit.SECONDS,
+                mock(ScheduledExecutorService.class));
+    }
+
+    @Test
+    public void testRouteToLeastLoadedEndpoint() {
+        when(first.sendAsync(any(Request.class), eq(NetVersion.class)))
+                .thenReturn(new CompletableFuture<>());
+        when(second.sendAsync(any(Request.class), eq(NetVersion.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        for (int i = 0; i < 10; i++) {
+            service.sendAsync(request(), NetVersion.class);
+        }
+
+        assertEquals(5, endpoint(0).getOutstandingRequests());
+        assertEquals(5, endpoint(1).getOutstandingRequests());
+    }
+
+    @Test
+    public void testEjectEndpointAfterConsecutiveFailures() throws Exception {
+        service.setFailureThreshold(2);
+        CompletableFuture<NetVersion> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new ClientConnectionException("Invalid response: 503", 503));
+        when(first.sendAsync(any(Request.class), eq(NetVersion.class))).thenReturn(failure);
+        when(second.sendAsync(any(Request.class), eq(NetVersion.class)))
+                .thenReturn(CompletableFuture.completedFuture(new NetVersion()));
+
+        for (int i = 0; i < 20; i++) {
+            service.sendAsync(request(), NetVersion.class);
+        }
+
+        assertTrue(endpoint(0).isEjected());
+        assertEquals(2, endpoint(0).getRequestCount());
+        assertEquals(18, endpoint(1).getRequestCount());
+    }
+
+    @Test
+    public void testNotEjectEndpointOnErrorReply() throws Exception {
+        service.setFailureThreshold(1);
+        CompletableFuture<NetVersion> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new IllegalStateException());
+        when(first.sendAsync(any(Request.class), eq(NetVersion.class))).thenReturn(failure);
+        when(second.sendAsync(any(Request.class), eq(NetVersion.class))).thenReturn(failure);
+
+        service.sendAsync(request(), NetVersion.class);
+
+        assertTrue(endpoint(0).isHealthy());
+        assertTrue(endpoint(1).isHealthy());
+    }
+
+    @Test
+    public void testNotEjectEndpointOnClientError() throws Exception {
+        service.setFailureThreshold(1);
+        CompletableFuture<NetVersion> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(new ClientConnectionException("Invalid response: 413", 413));
+        CompletableFuture<NetVersion> malformed = new CompletableFuture<>();
+        malformed.completeExceptionally(new JsonParseException(null, "Unexpected character"));
+        when(first.sendAsync(any(Request.class), eq(NetVersion.class))).thenReturn(rejected);
+        when(second.sendAsync(any(Request.class), eq(NetVersion.class))).thenReturn(malformed);
+
+        for (int i = 0; i < 4; i++) {
+            service.sendAsync(request(), NetVersion.class);
+        }
+
+        assertTrue(endpoint(0).isHealthy());
+        assertTrue(endpoint(1).isHealthy());
+    }
+
+    @Test
+    public void testRouteToUnhealthyEndpointsIfNoneIsHealthy() throws Exception {
+        service.setFailureThreshold(1);
+        when(first.send(any(Request.class), eq(NetVersion.class)))
+                .thenThrow(new ConnectException("Connection refused"));
+        when(second.send(any(Request.class), eq(NetVersion.class)))
+                .thenThrow(new ConnectException("Connection refused"));
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                service.send(request(), NetVersion.class);
+                fail();
+            } catch (IOException e) {
+                assertEquals("Connection refused", e.getMessage());
+            }
+        }
+
+        assertFalse(endpoint(0).isHealthy());
+        assertFalse(endpoint(1).isHealthy());
+        assertEquals(4, endpoint(0).getRequestCount() + endpoint(1).getRequestCount());
+    }
+
+    @Test
+    public void testRestoreEjectedEndpointAfterProbe() {
+        service.setFailureThreshold(1);
+        CompletableFuture<EthBlockNumber> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new ConnectException("Connection refused"));
+        when(first.sendAsync(any(Request.class), eq(EthBlockNumber.class))).thenReturn(failure);
+        when(second.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber("0x10")));
+
+        service.probe();
+        assertTrue(endpoint(0).isEjected());
+
+        when(first.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber("0x10")));
+        service.probe();
+        assertTrue(endpoint(0).isHealthy());
+    }
+
+    @Test
+    public void testSkipLaggingEndpoint() {
+        service.setMaxBlockLag(5);
+        when(first.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber("0x10")));
+        when(second.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber("0x20")));
+
+        service.probe();
+
+        assertTrue(endpoint(0).isLagging());
+        assertFalse(endpoint(1).isLagging());
+        assertSame(endpoint(1), service.selectEndpoint());
+
+        when(first.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber("0x1e")));
+        service.probe();
+
+        assertFalse(endpoint(0).isLagging());
+    }
+
+    @Test
+    public void testFailOverBetweenStubServers() throws Exception {
+        AtomicInteger failingRequests = new AtomicInteger();
+        AtomicInteger healthyRequests = new AtomicInteger();
+        HttpServer failing = startStubServer(503, "unavailable", failingRequests);
+        HttpServer healthy = startStubServer(
+                200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"1\"}", healthyRequests);
+        try {
+            LoadBalancingService loadBalancingService = new LoadBalancingService(
+                    Arrays.asList(
+                            new HttpService(url(failing)),
+                            new HttpService(url(healthy))),
+                    1, TimeUnit.HOURS,
+                    mock(ScheduledExecutorService.class));
+            loadBalancingService.setFailureThreshold(2);
+
+            int replies = 0;
+            for (int i = 0; i < 20; i++) {
+                try {
+                    loadBalancingService.send(request(), NetVersion.class);
+                    replies++;
+                } catch (ClientConnectionException e) {
+                    assertTrue(e.getMessage().contains("503"));
+                }
+            }
+
+            assertEquals(2, failingRequests.get());
+            assertEquals(18, healthyRequests.get());
+            assertEquals(18, replies);
+            assertTrue(loadBalancingService.getEndpoints().get(0).isEjected());
+        } finally {
+            failing.stop(0);
+            healthy.stop(0);
+        }
+    }
+
+    private Endpoint endpoint(int index) {
+        return service.getEndpoints().get(index);
+    }
+
+    private Request<?, NetVersion> request() {
+        return new Request<>(
+                "net_version", Collections.<String>emptyList(), service, NetVersion.class);
+    }
+
+    private static EthBlockNumber blockNumber(String result) {
+        EthBlockNumber ethBlockNumber = new EthBlockNumber();
+        ethBlockNumber.setResult(result);
+        return ethBlockNumber;
+    }
+
+    private static HttpServer startStubServer(
+            int status, String reply, AtomicInteger requestCount) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            byte[] body = reply.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+}
@@ -0,0 +1,214 @@
+package org.web3j.protocol.batch;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.NetVersion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BatchingServiceTest {
+
+    private Web3jService web3jService;
+    private ScheduledExecutorService executorService;
+    private ScheduledFuture<?> scheduledFlush;
+    private BatchingService batchingService;
+
+    @Before
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        executorService = mock(ScheduledExecutorService.class);
+        scheduledFlush = mock(ScheduledFuture.class);
+        doReturn(scheduledFlush).when(executorService)
+                .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        batchingService = new BatchingService(
+                web3jService, 2, 10, TimeUnit.MILLISECONDS, executorService);
+    }
+
+    @Test
+    public void testCoalesceRequestsUpToMaxBatchSize() throws Exception {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(reply(
+                        invocation.getArgumentAt(0, BatchRequest.class),
+                        blockNumber(1, "0x10"), netVersion(2, "3"))));
+
+        CompletableFuture<EthBlockNumber> first =
+                batchingService.sendAsync(request(1, "eth_blockNumber"), EthBlockNumber.class);
+        assertFalse(first.isDone());
+
+        final CompletableFuture<NetVersion> second =
+                batchingService.sendAsync(request(2, "net_version"), NetVersion.class);
+
+        ArgumentCaptor<BatchRequest> batch = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(web3jService).sendBatchAsync(batch.capture());
+        assertEquals(2, batch.getValue().getRequests().size());
+        verify(scheduledFlush).cancel(false);
+
+        assertEquals(16, first.get().getBlockNumber().intValue());
+        assertEquals("3", second.get().getNetVersion());
+
+        BatchingStatistics statistics = batchingService.getStatistics();
+        assertEquals(1, statistics.getBatchCount());
+        assertEquals(2, statistics.getRequestCount());
+        assertEquals(2, statistics.getMaxBatchSize());
+    }
+
+    @Test
+    public void testKeepProjectionOfBatchedRequest() throws Exception {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenReturn(new CompletableFuture<>());
+        FieldProjection projection = FieldProjection.all().withBlockFields("number", "hash");
+
+        batchingService.sendAsync(
+                request(1, "eth_getBlockByNumber").withProjection(projection), EthBlock.class);
+        batchingService.sendAsync(request(2, "eth_blockNumber"), EthBlockNumber.class);
+
+        ArgumentCaptor<BatchRequest> batch = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(web3jService).sendBatchAsync(batch.capture());
+        assertSame(projection, batch.getValue().getRequests().get(0).getProjection());
+        assertNull(batch.getValue().getRequests().get(1).getProjection());
+    }
+
+    @Test
+    public void testFlushAfterDelay() throws Exception {
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber(1, "0x10")));
+
+        CompletableFuture<EthBlockNumber> result =
+                batchingService.sendAsync(request(1, "eth_blockNumber"), EthBlockNumber.class);
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).schedule(
+                flush.capture(), eq(TimeUnit.MILLISECONDS.toNanos(10)),
+                eq(TimeUnit.NANOSECONDS));
+        assertFalse(result.isDone());
+
+        flush.getValue().run();
+
+        // a lone request is sent as is
+        verify(web3jService, never()).sendBatchAsync(any(BatchRequest.class));
+        assertEquals(16, result.get().getBlockNumber().intValue());
+    }
+
+    @Test
+    public void testStartNewBatchOnDuplicateId() throws Exception {
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber(1, "0x10")));
+
+        batchingService.sendAsync(request(1, "eth_blockNumber"), EthBlockNumber.class);
+        batchingService.sendAsync(request(1, "eth_blockNumber"), EthBlockNumber.class);
+
+        verify(web3jService).sendAsync(any(Request.class), eq(EthBlockNumber.class));
+        verify(web3jService, never()).sendBatchAsync(any(BatchRequest.class));
+    }
+
+    @Test
+    public void testFailAllRequestsIfBatchFails() throws Exception {
+        CompletableFuture<BatchResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Connection reset"));
+        when(web3jService.sendBatchAsync(any(BatchRequest.class))).thenReturn(failed);
+
+        CompletableFuture<EthBlockNumber> first =
+                batchingService.sendAsync(request(1, "eth_blockNumber"), EthBlockNumber.class);
+        CompletableFuture<NetVersion> second =
+                batchingService.sendAsync(request(2, "net_version"), NetVersion.class);
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testSendRethrowsTransportException() throws Exception {
+        CompletableFuture<EthBlockNumber> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Connection reset"));
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(failed);
+        when(executorService.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .then(invocation -> {
+                    invocation.getArgumentAt(0, Runnable.class).run();
+                    return scheduledFlush;
+                });
+
+        try {
+            batchingService.send(request(1, "eth_blockNumber"), EthBlockNumber.class);
+            fail("No exception");
+        } catch (IOException e) {
+            assertEquals("Connection reset", e.getMessage());
+        }
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testCloseFlushesPendingRequests() throws Exception {
+        CompletableFuture<EthBlockNumber> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Closed"));
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(failed);
+
+        final CompletableFuture<EthBlockNumber> result =
+                batchingService.sendAsync(request(1, "eth_blockNumber"), EthBlockNumber.class);
+        batchingService.close();
+
+        verify(executorService).shutdown();
+        verify(web3jService).close();
+        result.get();
+    }
+
+    private static Request<String, ? extends Response<?>> request(long id, String method) {
+        Request<String, Response<?>> request =
+                new Request<>(method, Collections.emptyList(), null, null);
+        request.setId(id);
+        return request;
+    }
+
+    private static EthBlockNumber blockNumber(long id, String result) {
+        EthBlockNumber response = new EthBlockNumber();
+        response.setId(id);
+        response.setResult(result);
+        return response;
+    }
+
+    private static NetVersion netVersion(long id, String result) {
+        NetVersion response = new NetVersion();
+        response.setId(id);
+        response.setResult(result);
+        return response;
+    }
+
+    private static BatchResponse reply(BatchRequest batchRequest, Response<?>... responses) {
+        List<Response<?>> replies = Arrays.asList(responses);
+        return new BatchResponse(batchRequest.getRequests(), replies);
+    }
+}
@@ -0,0 +1,216 @@
+package org.web3j.protocol.cache;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingServiceTest {
+
+    private static final String BLOCK_HASH =
+            "0xe670ec64341771606e55d6b4ca35a1a6b75ee3d5145a99d05921026d1527331";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private Web3jService web3jService;
+    private CachingService service;
+
+    @Before
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        service = new CachingService(web3jService);
+    }
+
+    @Test
+    public void testCacheBlockByHash() throws Exception {
+        when(web3jService.send(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(reply("{\"number\":\"0x64\",\"hash\":\"" + BLOCK_HASH + "\"}"));
+
+        EthBlock first = service.send(getBlockByHash(), EthBlock.class);
+        Request<?, EthBlock> request = getBlockByHash();
+        EthBlock second = service.send(request, EthBlock.class);
+
+        verify(web3jService, times(1))
+                .send(any(Request.class), eq(CachingService.RawResponse.class));
+        assertEquals(BLOCK_HASH, first.getBlock().getHash());
+        assertEquals(BLOCK_HASH, second.getBlock().getHash());
+        assertEquals(request.getId(), second.getId());
+        assertEquals(1, service.getHitCount());
+        assertEquals(1, service.getSize());
+    }
+
+    @Test
+    public void testReadWithObjectMapperOfService() throws Exception {
+        service = new CachingService(
+                web3jService, ResponseCachePolicy.defaultPolicy(),
+                CachingService.DEFAULT_MAX_WEIGHT_BYTES, 1, TimeUnit.SECONDS,
+                ObjectMapperFactory.getObjectMapper(true, false));
+        when(web3jService.send(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(reply("{\"number\":\"0x64\",\"hash\":\"" + BLOCK_HASH + "\"}"));
+
+        service.send(getBlockByHash(), EthBlock.class);
+        EthBlock cached = service.send(getBlockByHash(), EthBlock.class);
+
+        assertEquals(1, service.getHitCount());
+        assertEquals(BLOCK_HASH, cached.getBlock().getHash());
+        assertTrue(cached.getRawResponse().contains(BLOCK_HASH));
+    }
+
+    @Test
+    public void testCacheBlockByNumberOnceConfirmed() throws Exception {
+        when(web3jService.send(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(reply("{\"number\":\"0x64\",\"hash\":\"" + BLOCK_HASH + "\"}"));
+        EthBlockNumber head = new EthBlockNumber();
+        head.setResult("0x70");
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(head));
+
+        // the head is not known yet when the block is first fetched
+        service.send(getBlockByNumber("0x64"), EthBlock.class);
+        assertEquals(0, service.getSize());
+        assertEquals(0x70, service.getHeadBlockNumber());
+
+        service.send(getBlockByNumber("0x64"), EthBlock.class);
+        service.send(getBlockByNumber("0x64"), EthBlock.class);
+
+        verify(web3jService, times(2))
+                .send(any(Request.class), eq(CachingService.RawResponse.class));
+        assertEquals(1, service.getHitCount());
+    }
+
+    @Test
+    public void testNeverCacheLatestBlock() throws Exception {
+        when(web3jService.send(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(reply("{\"number\":\"0x64\",\"hash\":\"" + BLOCK_HASH + "\"}"));
+
+        service.send(getBlockByNumber("latest"), EthBlock.class);
+        service.send(getBlockByNumber("latest"), EthBlock.class);
+
+        verify(web3jService, times(2))
+                .send(any(Request.class), eq(CachingService.RawResponse.class));
+        assertEquals(0, service.getSize());
+    }
+
+    @Test
+    public void testNeverCacheEmptyResult() throws Exception {
+        when(web3jService.sendAsync(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(reply("null")));
+
+        EthGetTransactionReceipt receipt = service.sendAsync(
+                getTransactionReceipt(), EthGetTransactionReceipt.class).get();
+
+        assertFalse(receipt.getTransactionReceipt().isPresent());
+        assertEquals(0, service.getSize());
+    }
+
+    @Test
+    public void testPassErrorThrough() throws Exception {
+        CachingService.RawResponse error = objectMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,"
+                        + "\"error\":{\"code\":-32000,\"message\":\"header not found\"}}",
+                CachingService.RawResponse.class);
+        when(web3jService.send(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(error);
+
+        EthBlock reply = service.send(getBlockByHash(), EthBlock.class);
+
+        assertTrue(reply.hasError());
+        assertEquals(-32000, reply.getError().getCode());
+        assertEquals(0, service.getSize());
+    }
+
+    @Test
+    public void testCacheLatestUntilNewHead() throws Exception {
+        when(web3jService.send(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(reply("\"0x1\""));
+        service.pollHead(1, TimeUnit.SECONDS, mock(ScheduledExecutorService.class));
+        service.onNewHead(100);
+
+        assertEquals(BigInteger.ONE, service.send(getBalance(), EthGetBalance.class).getBalance());
+        service.send(getBalance(), EthGetBalance.class);
+        verify(web3jService, times(1))
+                .send(any(Request.class), eq(CachingService.RawResponse.class));
+
+        service.onNewHead(101);
+        service.send(getBalance(), EthGetBalance.class);
+        verify(web3jService, times(2))
+                .send(any(Request.class), eq(CachingService.RawResponse.class));
+    }
+
+    @Test
+    public void testDropLatestReplyReceivedAfterNewHead() throws Exception {
+        CompletableFuture<CachingService.RawResponse> pending = new CompletableFuture<>();
+        when(web3jService.sendAsync(any(Request.class), eq(CachingService.RawResponse.class)))
+                .thenReturn(pending)
+                .thenReturn(CompletableFuture.completedFuture(reply("\"0x2\"")));
+        service.pollHead(1, TimeUnit.SECONDS, mock(ScheduledExecutorService.class));
+        service.onNewHead(100);
+
+        CompletableFuture<EthGetBalance> stale =
+                service.sendAsync(getBalance(), EthGetBalance.class);
+        service.onNewHead(101);
+        pending.complete(reply("\"0x1\""));
+
+        assertEquals(BigInteger.ONE, stale.get().getBalance());
+        assertEquals(BigInteger.valueOf(2),
+                service.sendAsync(getBalance(), EthGetBalance.class).get().getBalance());
+    }
+
+    private CachingService.RawResponse reply(String result) throws IOException {
+        return objectMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + result + "}",
+                CachingService.RawResponse.class);
+    }
+
+    private Request<?, EthGetBalance> getBalance() {
+        return new Request<>(
+                "eth_getBalance",
+                Arrays.asList("0x407d73d8a49eeb85d32cf465507dd71d507100c1", "latest"),
+                service,
+                EthGetBalance.class);
+    }
+
+    private Request<?, EthBlock> getBlockByHash() {
+        return new Request<>(
+                "eth_getBlockByHash", Arrays.asList(BLOCK_HASH, false), service, EthBlock.class);
+    }
+
+    private Request<?, EthBlock> getBlockByNumber(String blockNumber) {
+        return new Request<>(
+                "eth_getBlockByNumber", Arrays.asList(blockNumber, false), service,
+                EthBlock.class);
+    }
+
+    private Request<?, EthGetTransactionReceipt> getTransactionReceipt() {
+        return new Request<>(
+                "eth_getTransactionReceipt",
+                Collections.singletonList(BLOCK_HASH),
+                service,
+                EthGetTransactionReceipt.class);
+    }
+}
@@ -0,0 +1,176 @@
+package org.web3j.protocol.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DeduplicatingServiceTest {
+
+    private Web3jService web3jService;
+    private CompletableFuture<EthGetBalance> reply;
+    private DeduplicatingService service;
+
+    @Before
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        reply = new CompletableFuture<>();
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetBalance.class)))
+                .thenReturn(reply);
+        service = new DeduplicatingService(web3jService);
+    }
+
+    @Test
+    public void testShareReplyWithIdenticalRequests() throws Exception {
+        CompletableFuture<EthGetBalance> first =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> second =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+
+        verify(web3jService, times(1)).sendAsync(any(Request.class), eq(EthGetBalance.class));
+        assertEquals(1, service.getDeduplicatedCount());
+        assertEquals(1, service.getInFlightCount());
+
+        EthGetBalance response = new EthGetBalance();
+        reply.complete(response);
+
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+        assertEquals(0, service.getInFlightCount());
+    }
+
+    @Test
+    public void testSendDifferentRequests() {
+        service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        service.sendAsync(getBalance("0x64"), EthGetBalance.class);
+
+        verify(web3jService, times(2)).sendAsync(any(Request.class), eq(EthGetBalance.class));
+    }
+
+    @Test
+    public void testSendAgainOnceAnswered() {
+        service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        reply.complete(new EthGetBalance());
+        service.sendAsync(getBalance("latest"), EthGetBalance.class);
+
+        verify(web3jService, times(2)).sendAsync(any(Request.class), eq(EthGetBalance.class));
+    }
+
+    @Test
+    public void testShareFailure() throws Exception {
+        CompletableFuture<EthGetBalance> first =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> second =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+
+        reply.completeExceptionally(new IOException("Connection reset"));
+
+        assertTrue(first.isCompletedExceptionally());
+        try {
+            second.get();
+            fail("No exception");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testCancelWithoutFailingOthers() throws Exception {
+        CompletableFuture<EthGetBalance> first =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> second =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+
+        first.cancel(false);
+        EthGetBalance response = new EthGetBalance();
+        reply.complete(response);
+
+        assertSame(response, second.get());
+        assertFalse(reply.isCancelled());
+    }
+
+    @Test
+    public void testCancelRequestOnceEveryCallerHasCancelled() {
+        CompletableFuture<EthGetBalance> first =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> second =
+                service.sendAsync(getBalance("latest"), EthGetBalance.class);
+
+        first.cancel(false);
+        second.cancel(false);
+
+        assertTrue(reply.isCancelled());
+        assertEquals(0, service.getInFlightCount());
+    }
+
+    @Test
+    public void testSendSynchronouslyWhileInFlight() throws Exception {
+        service.sendAsync(getBalance("latest"), EthGetBalance.class);
+        CompletableFuture<EthGetBalance> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.send(getBalance("latest"), EthGetBalance.class);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        EthGetBalance response = new EthGetBalance();
+        while (service.getDeduplicatedCount() == 0) {
+            Thread.yield();
+        }
+        reply.complete(response);
+
+        assertSame(response, waiting.get());
+        verify(web3jService, times(0)).send(any(Request.class), eq(EthGetBalance.class));
+    }
+
+    @Test
+    public void testAlwaysSendMethodsNotDeduplicated() {
+        when(web3jService.sendAsync(any(Request.class), eq(EthSendTransaction.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        service.sendAsync(sendRawTransaction(), EthSendTransaction.class);
+        service.sendAsync(sendRawTransaction(), EthSendTransaction.class);
+
+        verify(web3jService, times(2))
+                .sendAsync(any(Request.class), eq(EthSendTransaction.class));
+        assertFalse(service.getDeduplicatedCount() > 0);
+    }
+
+    private Request<?, EthGetBalance> getBalance(String blockParameter) {
+        return new Request<>(
+                "eth_getBalance",
+                Arrays.asList("0x407d73d8a49eeb85d32cf465507dd71d507100c1", blockParameter),
+                service,
+                EthGetBalance.class);
+    }
+
+    private Request<?, EthSendTransaction> sendRawTransaction() {
+        return new Request<>(
+                "eth_sendRawTransaction",
+                Collections.singletonList("0xf8"),
+                service,
+                EthSendTransaction.class);
+    }
+}
@@ -0,0 +1,57 @@
+package org.web3j.protocol.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class WeightedLruCacheTest {
+
+    private WeightedLruCache<String, String> cache;
+
+    @Before
+    public void setUp() {
+        cache = new WeightedLruCache<>(10, (key, value) -> value.length());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.get("a");
+        cache.put("c", "cccc");
+
+        assertEquals("aaaa", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("cccc", cache.get("c"));
+        assertEquals(8, cache.weight());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    public void testEvictUntilWithinWeight() {
+        cache.put("a", "aaa");
+        cache.put("b", "bbb");
+        cache.put("c", "cccccccc");
+
+        assertEquals(1, cache.size());
+        assertEquals(8, cache.weight());
+    }
+
+    @Test
+    public void testReplaceEntry() {
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+
+        assertEquals(2, cache.weight());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRejectEntryHeavierThanCache() {
+        assertFalse(cache.put("a", "aaaaaaaaaaa"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,180 @@
+package org.web3j.protocol.core;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FieldProjectionTest {
+
+    private static final String BLOCK_HASH =
+            "0xbeab0aa2411b7ab17f30a99d3cb9c6ef2fc5426d6ad6fd9e2a26a6aed1d1055b";
+
+    private static final String TRANSACTION = "{"
+            + "\"hash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\","
+            + "\"nonce\":\"0x15\","
+            + "\"blockHash\":\"" + BLOCK_HASH + "\","
+            + "\"blockNumber\":\"0x1b4\","
+            + "\"transactionIndex\":\"0x41\","
+            + "\"from\":\"0x407d73d8a49eeb85d32cf465507dd71d507100c1\","
+            + "\"to\":\"0x85h43d8a49eeb85d32cf465507dd71d507100c1\","
+            + "\"value\":\"0x7f110\","
+            + "\"gas\":\"0x7f110\","
+            + "\"gasPrice\":\"0x09184e72a000\","
+            + "\"input\":\"0x603880600c6000396000f300603880600c6000396000f3603880600c6000396000f360\","
+            + "\"v\":\"0x25\""
+            + "}";
+
+    private static final String BLOCK = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{"
+            + "\"number\":\"0x1b4\","
+            + "\"hash\":\"" + BLOCK_HASH + "\","
+            + "\"parentHash\":"
+            + "\"0xe99e022112df268087ea7eafaf4790497fd21dbeeb6bd7a1721df161a6657a54\","
+            + "\"miner\":\"0x4e65fda2159562a496f9f3522f89122a3088497a\","
+            + "\"extraData\":{\"unexpected\":[\"object\"]},"
+            + "\"gasUsed\":\"0x9f759\","
+            + "\"timestamp\":\"0x54e34e8e\","
+            + "\"transactions\":[" + TRANSACTION + "," + TRANSACTION + "],"
+            + "\"uncles\":[]"
+            + "}}";
+
+    private static final String LOG = "{"
+            + "\"removed\":false,"
+            + "\"logIndex\":\"0x1\","
+            + "\"transactionIndex\":\"0x0\","
+            + "\"transactionHash\":"
+            + "\"0xdf829c5a142f1fccd7d8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcf\","
+            + "\"blockHash\":\"" + BLOCK_HASH + "\","
+            + "\"blockNumber\":\"0x1b4\","
+            + "\"address\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+            + "\"data\":\"0x0000000000000000000000000000000000000000000000000000000000000001\","
+            + "\"topics\":[\"0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5\"]"
+            + "}";
+
+    private static final String LOGS =
+            "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + LOG + "," + LOG + "]}";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    @Test
+    public void testBlockFields() throws IOException {
+        FieldProjection projection = FieldProjection.all()
+                .withBlockFields("number", "hash", "transactions")
+                .withTransactionFields("hash", "from", "value");
+
+        EthBlock.Block block = readBlock(objectMapper, projection);
+
+        assertEquals(BigInteger.valueOf(0x1b4), block.getNumber());
+        assertEquals(BLOCK_HASH, block.getHash());
+        // skipped, so not rejected despite its type
+        assertNull(block.getExtraData());
+        assertNull(block.getParentHash());
+        assertNull(block.getMiner());
+        assertNull(block.getGasUsedRaw());
+
+        assertEquals(2, block.getTransactions().size());
+        Transaction transaction = (Transaction) block.getTransactions().get(0).get();
+        assertEquals(
+                "0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b",
+                transaction.getHash());
+        assertEquals("0x407d73d8a49eeb85d32cf465507dd71d507100c1", transaction.getFrom());
+        assertEquals(BigInteger.valueOf(0x7f110), transaction.getValue());
+        assertNull(transaction.getBlockHash());
+        assertNull(transaction.getInput());
+        assertNull(transaction.getGasPriceRaw());
+    }
+
+    @Test
+    public void testTransactionsSkipped() throws IOException {
+        FieldProjection projection = FieldProjection.all().withBlockFields("number");
+
+        EthBlock.Block block = readBlock(objectMapper, projection);
+
+        assertEquals(BigInteger.valueOf(0x1b4), block.getNumber());
+        assertNull(block.getTransactions());
+    }
+
+    @Test
+    public void testCompactModel() throws IOException {
+        FieldProjection projection = FieldProjection.all()
+                .withBlockFields("hash", "transactions")
+                .withTransactionFields("nonce");
+
+        EthBlock.Block block =
+                readBlock(ObjectMapperFactory.getObjectMapper(false, true), projection);
+
+        assertEquals(BLOCK_HASH, block.getHash());
+        assertNull(block.getNumberRaw());
+        Transaction transaction = (Transaction) block.getTransactions().get(1).get();
+        assertEquals(BigInteger.valueOf(0x15), transaction.getNonce());
+        assertNull(transaction.getHash());
+    }
+
+    @Test
+    public void testLogFields() throws IOException {
+        FieldProjection projection = FieldProjection.all().withLogFields("address", "topics");
+
+        EthLog ethLog = FieldProjection.readerFor(objectMapper, EthLog.class, projection)
+                .readValue(LOGS);
+
+        assertEquals(2, ethLog.getLogs().size());
+        Log log = (Log) ethLog.getLogs().get(0).get();
+        assertEquals("0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d", log.getAddress());
+        assertEquals(
+                Collections.singletonList(
+                        "0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5"),
+                log.getTopics());
+        assertNull(log.getData());
+        assertNull(log.getBlockHash());
+        assertNull(log.getLogIndexRaw());
+    }
+
+    @Test
+    public void testAllFields() throws IOException {
+        String block = BLOCK.replace("{\"unexpected\":[\"object\"]}", "\"0x\"");
+        EthBlock.Block expected = objectMapper.readValue(block, EthBlock.class).getBlock();
+
+        for (FieldProjection projection : new FieldProjection[] {null, FieldProjection.all()}) {
+            EthBlock ethBlock = FieldProjection.readerFor(objectMapper, EthBlock.class, projection)
+                    .readValue(block);
+            assertEquals(expected, ethBlock.getBlock());
+        }
+    }
+
+    @Test
+    public void testEquality() {
+        FieldProjection projection = FieldProjection.all().withBlockFields("number", "hash");
+
+        assertEquals(projection, FieldProjection.all().withBlockFields("hash", "number"));
+        assertEquals(
+                projection.hashCode(),
+                FieldProjection.all().withBlockFields("hash", "number").hashCode());
+        assertEquals(projection.toString(),
+                FieldProjection.all().withBlockFields("hash", "number").toString());
+        assertNotEquals(projection, FieldProjection.all().withLogFields("number", "hash"));
+        assertNotEquals(projection, FieldProjection.all());
+        assertTrue(projection.getBlockFields().containsAll(Arrays.asList("number", "hash")));
+        assertNull(projection.getTransactionFields());
+    }
+
+    private static EthBlock.Block readBlock(
+            ObjectMapper objectMapper, FieldProjection projection) throws IOException {
+        return FieldProjection.readerFor(objectMapper, EthBlock.class, projection)
+                .<EthBlock>readValue(BLOCK)
+                .getBlock();
+    }
+}
@@ -1,16 +1,24 @@
 package org.web3j.protocol.core;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.junit.Test;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class JsonRpc2_0Web3jTest {
 
@@ -35,4 +43,34 @@ public class JsonRpc2_0Web3jTest {
 
         web3j.shutdown();
     }
+
+    @Test
+    public void testGetLogsFromServiceReadingWholeReplies() throws Exception {
+        EthLog ethLog = new EthLog();
+        ethLog.setResult(Arrays.<EthLog.LogResult>asList(
+                new EthLog.LogObject(), new EthLog.LogObject()));
+        when(service.send(any(Request.class), eq(EthLog.class))).thenReturn(ethLog);
+
+        web3j.ethGetLogsFlowable(new EthFilter()).test()
+                .assertValueCount(2)
+                .assertComplete();
+    }
+
+    @Test
+    public void testFailGetLogsWithMaxResponseSizeFromServiceReadingWholeReplies()
+            throws Exception {
+        web3j.ethGetLogsFlowable(new EthFilter(), 1024).test()
+                .assertError(UnsupportedOperationException.class);
+        verify(service, never()).send(any(Request.class), eq(EthLog.class));
+    }
+
+    @Test
+    public void testGetLogsError() throws Exception {
+        EthLog ethLog = new EthLog();
+        ethLog.setError(new Response.Error(-32005, "query returned more than 10000 results"));
+        when(service.send(any(Request.class), eq(EthLog.class))).thenReturn(ethLog);
+
+        web3j.ethGetLogsFlowable(new EthFilter()).test()
+                .assertError(JsonRpcErrorException.class);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.web3j.protocol.core;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
 import org.web3j.protocol.ResponseTester;
@@ -43,11 +45,26 @@ public class RawResponseTest extends ResponseTester {
         assertThat(ethBlock.getRawResponse(), is(LARGE_RAW_RESPONSE));
     }
 
+    @Test
+    public void testRawResponseBytes() {
+        configureWeb3Service(true);
+
+        buildResponse(RAW_RESPONSE + "\n");
+
+        Web3ClientVersion web3ClientVersion = deserialiseResponse(Web3ClientVersion.class);
+
+        assertThat(
+                web3ClientVersion.getRawResponseBytes(),
+                is(RAW_RESPONSE.getBytes(StandardCharsets.UTF_8)));
+        assertThat(web3ClientVersion.getRawResponse(), is(RAW_RESPONSE));
+    }
+
     @Test
     public void testRawResponseDisabled() {
         configureWeb3Service(false);
         final Web3ClientVersion web3ClientVersion = deserialiseWeb3ClientVersionResponse();
         assertThat(web3ClientVersion.getRawResponse(), nullValue());
+        assertThat(web3ClientVersion.getRawResponseBytes(), nullValue());
     }
 
     private Web3ClientVersion deserialiseWeb3ClientVersionResponse() {
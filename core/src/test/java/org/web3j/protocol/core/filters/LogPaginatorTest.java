@@ -0,0 +1,198 @@
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LogPaginatorTest {
+
+    // Number of logs past which the node rejects a range
+    private static final int MAX_LOGS = 20;
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+
+    // Ranges requested, as {fromBlock, toBlock}
+    private final List<long[]> requested = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+    }
+
+    @Test
+    public void testLogsInBlockOrder() {
+        mockNode(null);
+
+        List<Log> logs = new LogPaginator(web3j, 100, 1000, 40, 3, 0, TimeUnit.SECONDS)
+                .logsFlowable(filter(10, 1999))
+                .toList()
+                .blockingGet();
+
+        assertThat(logs.size(), is(countLogs(10, 1999)));
+        long previous = -1;
+        for (Log log : logs) {
+            long block = log.getBlockNumber().longValueExact();
+            assertTrue(block >= previous);
+            previous = block;
+        }
+        assertThat(logs.get(0).getBlockNumber(), is(BigInteger.valueOf(10)));
+
+        // the dense blocks were split, and the sparse ones requested in larger ranges
+        boolean split = false;
+        boolean grown = false;
+        for (long[] range : requested) {
+            split |= range[1] - range[0] + 1 < 100;
+            grown |= range[1] - range[0] + 1 > 100;
+        }
+        assertTrue(split);
+        assertTrue(grown);
+    }
+
+    @Test
+    public void testEmptyRange() {
+        mockNode(null);
+
+        new LogPaginator(web3j).logsFlowable(filter(10, 9)).test()
+                .assertNoValues()
+                .assertComplete();
+        assertTrue(requested.isEmpty());
+    }
+
+    @Test
+    public void testSingleBlockTooLarge() {
+        mockNode(null);
+
+        TestSubscriber<Log> subscriber =
+                new LogPaginator(web3j, 100, 1000, 40, 3, 0, TimeUnit.SECONDS)
+                        .logsFlowable(filter(5000, 5000))
+                        .test();
+
+        subscriber.assertError(JsonRpcErrorException.class);
+        assertThat(requested.size(), is(1));
+    }
+
+    @Test
+    public void testRateLimitNotSplit() {
+        mockNode("rate limit exceeded");
+
+        new LogPaginator(web3j).logsFlowable(filter(0, 999)).test()
+                .assertError(JsonRpcErrorException.class);
+        assertThat(requested.size(), is(1));
+    }
+
+    @Test
+    public void testBoundWithoutBlockNumber() throws Exception {
+        mockNode(null);
+        // the node replies with no block, as for a block past its head
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenReturn(new EthBlock());
+        EthFilter ethFilter = new EthFilter(
+                new DefaultBlockParameterNumber(10),
+                DefaultBlockParameterName.PENDING,
+                "0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d");
+
+        new LogPaginator(web3j).logsFlowable(ethFilter).test()
+                .assertError(IOException.class);
+        assertTrue(requested.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBlockRange() {
+        new LogPaginator(web3j, 1000, 100, 10, 1, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Mock a node with a log every 10 blocks, 3 a block from 1000 to 1019, and too many to be
+     * read at block 5000, which rejects ranges of more than {@link #MAX_LOGS} logs, or every
+     * range if given an error message.
+     */
+    @SuppressWarnings("unchecked")
+    private void mockNode(String errorMessage) {
+        when(web3jService.sendAsync(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(invocation -> {
+                    Request<?, ?> request = invocation.getArgumentAt(0, Request.class);
+                    EthFilter filter = (EthFilter) request.getParams().get(0);
+                    long fromBlock = blockNumber(filter.getFromBlock());
+                    long toBlock = blockNumber(filter.getToBlock());
+                    requested.add(new long[] {fromBlock, toBlock});
+
+                    EthLog ethLog = new EthLog();
+                    if (errorMessage != null) {
+                        ethLog.setError(new Response.Error(-32005, errorMessage));
+                    } else if (countLogs(fromBlock, toBlock) > MAX_LOGS) {
+                        ethLog.setError(new Response.Error(
+                                -32005, "query returned more than " + MAX_LOGS + " results"));
+                    } else {
+                        List<EthLog.LogResult> logs = new ArrayList<>();
+                        for (long block = fromBlock; block <= toBlock; block++) {
+                            for (int i = 0; i < logsIn(block); i++) {
+                                EthLog.LogObject log = new EthLog.LogObject();
+                                log.setBlockNumber("0x" + Long.toHexString(block));
+                                log.setLogIndex("0x" + Integer.toHexString(i));
+                                logs.add(log);
+                            }
+                        }
+                        ethLog.setResult(logs);
+                    }
+                    return CompletableFuture.completedFuture(ethLog);
+                });
+    }
+
+    private static int logsIn(long block) {
+        if (block == 5000) {
+            return MAX_LOGS + 1;
+        } else if (block >= 1000 && block < 1020) {
+            return 3;
+        }
+        return block % 10 == 0 ? 1 : 0;
+    }
+
+    private static int countLogs(long fromBlock, long toBlock) {
+        int count = 0;
+        for (long block = fromBlock; block <= toBlock; block++) {
+            count += logsIn(block);
+        }
+        return count;
+    }
+
+    private static long blockNumber(Object defaultBlockParameter) {
+        return ((DefaultBlockParameterNumber) defaultBlockParameter)
+                .getBlockNumber().longValueExact();
+    }
+
+    private static EthFilter filter(long fromBlock, long toBlock) {
+        return new EthFilter(
+                new DefaultBlockParameterNumber(fromBlock),
+                new DefaultBlockParameterNumber(toBlock),
+                "0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d");
+    }
+}
@@ -0,0 +1,254 @@
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CompactModelTest {
+
+    private static final String ADDRESS = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+    private static final String BLOCK_HASH =
+            "0xbeab0aa2411b7ab17f30a99d3cb9c6ef2fc5426d6ad6fd9e2a26a6aed1d1055b";
+
+    private static final String TRANSACTION = "{"
+            + "\"hash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\","
+            + "\"nonce\":\"0x15\","
+            + "\"blockHash\":\"" + BLOCK_HASH + "\","
+            + "\"blockNumber\":\"0x5daf3b\","
+            + "\"transactionIndex\":\"0x41\","
+            + "\"from\":\"" + ADDRESS + "\","
+            + "\"to\":null,"
+            + "\"value\":\"0x1bc16d674ec80000f\","
+            + "\"gas\":\"0xc350\","
+            + "\"gasPrice\":\"0x4a817c800\","
+            + "\"input\":\"0x68656c6c6f21\","
+            + "\"creates\":\"0x5a2d8b2ebd8d8d7a3ba7b0ac1a2a7fe7e5e3bb2a\","
+            + "\"r\":\"0x1b5e176d927f8e9ab405058b2d2457392da3e20f328b16ddabcebc33eaac5fea\","
+            + "\"s\":\"0x4ba69724e8f69de52f0125ad8b3c5c2cef33019bac3249e2c0a2192766d1721c\","
+            + "\"v\":\"0x25\""
+            + "}";
+
+    private static final String LOG = "{"
+            + "\"removed\":false,"
+            + "\"logIndex\":\"0x1\","
+            + "\"transactionIndex\":\"0x0\","
+            + "\"transactionHash\":"
+            + "\"0xdf829c5a142f1fccd7d8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcf\","
+            + "\"blockHash\":\"" + BLOCK_HASH + "\","
+            + "\"blockNumber\":\"0x1b4\","
+            + "\"address\":\"" + ADDRESS + "\","
+            + "\"data\":\"0x\","
+            + "\"type\":\"mined\","
+            + "\"topics\":[\"0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5\"]"
+            + "}";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final ObjectMapper compactObjectMapper =
+            ObjectMapperFactory.getObjectMapper(false, true);
+
+    @Test
+    public void testTransaction() throws IOException {
+        Transaction compact = assertSameAsDefault(TRANSACTION, Transaction.class);
+
+        assertThat(compact, instanceOf(CompactTransaction.class));
+        assertEquals(BigInteger.valueOf(0x15), compact.getNonce());
+        assertEquals(new BigInteger("1bc16d674ec80000f", 16), compact.getValue());
+        assertNull(compact.getTo());
+        assertEquals(0x25, compact.getV());
+    }
+
+    @Test
+    public void testIrregularValues() throws IOException {
+        String transaction = "{"
+                + "\"hash\":\"0xC6EF2FC5426D6AD6FD9E2A26ABEAB0AA2411B7AB17F30A99D3CB96AED1D1055B\","
+                + "\"nonce\":\"0x015\","
+                + "\"blockNumber\":\"0x7fffffffffffffffff\","
+                + "\"transactionIndex\":\"41\","
+                + "\"from\":\"0x407d73d8a49eeb85d32cf465507dd71d507100c\","
+                + "\"value\":\"0x\","
+                + "\"gasPrice\":\"\","
+                + "\"input\":\"0x0\","
+                + "\"r\":\"0x001b\""
+                + "}";
+
+        Transaction compact = assertSameAsDefault(transaction, Transaction.class);
+        assertEquals(new BigInteger("7fffffffffffffffff", 16), compact.getBlockNumber());
+        assertEquals("0x015", compact.getNonceRaw());
+        assertEquals(BigInteger.valueOf(0x15), compact.getNonce());
+    }
+
+    @Test
+    public void testSetValuesAgain() {
+        CompactTransaction transaction = new CompactTransaction();
+        transaction.setNonce("0x015");
+        transaction.setNonce("0x16");
+        assertEquals("0x16", transaction.getNonceRaw());
+        transaction.setNonce(null);
+        assertNull(transaction.getNonceRaw());
+
+        transaction.setHash("0xABCD");
+        transaction.setHash("0xabcd");
+        assertEquals("0xabcd", transaction.getHash());
+    }
+
+    @Test
+    public void testLog() throws IOException {
+        Log compact = assertSameAsDefault(LOG, Log.class);
+
+        assertEquals(BigInteger.valueOf(0x1b4), compact.getBlockNumber());
+        assertEquals("0x", compact.getData());
+        assertEquals(
+                Arrays.asList(
+                        "0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5"),
+                compact.getTopics());
+
+        assertSameAsDefault(LOG.replace("\"0x59ebeb90", "null,\"0x59ebeb90"), Log.class);
+    }
+
+    @Test
+    public void testTransactionReceipt() throws IOException {
+        String receipt = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{"
+                + "\"transactionHash\":"
+                + "\"0xb903239f8543d04b5dc1ba6579132b143087c68db1b2168786408fcbce568238\","
+                + "\"transactionIndex\":\"0x1\","
+                + "\"blockHash\":\"" + BLOCK_HASH + "\","
+                + "\"blockNumber\":\"0xb\","
+                + "\"cumulativeGasUsed\":\"0x33bc\","
+                + "\"gasUsed\":\"0x4dc\","
+                + "\"contractAddress\":null,"
+                + "\"status\":\"0x0\","
+                + "\"from\":\"" + ADDRESS + "\","
+                + "\"to\":\"0x85h43d8a49eeb85d32cf465507dd71d507100c1\","
+                + "\"logs\":[" + LOG + "],"
+                + "\"logsBloom\":\"0x00\""
+                + "}}";
+
+        TransactionReceipt compact = compactObjectMapper.readValue(
+                receipt, EthGetTransactionReceipt.class).getTransactionReceipt().get();
+        TransactionReceipt expected = objectMapper.readValue(
+                receipt, EthGetTransactionReceipt.class).getTransactionReceipt().get();
+
+        assertThat(compact, instanceOf(CompactTransactionReceipt.class));
+        assertThat(compact.getLogs().get(0), instanceOf(CompactLog.class));
+        assertEquals(expected, compact);
+        assertEquals(expected.hashCode(), compact.hashCode());
+        assertEquals(expected.toString(), compact.toString());
+        assertFalse(compact.isStatusOK());
+    }
+
+    @Test
+    public void testBlock() throws IOException {
+        String block = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{"
+                + "\"number\":\"0x1b4\","
+                + "\"hash\":\"" + BLOCK_HASH + "\","
+                + "\"parentHash\":"
+                + "\"0xe99e022112df268087ea7eafaf4790497fd21dbeeb6bd7a1721df161a6657a54\","
+                + "\"nonce\":\"0x0000000000000000\","
+                + "\"sha3Uncles\":"
+                + "\"0x1dcc4de8dec75d7aab85b567b6ccd41ad312451b948a7413f0a142fd40d49347\","
+                + "\"miner\":\"" + ADDRESS + "\","
+                + "\"difficulty\":\"0x0\","
+                + "\"totalDifficulty\":\"0xc70d815d562d3cfa955\","
+                + "\"extraData\":\"0x476574682f\","
+                + "\"size\":\"0x220\","
+                + "\"gasLimit\":\"0x1c9c380\","
+                + "\"gasUsed\":\"0x0\","
+                + "\"timestamp\":\"0x55ba467c\","
+                + "\"transactions\":[" + TRANSACTION + "," + TRANSACTION + "],"
+                + "\"uncles\":[]"
+                + "}}";
+
+        EthBlock.Block compact = compactObjectMapper.readValue(block, EthBlock.class).getBlock();
+        EthBlock.Block expected = objectMapper.readValue(block, EthBlock.class).getBlock();
+
+        assertThat(compact, instanceOf(CompactBlock.class));
+        assertThat(compact.getTransactions().get(0), instanceOf(CompactTransaction.class));
+        assertEquals(expected, compact);
+        assertEquals(expected.hashCode(), compact.hashCode());
+        assertEquals(BigInteger.ZERO, compact.getNonce());
+        assertEquals(BigInteger.ZERO, compact.getDifficulty());
+        assertEquals(
+                new BigInteger("c70d815d562d3cfa955", 16), compact.getTotalDifficulty());
+    }
+
+    @Test
+    public void testLogResults() throws IOException {
+        String logs = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + LOG + "," + LOG + "]}";
+
+        EthLog compact = compactObjectMapper.readValue(logs, EthLog.class);
+
+        assertEquals(objectMapper.readValue(logs, EthLog.class).getLogs(), compact.getLogs());
+        assertThat(compact.getLogs().get(0), instanceOf(CompactLog.class));
+    }
+
+    @Test
+    public void testInterner() {
+        ByteArrayInterner interner = new ByteArrayInterner(2);
+        byte[] value = {1, 2};
+
+        assertSame(value, interner.intern(value));
+        assertSame(value, interner.intern(new byte[] {1, 2}));
+        assertNull(interner.intern(null));
+
+        interner.intern(new byte[] {3});
+        assertEquals(2, interner.size());
+        // starts over once full
+        interner.intern(new byte[] {4});
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void testCompactHex() {
+        for (String quantity : new String[] {"0x0", "0x1", "0xf", "0x10", "0x123",
+                "0xfffffffffffffff"}) {
+            assertEquals(quantity, CompactHex.fromLong(CompactHex.toLong(quantity)));
+            assertEquals(quantity, CompactHex.fromMagnitude(CompactHex.toMagnitude(quantity)));
+        }
+        assertEquals(CompactHex.ABSENT, CompactHex.toLong("0x1000000000000000"));
+        assertEquals(
+                "0x1000000000000000",
+                CompactHex.fromMagnitude(CompactHex.toMagnitude("0x1000000000000000")));
+
+        for (String quantity : new String[] {null, "", "0x", "0x01", "0xA", "1", "0x1g"}) {
+            assertEquals(CompactHex.ABSENT, CompactHex.toLong(quantity));
+            assertNull(CompactHex.toMagnitude(quantity));
+        }
+
+        assertEquals("0x", CompactHex.toHex(CompactHex.toBytes("0x")));
+        assertEquals("0x00ff", CompactHex.toHex(CompactHex.toBytes("0x00ff")));
+        for (String data : new String[] {null, "", "0x0", "0xFF", "00ff"}) {
+            assertNull(CompactHex.toBytes(data));
+        }
+    }
+
+    private <T> T assertSameAsDefault(String json, Class<T> type) throws IOException {
+        T compact = compactObjectMapper.readValue(json, type);
+        T expected = objectMapper.readValue(json, type);
+
+        assertEquals(expected, compact);
+        assertEquals(compact, expected);
+        assertEquals(expected.hashCode(), compact.hashCode());
+        assertTrue(
+                compact instanceof CompactTransaction || compact instanceof CompactLog);
+        return compact;
+    }
+}
@@ -0,0 +1,200 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the streaming deserializers bind exactly what bean introspection binds.
+ */
+public class ObjectFieldDeserializerTest {
+
+    private static final String TRANSACTION = "{"
+            + "\"hash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\","
+            + "\"nonce\":\"0x15\","
+            + "\"blockHash\":\"0x4e3a3754410177e6937ef1f84bba68ea139e8d1a2258c5f85db9f1cd715a1bdd\","
+            + "\"blockNumber\":\"0xb443\","
+            + "\"transactionIndex\":\"0x1\","
+            + "\"from\":\"0xa7d9ddbe1f17865597fbd27ec712455208b6b76d\","
+            + "\"to\":null,"
+            + "\"value\":\"0xf3dbb76162000\","
+            + "\"gas\":\"0x5208\","
+            + "\"gasPrice\":\"0x09184e72a000\","
+            + "\"input\":\"0x603880600c6000396000f300603880600c6000396000f3603880600c6000396000f360\","
+            + "\"creates\":\"0x5a2d8b2ebd8d8d7a3ba7b0ac1a2a7fe7e5e3bb2a\","
+            + "\"publicKey\":\"0x6614d7d7bfe989295821985de0439e868b26ff05f98ae0da0ce5bccc24ea368a\","
+            + "\"raw\":\"0xf8cd83103a048504a817c800830e57e0945927c5cc723c4486f93bf90bad3be8\","
+            + "\"r\":\"0xf115cc4d7516dd430046504e1c888198e0323e8ded016d755f89c226ba3481dc\","
+            + "\"s\":\"0x4a2ae8ee49f1100b5c0202b37ed8bacf4caeddebde6b7f77e12e7a55893e9f62\","
+            + "\"v\":%s,"
+            + "\"chainId\":\"0x1\","
+            + "\"accessList\":[{\"address\":\"0x0\",\"storageKeys\":[\"0x1\",\"0x2\"]}]"
+            + "}";
+
+    private static final String LOG = "{"
+            + "\"removed\":%s,"
+            + "\"logIndex\":\"0x1\","
+            + "\"transactionIndex\":\"0x0\","
+            + "\"transactionHash\":"
+            + "\"0xdf829c5a142f1fccd7d8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcf\","
+            + "\"blockHash\":\"0x8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+            + "\"blockNumber\":27,"
+            + "\"address\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+            + "\"data\":\"0x0000000000000000000000000000000000000000000000000000000000000000\","
+            + "\"type\":\"mined\","
+            + "\"topics\":[\"0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5\","
+            + "null]"
+            + "}";
+
+    private static final String RECEIPT = "{"
+            + "\"transactionHash\":"
+            + "\"0xb903239f8543d04b5dc1ba6579132b143087c68db1b2168786408fcbce568238\","
+            + "\"transactionIndex\":\"0x1\","
+            + "\"blockHash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\","
+            + "\"blockNumber\":\"0xb\","
+            + "\"cumulativeGasUsed\":\"0x33bc\","
+            + "\"gasUsed\":\"0x4dc\","
+            + "\"contractAddress\":\"0xb60e8dd61c5d32be8058bb8eb970870f07233155\","
+            + "\"status\":\"0x1\","
+            + "\"from\":\"0x407d73d8a49eeb85d32cf465507dd71d507100c1\","
+            + "\"to\":\"0x85h43d8a49eeb85d32cf465507dd71d507100c1\","
+            + "\"logs\":[" + String.format(LOG, "false") + ",null],"
+            + "\"logsBloom\":\"0x00...0\","
+            + "\"effectiveGasPrice\":\"0x1\""
+            + "}";
+
+    private static final String BLOCK = "{"
+            + "\"number\":\"0x1b4\","
+            + "\"hash\":\"0xdc0818cf78f21a8e70579cb46a43643f78291264dda342ae31049421c82d21ae\","
+            + "\"parentHash\":\"0xe99e022112df268087ea7eafaf4790497fd21dbeeb6bd7a1721df161a6657a54\","
+            + "\"nonce\":\"0x689056015818adbe\","
+            + "\"sha3Uncles\":\"0x1dcc4de8dec75d7aab85b567b6ccd41ad312451b948a7413f0a142fd40d49347\","
+            + "\"logsBloom\":\"0x00000000000000000000000000000000000000000000000000000000000000\","
+            + "\"transactionsRoot\":"
+            + "\"0x56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421\","
+            + "\"stateRoot\":\"0xddc8b0234c2e0cad087c8b389aa7ef01f7d79b2570bccb77ce48648aa61c904d\","
+            + "\"receiptsRoot\":\"0x56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421\","
+            + "\"author\":\"0x1a95ad5ccdb0677af951810c6ddf4935afe4e5a6\","
+            + "\"miner\":\"0xbb7b8287f3f0a933474a79eae42cbca977791171\","
+            + "\"mixHash\":\"0x1a95ad5ccdb0677af951810c6ddf4935afe4e5a6\","
+            + "\"difficulty\":\"0x4ea3f27bc\","
+            + "\"totalDifficulty\":\"0x78ed983323d\","
+            + "\"extraData\":\"0x476574682f4c5649562f76312e302e302f6c696e75782f676f312e342e32\","
+            + "\"size\":\"0x220\","
+            + "\"gasLimit\":\"0x1388\","
+            + "\"gasUsed\":\"0x0\","
+            + "\"timestamp\":\"0x55ba467c\","
+            + "\"baseFeePerGas\":\"0x7\","
+            + "\"withdrawals\":[{\"index\":\"0x0\",\"amount\":\"0x1\"}],"
+            + "\"transactions\":%s,"
+            + "\"uncles\":[\"0xdc0818cf78f21a8e70579cb46a43643f78291264dda342ae31049421c82d21ae\"],"
+            + "\"sealFields\":[\"0xad3228b676f7d3cd4284a5443f17f1962b36e491b30a40b2405849e597ba5fb5\","
+            + "\"0x39ce7e1f5f7e1f6f\"]"
+            + "}";
+
+    private final ObjectMapper streamingMapper = ObjectMapperFactory.getObjectMapper();
+    private final ObjectMapper beanMapper = new ObjectMapper()
+            .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    public void testTransaction() throws IOException {
+        assertSameAsBean(String.format(TRANSACTION, "\"0x25\""), Transaction.class);
+        assertSameAsBean(String.format(TRANSACTION, "27"), Transaction.class);
+        assertSameAsBean(String.format(TRANSACTION, "4294967330"), Transaction.class);
+        assertSameAsBean(String.format(TRANSACTION, "\"0x25\""), EthBlock.TransactionObject.class);
+        assertSameAsBean("{}", Transaction.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testTransactionWithNullV() throws IOException {
+        streamingMapper.readValue(String.format(TRANSACTION, "null"), Transaction.class);
+    }
+
+    @Test
+    public void testLog() throws IOException {
+        assertSameAsBean(String.format(LOG, "true"), Log.class);
+        assertSameAsBean(String.format(LOG, "false"), EthLog.LogObject.class);
+        assertSameAsBean(String.format(LOG, "null"), Log.class);
+        assertSameAsBean(String.format(LOG, "\"true\""), Log.class);
+    }
+
+    @Test
+    public void testTransactionReceipt() throws IOException {
+        assertSameAsBean(RECEIPT, TransactionReceipt.class);
+        assertSameAsBean("{\"logs\":null,\"root\":\"0x1\"}", TransactionReceipt.class);
+    }
+
+    @Test
+    public void testBlock() throws IOException {
+        String fullTransactions = "["
+                + String.format(TRANSACTION, "\"0x25\"") + ","
+                + String.format(TRANSACTION, "28")
+                + "]";
+        String transactionHashes = "["
+                + "\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\","
+                + "\"0xb903239f8543d04b5dc1ba6579132b143087c68db1b2168786408fcbce568238\""
+                + "]";
+
+        assertSameAsBean(String.format(BLOCK, fullTransactions), EthBlock.Block.class);
+        assertSameAsBean(String.format(BLOCK, transactionHashes), EthBlock.Block.class);
+        assertSameAsBean(String.format(BLOCK, "[]"), EthBlock.Block.class);
+        assertSameAsBean(String.format(BLOCK, "null"), EthBlock.Block.class);
+    }
+
+    @Test
+    public void testBlockResponse() throws IOException {
+        String response = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":"
+                + String.format(BLOCK, "[" + String.format(TRANSACTION, "\"0x25\"") + "]")
+                + "}";
+
+        EthBlock streamed = streamingMapper.readValue(response, EthBlock.class);
+        EthBlock bean = beanMapper.readValue(response, EthBlock.class);
+        assertEquals(bean.getBlock(), streamed.getBlock());
+        assertEquals(
+                EthBlock.TransactionObject.class,
+                streamed.getBlock().getTransactions().get(0).getClass());
+
+        assertNull(streamingMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":null}", EthBlock.class).getBlock());
+    }
+
+    @Test
+    public void testLogResponse() throws IOException {
+        String response = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":["
+                + String.format(LOG, "false") + "," + String.format(LOG, "true") + "]}";
+
+        List<EthLog.LogResult> streamed =
+                streamingMapper.readValue(response, EthLog.class).getLogs();
+        assertEquals(beanMapper.readValue(response, EthLog.class).getLogs(), streamed);
+        assertEquals(EthLog.LogObject.class, streamed.get(0).getClass());
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testRejectArrayForObject() throws IOException {
+        streamingMapper.readValue("[]", Transaction.class);
+    }
+
+    private <T> void assertSameAsBean(String json, Class<T> type) throws IOException {
+        T streamed = streamingMapper.readValue(json, type);
+        T bean = beanMapper.readValue(json, type);
+
+        assertEquals(bean, streamed);
+        assertEquals(bean.getClass(), streamed.getClass());
+    }
+}
@@ -0,0 +1,211 @@
+package org.web3j.protocol.deserializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.FieldProjection;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
+import org.web3j.protocol.exceptions.ResponseTooLargeException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultIteratorTest {
+
+    private static final String LOG = "{"
+            + "\"removed\":false,"
+            + "\"logIndex\":\"0x%x\","
+            + "\"transactionIndex\":\"0x0\","
+            + "\"transactionHash\":"
+            + "\"0xdf829c5a142f1fccd7d8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcf\","
+            + "\"blockHash\":"
+            + "\"0x8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+            + "\"blockNumber\":\"0x1b4\","
+            + "\"address\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+            + "\"data\":\"0x0000000000000000000000000000000000000000000000000000000000000000\","
+            + "\"topics\":[\"0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5\"]"
+            + "}";
+
+    private final ObjectReader logReader =
+            ObjectMapperFactory.getObjectMapper().readerFor(Log.class);
+
+    @Test
+    public void testReadElements() throws IOException {
+        String reply = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + logs(3) + "]}";
+
+        List<Log> logs = new ArrayList<>();
+        try (ResultIterator<Log> iterator = new ResultIterator<>(logReader, stream(reply))) {
+            iterator.forEachRemaining(logs::add);
+            assertEquals(reply.length(), iterator.getBytesRead());
+        }
+
+        assertEquals(3, logs.size());
+        for (int i = 0; i < logs.size(); i++) {
+            assertEquals(BigInteger.valueOf(i), logs.get(i).getLogIndex());
+        }
+    }
+
+    @Test
+    public void testReadLazily() throws IOException {
+        String reply = "{\"id\":1,\"result\":[" + logs(1) + ",{\"logIndex\":[\"invalid\"]}]}";
+
+        ResultIterator<Log> iterator = new ResultIterator<>(logReader, stream(reply));
+        assertEquals(BigInteger.ZERO, iterator.readNext().getLogIndex());
+        try {
+            iterator.readNext();
+            fail();
+        } catch (JsonMappingException e) {
+            // read only once requested
+        }
+    }
+
+    @Test
+    public void testFinishedWithLastElement() throws IOException {
+        String reply = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + logs(2) + ",null]}";
+
+        ResultIterator<Log> iterator = new ResultIterator<>(logReader, stream(reply));
+        iterator.readNext();
+        assertFalse(iterator.isFinished());
+        iterator.readNext();
+        assertTrue(iterator.isFinished());
+        assertNull(iterator.readNext());
+    }
+
+    @Test
+    public void testEmptyResults() throws IOException {
+        for (String reply : new String[] {
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[]}",
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":null}",
+                "{\"jsonrpc\":\"2.0\",\"id\":1}",
+                "",
+                "{\"result\":[null,null]}"}) {
+            ResultIterator<Log> iterator = new ResultIterator<>(logReader, stream(reply));
+            assertFalse(iterator.hasNext());
+            assertNull(iterator.readNext());
+        }
+    }
+
+    @Test
+    public void testResultAfterOtherFields() throws IOException {
+        String reply = "{\"id\":1,\"extra\":{\"result\":[1]},\"result\":[" + logs(2) + "],"
+                + "\"jsonrpc\":\"2.0\"}";
+
+        ResultIterator<Log> iterator = new ResultIterator<>(logReader, stream(reply));
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testErrorReply() throws IOException {
+        String reply = "{\"jsonrpc\":\"2.0\",\"id\":1,"
+                + "\"error\":{\"code\":-32005,\"message\":\"query returned more than 10000 "
+                + "results\"}}";
+
+        ResultIterator<Log> iterator = new ResultIterator<>(logReader, stream(reply));
+        try {
+            iterator.readNext();
+            fail();
+        } catch (JsonRpcErrorException e) {
+            assertEquals(-32005, e.getError().getCode());
+            assertEquals("query returned more than 10000 results", e.getError().getMessage());
+        }
+
+        try {
+            new ResultIterator<>(logReader, stream(reply)).hasNext();
+            fail();
+        } catch (UncheckedIOException e) {
+            assertTrue(e.getCause() instanceof JsonRpcErrorException);
+        }
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testRejectNonArrayResult() throws IOException {
+        new ResultIterator<>(logReader, stream("{\"id\":1,\"result\":\"0x1\"}")).readNext();
+    }
+
+    @Test
+    public void testMaxResponseSize() throws IOException {
+        String reply = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + logs(1000) + "]}";
+        CountingStream inputStream = new CountingStream(reply);
+
+        ResultIterator<Log> iterator = new ResultIterator<>(logReader, inputStream, 10_000);
+        int read = 0;
+        try {
+            while (iterator.readNext() != null) {
+                read++;
+            }
+            fail();
+        } catch (ResponseTooLargeException e) {
+            // aborted early on, rather than once read
+            assertTrue(read < 100);
+            assertTrue(inputStream.read < reply.length() / 10);
+        }
+
+        iterator.close();
+        assertTrue(inputStream.closed);
+    }
+
+    @Test
+    public void testProjection() throws IOException {
+        String reply = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[" + logs(2) + "]}";
+        ObjectReader reader = FieldProjection.readerFor(
+                ObjectMapperFactory.getObjectMapper(), Log.class,
+                FieldProjection.all().withLogFields("logIndex"));
+
+        ResultIterator<Log> iterator = new ResultIterator<>(reader, stream(reply));
+        iterator.next();
+        Log log = iterator.next();
+        assertEquals(BigInteger.ONE, log.getLogIndex());
+        assertNull(log.getAddress());
+    }
+
+    private static String logs(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "").append(String.format(LOG, i));
+        }
+        return builder.toString();
+    }
+
+    private static InputStream stream(String reply) {
+        return new ByteArrayInputStream(reply.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class CountingStream extends ByteArrayInputStream {
+        private int read;
+        private boolean closed;
+
+        CountingStream(String reply) {
+            super(reply.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            int count = super.read(buffer, offset, length);
+            read += Math.max(count, 0);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.web3j.protocol.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CircuitBreakerTest {
+
+    private AtomicLong now;
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1000);
+        circuitBreaker = new CircuitBreaker(2, 10, TimeUnit.NANOSECONDS, now::get);
+    }
+
+    @Test
+    public void testOpenAfterConsecutiveFailures() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.Permit.REJECTED, circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.getRejectedCount());
+        assertEquals(1, circuitBreaker.getOpenCount());
+    }
+
+    @Test
+    public void testCloseAfterSuccessfulTrial() {
+        open();
+
+        now.addAndGet(10);
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        // only a single trial at a time
+        assertEquals(CircuitBreaker.Permit.REJECTED, circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.Permit.GRANTED, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testReopenAfterFailedTrial() {
+        open();
+
+        now.addAndGet(10);
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.Permit.REJECTED, circuitBreaker.tryAcquire());
+        now.addAndGet(10);
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+        assertEquals(2, circuitBreaker.getOpenCount());
+    }
+
+    @Test
+    public void testReleaseUnsentTrial() {
+        open();
+
+        now.addAndGet(10);
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+        circuitBreaker.release(CircuitBreaker.Permit.TRIAL);
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testKeepTrialWhenReleasingOtherRequest() {
+        CircuitBreaker.Permit sentWhileClosed = circuitBreaker.tryAcquire();
+        open();
+
+        now.addAndGet(10);
+        assertEquals(CircuitBreaker.Permit.TRIAL, circuitBreaker.tryAcquire());
+        circuitBreaker.release(sentWhileClosed);
+
+        assertEquals(CircuitBreaker.Permit.REJECTED, circuitBreaker.tryAcquire());
+    }
+
+    private void open() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+    }
+}
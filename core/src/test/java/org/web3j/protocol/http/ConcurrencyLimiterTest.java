@@ -0,0 +1,102 @@
+package org.web3j.protocol.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.web3j.protocol.http.ConcurrencyLimiter.MIN_WINDOW_SIZE;
+
+public class ConcurrencyLimiterTest {
+
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testRejectAtLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, 2.0, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testIncreaseLimitOncePerWindowWhileBusy() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 100, 2.0, 0.5);
+
+        complete(limiter, MIN_WINDOW_SIZE - 1, true, i -> LATENCY);
+        assertEquals(4, limiter.getLimit());
+        assertEquals(-1, limiter.getBaselineLatency(TimeUnit.MILLISECONDS));
+
+        complete(limiter, 1, true, i -> LATENCY);
+        assertEquals(6, limiter.getLimit());
+        assertEquals(10, limiter.getBaselineLatency(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNotIncreaseLimitWhileIdle() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 10, 2.0, 0.5);
+
+        complete(limiter, MIN_WINDOW_SIZE, false, i -> LATENCY);
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void testDecreaseLimitOncePerWindowWhenSlow() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 1, 10, 2.0, 0.5);
+
+        complete(limiter, MIN_WINDOW_SIZE, false, i -> LATENCY);
+        complete(limiter, MIN_WINDOW_SIZE, false, i -> 3 * LATENCY);
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void testKeepLimitUnderMixOfFastAndSlowMethods() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, 2.0, 0.5);
+
+        // one in five requests is a hundred times slower than the others
+        complete(limiter, 50 * MIN_WINDOW_SIZE, true, i -> i % 5 == 0 ? 100 * LATENCY : LATENCY);
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    public void testDecreaseLimitOnFailureDownToMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 2, 10, 2.0, 0.5);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.onFailure(LATENCY);
+            complete(limiter, MIN_WINDOW_SIZE - 1, false, j -> LATENCY);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    /**
+     * Complete requests one at a time, keeping the limiter full while busy, or holding a single
+     * request at a time otherwise.
+     */
+    private static void complete(
+            ConcurrencyLimiter limiter, int count, boolean busy, IntToLongFunction latency) {
+        for (int i = 0; i < count; i++) {
+            int inFlight = busy ? limiter.getLimit() : 1;
+            while (limiter.getInFlight() < inFlight && limiter.tryAcquire()) {
+                // fill up to the target
+            }
+            limiter.onSuccess(latency.applyAsLong(i));
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release();
+        }
+    }
+}
@@ -1,26 +1,49 @@
 package org.web3j.protocol.http;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import io.reactivex.subscribers.TestSubscriber;
 import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.junit.Assert;
 import org.junit.Test;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.exceptions.RequestRejectedException;
+import org.web3j.protocol.exceptions.ResponseTooLargeException;
+import org.web3j.protocol.metrics.RequestEvent;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class HttpServiceTest {
@@ -94,6 +117,378 @@ public class HttpServiceTest {
         Assert.fail("No exception");
     }
 
+    @Test
+    public void testSendWritesRequestBody() throws IOException {
+        OkHttpClient httpClient =
+                mockHttpClient("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}");
+        HttpService mockedHttpService = new HttpService(httpClient);
+
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+        request.setId(1);
+        request.send();
+
+        ArgumentCaptor<okhttp3.Request> httpRequest =
+                ArgumentCaptor.forClass(okhttp3.Request.class);
+        Mockito.verify(httpClient).newCall(httpRequest.capture());
+        RequestBody requestBody = httpRequest.getValue().body();
+
+        String expected = "{\"jsonrpc\":\"2.0\",\"method\":\"eth_blockNumber\","
+                + "\"params\":[],\"id\":1}";
+        assertEquals(expected.length(), requestBody.contentLength());
+        assertEquals(HttpService.JSON_MEDIA_TYPE, requestBody.contentType());
+
+        // the body can be written more than once, e.g. when retried
+        for (int i = 0; i < 2; i++) {
+            Buffer buffer = new Buffer();
+            requestBody.writeTo(buffer);
+            assertEquals(expected, buffer.readUtf8());
+        }
+    }
+
+    @Test
+    public void testSendAsync() throws Exception {
+        HttpService mockedHttpService = new HttpService(mockAsyncHttpClient(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}"));
+
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+
+        EthBlockNumber ethBlockNumber = request.sendAsync().get();
+        assertEquals(1207, ethBlockNumber.getBlockNumber().intValue());
+    }
+
+    @Test
+    public void testSendAsyncHttpError() throws Exception {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Call call = Mockito.mock(Call.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        Mockito.doAnswer(invocation -> {
+            invocation.getArgumentAt(0, Callback.class)
+                    .onFailure(call, new IOException("Connection refused"));
+            return null;
+        }).when(call).enqueue(Mockito.any());
+
+        HttpService mockedHttpService = new HttpService(httpClient);
+        CompletableFuture<EthBlockNumber> result = mockedHttpService.sendAsync(
+                new Request<>("eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                        EthBlockNumber.class),
+                EthBlockNumber.class);
+
+        try {
+            result.get();
+            Assert.fail("No exception");
+        } catch (ExecutionException e) {
+            assertEquals("Connection refused", e.getCause().getMessage());
+        }
+        Mockito.verify(call, Mockito.never()).execute();
+    }
+
+    @Test
+    public void testCancelSendAsync() {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Call call = Mockito.mock(Call.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.sendAsync(
+                new Request<>("eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                        EthBlockNumber.class),
+                EthBlockNumber.class).cancel(true);
+
+        Mockito.verify(call).cancel();
+    }
+
+    @Test
+    public void testSendBatchAsync() throws Exception {
+        HttpService mockedHttpService = new HttpService(mockAsyncHttpClient(
+                "[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}]"));
+
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+        request.setId(1);
+
+        BatchResponse batchResponse = new BatchRequest(mockedHttpService)
+                .add(request)
+                .sendAsync()
+                .get();
+        assertEquals(1207, batchResponse.getResponse(request).getBlockNumber().intValue());
+    }
+
+    @Test
+    public void testSendBatch() throws IOException {
+        HttpService mockedHttpService = new HttpService(mockHttpClient(
+                "[{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x1\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}]"));
+
+        Request<String, EthBlockNumber> blockNumber = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+        blockNumber.setId(1);
+        Request<String, EthGasPrice> gasPrice = new Request<>(
+                "eth_gasPrice", Collections.emptyList(), mockedHttpService,
+                EthGasPrice.class);
+        gasPrice.setId(2);
+
+        BatchResponse batchResponse = new BatchRequest(mockedHttpService)
+                .add(blockNumber)
+                .add(gasPrice)
+                .send();
+
+        assertEquals(2, batchResponse.getResponses().size());
+        assertEquals(1207, batchResponse.getResponse(blockNumber).getBlockNumber().intValue());
+        assertEquals(1, batchResponse.getResponse(gasPrice).getGasPrice().intValue());
+    }
+
+    @Test
+    public void testSendBatchWithPartialFailure() throws IOException {
+        HttpService mockedHttpService = new HttpService(mockHttpClient(
+                "[{\"jsonrpc\":\"2.0\",\"id\":1,"
+                        + "\"error\":{\"code\":-32601,\"message\":\"Method not found\"}}]"));
+
+        Request<String, EthBlockNumber> failed = new Request<>(
+                "eth_blockNumber1", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+        failed.setId(1);
+        Request<String, EthGasPrice> missing = new Request<>(
+                "eth_gasPrice", Collections.emptyList(), mockedHttpService,
+                EthGasPrice.class);
+        missing.setId(2);
+
+        BatchResponse batchResponse = new BatchRequest(mockedHttpService)
+                .add(failed)
+                .add(missing)
+                .send();
+
+        EthBlockNumber failedResponse = batchResponse.getResponse(failed);
+        assertTrue(failedResponse.hasError());
+        assertEquals("Method not found", failedResponse.getError().getMessage());
+
+        EthGasPrice missingResponse = batchResponse.getResponse(missing);
+        assertTrue(missingResponse.hasError());
+        assertEquals(2, missingResponse.getId());
+        assertEquals(
+                "No reply received for request with id 2",
+                missingResponse.getError().getMessage());
+    }
+
+    @Test
+    public void testSendBatchRejectedAsAWhole() throws IOException {
+        HttpService mockedHttpService = new HttpService(mockHttpClient(
+                "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                        + "\"error\":{\"code\":-32600,\"message\":\"batch too large\"}}"));
+
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+
+        BatchResponse batchResponse = new BatchRequest(mockedHttpService)
+                .add(request)
+                .send();
+
+        EthBlockNumber response = batchResponse.getResponse(request);
+        assertTrue(response.hasError());
+        assertEquals("batch too large", response.getError().getMessage());
+    }
+
+    @Test
+    public void testSendEmptyBatch() throws IOException {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        BatchResponse batchResponse = new BatchRequest(new HttpService(httpClient)).send();
+
+        assertTrue(batchResponse.getResponses().isEmpty());
+        Mockito.verifyZeroInteractions(httpClient);
+    }
+
+    @Test
+    public void testRejectWhenCircuitBreakerIsOpen() throws Exception {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Call call = Mockito.mock(Call.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        Mockito.when(call.execute()).thenThrow(new IOException("Connection refused"));
+
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setCircuitBreaker(new CircuitBreaker(2, 1, TimeUnit.MINUTES));
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                mockedHttpService.send(request, EthBlockNumber.class);
+                Assert.fail("No exception");
+            } catch (RequestRejectedException e) {
+                assertEquals(2, i);
+            } catch (IOException e) {
+                assertEquals("Connection refused", e.getMessage());
+            }
+        }
+
+        Mockito.verify(httpClient, Mockito.times(2)).newCall(Mockito.any());
+        assertEquals(CircuitBreaker.State.OPEN,
+                mockedHttpService.getCircuitBreaker().getState());
+        assertEquals(1, mockedHttpService.getCircuitBreaker().getRejectedCount());
+    }
+
+    @Test
+    public void testCircuitBreakerIgnoresClientErrors() throws Exception {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    Call call = Mockito.mock(Call.class);
+                    Mockito.when(call.execute()).thenReturn(new Response.Builder()
+                            .code(413)
+                            .message("")
+                            .body(ResponseBody.create(null, "Request Entity Too Large"))
+                            .request(invocation.getArgumentAt(0, okhttp3.Request.class))
+                            .protocol(Protocol.HTTP_1_1)
+                            .build());
+                    return call;
+                });
+
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setCircuitBreaker(new CircuitBreaker(2, 1, TimeUnit.MINUTES));
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                mockedHttpService.send(request, EthBlockNumber.class);
+                Assert.fail("No exception");
+            } catch (ClientConnectionException e) {
+                assertEquals(413, e.getStatusCode());
+            }
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED,
+                mockedHttpService.getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void testRejectAsyncAtConcurrencyLimit() throws Exception {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> Mockito.mock(Call.class));
+
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setConcurrencyLimiter(new ConcurrencyLimiter(2, 1, 10, 2.0, 0.5));
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+
+        CompletableFuture<EthBlockNumber> first = request.sendAsync();
+        CompletableFuture<EthBlockNumber> second = request.sendAsync();
+        CompletableFuture<EthBlockNumber> third = request.sendAsync();
+
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        try {
+            third.get();
+            Assert.fail("No exception");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RequestRejectedException);
+        }
+        assertEquals(2, mockedHttpService.getConcurrencyLimiter().getInFlight());
+        assertEquals(1, mockedHttpService.getConcurrencyLimiter().getRejectedCount());
+    }
+
+    @Test
+    public void testQueueAsyncAtRateLimit() throws Exception {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> Mockito.mock(Call.class));
+        ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(new RateLimiter(
+                1, 1, 1500, TimeUnit.MILLISECONDS, executor, System::nanoTime));
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), mockedHttpService,
+                EthBlockNumber.class);
+
+        request.sendAsync();
+        request.sendAsync();
+        CompletableFuture<EthBlockNumber> rejected = request.sendAsync();
+
+        ArgumentCaptor<Runnable> queued = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(executor).schedule(
+                queued.capture(), Mockito.anyLong(), Mockito.eq(TimeUnit.NANOSECONDS));
+        Mockito.verify(httpClient, Mockito.times(1)).newCall(Mockito.any());
+        try {
+            rejected.get();
+            Assert.fail("No exception");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RequestRejectedException);
+        }
+
+        queued.getValue().run();
+        Mockito.verify(httpClient, Mockito.times(2)).newCall(Mockito.any());
+    }
+
+    @Test
+    public void testReportRequestsToListeners() throws Exception {
+        String content = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}";
+        HttpService syncService = new HttpService(mockHttpClient(content));
+        HttpService asyncService = new HttpService(mockAsyncHttpClient(content));
+        List<RequestEvent> events = new CopyOnWriteArrayList<>();
+        syncService.addRequestListener(events::add);
+        asyncService.addRequestListener(events::add);
+
+        new Request<>("eth_blockNumber", Collections.emptyList(), syncService,
+                EthBlockNumber.class).send();
+        new Request<>("eth_blockNumber", Collections.emptyList(), asyncService,
+                EthBlockNumber.class).sendAsync().get();
+
+        assertEquals(2, events.size());
+        for (RequestEvent event : events) {
+            assertEquals("eth_blockNumber", event.getMethod());
+            assertEquals(RequestEvent.Outcome.SUCCESS, event.getOutcome());
+            assertTrue(event.getRequestSize() > 0);
+            assertEquals(content.length(), event.getResponseSize());
+        }
+    }
+
+    @Test
+    public void testStreamResult() {
+        String content = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":["
+                + "{\"logIndex\":\"0x0\"},{\"logIndex\":\"0x1\"},{\"logIndex\":\"0x2\"}]}";
+        HttpService mockedHttpService = new HttpService(mockHttpClient(content));
+        List<RequestEvent> events = new CopyOnWriteArrayList<>();
+        mockedHttpService.addRequestListener(events::add);
+        Request<?, EthLog> request = new Request<>(
+                "eth_getLogs", Collections.emptyList(), mockedHttpService, EthLog.class);
+
+        TestSubscriber<Log> subscriber =
+                mockedHttpService.streamResult(request, Log.class, -1).test(1);
+        subscriber.assertValueCount(1);
+        assertTrue(events.isEmpty());
+
+        subscriber.requestMore(2);
+        subscriber.assertValueCount(3);
+        subscriber.assertComplete();
+        assertEquals(BigInteger.valueOf(2), subscriber.values().get(2).getLogIndex());
+
+        assertEquals(1, events.size());
+        assertEquals(RequestEvent.Outcome.SUCCESS, events.get(0).getOutcome());
+        assertEquals(content.length(), events.get(0).getResponseSize());
+    }
+
+    @Test
+    public void testStreamResultTooLarge() {
+        String content = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":["
+                + "{\"logIndex\":\"0x0\"},{\"logIndex\":\"0x1\"},{\"logIndex\":\"0x2\"}]}";
+        HttpService mockedHttpService = new HttpService(mockHttpClient(content));
+        Request<?, EthLog> request = new Request<>(
+                "eth_getLogs", Collections.emptyList(), mockedHttpService, EthLog.class);
+
+        mockedHttpService.streamResult(request, Log.class, 16).test()
+                .assertError(ResponseTooLargeException.class);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void subscriptionNotSupported() {
         Request<Object, EthSubscribe> subscribeRequest = new Request<>(
@@ -109,4 +504,43 @@ public class HttpServiceTest {
         );
     }
     
+    private static OkHttpClient mockAsyncHttpClient(String content) {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    okhttp3.Request httpRequest =
+                            invocation.getArgumentAt(0, okhttp3.Request.class);
+                    Call call = Mockito.mock(Call.class);
+                    Mockito.doAnswer(enqueued -> {
+                        enqueued.getArgumentAt(0, Callback.class).onResponse(
+                                call, buildResponse(httpRequest, content));
+                        return null;
+                    }).when(call).enqueue(Mockito.any());
+                    return call;
+                });
+        return httpClient;
+    }
+
+    private static OkHttpClient mockHttpClient(String content) {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    okhttp3.Request httpRequest =
+                            invocation.getArgumentAt(0, okhttp3.Request.class);
+                    Call call = Mockito.mock(Call.class);
+                    Mockito.when(call.execute()).thenReturn(buildResponse(httpRequest, content));
+                    return call;
+                });
+        return httpClient;
+    }
+
+    private static Response buildResponse(okhttp3.Request httpRequest, String content) {
+        return new Response.Builder()
+                .code(200)
+                .message("")
+                .body(ResponseBody.create(MediaType.parse("application/json"), content))
+                .request(httpRequest)
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+    }
 }
@@ -0,0 +1,85 @@
+package org.web3j.protocol.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthLog;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong now;
+    private RateLimiter rateLimiter;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong();
+        // 10 permits per second, a burst of 2, and requests queued for up to half a second
+        rateLimiter = new RateLimiter(
+                10, 2, 500, TimeUnit.MILLISECONDS, null, now::get);
+    }
+
+    @Test
+    public void testBurst() {
+        assertEquals(0, rateLimiter.reserve(1));
+        assertEquals(0, rateLimiter.reserve(1));
+        assertEquals(SECOND / 10, rateLimiter.reserve(1));
+
+        assertEquals(1, rateLimiter.getQueuedCount());
+        assertEquals(100, rateLimiter.getTotalQueueDelay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testQueueBehindWaitingRequests() {
+        rateLimiter.reserve(2);
+
+        assertEquals(SECOND / 10, rateLimiter.reserve(1));
+        assertEquals(2 * SECOND / 10, rateLimiter.reserve(1));
+
+        now.addAndGet(2 * SECOND / 10);
+        assertEquals(SECOND / 10, rateLimiter.reserve(1));
+    }
+
+    @Test
+    public void testRefillUpToBurst() {
+        rateLimiter.reserve(2);
+
+        now.addAndGet(10 * SECOND);
+        assertEquals(0, rateLimiter.reserve(2));
+        assertEquals(SECOND / 10, rateLimiter.reserve(1));
+    }
+
+    @Test
+    public void testRejectWhenWaitTooLong() {
+        rateLimiter.reserve(2);
+
+        assertEquals(-1, rateLimiter.reserve(6));
+        assertEquals(1, rateLimiter.getRejectedCount());
+        // the rejected request took no permits
+        assertEquals(5 * SECOND / 10, rateLimiter.reserve(5));
+    }
+
+    @Test
+    public void testMethodCost() {
+        rateLimiter.setMethodCost("eth_getLogs", 5);
+
+        Request<?, EthBlockNumber> blockNumber = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), null, EthBlockNumber.class);
+        Request<?, EthLog> logs = new Request<>(
+                "eth_getLogs", Collections.emptyList(), null, EthLog.class);
+
+        assertEquals(1, rateLimiter.cost(blockNumber));
+        assertEquals(5, rateLimiter.cost(logs));
+        assertEquals(6, rateLimiter.cost(Arrays.asList(blockNumber, logs)));
+    }
+}
@@ -0,0 +1,64 @@
+package org.web3j.protocol.ipc;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class IpcFrameReaderTest {
+
+    @Test
+    public void testReadNewlineDelimitedFrames() throws IOException {
+        IpcFrameReader reader = reader(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}\n"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x2\"}\n", 8);
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}", read(reader));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x2\"}", read(reader));
+        assertNull(reader.readFrame());
+    }
+
+    @Test
+    public void testReadUndelimitedFrames() throws IOException {
+        IpcFrameReader reader = reader("{\"id\":1}[{\"id\":2},{\"id\":3}]", 5);
+
+        assertEquals("{\"id\":1}", read(reader));
+        assertEquals("[{\"id\":2},{\"id\":3}]", read(reader));
+        assertNull(reader.readFrame());
+    }
+
+    @Test
+    public void testIgnoreStructuralCharactersInStrings() throws IOException {
+        String message = "{\"result\":\"}]\\\"{[\",\"message\":\"é世\"}";
+        IpcFrameReader reader = reader(message + "\n", 3);
+
+        assertEquals(message, read(reader));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testFailOnTruncatedFrame() throws IOException {
+        reader("{\"id\":1", 4).readFrame();
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailOnUnframedContent() throws IOException {
+        reader("garbage", 4).readFrame();
+    }
+
+    private static IpcFrameReader reader(String content, int bufferSize) {
+        return new IpcFrameReader(
+                Channels.newChannel(
+                        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))),
+                bufferSize);
+    }
+
+    private static String read(IpcFrameReader reader) throws IOException {
+        return new String(reader.readFrame(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,13 +1,18 @@
 package org.web3j.protocol.ipc;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.NetVersion;
 import org.web3j.protocol.core.methods.response.Web3ClientVersion;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,4 +43,35 @@ public class IpcServiceTest {
 
         verify(ioFacade).write("{\"jsonrpc\":\"2.0\",\"method\":null,\"params\":null,\"id\":0}");
     }
+
+    @Test
+    public void testSendBatch() throws IOException {
+        when(ioFacade.read()).thenReturn(
+                "[{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"1\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":1,"
+                        + "\"result\":\"Geth/v1.5.4-stable-b70acf3c/darwin/go1.7.3\"}]\n");
+
+        Request<String, Web3ClientVersion> clientVersion = new Request<>(
+                "web3_clientVersion", Collections.emptyList(), ipcService,
+                Web3ClientVersion.class);
+        clientVersion.setId(1);
+        Request<String, NetVersion> netVersion = new Request<>(
+                "net_version", Collections.emptyList(), ipcService, NetVersion.class);
+        netVersion.setId(2);
+
+        BatchResponse batchResponse = new BatchRequest(ipcService)
+                .add(clientVersion)
+                .add(netVersion)
+                .send();
+
+        verify(ioFacade).write(
+                "[{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\","
+                        + "\"params\":[],\"id\":1},"
+                        + "{\"jsonrpc\":\"2.0\",\"method\":\"net_version\","
+                        + "\"params\":[],\"id\":2}]");
+        assertEquals(
+                "Geth/v1.5.4-stable-b70acf3c/darwin/go1.7.3",
+                batchResponse.getResponse(clientVersion).getWeb3ClientVersion());
+        assertEquals("1", batchResponse.getResponse(netVersion).getNetVersion());
+    }
 }
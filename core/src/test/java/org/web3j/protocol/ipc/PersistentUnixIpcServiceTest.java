@@ -0,0 +1,267 @@
+package org.web3j.protocol.ipc;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.disposables.Disposable;
+import jnr.unixsocket.UnixSocketChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.NetVersion;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.websocket.events.NewHeadsNotification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PersistentUnixIpcServiceTest {
+
+    private UnixSocketChannel node;
+    private IpcFrameReader nodeReader;
+    private PersistentUnixIpcService service;
+
+    @Before
+    public void setUp() throws IOException {
+        UnixSocketChannel[] channels = UnixSocketChannel.pair();
+        node = channels[1];
+        nodeReader = new IpcFrameReader(node);
+        service = new PersistentUnixIpcService(channels[0], false);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        service.close();
+        node.close();
+    }
+
+    @Test
+    public void testPipelineRequestsOverOneConnection() throws Exception {
+        final CompletableFuture<Web3ClientVersion> clientVersion =
+                service.sendAsync(request(1, "web3_clientVersion"), Web3ClientVersion.class);
+        final CompletableFuture<NetVersion> netVersion =
+                service.sendAsync(request(2, "net_version"), NetVersion.class);
+
+        assertEquals(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}",
+                readRequest());
+        assertEquals(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"net_version\",\"params\":[],\"id\":2}",
+                readRequest());
+
+        // replies may arrive in any order
+        reply("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"1\"}\n"
+                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"geth-version\"}\n");
+
+        assertEquals("1", netVersion.get(2, TimeUnit.SECONDS).getNetVersion());
+        assertEquals(
+                "geth-version",
+                clientVersion.get(2, TimeUnit.SECONDS).getWeb3ClientVersion());
+        assertFalse(service.isWaitingForReply(1));
+    }
+
+    @Test
+    public void testIncludeRawResponses() throws Exception {
+        UnixSocketChannel[] channels = UnixSocketChannel.pair();
+        PersistentUnixIpcService rawService = new PersistentUnixIpcService(channels[0], true);
+        try {
+            CompletableFuture<Web3ClientVersion> reply = rawService.sendAsync(
+                    request(1, "web3_clientVersion"), Web3ClientVersion.class);
+            new IpcFrameReader(channels[1]).readFrame();
+
+            String payload = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"geth-version\"}";
+            channels[1].write(ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(payload, reply.get(2, TimeUnit.SECONDS).getRawResponse());
+        } finally {
+            rawService.close();
+            channels[1].close();
+        }
+    }
+
+    @Test
+    public void testSendBatch() throws Exception {
+        Request<?, Web3ClientVersion> clientVersion = request(1, "web3_clientVersion");
+        Request<?, NetVersion> netVersion = new Request<>(
+                "net_version", Collections.<String>emptyList(), service, NetVersion.class);
+        netVersion.setId(2);
+
+        final CompletableFuture<BatchResponse> result = new BatchRequest(service)
+                .add(clientVersion)
+                .add(netVersion)
+                .sendAsync();
+        readRequest();
+        assertTrue(service.isWaitingForReply(2));
+
+        reply("[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"geth-version\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"1\"}]");
+
+        BatchResponse batchResponse = result.get(2, TimeUnit.SECONDS);
+        assertEquals(
+                "geth-version",
+                batchResponse.getResponse(clientVersion).getWeb3ClientVersion());
+        assertEquals("1", batchResponse.getResponse(netVersion).getNetVersion());
+    }
+
+    @Test
+    public void testReceiveErrorWithNullIdForOldestRequest() throws Exception {
+        CompletableFuture<Web3ClientVersion> clientVersion =
+                service.sendAsync(request(1, "web3_clientVersion"), Web3ClientVersion.class);
+        CompletableFuture<NetVersion> netVersion =
+                service.sendAsync(request(2, "net_version"), NetVersion.class);
+        readRequest();
+        readRequest();
+
+        reply("{\"jsonrpc\":\"2.0\",\"id\":null,"
+                + "\"error\":{\"code\":-32700,\"message\":\"parse error\"}}");
+
+        assertEquals(-32700, clientVersion.get(2, TimeUnit.SECONDS).getError().getCode());
+        assertFalse(netVersion.isDone());
+        assertFalse(service.isWaitingForReply(1));
+        assertTrue(service.isWaitingForReply(2));
+    }
+
+    @Test
+    public void testReceiveErrorWithNullIdForOldestBatch() throws Exception {
+        Request<?, Web3ClientVersion> clientVersion = request(1, "web3_clientVersion");
+        Request<?, NetVersion> netVersion = new Request<>(
+                "net_version", Collections.<String>emptyList(), service, NetVersion.class);
+        netVersion.setId(2);
+
+        CompletableFuture<BatchResponse> result = new BatchRequest(service)
+                .add(clientVersion)
+                .add(netVersion)
+                .sendAsync();
+        readRequest();
+
+        reply("{\"jsonrpc\":\"2.0\",\"id\":null,"
+                + "\"error\":{\"code\":-32600,\"message\":\"batch too large\"}}");
+
+        BatchResponse batchResponse = result.get(2, TimeUnit.SECONDS);
+        assertEquals(-32600, batchResponse.getResponse(netVersion).getError().getCode());
+        assertFalse(service.isWaitingForReply(2));
+    }
+
+    @Test
+    public void testSubscribeToNotifications() throws Exception {
+        CountDownLatch eventReceived = new CountDownLatch(1);
+        AtomicReference<NewHeadsNotification> notification = new AtomicReference<>();
+
+        new Thread(() -> {
+            try {
+                readRequest();
+                reply("{\"jsonrpc\":\"2.0\",\"id\":1,"
+                        + "\"result\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\"}\n"
+                        + "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":{"
+                        + "\"subscription\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\","
+                        + "\"result\":{\"difficulty\":\"0xd9263f42a87\",\"uncles\":[]}}}\n");
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }).start();
+
+        Request<Object, EthSubscribe> subscribeRequest = new Request<>(
+                "eth_subscribe",
+                Arrays.asList("newHeads", Collections.emptyMap()),
+                service,
+                EthSubscribe.class);
+        subscribeRequest.setId(1);
+
+        Disposable disposable = service.subscribe(
+                subscribeRequest, "eth_unsubscribe", NewHeadsNotification.class)
+                .subscribe(event -> {
+                    notification.set(event);
+                    eventReceived.countDown();
+                });
+
+        assertTrue(eventReceived.await(2, TimeUnit.SECONDS));
+        assertEquals(
+                "0xd9263f42a87",
+                notification.get().getParams().getResult().getDifficulty());
+
+        disposable.dispose();
+        assertTrue(readRequest().startsWith(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"eth_unsubscribe\","
+                        + "\"params\":[\"0xcd0c3e8af590364c09d0fa6a1210faf5\"]"));
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testFailOutstandingRequestsWhenConnectionIsClosed() throws Exception {
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request(1, "web3_clientVersion"), Web3ClientVersion.class);
+        readRequest();
+        node.close();
+
+        reply.get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testTimeOutRequestWithoutReply() throws Exception {
+        service.setRequestTimeout(100, TimeUnit.MILLISECONDS);
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request(1, "web3_clientVersion"), Web3ClientVersion.class);
+        readRequest();
+
+        try {
+            reply.get(2, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SocketTimeoutException);
+        }
+        assertFalse(service.isWaitingForReply(1));
+    }
+
+    @Test
+    public void testFailRequestsSentOnceConnectionIsClosed() throws Exception {
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request(1, "web3_clientVersion"), Web3ClientVersion.class);
+        readRequest();
+        node.close();
+        try {
+            reply.get(2, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        CompletableFuture<Web3ClientVersion> later =
+                service.sendAsync(request(2, "web3_clientVersion"), Web3ClientVersion.class);
+
+        assertTrue(later.isCompletedExceptionally());
+        assertFalse(service.isWaitingForReply(2));
+    }
+
+    private Request<?, Web3ClientVersion> request(long id, String method) {
+        Request<?, Web3ClientVersion> request = new Request<>(
+                method, Collections.<String>emptyList(), service, Web3ClientVersion.class);
+        request.setId(id);
+        return request;
+    }
+
+    private String readRequest() throws IOException {
+        return new String(nodeReader.readFrame(), StandardCharsets.UTF_8);
+    }
+
+    private void reply(String payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            node.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.web3j.protocol.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testValueIsWithinItsBucket() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueAt(index);
+            assertTrue(value <= highest);
+            // within the relative error of a sub-bucket
+            assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKET_COUNT);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.highestValueAt(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax(TimeUnit.MILLISECONDS));
+        assertEquals(50.5, histogram.getMean(TimeUnit.MILLISECONDS), 1e-9);
+        assertApproximately(50, histogram.getPercentile(0.5, TimeUnit.MICROSECONDS) / 1000.0);
+        assertApproximately(99, histogram.getPercentile(0.99, TimeUnit.MICROSECONDS) / 1000.0);
+        assertEquals(100, histogram.getPercentile(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5, TimeUnit.SECONDS);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax(TimeUnit.NANOSECONDS));
+        assertEquals(0, histogram.getPercentile(0.5, TimeUnit.NANOSECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getPercentile(0, TimeUnit.MILLISECONDS);
+    }
+
+    private static void assertApproximately(double expected, double actual) {
+        assertEquals(expected, actual, expected / LatencyHistogram.SUB_BUCKET_COUNT);
+    }
+}
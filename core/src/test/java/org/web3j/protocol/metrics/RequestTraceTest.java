@@ -0,0 +1,142 @@
+package org.web3j.protocol.metrics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.Test;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.exceptions.RequestRejectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTraceTest {
+
+    private final List<RequestEvent> events = new ArrayList<>();
+    private final RequestListener listener = events::add;
+
+    @Test
+    public void testNoTraceWithoutListeners() {
+        RequestTrace trace = RequestTrace.start(Collections.emptyList(), request(1));
+
+        assertSame(RequestTrace.NONE, trace);
+        trace.onCompleted(null, null);
+    }
+
+    @Test
+    public void testReportOnlyOnce() {
+        RequestTrace trace = RequestTrace.start(Collections.singletonList(listener), request(7));
+        trace.onSerialized(42);
+        trace.onReceived(10);
+        trace.onCompleted(new EthBlockNumber(), null);
+        trace.onCompleted(null, new IOException("late"));
+
+        assertEquals(1, events.size());
+        RequestEvent event = events.get(0);
+        assertEquals("eth_blockNumber", event.getMethod());
+        assertEquals(7, event.getRequestId());
+        assertEquals(42, event.getRequestSize());
+        assertEquals(10, event.getResponseSize());
+        assertEquals(RequestEvent.Outcome.SUCCESS, event.getOutcome());
+        assertTrue(event.isSuccess());
+        assertNull(event.getError());
+        assertEquals(
+                event.getTotalTime(TimeUnit.NANOSECONDS),
+                event.getSerializationTime(TimeUnit.NANOSECONDS)
+                        + event.getNetworkTime(TimeUnit.NANOSECONDS)
+                        + event.getDeserializationTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testTraceBatch() {
+        RequestTrace trace = RequestTrace.start(
+                Collections.singletonList(listener), Arrays.asList(request(3), request(4)));
+        trace.onCompleted(null, new CompletionException(new IOException("Connection reset")));
+
+        RequestEvent event = events.get(0);
+        assertEquals(RequestTrace.BATCH_METHOD, event.getMethod());
+        assertEquals(3, event.getRequestId());
+        assertEquals(RequestEvent.Outcome.TRANSPORT_ERROR, event.getOutcome());
+        assertEquals("Connection reset", event.getError().getMessage());
+    }
+
+    @Test
+    public void testFailingListenerDoesNotStopOthers() {
+        RequestListener failing = event -> {
+            throw new IllegalStateException();
+        };
+        RequestTrace trace = RequestTrace.start(Arrays.asList(failing, listener), request(1));
+        trace.onCompleted(new EthBlockNumber(), null);
+
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void testClassify() {
+        EthBlockNumber rpcError = new EthBlockNumber();
+        rpcError.setError(new Response.Error(-32000, "header not found"));
+
+        assertEquals(RequestEvent.Outcome.SUCCESS,
+                RequestTrace.classify(new EthBlockNumber(), null));
+        assertEquals(RequestEvent.Outcome.RPC_ERROR,
+                RequestTrace.classify(rpcError, null));
+        assertEquals(RequestEvent.Outcome.REJECTED,
+                RequestTrace.classify(null, new RequestRejectedException("Too busy")));
+        assertEquals(RequestEvent.Outcome.TIMEOUT,
+                RequestTrace.classify(null, new SocketTimeoutException()));
+        assertEquals(RequestEvent.Outcome.TIMEOUT,
+                RequestTrace.classify(null, new InterruptedIOException("timeout")));
+        assertEquals(RequestEvent.Outcome.DECODING_ERROR,
+                RequestTrace.classify(null, new JsonParseException(null, "Unexpected")));
+        assertEquals(RequestEvent.Outcome.TRANSPORT_ERROR,
+                RequestTrace.classify(null, new InterruptedIOException()));
+        assertEquals(RequestEvent.Outcome.CANCELLED,
+                RequestTrace.classify(null, new CancellationException()));
+        assertEquals(RequestEvent.Outcome.OTHER_ERROR,
+                RequestTrace.classify(null, new IllegalStateException()));
+    }
+
+    @Test
+    public void testRecordMetrics() {
+        RequestMetrics metrics = new RequestMetrics();
+        RequestTrace.start(Collections.singletonList(metrics), request(1))
+                .onCompleted(new EthBlockNumber(), null);
+        RequestTrace trace = RequestTrace.start(Collections.singletonList(metrics), request(2));
+        trace.onSerialized(50);
+        trace.onCompleted(null, new SocketTimeoutException());
+
+        RequestMetrics.MethodMetrics methodMetrics = metrics.getMethodMetrics("eth_blockNumber");
+        assertEquals(Collections.singleton("eth_blockNumber"), metrics.getMethods());
+        assertEquals(2, methodMetrics.getCount());
+        assertEquals(1, methodMetrics.getErrorCount());
+        assertEquals(1, methodMetrics.getCount(RequestEvent.Outcome.TIMEOUT));
+        assertEquals(50, methodMetrics.getRequestBytes());
+        assertEquals(0, methodMetrics.getResponseBytes());
+        assertEquals(1, methodMetrics.getLatency().getCount());
+        assertEquals(1, methodMetrics.getNetworkLatency().getCount());
+        assertEquals(1, methodMetrics.getFailureLatency().getCount());
+        assertFalse(metrics.getMethods().contains(RequestTrace.BATCH_METHOD));
+    }
+
+    private static Request<?, EthBlockNumber> request(long id) {
+        Request<?, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.<String>emptyList(), null, EthBlockNumber.class);
+        request.setId(id);
+        return request;
+    }
+}
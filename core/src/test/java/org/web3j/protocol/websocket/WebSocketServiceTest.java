@@ -12,30 +12,43 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.subscribers.TestSubscriber;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.NetVersion;
 import org.web3j.protocol.core.methods.response.Web3ClientVersion;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.HashedWheelTimer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -167,6 +180,19 @@ public class WebSocketServiceTest {
         assertEquals("geth-version", reply.get().getWeb3ClientVersion());
     }
 
+    @Test
+    public void testReceiveReplyWithIdLast() throws Exception {
+        CompletableFuture<Web3ClientVersion> reply = service.sendAsync(
+                request,
+                Web3ClientVersion.class);
+        String message = "{\"result\":\"geth-version\",\"jsonrpc\":\"2.0\",\"id\":1}";
+        service.onWebSocketMessage(message);
+
+        assertTrue(reply.isDone());
+        assertEquals("geth-version", reply.get().getWeb3ClientVersion());
+        assertEquals(message, reply.get().getRawResponse());
+    }
+
     @Test
     public void testReceiveError() throws Exception {
         CompletableFuture<Web3ClientVersion> reply = service.sendAsync(
@@ -182,6 +208,69 @@ public class WebSocketServiceTest {
                 version.getError());
     }
 
+    @Test
+    public void testReceiveBatchReply() throws Exception {
+        Request<?, NetVersion> netVersion = new Request<>(
+                "net_version",
+                Collections.<String>emptyList(),
+                service,
+                NetVersion.class);
+        netVersion.setId(2);
+
+        final CompletableFuture<BatchResponse> reply = new BatchRequest(service)
+                .add(request)
+                .add(netVersion)
+                .sendAsync();
+
+        verify(webSocketClient).send(
+                "[{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\","
+                        + "\"params\":[],\"id\":1},"
+                        + "{\"jsonrpc\":\"2.0\",\"method\":\"net_version\","
+                        + "\"params\":[],\"id\":2}]");
+        assertTrue(service.isWaitingForReply(2));
+
+        service.onWebSocketMessage(
+                "["
+                        + "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"1\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"geth-version\"}"
+                        + "]");
+
+        assertTrue(reply.isDone());
+        assertFalse(service.isWaitingForReply(1));
+        assertFalse(service.isWaitingForReply(2));
+        assertEquals("geth-version", reply.get().getResponse(request).getWeb3ClientVersion());
+        assertEquals("1", reply.get().getResponse(netVersion).getNetVersion());
+    }
+
+    @Test
+    public void testReceiveBatchRejectedAsAWhole() throws Exception {
+        final CompletableFuture<BatchResponse> reply = new BatchRequest(service)
+                .add(request)
+                .sendAsync();
+
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                        + "\"error\":{\"code\":-32600,\"message\":\"batch too large\"}}");
+
+        assertTrue(reply.isDone());
+        assertFalse(service.isWaitingForReply(1));
+        assertEquals(
+                new Response.Error(-32600, "batch too large"),
+                reply.get().getResponse(request).getError());
+    }
+
+    @Test
+    public void testCloseBatchRequestWhenConnectionIsClosed() throws Exception {
+        thrown.expect(ExecutionException.class);
+        CompletableFuture<BatchResponse> reply = new BatchRequest(service)
+                .add(request)
+                .sendAsync();
+        service.onWebSocketClose();
+
+        assertTrue(reply.isDone());
+        reply.get();
+    }
+
     @Test
     public void testCloseRequestWhenConnectionIsClosed() throws Exception {
         thrown.expect(ExecutionException.class);
@@ -196,24 +285,45 @@ public class WebSocketServiceTest {
 
     @Test(expected = ExecutionException.class)
     public void testCancelRequestAfterTimeout() throws Exception {
-        when(executorService.schedule(
-                any(Runnable.class),
-                eq(WebSocketService.REQUEST_TIMEOUT),
-                eq(TimeUnit.SECONDS)))
-                .then(invocation -> {
-                    Runnable runnable = invocation.getArgumentAt(0, Runnable.class);
-                    runnable.run();
-                    return null;
-                });
-
         CompletableFuture<Web3ClientVersion> reply = service.sendAsync(
                 request,
-                Web3ClientVersion.class);
+                Web3ClientVersion.class,
+                1,
+                TimeUnit.MILLISECONDS);
+
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).scheduleAtFixedRate(
+                tick.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        assertFalse(reply.isDone());
+
+        // the timeout expires on the first tick after its deadline
+        Thread.sleep(HashedWheelTimer.DEFAULT_TICK_DURATION_MILLIS + 50);
+        tick.getValue().run();
 
         assertTrue(reply.isDone());
+        assertFalse(service.isWaitingForReply(1));
+        assertEquals(1, service.getTimedOutRequestCount());
         reply.get();
     }
 
+    @Test
+    public void testCancelTimeoutOnReply() throws Exception {
+        service.sendAsync(request, Web3ClientVersion.class);
+        assertEquals(1, service.getPendingTimeoutCount());
+
+        sendGethVersionReply();
+
+        assertEquals(0, service.getPendingTimeoutCount());
+        assertEquals(0, service.getTimedOutRequestCount());
+    }
+
+    @Test
+    public void testCloseRequestWithUnknownId() {
+        service.closeRequest(12345, new IOException("timeout"));
+
+        assertFalse(service.isWaitingForReply(12345));
+    }
+
     @Test
     public void testSyncRequest() throws Exception {
         CountDownLatch requestSent = new CountDownLatch(1);
@@ -248,43 +358,206 @@ public class WebSocketServiceTest {
     }
 
     @Test
-    public void testSendSubscriptionReply() throws Exception {
-        subscribeToEvents();
+    public void testKeepRequestsWhenReconnecting() throws Exception {
+        service.enableAutoReconnect(100, 1000, TimeUnit.MILLISECONDS);
+        service.connect();
+        CompletableFuture<Web3ClientVersion> reply = service.sendAsync(
+                request,
+                Web3ClientVersion.class);
+        service.onWebSocketClose();
 
-        verifyStartedSubscriptionHadnshake();
+        assertFalse(reply.isDone());
+        assertTrue(service.isWaitingForReply(1));
     }
 
     @Test
-    public void testPropagateSubscriptionEvent() throws Exception {
-        CountDownLatch eventReceived = new CountDownLatch(1);
-        CountDownLatch disposed = new CountDownLatch(1);
-        AtomicReference<NewHeadsNotification> actualNotificationRef = new AtomicReference<>();
+    public void testReconnectWithBackoff() throws Exception {
+        service.enableAutoReconnect(100, 250, TimeUnit.MILLISECONDS);
+        service.connect();
+
+        service.onWebSocketClose();
+        verify(executorService).schedule(
+                any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(100)),
+                eq(TimeUnit.NANOSECONDS));
+        service.onWebSocketClose();
+        verify(executorService).schedule(
+                any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(200)),
+                eq(TimeUnit.NANOSECONDS));
+        service.onWebSocketClose();
+        verify(executorService).schedule(
+                any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(250)),
+                eq(TimeUnit.NANOSECONDS));
+
+        ArgumentCaptor<Runnable> attempt = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(3)).schedule(
+                attempt.capture(), anyLong(), any(TimeUnit.class));
+        attempt.getValue().run();
+        verify(webSocketClient).reconnect();
+    }
+
+    @Test
+    public void testNotReconnectIfNeverConnected() throws Exception {
+        service.enableAutoReconnect(100, 1000, TimeUnit.MILLISECONDS);
+        service.onWebSocketClose();
+
+        verify(executorService, never()).schedule(
+                any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testNotReconnectAfterClose() throws Exception {
+        service.enableAutoReconnect(100, 1000, TimeUnit.MILLISECONDS);
+        service.connect();
+        CompletableFuture<Web3ClientVersion> reply = service.sendAsync(
+                request,
+                Web3ClientVersion.class);
+        service.close();
+        service.onWebSocketClose();
 
+        assertTrue(reply.isDone());
+        verify(executorService, never()).schedule(
+                any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testResendRequestsAfterReconnecting() throws Exception {
+        service.enableAutoReconnect(100, 1000, TimeUnit.MILLISECONDS);
+        service.connect();
+        AtomicReference<ReconnectEvent> reconnectEvent = new AtomicReference<>();
+        service.reconnectEvents().subscribe(reconnectEvent::set);
+
+        CompletableFuture<Web3ClientVersion> reply = service.sendAsync(
+                request,
+                Web3ClientVersion.class);
+        service.onWebSocketClose();
+        final CompletableFuture<BatchResponse> batchReply = new BatchRequest(service)
+                .add(new Request<>(
+                        "net_version", Collections.<String>emptyList(), service,
+                        NetVersion.class))
+                .sendAsync();
+        verify(webSocketClient, times(1)).send(anyString());
+
+        service.onWebSocketOpen();
+
+        verify(webSocketClient, times(2)).send(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}");
+        verify(webSocketClient, times(3)).send(anyString());
+        assertEquals(1, reconnectEvent.get().getAttempts());
+
+        sendGethVersionReply();
+        assertTrue(reply.isDone());
+        assertFalse(batchReply.isDone());
+    }
+
+    @Test
+    public void testRenewSubscriptionAfterReconnecting() throws Exception {
+        service.enableAutoReconnect(100, 1000, TimeUnit.MILLISECONDS);
+        service.connect();
+        AtomicReference<NewHeadsNotification> actualNotificationRef = new AtomicReference<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
         runAsync(() -> {
-            Disposable disposable = subscribeToEvents()
-                    .subscribe(newHeadsNotification -> {
-                        actualNotificationRef.set(newHeadsNotification);
-                        eventReceived.countDown();
-                    });
-            try {
-                eventReceived.await(2, TimeUnit.SECONDS);
-                disposable.dispose();
-                disposed.countDown();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+            subscribeToEvents().subscribe(actualNotificationRef::set);
+            subscribed.countDown();
         });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
 
+        service.onWebSocketClose();
+        service.onWebSocketOpen();
 
-        sendSubscriptionConfirmation();
-        sendWebSocketEvent();
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(webSocketClient, times(2)).send(sent.capture());
+        JsonNode renewRequest = new ObjectMapper().readTree(sent.getValue());
+        assertEquals("eth_subscribe", renewRequest.get("method").asText());
+        assertEquals("newHeads", renewRequest.get("params").get(0).asText());
+
+        service.onWebSocketMessage(
+                "{"
+                        + "\"jsonrpc\":\"2.0\","
+                        + "\"id\":" + renewRequest.get("id").asLong() + ","
+                        + "\"result\":\"0x7e1f0c1d5b61e4e1b5c5d0c3b2e8a3f1\""
+                        + "}");
+        service.onWebSocketMessage(
+                "{"
+                        + "  \"jsonrpc\":\"2.0\","
+                        + "  \"method\":\"eth_subscription\","
+                        + "  \"params\":{"
+                        + "    \"subscription\":\"0x7e1f0c1d5b61e4e1b5c5d0c3b2e8a3f1\","
+                        + "    \"result\":{"
+                        + "      \"difficulty\":\"0xd9263f42a87\","
+                        + "      \"uncles\":[]"
+                        + "    }"
+                        + "  }"
+                        + "}");
 
-        assertTrue(disposed.await(6, TimeUnit.SECONDS));
         assertEquals(
                 "0xd9263f42a87",
                 actualNotificationRef.get().getParams().getResult().getDifficulty());
     }
 
+    @Test
+    public void testEndSubscriptionDisposedOfWhileRenewing() throws Exception {
+        service.enableAutoReconnect(100, 1000, TimeUnit.MILLISECONDS);
+        service.connect();
+        AtomicReference<Disposable> disposable = new AtomicReference<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        runAsync(() -> {
+            disposable.set(subscribeToEvents().subscribe());
+            subscribed.countDown();
+        });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+
+        service.onWebSocketClose();
+        service.onWebSocketOpen();
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(webSocketClient, times(2)).send(sent.capture());
+        long renewRequestId = new ObjectMapper().readTree(sent.getValue()).get("id").asLong();
+
+        disposable.get().dispose();
+        service.onWebSocketMessage(
+                "{"
+                        + "\"jsonrpc\":\"2.0\","
+                        + "\"id\":" + renewRequestId + ","
+                        + "\"result\":\"0x7e1f0c1d5b61e4e1b5c5d0c3b2e8a3f1\""
+                        + "}");
+
+        verify(webSocketClient, times(3)).send(sent.capture());
+        JsonNode unsubscribeRequest = new ObjectMapper().readTree(sent.getValue());
+        assertEquals("eth_unsubscribe", unsubscribeRequest.get("method").asText());
+        assertEquals(
+                "0x7e1f0c1d5b61e4e1b5c5d0c3b2e8a3f1",
+                unsubscribeRequest.get("params").get(0).asText());
+    }
+
+    @Test
+    public void testSendSubscriptionReply() throws Exception {
+        subscribeToEvents();
+
+        verifyStartedSubscriptionHadnshake();
+    }
+
+    @Test
+    public void testPropagateSubscriptionEvent() throws Exception {
+        assertEventPropagated(() -> sendWebSocketEvent());
+    }
+
+    @Test
+    public void testPropagateSubscriptionEventWithSubscriptionIdLast() throws Exception {
+        assertEventPropagated(() -> service.onWebSocketMessage(
+                "{"
+                        + "  \"params\":{"
+                        + "    \"result\":{"
+                        + "      \"difficulty\":\"0xd9263f42a87\","
+                        + "      \"uncles\":[]"
+                        + "    },"
+                        + "    \"subscription\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\""
+                        + "  },"
+                        + "  \"method\":\"eth_subscription\","
+                        + "  \"jsonrpc\":\"2.0\""
+                        + "}"));
+    }
+
     @Test
     public void testSendUnsubscribeRequest() throws Exception {
         CountDownLatch unsubscribed = new CountDownLatch(1);
@@ -412,6 +685,80 @@ public class WebSocketServiceTest {
                 throwable.getMessage());
     }
 
+    @Test
+    public void testKeepLatestEventForSlowSubscriber() throws Exception {
+        service.setSubscriptionBackpressure("newHeads", SubscriptionBackpressure.latest());
+        TestSubscriber<NewHeadsNotification> subscriber = new TestSubscriber<>(0);
+        CountDownLatch subscribed = new CountDownLatch(1);
+
+        runAsync(() -> {
+            subscribeToEvents().subscribe(subscriber);
+            subscribed.countDown();
+        });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+        sendWebSocketEvent();
+        sendWebSocketEvent();
+        sendWebSocketEvent();
+
+        subscriber.assertNoValues();
+        subscriber.request(1);
+        subscriber.assertValueCount(1);
+        assertEquals(2, service.getDroppedNotificationCount("newHeads"));
+        assertEquals(2, service.getDroppedNotificationCount());
+    }
+
+    @Test
+    public void testFailSubscriptionWhenBufferIsFull() throws Exception {
+        service.setDefaultSubscriptionBackpressure(
+                SubscriptionBackpressure.bounded(1, BackpressureOverflowStrategy.ERROR));
+        TestSubscriber<NewHeadsNotification> subscriber = new TestSubscriber<>(0);
+        CountDownLatch subscribed = new CountDownLatch(1);
+
+        runAsync(() -> {
+            subscribeToEvents().subscribe(subscriber);
+            subscribed.countDown();
+        });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+        sendWebSocketEvent();
+        sendWebSocketEvent();
+
+        subscriber.assertError(MissingBackpressureException.class);
+        assertEquals(1, service.getDroppedNotificationCount("newHeads"));
+        verifyUnsubscribed();
+    }
+
+    private void assertEventPropagated(EventSender eventSender) throws Exception {
+        CountDownLatch eventReceived = new CountDownLatch(1);
+        CountDownLatch disposed = new CountDownLatch(1);
+        AtomicReference<NewHeadsNotification> actualNotificationRef = new AtomicReference<>();
+
+        runAsync(() -> {
+            Disposable disposable = subscribeToEvents()
+                    .subscribe(newHeadsNotification -> {
+                        actualNotificationRef.set(newHeadsNotification);
+                        eventReceived.countDown();
+                    });
+            try {
+                eventReceived.await(2, TimeUnit.SECONDS);
+                disposable.dispose();
+                disposed.countDown();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        });
+
+
+        sendSubscriptionConfirmation();
+        eventSender.send();
+
+        assertTrue(disposed.await(6, TimeUnit.SECONDS));
+        assertEquals(
+                "0xd9263f42a87",
+                actualNotificationRef.get().getParams().getResult().getDifficulty());
+    }
+
     private void runAsync(Runnable runnable) {
         Executors.newSingleThreadExecutor().execute(runnable);
     }
@@ -496,4 +843,8 @@ public class WebSocketServiceTest {
                         + "  }"
                         + "}");
     }
+
+    private interface EventSender {
+        void send() throws IOException;
+    }
 }
@@ -1,12 +1,19 @@
 package org.web3j.utils;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assume;
 
 import org.junit.Test;
 
 import org.web3j.utils.Async;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 public class AsyncTest {
@@ -22,4 +29,55 @@ public class AsyncTest {
             throw new RuntimeException("");
         }).get();
     }
+
+    @Test
+    public void testRunOnExecutor() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        Executor executor = task -> {
+            executed.incrementAndGet();
+            task.run();
+        };
+
+        assertThat(Async.run(() -> "", executor).get(), is(""));
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    public void testSetExecutor() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        Executor executor = task -> {
+            executed.incrementAndGet();
+            task.run();
+        };
+        Executor defaultExecutor = Async.getExecutor();
+
+        Async.setExecutor(executor);
+        try {
+            assertSame(executor, Async.getExecutor());
+            assertThat(Async.run(() -> "").get(), is(""));
+            assertEquals(1, executed.get());
+        } finally {
+            Async.setExecutor(null);
+        }
+        assertSame(defaultExecutor, Async.getExecutor());
+    }
+
+    @Test
+    public void testVirtualThreadExecutor() throws Exception {
+        Assume.assumeTrue(Async.isVirtualThreadSupported());
+
+        ExecutorService executor = Async.newVirtualThreadExecutor();
+        try {
+            assertThat(Async.run(() -> "", executor).get(), is(""));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testVirtualThreadExecutorNotSupported() {
+        Assume.assumeFalse(Async.isVirtualThreadSupported());
+
+        Async.newVirtualThreadExecutor();
+    }
 }
@@ -0,0 +1,125 @@
+package org.web3j.utils;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HashedWheelTimerTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private ScheduledExecutorService executor;
+    private AtomicLong now;
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        executor = mock(ScheduledExecutorService.class);
+        now = new AtomicLong(1000);
+        timer = new HashedWheelTimer(executor, 10, TimeUnit.MILLISECONDS, 4, now::get);
+    }
+
+    @Test
+    public void testStartTickingOnFirstTimeout() {
+        timer.newTimeout(() -> { }, 1, TimeUnit.SECONDS);
+        timer.newTimeout(() -> { }, 1, TimeUnit.SECONDS);
+
+        verify(executor, times(1)).scheduleAtFixedRate(
+                any(Runnable.class), eq(TICK), eq(TICK), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testExpireOnTickAfterDeadline() {
+        AtomicInteger runs = new AtomicInteger();
+        final HashedWheelTimer.Timeout timeout =
+                timer.newTimeout(runs::incrementAndGet, 25, TimeUnit.MILLISECONDS);
+
+        advance(2);
+        assertEquals(0, runs.get());
+        assertEquals(1, timer.getPendingTimeoutCount());
+
+        advance(1);
+        assertEquals(1, runs.get());
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timer.getPendingTimeoutCount());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testExpireAfterSeveralRoundsOfTheWheel() {
+        AtomicInteger runs = new AtomicInteger();
+        timer.newTimeout(runs::incrementAndGet, 105, TimeUnit.MILLISECONDS);
+
+        advance(10);
+        assertEquals(0, runs.get());
+
+        advance(1);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() {
+        AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout =
+                timer.newTimeout(runs::incrementAndGet, 15, TimeUnit.MILLISECONDS);
+        advance(1);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, timer.getPendingTimeoutCount());
+
+        advance(4);
+        assertEquals(0, runs.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testCatchUpOnMissedTicks() {
+        AtomicInteger runs = new AtomicInteger();
+        timer.newTimeout(runs::incrementAndGet, 5, TimeUnit.MILLISECONDS);
+        timer.newTimeout(runs::incrementAndGet, 35, TimeUnit.MILLISECONDS);
+
+        now.addAndGet(TICK * 4);
+        timer.tick();
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testExpireOverdueTimeout() {
+        AtomicInteger runs = new AtomicInteger();
+        advance(3);
+
+        timer.newTimeout(runs::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+        advance(1);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testStop() {
+        timer.stop();
+        timer.newTimeout(() -> { }, 1, TimeUnit.SECONDS);
+        timer.stop();
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            now.addAndGet(TICK);
+            timer.tick();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.web3j.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SerialExecutorTest {
+
+    // Queues tasks until they are run by the test
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final Executor executor = pending::add;
+
+    @Test
+    public void testRunTasksInOrder() {
+        List<Integer> runs = new ArrayList<>();
+        SerialExecutor serialExecutor = new SerialExecutor(executor);
+
+        serialExecutor.execute(() -> runs.add(1));
+        serialExecutor.execute(() -> runs.add(2));
+        serialExecutor.execute(() -> runs.add(3));
+
+        assertEquals(1, pending.size());
+        runPending();
+        assertEquals(3, runs.size());
+        assertEquals(Integer.valueOf(1), runs.get(0));
+        assertEquals(Integer.valueOf(2), runs.get(1));
+        assertEquals(Integer.valueOf(3), runs.get(2));
+    }
+
+    @Test
+    public void testSerialExecutorsShareExecutor() {
+        List<String> runs = new ArrayList<>();
+        SerialExecutor first = new SerialExecutor(executor);
+        SerialExecutor second = new SerialExecutor(executor);
+
+        first.execute(() -> runs.add("first"));
+        second.execute(() -> runs.add("second"));
+        first.execute(() -> runs.add("first"));
+
+        assertEquals(2, pending.size());
+        runPending();
+        assertEquals(3, runs.size());
+    }
+
+    @Test
+    public void testYieldAfterBatch() {
+        List<Integer> runs = new ArrayList<>();
+        SerialExecutor serialExecutor = new SerialExecutor(executor);
+        for (int i = 0; i < SerialExecutor.MAX_BATCH_SIZE + 1; i++) {
+            serialExecutor.execute(() -> runs.add(runs.size()));
+        }
+
+        pending.poll().run();
+        assertEquals(SerialExecutor.MAX_BATCH_SIZE, runs.size());
+        assertEquals(1, pending.size());
+
+        runPending();
+        assertEquals(SerialExecutor.MAX_BATCH_SIZE + 1, runs.size());
+    }
+
+    @Test
+    public void testContinueAfterFailedTask() {
+        List<Integer> runs = new ArrayList<>();
+        SerialExecutor serialExecutor = new SerialExecutor(executor);
+
+        serialExecutor.execute(() -> {
+            throw new IllegalStateException();
+        });
+        serialExecutor.execute(() -> runs.add(1));
+
+        runPending();
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void testRunOnCallerIfRejected() {
+        List<Integer> runs = new ArrayList<>();
+        SerialExecutor serialExecutor = new SerialExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        serialExecutor.execute(() -> runs.add(1));
+
+        assertEquals(1, runs.size());
+        assertTrue(pending.isEmpty());
+    }
+
+    private void runPending() {
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+    }
+}
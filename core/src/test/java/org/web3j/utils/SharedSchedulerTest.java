@@ -0,0 +1,113 @@
+package org.web3j.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SharedSchedulerTest {
+
+    private final List<ScheduledExecutorService> pools = new ArrayList<>();
+    private final SharedScheduler scheduler = new SharedScheduler(() -> {
+        ScheduledExecutorService pool = new ScheduledThreadPoolExecutor(1);
+        pools.add(pool);
+        return pool;
+    });
+
+    @After
+    public void tearDown() {
+        pools.forEach(ScheduledExecutorService::shutdownNow);
+    }
+
+    @Test
+    public void testShareOnePool() throws Exception {
+        ScheduledExecutorService first = scheduler.acquire();
+        ScheduledExecutorService second = scheduler.acquire();
+        assertEquals(2, scheduler.getReferenceCount());
+        assertEquals(1, pools.size());
+
+        CountDownLatch ran = new CountDownLatch(2);
+        first.execute(ran::countDown);
+        second.schedule(ran::countDown, 1, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownViewCancelsOnlyItsPeriodicTasks() throws Exception {
+        ScheduledExecutorService first = scheduler.acquire();
+        ScheduledExecutorService second = scheduler.acquire();
+
+        ScheduledFuture<?> firstTask =
+                first.scheduleAtFixedRate(() -> { }, 1, 1, TimeUnit.HOURS);
+        ScheduledFuture<?> secondTask =
+                second.scheduleWithFixedDelay(() -> { }, 1, 1, TimeUnit.HOURS);
+        first.shutdown();
+
+        assertTrue(first.isShutdown());
+        assertTrue(firstTask.isCancelled());
+        assertFalse(secondTask.isCancelled());
+        assertFalse(pools.get(0).isShutdown());
+        assertEquals(1, scheduler.getReferenceCount());
+    }
+
+    @Test
+    public void testShutdownPoolWithLastView() {
+        ScheduledExecutorService first = scheduler.acquire();
+        ScheduledExecutorService second = scheduler.acquire();
+
+        first.shutdown();
+        // shutting down a view again does not release it twice
+        first.shutdown();
+        assertFalse(pools.get(0).isShutdown());
+
+        second.shutdownNow();
+        assertEquals(0, scheduler.getReferenceCount());
+        assertTrue(pools.get(0).isShutdown());
+
+        scheduler.acquire();
+        assertEquals(2, pools.size());
+        assertFalse(pools.get(1).isShutdown());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testRejectTasksAfterShutdown() {
+        ScheduledExecutorService view = scheduler.acquire();
+        scheduler.acquire();
+        view.shutdown();
+
+        view.execute(() -> { });
+    }
+
+    @Test
+    public void testAwaitTermination() throws Exception {
+        ScheduledExecutorService view = scheduler.acquire();
+        CountDownLatch release = new CountDownLatch(1);
+        view.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertFalse(view.awaitTermination(10, TimeUnit.MILLISECONDS));
+        view.shutdown();
+        assertFalse(view.awaitTermination(10, TimeUnit.MILLISECONDS));
+        assertFalse(view.isTerminated());
+
+        release.countDown();
+        assertTrue(view.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(view.isTerminated());
+    }
+}
@@ -3,10 +3,16 @@ package org.web3j.protocol.infura;
 import java.util.Collections;
 import java.util.Map;
 
+import okhttp3.OkHttpClient;
+
 import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.http.RateLimiter;
 
 /**
  * HttpService for working with <a href="https://infura.io/">Infura</a> clients.
+ *
+ * <p>Infura limits the rate of requests per project, so requests should be
+ * {@link #setRateLimit(double) limited} to that rate to avoid having them rejected.
  */
 public class InfuraHttpService extends HttpService {
 
@@ -29,6 +35,22 @@ public class InfuraHttpService extends HttpService {
         this(url, "", false);
     }
 
+    InfuraHttpService(String url, OkHttpClient httpClient) {
+        super(url, httpClient);
+        clientVersionHeader = Collections.emptyMap();
+    }
+
+    /**
+     * Queue requests to stay within a request quota, rather than having them rejected by Infura
+     * once it has been exceeded.
+     *
+     * @param requestsPerSecond the quota, which may be exceeded by up to a second's worth of
+     *     requests at once
+     */
+    public void setRateLimit(double requestsPerSecond) {
+        setRateLimiter(new RateLimiter(requestsPerSecond));
+    }
+
     static Map<String, String> buildClientVersionHeader(String clientVersion, boolean required) {
         if (clientVersion == null || clientVersion.equals("")) {
             return Collections.emptyMap();
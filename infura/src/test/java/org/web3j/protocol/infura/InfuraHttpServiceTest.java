@@ -1,11 +1,27 @@
 package org.web3j.protocol.infura;
 
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.web3j.protocol.infura.InfuraHttpService.buildClientVersionHeader;
@@ -27,4 +43,55 @@ public class InfuraHttpServiceTest {
                         "Infura-Ethereum-Preferred-Client",
                         "geth 1.4.19; required=false")));
     }
+
+    @Test
+    public void testSetRateLimit() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}");
+        InfuraHttpService infuraHttpService =
+                new InfuraHttpService("https://mainnet.infura.io", httpClient);
+        assertNull(infuraHttpService.getRateLimiter());
+
+        infuraHttpService.setRateLimit(2);
+        assertNotNull(infuraHttpService.getRateLimiter());
+
+        Request<String, EthBlockNumber> request = new Request<>(
+                "eth_blockNumber", Collections.emptyList(), infuraHttpService,
+                EthBlockNumber.class);
+        for (int i = 0; i < 2; i++) {
+            request.sendAsync().get();
+        }
+        // a second's worth of requests has been sent, so the next one has to wait for a permit
+        CompletableFuture<EthBlockNumber> queued = request.sendAsync();
+        Mockito.verify(httpClient, Mockito.times(2)).newCall(Mockito.any());
+        assertEquals(1, infuraHttpService.getRateLimiter().getQueuedCount());
+
+        assertEquals(1, queued.get(2, TimeUnit.SECONDS).getBlockNumber().intValue());
+        Mockito.verify(httpClient, Mockito.times(3)).newCall(Mockito.any());
+        infuraHttpService.close();
+    }
+
+    private static OkHttpClient mockHttpClient(String content) {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    okhttp3.Request httpRequest =
+                            invocation.getArgumentAt(0, okhttp3.Request.class);
+                    Call call = Mockito.mock(Call.class);
+                    Mockito.doAnswer(enqueued -> {
+                        enqueued.getArgumentAt(0, Callback.class).onResponse(call,
+                                new Response.Builder()
+                                        .code(200)
+                                        .message("")
+                                        .body(ResponseBody.create(
+                                                MediaType.parse("application/json"), content))
+                                        .request(httpRequest)
+                                        .protocol(Protocol.HTTP_1_1)
+                                        .build());
+                        return null;
+                    }).when(call).enqueue(Mockito.any());
+                    return call;
+                });
+        return httpClient;
+    }
 }
@@ -0,0 +1,145 @@
+package org.web3j.protocol.core;
+
+import java.io.IOException;
+import java.util.Random;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares bean introspection with the streaming deserializers registered by
+ * {@link ObjectMapperFactory}, and with those of the compact model, reading a block with its
+ * full transactions. The streaming deserializers are also measured reading only a few fields of
+ * a {@link FieldProjection}.
+ *
+ * <p>The block is generated to the shape of a mainnet block, with as many transactions and
+ * fields of the same sizes.
+ */
+@BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+public class DeserializationBenchmarkIT {
+
+    private static final int TRANSACTIONS = 150;
+    private static final int READS = 200;
+
+    private static byte[] response;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setUp() {
+        response = createResponse(new Random(0)).getBytes();
+    }
+
+    @Test
+    public void testBeanDeserialization() throws IOException {
+        read(new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+    }
+
+    @Test
+    public void testStreamingDeserialization() throws IOException {
+        read(ObjectMapperFactory.getObjectMapper());
+    }
+
+    @Test
+    public void testCompactDeserialization() throws IOException {
+        read(ObjectMapperFactory.getObjectMapper(false, true));
+    }
+
+    @Test
+    public void testProjectedDeserialization() throws IOException {
+        FieldProjection projection = FieldProjection.all()
+                .withBlockFields("number", "timestamp", "transactions")
+                .withTransactionFields("hash", "from", "to", "value");
+        read(FieldProjection.readerFor(
+                ObjectMapperFactory.getObjectMapper(), EthBlock.class, projection));
+    }
+
+    private static void read(ObjectMapper objectMapper) throws IOException {
+        read(objectMapper.readerFor(EthBlock.class));
+    }
+
+    private static void read(ObjectReader reader) throws IOException {
+        for (int i = 0; i < READS; i++) {
+            EthBlock ethBlock = reader.readValue(response);
+            assertEquals(TRANSACTIONS, ethBlock.getBlock().getTransactions().size());
+        }
+    }
+
+    private static String createResponse(Random random) {
+        StringBuilder builder = new StringBuilder("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{")
+                .append("\"number\":").append(quantity(random, 3))
+                .append(",\"hash\":").append(data(random, 32))
+                .append(",\"parentHash\":").append(data(random, 32))
+                .append(",\"nonce\":").append(data(random, 8))
+                .append(",\"sha3Uncles\":").append(data(random, 32))
+                .append(",\"logsBloom\":").append(data(random, 256))
+                .append(",\"transactionsRoot\":").append(data(random, 32))
+                .append(",\"stateRoot\":").append(data(random, 32))
+                .append(",\"receiptsRoot\":").append(data(random, 32))
+                .append(",\"miner\":").append(data(random, 20))
+                .append(",\"mixHash\":").append(data(random, 32))
+                .append(",\"difficulty\":").append(quantity(random, 7))
+                .append(",\"totalDifficulty\":").append(quantity(random, 11))
+                .append(",\"extraData\":").append(data(random, 16))
+                .append(",\"size\":").append(quantity(random, 3))
+                .append(",\"gasLimit\":").append(quantity(random, 3))
+                .append(",\"gasUsed\":").append(quantity(random, 3))
+                .append(",\"timestamp\":").append(quantity(random, 4))
+                .append(",\"uncles\":[]")
+                .append(",\"transactions\":[");
+
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"hash\":").append(data(random, 32))
+                    .append(",\"nonce\":").append(quantity(random, 2))
+                    .append(",\"blockHash\":").append(data(random, 32))
+                    .append(",\"blockNumber\":").append(quantity(random, 3))
+                    .append(",\"transactionIndex\":\"0x").append(Integer.toHexString(i))
+                    .append("\",\"from\":").append(data(random, 20))
+                    .append(",\"to\":").append(data(random, 20))
+                    .append(",\"value\":").append(quantity(random, 8))
+                    .append(",\"gas\":").append(quantity(random, 3))
+                    .append(",\"gasPrice\":").append(quantity(random, 5))
+                    .append(",\"input\":").append(data(random, 4 + 32 * random.nextInt(4)))
+                    .append(",\"v\":\"0x25\"")
+                    .append(",\"r\":").append(data(random, 32))
+                    .append(",\"s\":").append(data(random, 32))
+                    .append('}');
+        }
+        return builder.append("]}}").toString();
+    }
+
+    private static String quantity(Random random, int bytes) {
+        // no leading zero
+        StringBuilder builder = new StringBuilder("\"0x")
+                .append(Integer.toHexString(1 + random.nextInt(15)));
+        return appendHex(random, builder, bytes - 1).append('"').toString();
+    }
+
+    private static String data(Random random, int bytes) {
+        return appendHex(random, new StringBuilder("\"0x"), bytes).append('"').toString();
+    }
+
+    private static StringBuilder appendHex(Random random, StringBuilder builder, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            builder.append(String.format("%02x", random.nextInt(256)));
+        }
+        return builder;
+    }
+}
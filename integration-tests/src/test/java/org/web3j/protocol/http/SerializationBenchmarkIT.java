@@ -0,0 +1,209 @@
+package org.web3j.protocol.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Service;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.utils.Numeric;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares serializing requests into a String, which is then encoded into the request body, with
+ * the {@link HttpService}, which serializes them straight into the body, sending a large
+ * {@code eth_sendRawTransaction} and a batch. Along with the time taken, the bytes allocated
+ * per call are logged.
+ *
+ * <p>Requests are answered by an interceptor once their body has been written, so that no
+ * connection is made, and only the client's own work is measured.
+ */
+@BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+public class SerializationBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(SerializationBenchmarkIT.class);
+
+    private static final String URL = "http://localhost:8545/";
+    private static final MediaType JSON_MEDIA_TYPE =
+            MediaType.parse("application/json; charset=utf-8");
+
+    // Size of the signed transaction, as for the deployment of a large contract
+    private static final int TRANSACTION_SIZE = 24 * 1024;
+    private static final int BATCH_SIZE = 100;
+    private static final int CALLS = 500;
+
+    private static String signedTransaction;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setUp() {
+        byte[] transaction = new byte[TRANSACTION_SIZE];
+        new Random(0).nextBytes(transaction);
+        signedTransaction = Numeric.toHexString(transaction);
+    }
+
+    @Test
+    public void testStringSerialization() throws IOException {
+        sendTransaction("String serialization", StringHttpService::new);
+    }
+
+    @Test
+    public void testStreamingSerialization() throws IOException {
+        sendTransaction("Streaming serialization", HttpService::new);
+    }
+
+    @Test
+    public void testStringBatchSerialization() throws IOException {
+        sendBatch("String batch serialization", StringHttpService::new);
+    }
+
+    @Test
+    public void testStreamingBatchSerialization() throws IOException {
+        sendBatch("Streaming batch serialization", HttpService::new);
+    }
+
+    private static void sendTransaction(String name, ServiceFactory serviceFactory)
+            throws IOException {
+        byte[] reply = ("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x"
+                + String.join("", Collections.nCopies(32, "ab")) + "\"}").getBytes();
+        Web3jService service = serviceFactory.create(URL, client(reply));
+        Request<?, EthSendTransaction> request = new Request<>(
+                "eth_sendRawTransaction", Collections.singletonList(signedTransaction),
+                service, EthSendTransaction.class);
+
+        long allocated = allocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            assertEquals(66, request.send().getTransactionHash().length());
+        }
+        logAllocation(name, allocatedBytes() - allocated);
+    }
+
+    private static void sendBatch(String name, ServiceFactory serviceFactory)
+            throws IOException {
+        // the same batch is sent every time, so that its ids are known to the reply
+        List<Request<?, EthGetBalance>> requests = new ArrayList<>(BATCH_SIZE);
+        StringBuilder reply = new StringBuilder("[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Request<?, EthGetBalance> request = new Request<>(
+                    "eth_getBalance",
+                    Arrays.asList(Numeric.toHexStringWithPrefixZeroPadded(
+                            BigInteger.valueOf(i), 40), "latest"),
+                    null, EthGetBalance.class);
+            requests.add(request);
+            reply.append(i > 0 ? "," : "")
+                    .append("{\"jsonrpc\":\"2.0\",\"id\":").append(request.getId())
+                    .append(",\"result\":\"0xde0b6b3a7640000\"}");
+        }
+        Web3jService service = serviceFactory.create(
+                URL, client(reply.append(']').toString().getBytes()));
+        BatchRequest batchRequest = new BatchRequest(service);
+        for (Request<?, EthGetBalance> request : requests) {
+            batchRequest.add(request);
+        }
+
+        long allocated = allocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            BatchResponse response = batchRequest.send();
+            assertEquals(BATCH_SIZE, response.getResponses().size());
+        }
+        logAllocation(name, allocatedBytes() - allocated);
+    }
+
+    /**
+     * Create a client answering every request with the same reply, once its body has been
+     * written as it would be to a connection.
+     */
+    private static OkHttpClient client(byte[] reply) {
+        Interceptor interceptor = chain -> {
+            Buffer sink = new Buffer();
+            chain.request().body().writeTo(sink);
+            // returns the segments to the pool, as a connection would once they are written
+            sink.clear();
+
+            return new okhttp3.Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(JSON_MEDIA_TYPE, reply))
+                    .build();
+        };
+        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        return ((com.sun.management.ThreadMXBean) threadMXBean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void logAllocation(String name, long allocated) {
+        log.info("{}: {} bytes allocated per call", name, allocated / CALLS);
+    }
+
+    private interface ServiceFactory {
+        Web3jService create(String url, OkHttpClient httpClient);
+    }
+
+    /**
+     * Service sending requests as the {@link HttpService} did before serializing them straight
+     * into the request body: into a String first, then encoded into the body.
+     */
+    private static class StringHttpService extends Service {
+        private final String url;
+        private final OkHttpClient httpClient;
+
+        StringHttpService(String url, OkHttpClient httpClient) {
+            super(false);
+            this.url = url;
+            this.httpClient = httpClient;
+        }
+
+        @Override
+        protected InputStream performIO(String payload) throws IOException {
+            RequestBody requestBody = RequestBody.create(JSON_MEDIA_TYPE, payload);
+            okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+                    .url(url)
+                    .post(requestBody)
+                    .build();
+            return httpClient.newCall(httpRequest).execute().body().byteStream();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
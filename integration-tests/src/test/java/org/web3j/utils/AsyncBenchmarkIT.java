@@ -0,0 +1,85 @@
+package org.web3j.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import org.web3j.protocol.core.RemoteCall;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares platform and virtual threads for many concurrent blocking calls, such as
+ * {@link RemoteCall#send()} waiting on a slow node.
+ */
+@BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1)
+public class AsyncBenchmarkIT {
+
+    private static final int CALLS = 10_000;
+    private static final long CALL_LATENCY_MILLIS = 50;
+    private static final int FIXED_POOL_SIZE = 200;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    public void testCachedThreadPool() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            sendConcurrently(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFixedThreadPool() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(FIXED_POOL_SIZE);
+        try {
+            sendConcurrently(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        Assume.assumeTrue(Async.isVirtualThreadSupported());
+
+        ExecutorService executor = Async.newVirtualThreadExecutor();
+        try {
+            sendConcurrently(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sendConcurrently(ExecutorService executor) throws Exception {
+        RemoteCall<Integer> call = new RemoteCall<>(() -> {
+            // stands in for a request blocked waiting for its reply
+            TimeUnit.MILLISECONDS.sleep(CALL_LATENCY_MILLIS);
+            return 1;
+        });
+
+        List<CompletableFuture<Integer>> replies = new ArrayList<>(CALLS);
+        for (int i = 0; i < CALLS; i++) {
+            replies.add(call.sendAsync(executor));
+        }
+
+        int total = 0;
+        for (CompletableFuture<Integer> reply : replies) {
+            total += reply.get();
+        }
+        assertEquals(CALLS, total);
+    }
+}